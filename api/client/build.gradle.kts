@@ -20,6 +20,7 @@ plugins {
   id("nessie-conventions-client")
   id("nessie-jacoco")
   alias(libs.plugins.annotations.stripper)
+  alias(libs.plugins.jmh)
 }
 
 publishingHelper { mavenName = "Nessie - Client" }
@@ -101,8 +102,13 @@ dependencies {
   }
   intTestImplementation(project(":nessie-container-spec-helper"))
   intTestCompileOnly(libs.immutables.value.annotations)
+
+  jmhImplementation(libs.jmh.core)
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
 
+jmh { jmhVersion = libs.versions.jmh.get() }
+
 jandex { skipDefaultProcessing() }
 
 val jacksonTestVersions =
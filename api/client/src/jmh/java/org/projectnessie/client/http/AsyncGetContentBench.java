@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.client.api.NessieApiV2;
+import org.projectnessie.error.NessieNotFoundException;
+import org.projectnessie.model.Branch;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.ContentResponse;
+import org.projectnessie.model.IcebergTable;
+
+/**
+ * Compares sequential synchronous get-content requests against the asynchronous variant, with and
+ * without coalescing of identical requests, against a local stub server with a fixed latency.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class AsyncGetContentBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"1", "5"})
+    public int latencyMillis;
+
+    @Param({"50"})
+    public int requests;
+
+    @Param({"16"})
+    public int maxConcurrentRequests;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private NessieApiV2 api;
+
+    @Setup(Level.Trial)
+    public void init() throws Exception {
+      byte[] response =
+          new ObjectMapper()
+              .writeValueAsBytes(
+                  ContentResponse.of(
+                      IcebergTable.of("metadata", 1, 2, 3, 4, "cid"),
+                      Branch.of("main", "1122334455667788")));
+
+      serverExecutor = Executors.newCachedThreadPool();
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      server.setExecutor(serverExecutor);
+      server.createContext(
+          "/",
+          exchange -> {
+            try {
+              Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(response);
+            }
+          });
+      server.start();
+
+      URI uri =
+          URI.create(
+              "http://"
+                  + server.getAddress().getHostString()
+                  + ":"
+                  + server.getAddress().getPort()
+                  + "/api/v2");
+      api =
+          new NessieHttpClientBuilderImpl()
+              .withMaxConcurrentAsyncRequests(maxConcurrentRequests)
+              .withCoalesceAsyncGetRequests(true)
+              .withApiCompatibilityCheck(false)
+              .withUri(uri)
+              .build(NessieApiV2.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+      api.close();
+      server.stop(0);
+      serverExecutor.shutdown();
+    }
+  }
+
+  @Benchmark
+  public List<ContentResponse> sync(BenchmarkParam param) throws NessieNotFoundException {
+    List<ContentResponse> responses = new ArrayList<>(param.requests);
+    for (int i = 0; i < param.requests; i++) {
+      responses.add(
+          param.api.getContent().refName("main").getSingle(ContentKey.of("table-" + i)));
+    }
+    return responses;
+  }
+
+  @Benchmark
+  public List<ContentResponse> asyncDistinct(BenchmarkParam param) {
+    List<CompletionStage<ContentResponse>> stages = new ArrayList<>(param.requests);
+    for (int i = 0; i < param.requests; i++) {
+      stages.add(
+          param.api.getContent().refName("main").getSingleAsync(ContentKey.of("table-" + i)));
+    }
+    return join(stages);
+  }
+
+  @Benchmark
+  public List<ContentResponse> asyncIdentical(BenchmarkParam param) {
+    List<CompletionStage<ContentResponse>> stages = new ArrayList<>(param.requests);
+    for (int i = 0; i < param.requests; i++) {
+      stages.add(param.api.getContent().refName("main").getSingleAsync(ContentKey.of("table")));
+    }
+    return join(stages);
+  }
+
+  private static List<ContentResponse> join(List<CompletionStage<ContentResponse>> stages) {
+    List<ContentResponse> responses = new ArrayList<>(stages.size());
+    for (CompletionStage<ContentResponse> stage : stages) {
+      responses.add(stage.toCompletableFuture().join());
+    }
+    return responses;
+  }
+}
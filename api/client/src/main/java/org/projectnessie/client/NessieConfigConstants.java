@@ -604,6 +604,59 @@ public final class NessieConfigConstants {
   @ConfigItem(section = "Network / HTTP")
   public static final String CONF_NESSIE_HTTP_REDIRECT = "nessie.http-redirects";
 
+  /**
+   * Optional, the maximum number of concurrently executing asynchronous requests per client, for
+   * example requests started via {@link org.projectnessie.client.api.GetContentBuilder#getAsync()}.
+   * Additional asynchronous requests are queued until a running request completes. Defaults to
+   * {@value #DEFAULT_MAX_CONCURRENT_ASYNC_REQUESTS}.
+   *
+   * <p>With the Java HTTP client, enable {@value #CONF_NESSIE_HTTP_2} to multiplex concurrent
+   * requests over a single HTTP/2 connection instead of using a pool of HTTP/1.1 connections.
+   */
+  @ConfigItem(section = "Network / HTTP")
+  public static final String CONF_NESSIE_HTTP_MAX_CONCURRENT_ASYNC_REQUESTS =
+      "nessie.http-max-concurrent-async-requests";
+
+  /**
+   * Optional, whether identical asynchronous {@code GET} requests that are in flight at the same
+   * time are coalesced into a single HTTP request, defaults to {@code true}.
+   */
+  @ConfigItem(section = "Network / HTTP")
+  public static final String CONF_NESSIE_HTTP_COALESCE_ASYNC_GETS =
+      "nessie.http-coalesce-async-gets";
+
+  /**
+   * Optional, the capacity of the in-memory cache for responses of {@code GET} requests in MB,
+   * defaults to {@code 0}, which disables the cache.
+   *
+   * <p>Responses to requests that are pinned to a commit hash, for example content, entries and
+   * commit log requests for {@code main@<hash>}, are immutable and served from the cache. Other
+   * responses are only cached, if the server provides an {@code ETag}, and are revalidated.
+   * Cached responses are only served to requests with the same credentials, requests with request
+   * specific authentication are never cached.
+   */
+  @ConfigItem(section = "Network / HTTP")
+  public static final String CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY_MB =
+      "nessie.http-response-cache-capacity-mb";
+
+  /**
+   * Optional, a local directory to keep immutable responses of {@code GET} requests across client
+   * instances, requires {@value #CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_CAPACITY_MB}. Cached
+   * responses are partitioned by a hash of the credentials, the directory is created readable for
+   * the current OS user only.
+   */
+  @ConfigItem(section = "Network / HTTP")
+  public static final String CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH =
+      "nessie.http-response-cache-disk-path";
+
+  /**
+   * Optional, the capacity of the on-disk response cache in MB, see {@value
+   * #CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH}.
+   */
+  @ConfigItem(section = "Network / HTTP")
+  public static final String CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_CAPACITY_MB =
+      "nessie.http-response-cache-disk-capacity-mb";
+
   /**
    * Optional, when running on Java 11 force the use of the old {@link java.net.URLConnection} based
    * client for HTTP, if set to {@code true}.
@@ -634,6 +687,7 @@ public final class NessieConfigConstants {
 
   public static final int DEFAULT_READ_TIMEOUT_MILLIS = 25000;
   public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5000;
+  public static final int DEFAULT_MAX_CONCURRENT_ASYNC_REQUESTS = 64;
 
   private NessieConfigConstants() {
     // empty
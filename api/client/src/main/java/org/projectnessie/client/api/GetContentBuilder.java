@@ -17,6 +17,8 @@ package org.projectnessie.client.api;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.validation.Valid;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Content;
@@ -52,4 +54,48 @@ public interface GetContentBuilder extends OnReferenceBuilder<GetContentBuilder>
   Map<ContentKey, Content> get() throws NessieNotFoundException;
 
   GetMultipleContentsResponse getWithResponse() throws NessieNotFoundException;
+
+  /**
+   * Asynchronous variant of {@link #getSingle(ContentKey)}, the returned stage completes
+   * exceptionally with the exception that {@link #getSingle(ContentKey)} would throw.
+   *
+   * <p>The default implementation executes the request synchronously. The HTTP client for API v2
+   * executes the request asynchronously, limits the number of concurrent requests and coalesces
+   * identical in-flight requests.
+   */
+  default CompletionStage<ContentResponse> getSingleAsync(
+      @Valid @jakarta.validation.Valid ContentKey key) {
+    CompletableFuture<ContentResponse> result = new CompletableFuture<>();
+    try {
+      result.complete(getSingle(key));
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Asynchronous variant of {@link #get()}, the returned stage completes exceptionally with the
+   * exception that {@link #get()} would throw.
+   */
+  default CompletionStage<Map<ContentKey, Content>> getAsync() {
+    return getWithResponseAsync().thenApply(GetMultipleContentsResponse::toContentsMap);
+  }
+
+  /**
+   * Asynchronous variant of {@link #getWithResponse()}, the returned stage completes exceptionally
+   * with the exception that {@link #getWithResponse()} would throw.
+   *
+   * <p>The default implementation executes the request synchronously. The HTTP client for API v2
+   * executes the request asynchronously and limits the number of concurrent requests.
+   */
+  default CompletionStage<GetMultipleContentsResponse> getWithResponseAsync() {
+    CompletableFuture<GetMultipleContentsResponse> result = new CompletableFuture<>();
+    try {
+      result.complete(getWithResponse());
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
 }
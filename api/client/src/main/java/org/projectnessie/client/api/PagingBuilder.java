@@ -48,4 +48,15 @@ public interface PagingBuilder<R extends PagingBuilder<R, RESP, ENTRY>, RESP, EN
 
   /** Retrieve entries/results as a Java {@link Stream}, uses automatic paging. */
   Stream<ENTRY> stream() throws NessieNotFoundException;
+
+  /**
+   * Retrieve all entries/results as a Java {@link Stream} using a single streamed response, if
+   * supported by the client and server, without paging. Falls back to {@link #stream()} otherwise.
+   *
+   * <p>The value passed to {@link #maxRecords(int)} is ignored. The returned stream should be
+   * {@linkplain Stream#close() closed}, if it is not fully consumed, to release the response.
+   */
+  default Stream<ENTRY> streamAll() throws NessieNotFoundException {
+    return stream();
+  }
 }
@@ -15,8 +15,12 @@
  */
 package org.projectnessie.client.builder;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -49,6 +53,36 @@ public final class StreamingUtil {
     return new ResultStreamPaginator<>(entriesExtractor, pageFetcher).generateStream();
   }
 
+  /**
+   * Constructs a stream over the entries of a streamed response, for example a response using
+   * newline-delimited JSON. Entries are read lazily, the response is released when all entries have
+   * been consumed or when the returned stream is {@linkplain Stream#close() closed}.
+   */
+  public static <ENTRY> Stream<ENTRY> streamEntries(MappingIterator<ENTRY> entries) {
+    Spliterator<ENTRY> spliterator =
+        new Spliterators.AbstractSpliterator<ENTRY>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          @Override
+          public boolean tryAdvance(Consumer<? super ENTRY> action) {
+            if (!entries.hasNext()) {
+              closeEntries(entries);
+              return false;
+            }
+            action.accept(entries.next());
+            return true;
+          }
+        };
+    return StreamSupport.stream(spliterator, false).onClose(() -> closeEntries(entries));
+  }
+
+  private static void closeEntries(MappingIterator<?> entries) {
+    try {
+      entries.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Internal helper class to implement continuation token driven paging for a result stream.
    *
@@ -18,6 +18,7 @@ package org.projectnessie.client.http;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.concurrent.CompletionStage;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
@@ -90,6 +91,22 @@ public interface HttpClient extends AutoCloseable {
     @CanIgnoreReturnValue
     Builder setFollowRedirects(String followRedirects);
 
+    /** The maximum number of concurrently executing asynchronous requests. */
+    @CanIgnoreReturnValue
+    Builder setMaxConcurrentAsyncRequests(int maxConcurrentAsyncRequests);
+
+    /** Whether identical asynchronous {@code GET} requests in flight are coalesced. */
+    @CanIgnoreReturnValue
+    Builder setCoalesceAsyncGetRequests(boolean coalesceAsyncGetRequests);
+
+    /** Capacity of the in-memory response cache in MB, {@code 0} disables the cache. */
+    @CanIgnoreReturnValue
+    Builder setResponseCacheCapacityMb(int responseCacheCapacityMb);
+
+    /** Local directory and capacity in MB to keep immutable responses on disk. */
+    @CanIgnoreReturnValue
+    Builder setResponseCacheDisk(Path responseCacheDiskPath, int responseCacheDiskCapacityMb);
+
     @SuppressWarnings("DeprecatedIsStillUsed")
     @CanIgnoreReturnValue
     @Deprecated
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.net.Socket;
 import java.net.URI;
+import java.nio.file.Path;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -68,6 +69,12 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
   private final List<ResponseFilter> responseFilters = new ArrayList<>();
   private boolean http2Upgrade;
   private String followRedirects;
+  private int maxConcurrentAsyncRequests =
+      NessieConfigConstants.DEFAULT_MAX_CONCURRENT_ASYNC_REQUESTS;
+  private boolean coalesceAsyncGetRequests = true;
+  private int responseCacheCapacityMb;
+  private Path responseCacheDiskPath;
+  private int responseCacheDiskCapacityMb;
   private boolean forceUrlConnectionClient;
   private String httpClientName;
   private int clientSpec = 2;
@@ -91,6 +98,11 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
     this.responseFilters.addAll(other.responseFilters);
     this.http2Upgrade = other.http2Upgrade;
     this.followRedirects = other.followRedirects;
+    this.maxConcurrentAsyncRequests = other.maxConcurrentAsyncRequests;
+    this.coalesceAsyncGetRequests = other.coalesceAsyncGetRequests;
+    this.responseCacheCapacityMb = other.responseCacheCapacityMb;
+    this.responseCacheDiskPath = other.responseCacheDiskPath;
+    this.responseCacheDiskCapacityMb = other.responseCacheDiskCapacityMb;
     this.forceUrlConnectionClient = other.forceUrlConnectionClient;
     this.httpClientName = other.httpClientName;
     this.clientSpec = other.clientSpec;
@@ -169,6 +181,32 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
     return this;
   }
 
+  @Override
+  public HttpClient.Builder setMaxConcurrentAsyncRequests(int maxConcurrentAsyncRequests) {
+    this.maxConcurrentAsyncRequests = maxConcurrentAsyncRequests;
+    return this;
+  }
+
+  @Override
+  public HttpClient.Builder setCoalesceAsyncGetRequests(boolean coalesceAsyncGetRequests) {
+    this.coalesceAsyncGetRequests = coalesceAsyncGetRequests;
+    return this;
+  }
+
+  @Override
+  public HttpClient.Builder setResponseCacheCapacityMb(int responseCacheCapacityMb) {
+    this.responseCacheCapacityMb = responseCacheCapacityMb;
+    return this;
+  }
+
+  @Override
+  public HttpClient.Builder setResponseCacheDisk(
+      Path responseCacheDiskPath, int responseCacheDiskCapacityMb) {
+    this.responseCacheDiskPath = responseCacheDiskPath;
+    this.responseCacheDiskCapacityMb = responseCacheDiskCapacityMb;
+    return this;
+  }
+
   @Override
   @Deprecated
   public HttpClient.Builder setForceUrlConnectionClient(boolean forceUrlConnectionClient) {
@@ -317,6 +355,11 @@ final class HttpClientBuilderImpl implements HttpClient.Builder {
             .addAllResponseFilters(responseFilters)
             .isHttp11Only(!http2Upgrade)
             .followRedirects(followRedirects)
+            .maxConcurrentAsyncRequests(maxConcurrentAsyncRequests)
+            .isCoalesceAsyncGetRequests(coalesceAsyncGetRequests)
+            .responseCacheCapacityBytes(responseCacheCapacityMb * 1024L * 1024L)
+            .responseCacheDiskPath(responseCacheDiskPath)
+            .responseCacheDiskCapacityBytes(responseCacheDiskCapacityMb * 1024L * 1024L)
             .authentication(authentication)
             .build();
 
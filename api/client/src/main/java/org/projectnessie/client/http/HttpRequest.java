@@ -20,6 +20,7 @@ import static org.projectnessie.client.http.impl.HttpUtils.checkArgument;
 import static org.projectnessie.client.http.impl.HttpUtils.isHttpUri;
 
 import java.net.URI;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.client.http.HttpClient.Method;
 import org.projectnessie.client.http.impl.HttpHeaders;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
@@ -107,6 +108,29 @@ public abstract class HttpRequest
   public abstract HttpResponse executeRequest(Method method, Object body)
       throws HttpClientException;
 
+  /**
+   * Asynchronously executes this request and reads the response entity.
+   *
+   * <p>The number of concurrently executing asynchronous requests is limited per client, additional
+   * requests are queued. Identical {@code GET} requests that are in flight at the same time are
+   * coalesced into a single HTTP request, all callers receive the same entity instance.
+   *
+   * <p>The returned stage completes exceptionally with the exception that {@link
+   * #executeRequest(Method, Object)} would throw.
+   */
+  public abstract <V> CompletionStage<V> executeRequestAsync(
+      Method method, Object body, Class<V> entityType);
+
+  /** Asynchronously executes a {@code GET} request, see {@link #executeRequestAsync}. */
+  public <V> CompletionStage<V> getAsync(Class<V> entityType) {
+    return executeRequestAsync(Method.GET, null, entityType);
+  }
+
+  /** Asynchronously executes a {@code POST} request, see {@link #executeRequestAsync}. */
+  public <V> CompletionStage<V> postAsync(Object obj, Class<V> entityType) {
+    return executeRequestAsync(Method.POST, obj, entityType);
+  }
+
   @Override
   public HttpResponse get() throws HttpClientException {
     return executeRequest(Method.GET, null);
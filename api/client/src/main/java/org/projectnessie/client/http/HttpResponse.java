@@ -29,6 +29,8 @@ import org.projectnessie.error.NessieError;
 /** Simple holder for http response object. */
 public class HttpResponse {
 
+  private static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+
   private final ResponseContext responseContext;
   private final ObjectMapper mapper;
 
@@ -53,6 +55,33 @@ public class HttpResponse {
     }
   }
 
+  /**
+   * Read a sequence of entities, serialized as newline-delimited JSON, from the underlying HTTP
+   * response. Entities are read lazily while iterating, the returned iterator must be closed, which
+   * releases the response.
+   *
+   * @return iterator over the entities, empty if the response has no content
+   * @throws HttpClientException if the response cannot be read
+   * @throws NessieBadResponseException if the response is not newline-delimited JSON
+   */
+  public <V> MappingIterator<V> readEntities(Class<V> clazz) {
+    try {
+      InputStream is = responseContext.getInputStream();
+      if (is == null) {
+        return MappingIterator.emptyIterator();
+      }
+      String contentType = responseContext.getContentType();
+      if (contentType == null || !contentType.startsWith(CONTENT_TYPE_NDJSON)) {
+        try (CapturingInputStream capturing = new CapturingInputStream(is)) {
+          throw unparseableResponse(capturing.capture(), null);
+        }
+      }
+      return mapper.readerFor(clazz).readValues(is);
+    } catch (IOException e) {
+      throw new HttpClientException("Failed to read entities", e);
+    }
+  }
+
   private <V> V decodeEntity(ObjectReader reader, InputStream is) throws IOException {
     if (is != null) {
       CapturingInputStream capturing = new CapturingInputStream(is);
@@ -17,10 +17,17 @@ package org.projectnessie.client.http;
 
 import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_CLIENT_NAME;
 import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_2;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_COALESCE_ASYNC_GETS;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_MAX_CONCURRENT_ASYNC_REQUESTS;
 import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_REDIRECT;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY_MB;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_CAPACITY_MB;
+import static org.projectnessie.client.NessieConfigConstants.CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.function.Function;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
@@ -50,6 +57,35 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
   @CanIgnoreReturnValue
   NessieHttpClientBuilder withFollowRedirects(String redirects);
 
+  /**
+   * The maximum number of concurrently executing asynchronous requests, default is {@value
+   * NessieConfigConstants#DEFAULT_MAX_CONCURRENT_ASYNC_REQUESTS}.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withMaxConcurrentAsyncRequests(int maxConcurrentRequests);
+
+  /**
+   * Whether identical asynchronous {@code GET} requests that are in flight at the same time are
+   * coalesced into a single HTTP request, default is {@code true}.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withCoalesceAsyncGetRequests(boolean coalesce);
+
+  /**
+   * The capacity of the in-memory cache for responses of {@code GET} requests in MB, default is
+   * {@code 0}, which disables the cache. See {@link
+   * NessieConfigConstants#CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY_MB}.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withResponseCacheCapacityMb(int capacityMb);
+
+  /**
+   * A local directory to keep immutable responses of {@code GET} requests in, limited to the given
+   * capacity in MB. See {@link NessieConfigConstants#CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH}.
+   */
+  @CanIgnoreReturnValue
+  NessieHttpClientBuilder withResponseCacheDisk(Path path, int capacityMb);
+
   /**
    * Whether to force using the {@link java.net.URLConnection} based client.
    *
@@ -155,6 +191,33 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
         withFollowRedirects(s.trim());
       }
 
+      s = configuration.apply(CONF_NESSIE_HTTP_MAX_CONCURRENT_ASYNC_REQUESTS);
+      if (s != null) {
+        withMaxConcurrentAsyncRequests(Integer.parseInt(s.trim()));
+      }
+
+      s = configuration.apply(CONF_NESSIE_HTTP_COALESCE_ASYNC_GETS);
+      if (s != null) {
+        withCoalesceAsyncGetRequests(Boolean.parseBoolean(s.trim()));
+      }
+
+      s = configuration.apply(CONF_NESSIE_HTTP_RESPONSE_CACHE_CAPACITY_MB);
+      if (s != null) {
+        withResponseCacheCapacityMb(Integer.parseInt(s.trim()));
+      }
+
+      s = configuration.apply(CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH);
+      if (s != null) {
+        String capacity = configuration.apply(CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_CAPACITY_MB);
+        if (capacity == null) {
+          throw new IllegalArgumentException(
+              CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_CAPACITY_MB
+                  + " is required with "
+                  + CONF_NESSIE_HTTP_RESPONSE_CACHE_DISK_PATH);
+        }
+        withResponseCacheDisk(Paths.get(s.trim()), Integer.parseInt(capacity.trim()));
+      }
+
       @SuppressWarnings("deprecation")
       String forceUrlConnectionClient = NessieConfigConstants.CONF_FORCE_URL_CONNECTION_CLIENT;
       s = configuration.apply(forceUrlConnectionClient);
@@ -179,6 +242,26 @@ public interface NessieHttpClientBuilder extends NessieClientBuilder {
       return this;
     }
 
+    @Override
+    public NessieHttpClientBuilder withMaxConcurrentAsyncRequests(int maxConcurrentRequests) {
+      return this;
+    }
+
+    @Override
+    public NessieHttpClientBuilder withCoalesceAsyncGetRequests(boolean coalesce) {
+      return this;
+    }
+
+    @Override
+    public NessieHttpClientBuilder withResponseCacheCapacityMb(int capacityMb) {
+      return this;
+    }
+
+    @Override
+    public NessieHttpClientBuilder withResponseCacheDisk(Path path, int capacityMb) {
+      return this;
+    }
+
     @Override
     @SuppressWarnings("DeprecatedIsStillUsed")
     @Deprecated
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -193,6 +194,34 @@ public class NessieHttpClientBuilderImpl
     return this;
   }
 
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withMaxConcurrentAsyncRequests(int maxConcurrentRequests) {
+    builder.setMaxConcurrentAsyncRequests(maxConcurrentRequests);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withCoalesceAsyncGetRequests(boolean coalesce) {
+    builder.setCoalesceAsyncGetRequests(coalesce);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withResponseCacheCapacityMb(int capacityMb) {
+    builder.setResponseCacheCapacityMb(capacityMb);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public NessieHttpClientBuilderImpl withResponseCacheDisk(Path path, int capacityMb) {
+    builder.setResponseCacheDisk(path, capacityMb);
+    return this;
+  }
+
   @SuppressWarnings("deprecation")
   @CanIgnoreReturnValue
   @Override
@@ -18,19 +18,25 @@ package org.projectnessie.client.http;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.Context;
+import java.util.Locale;
 import org.projectnessie.api.NessieVersion;
+import org.projectnessie.client.http.impl.ResponseCache.CachedResponseContext;
 
 final class OpentelemetryTracing {
   static final AttributeKey<String> HTTP_URL = AttributeKey.stringKey("http.url");
   static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.method");
   static final AttributeKey<String> NESSIE_VERSION = AttributeKey.stringKey("nessie.version");
   static final AttributeKey<Long> HTTP_STATUS_CODE = AttributeKey.longKey("http.status_code");
+  static final AttributeKey<String> NESSIE_RESPONSE_CACHE =
+      AttributeKey.stringKey("nessie.response_cache");
 
   private OpentelemetryTracing() {}
 
@@ -40,6 +46,13 @@ final class OpentelemetryTracing {
     // method will not be called and the JVM won't try to load + initialize `GlobalTracer`.
     OpenTelemetry otel = GlobalOpenTelemetry.get();
     Tracer tracer = otel.getTracer("Nessie");
+    // Counts requests handled by the response cache per outcome, the hit ratio is the number of
+    // 'hit' and 'revalidated' requests divided by the number of all requests.
+    LongCounter responseCacheRequests =
+        otel.getMeter("Nessie")
+            .counterBuilder("nessie.client.response_cache.requests")
+            .setDescription("Nessie client requests handled by the response cache")
+            .build();
     if (tracer != null) {
       httpClient.addRequestFilter(
           context -> {
@@ -61,6 +74,15 @@ final class OpentelemetryTracing {
                   if (responseContext != null) {
                     span.setAttribute(HTTP_STATUS_CODE, responseContext.getStatus().getCode());
                   }
+                  if (responseContext instanceof CachedResponseContext) {
+                    String outcome =
+                        ((CachedResponseContext) responseContext)
+                            .getCacheOutcome()
+                            .name()
+                            .toLowerCase(Locale.ROOT);
+                    span.setAttribute(NESSIE_RESPONSE_CACHE, outcome);
+                    responseCacheRequests.add(1L, Attributes.of(NESSIE_RESPONSE_CACHE, outcome));
+                  }
                   if (exception != null) {
                     span.setStatus(StatusCode.ERROR).recordException(exception);
                   } else {
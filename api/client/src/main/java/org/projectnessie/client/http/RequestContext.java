@@ -28,6 +28,9 @@ public interface RequestContext {
 
   boolean containsHeader(String name);
 
+  /** Get the value of the first request header with the given name, if present. */
+  Optional<String> getHeader(String name);
+
   void removeHeader(String name);
 
   URI getUri();
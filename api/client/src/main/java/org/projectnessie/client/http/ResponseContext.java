@@ -49,6 +49,15 @@ public interface ResponseContext {
 
   String getContentType();
 
+  /**
+   * Get the value of the first response header with the given name, or {@code null}, if the
+   * response does not contain the header.
+   */
+  @Nullable
+  default String getHeader(String name) {
+    return null;
+  }
+
   URI getRequestedUri();
 
   /**
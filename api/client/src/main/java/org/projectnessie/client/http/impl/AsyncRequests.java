@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static org.projectnessie.client.http.impl.HttpUtils.checkArgument;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrently executing asynchronous requests of an HTTP client and
+ * coalesces identical asynchronous requests that are in flight at the same time.
+ *
+ * <p>Requests that exceed the limit are queued and started when another request completes, no
+ * thread is blocked while waiting for a request to start.
+ */
+public final class AsyncRequests {
+
+  private final int maxConcurrentRequests;
+  private final boolean coalesce;
+
+  private final Lock lock = new ReentrantLock();
+  // guarded by 'lock'
+  private final Queue<Runnable> pending = new ArrayDeque<>();
+  // guarded by 'lock'
+  private int running;
+
+  // Number of releases that still have to be processed by the release loop of the current thread,
+  // null if the current thread is not in the release loop.
+  private final ThreadLocal<int[]> deferredReleases = new ThreadLocal<>();
+
+  private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong coalescedRequests = new AtomicLong();
+
+  public AsyncRequests(int maxConcurrentRequests, boolean coalesce) {
+    checkArgument(
+        maxConcurrentRequests > 0,
+        "maxConcurrentRequests must be positive, but is %s",
+        maxConcurrentRequests);
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.coalesce = coalesce;
+  }
+
+  /** The number of requests that were served by an identical in-flight request. */
+  public long coalescedRequests() {
+    return coalescedRequests.get();
+  }
+
+  /** The number of requests that wait for a running request to complete. */
+  public int pendingRequests() {
+    lock.lock();
+    try {
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Starts the given request, if coalescing is enabled and no identical request, as identified by
+   * {@code key}, is in flight. Otherwise, the result of the in-flight request is returned.
+   */
+  public <V> CompletionStage<V> submitCoalescing(
+      String key, Supplier<CompletionStage<V>> request) {
+    if (!coalesce) {
+      return submit(request);
+    }
+
+    CompletableFuture<V> shared = new CompletableFuture<>();
+    @SuppressWarnings("unchecked")
+    CompletableFuture<V> existing = (CompletableFuture<V>) inFlight.putIfAbsent(key, shared);
+    if (existing != null) {
+      coalescedRequests.incrementAndGet();
+      return propagate(existing, new CompletableFuture<>());
+    }
+
+    CompletableFuture<V> result = propagate(shared, new CompletableFuture<>());
+    submit(request)
+        .whenComplete(
+            (value, failure) -> {
+              // Remove before completing, so that a request started by a callback of the result
+              // is not served with this result.
+              inFlight.remove(key, shared);
+              complete(shared, value, failure);
+            });
+    return result;
+  }
+
+  /** Starts the given request, once the number of running requests is below the limit. */
+  public <V> CompletionStage<V> submit(Supplier<CompletionStage<V>> request) {
+    CompletableFuture<V> result = new CompletableFuture<>();
+    Runnable start =
+        () -> {
+          CompletionStage<V> stage;
+          try {
+            stage = request.get();
+          } catch (RuntimeException e) {
+            CompletableFuture<V> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            stage = failed;
+          }
+          stage.whenComplete(
+              (value, failure) -> {
+                release();
+                complete(result, value, failure);
+              });
+        };
+
+    boolean startNow;
+    lock.lock();
+    try {
+      startNow = running < maxConcurrentRequests;
+      if (startNow) {
+        running++;
+      } else {
+        pending.add(start);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (startNow) {
+      start.run();
+    }
+    return result;
+  }
+
+  private void release() {
+    int[] deferred = deferredReleases.get();
+    if (deferred != null) {
+      // A request started by the release loop below completed synchronously. Let the loop hand
+      // over its permit instead of recursing, which could overflow the stack.
+      deferred[0]++;
+      return;
+    }
+
+    deferred = new int[] {1};
+    deferredReleases.set(deferred);
+    try {
+      while (deferred[0] > 0) {
+        deferred[0]--;
+        Runnable next;
+        lock.lock();
+        try {
+          next = pending.poll();
+          if (next == null) {
+            running--;
+          }
+        } finally {
+          lock.unlock();
+        }
+        if (next != null) {
+          // The permit of the completed request is handed over to the next request.
+          next.run();
+        }
+      }
+    } finally {
+      deferredReleases.remove();
+    }
+  }
+
+  private static <V> CompletableFuture<V> propagate(
+      CompletableFuture<V> source, CompletableFuture<V> target) {
+    source.whenComplete((value, failure) -> complete(target, value, failure));
+    return target;
+  }
+
+  private static <V> void complete(CompletableFuture<V> future, V value, Throwable failure) {
+    if (failure instanceof CompletionException && failure.getCause() != null) {
+      failure = failure.getCause();
+    }
+    if (failure != null) {
+      future.completeExceptionally(failure);
+    } else {
+      future.complete(value);
+    }
+  }
+}
@@ -38,7 +38,13 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.zip.GZIPOutputStream;
 import org.projectnessie.client.http.HttpAuthentication;
 import org.projectnessie.client.http.HttpClient.Method;
@@ -48,12 +54,27 @@ import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.client.http.HttpResponse;
 import org.projectnessie.client.http.RequestContext;
 import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.impl.HttpHeaders.HttpHeader;
+import org.projectnessie.client.http.impl.ResponseCache.CachedResponseContext;
 
 public abstract class BaseHttpRequest extends HttpRequest {
 
   private static final TypeReference<Map<String, Object>> MAP_TYPE =
       new TypeReference<Map<String, Object>>() {};
 
+  /**
+   * Executor for asynchronous requests of HTTP client implementations that do not support
+   * asynchronous requests natively. The number of busy threads is bounded by the per-client limit
+   * of concurrently executing asynchronous requests.
+   */
+  private static final Executor ASYNC_SEND_EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread t = new Thread(r, "nessie-http-async");
+            t.setDaemon(true);
+            return t;
+          });
+
   protected BaseHttpRequest(HttpRuntimeConfig config, URI baseUri) {
     super(config, baseUri);
   }
@@ -66,7 +87,14 @@ public abstract class BaseHttpRequest extends HttpRequest {
     RuntimeException error = null;
     try {
       prepareRequest(requestContext);
-      responseContext = processResponse(uri, method, body, requestContext);
+      ResponseCache cache = responseCache();
+      responseContext = cache != null ? cache.lookup(requestContext) : null;
+      if (responseContext == null) {
+        responseContext = processResponse(uri, method, body, requestContext);
+        if (cache != null) {
+          responseContext = cache.received(requestContext, responseContext);
+        }
+      }
       processResponseFilters(responseContext);
       return config.responseFactory().make(responseContext, config.getMapper());
     } catch (RuntimeException e) {
@@ -78,6 +106,105 @@ public abstract class BaseHttpRequest extends HttpRequest {
     throw error;
   }
 
+  @Override
+  public <V> CompletionStage<V> executeRequestAsync(
+      Method method, Object body, Class<V> entityType) {
+    URI uri = uriBuilder.build();
+    AsyncRequests asyncRequests = config.asyncRequests();
+    Supplier<CompletionStage<V>> request = () -> sendAsync(uri, method, body, entityType);
+    // Requests with request specific authentication are never coalesced.
+    return method == Method.GET && auth == null
+        ? asyncRequests.submitCoalescing(coalescingKey(uri, entityType), request)
+        : asyncRequests.submit(request);
+  }
+
+  private String coalescingKey(URI uri, Class<?> entityType) {
+    StringBuilder key =
+        new StringBuilder()
+            .append(uri)
+            .append('\n')
+            .append(entityType.getName())
+            .append('\n')
+            .append(accept)
+            .append('\n')
+            .append(bypassFilters);
+    for (HttpHeader header : headers.allHeaders()) {
+      key.append('\n').append(header.getName()).append(':');
+      for (String value : header.getValues()) {
+        key.append(value).append(',');
+      }
+    }
+    return key.toString();
+  }
+
+  private <V> CompletionStage<V> sendAsync(
+      URI uri, Method method, Object body, Class<V> entityType) {
+    RequestContext requestContext = new RequestContextImpl(headers, uri, method, body);
+    ResponseCache cache = responseCache();
+    CompletionStage<ResponseContext> response;
+    try {
+      prepareRequest(requestContext);
+      ResponseContext cached = cache != null ? cache.lookup(requestContext) : null;
+      response =
+          cached != null
+              ? CompletableFuture.completedFuture(cached)
+              : sendAndReceiveAsync(uri, method, body, requestContext);
+    } catch (RuntimeException e) {
+      CompletableFuture<ResponseContext> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      response = failed;
+    }
+
+    CompletableFuture<V> result = new CompletableFuture<>();
+    response.whenComplete(
+        (received, failure) -> {
+          ResponseContext responseContext = received;
+          RuntimeException error = null;
+          V entity = null;
+          try {
+            if (failure != null) {
+              if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+              }
+              throw sendFailure(uri, method, failure);
+            }
+            if (cache != null && !(responseContext instanceof CachedResponseContext)) {
+              responseContext = cache.received(requestContext, responseContext);
+            }
+            processResponseFilters(responseContext);
+            entity =
+                config
+                    .responseFactory()
+                    .make(responseContext, config.getMapper())
+                    .readEntity(entityType);
+          } catch (RuntimeException e) {
+            error = e;
+          } finally {
+            error = processCallbacks(requestContext, responseContext, error);
+            cleanUp(responseContext, error);
+          }
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(entity);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * The response cache, if enabled. Requests that bypass filters bypass the cache as well, requests
+   * that do not accept JSON, like streamed responses, and requests with request specific
+   * authentication are never cached.
+   */
+  @Nullable
+  private ResponseCache responseCache() {
+    if (bypassFilters || auth != null || accept == null || !accept.startsWith("application/json")) {
+      return null;
+    }
+    return config.responseCache().orElse(null);
+  }
+
   protected void prepareRequest(RequestContext context) {
     headers.put(HEADER_ACCEPT, accept);
 
@@ -108,31 +235,63 @@ public abstract class BaseHttpRequest extends HttpRequest {
       URI uri, Method method, Object body, RequestContext requestContext) {
     try {
       return sendAndReceive(uri, method, body, requestContext);
-    } catch (ProtocolException e) {
-      throw new HttpClientException(
+    } catch (IOException | InterruptedException e) {
+      throw sendFailure(uri, method, e);
+    }
+  }
+
+  /** Maps a failure to send a request or to receive the response to the exception to throw. */
+  protected RuntimeException sendFailure(URI uri, Method method, Throwable e) {
+    if (e instanceof ProtocolException) {
+      return new HttpClientException(
           String.format("Cannot perform request against '%s'. Invalid protocol %s", uri, method),
           e);
-    } catch (MalformedURLException e) {
-      throw new HttpClientException(
+    }
+    if (e instanceof MalformedURLException) {
+      return new HttpClientException(
           String.format("Cannot perform %s request. Malformed Url for %s", method, uri), e);
-    } catch (SocketTimeoutException e) {
-      throw new HttpClientReadTimeoutException(
+    }
+    if (e instanceof SocketTimeoutException) {
+      return new HttpClientReadTimeoutException(
           String.format(
               "Cannot finish %s request against '%s'. Timeout while waiting for response with a timeout of %ds",
               method, uri, config.getReadTimeoutMillis() / 1000),
           e);
-    } catch (IOException e) {
-      throw new HttpClientException(
-          String.format("Failed to execute %s request against '%s'.", method, uri), e);
-    } catch (InterruptedException e) {
-      throw new RuntimeException(e);
     }
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    if (e instanceof InterruptedException) {
+      return new RuntimeException(e);
+    }
+    return new HttpClientException(
+        String.format("Failed to execute %s request against '%s'.", method, uri), e);
   }
 
   protected abstract ResponseContext sendAndReceive(
       URI uri, Method method, Object body, RequestContext requestContext)
       throws IOException, InterruptedException;
 
+  /**
+   * Asynchronously sends the request and receives the response. The default implementation
+   * delegates to {@link #sendAndReceive(URI, Method, Object, RequestContext)} using a shared
+   * executor, implementations that support asynchronous requests should override this function.
+   * The response entity is read from the thread that completes the returned stage.
+   */
+  protected CompletionStage<ResponseContext> sendAndReceiveAsync(
+      URI uri, Method method, Object body, RequestContext requestContext) {
+    CompletableFuture<ResponseContext> response = new CompletableFuture<>();
+    ASYNC_SEND_EXECUTOR.execute(
+        () -> {
+          try {
+            response.complete(sendAndReceive(uri, method, body, requestContext));
+          } catch (Exception e) {
+            response.completeExceptionally(e);
+          }
+        });
+    return response;
+  }
+
   protected void processRequestFilters(RequestContext requestContext) {
     if (!bypassFilters) {
       config.getRequestFilters().forEach(requestFilter -> requestFilter.filter(requestContext));
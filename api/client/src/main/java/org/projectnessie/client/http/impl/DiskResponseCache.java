@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.projectnessie.client.http.impl.ResponseCache.CachedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps immutable responses in a local directory, one file per response, so that those survive
+ * the lifetime of the client. The least recently used files are deleted, when the total size of
+ * all files exceeds the configured capacity.
+ *
+ * <p>Responses are only served to requests with the same credentials, see {@link ResponseCache}.
+ * The directory is created readable for the current OS user only, on file systems that support
+ * POSIX permissions.
+ */
+final class DiskResponseCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiskResponseCache.class);
+
+  private static final int MAGIC = 0x4e525331; // "NRS1"
+  private static final String SUFFIX = ".response";
+
+  private final Path directory;
+  private final long capacityBytes;
+
+  private final Lock lock = new ReentrantLock();
+  // guarded by 'lock', file name to file size, in access order
+  private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+  // guarded by 'lock'
+  private long sizeBytes;
+
+  DiskResponseCache(Path directory, long capacityBytes) {
+    this.directory = directory;
+    this.capacityBytes = capacityBytes;
+    try {
+      if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+        Files.createDirectories(
+            directory,
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      } else {
+        Files.createDirectories(directory);
+      }
+      loadExistingFiles();
+    } catch (IOException e) {
+      throw new IllegalArgumentException(
+          "Cannot use directory " + directory + " for the HTTP response cache", e);
+    }
+  }
+
+  private void loadExistingFiles() throws IOException {
+    List<Path> existing = new ArrayList<>();
+    try (DirectoryStream<Path> dir = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+      dir.forEach(existing::add);
+    }
+    existing.sort(Comparator.comparing(DiskResponseCache::lastModified));
+    lock.lock();
+    try {
+      for (Path file : existing) {
+        long size = Files.size(file);
+        files.put(file.getFileName().toString(), size);
+        sizeBytes += size;
+      }
+      List<String> evicted = evict();
+      deleteFiles(evicted);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Nullable
+  CachedResponse get(String key) {
+    String fileName = fileName(key);
+    lock.lock();
+    try {
+      if (files.get(fileName) == null) {
+        return null;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    Path file = directory.resolve(fileName);
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC || !key.equals(in.readUTF())) {
+        // Unknown format or hash collision
+        return null;
+      }
+      String contentType = in.readUTF();
+      byte[] body = new byte[in.readInt()];
+      in.readFully(body);
+      return new CachedResponse(contentType.isEmpty() ? null : contentType, null, true, body);
+    } catch (NoSuchFileException e) {
+      remove(fileName);
+      return null;
+    } catch (IOException e) {
+      LOGGER.debug("Failed to read cached response from {}", file, e);
+      remove(fileName);
+      deleteFiles(Collections.singletonList(fileName));
+      return null;
+    }
+  }
+
+  void put(String key, CachedResponse cached) {
+    if (key.length() > 8192) {
+      // Exceeds the limit of DataOutputStream.writeUTF() for non-ASCII keys
+      return;
+    }
+    String fileName = fileName(key);
+    Path file = directory.resolve(fileName);
+    Path tempFile = directory.resolve(fileName + ".tmp");
+    long size;
+    try {
+      try (OutputStream fileOut = Files.newOutputStream(tempFile);
+          DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+        out.writeInt(MAGIC);
+        out.writeUTF(key);
+        out.writeUTF(cached.contentType != null ? cached.contentType : "");
+        out.writeInt(cached.body.length);
+        out.write(cached.body);
+      }
+      size = Files.size(tempFile);
+      try {
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Failed to write cached response to {}", file, e);
+      try {
+        Files.deleteIfExists(tempFile);
+      } catch (IOException ex) {
+        e.addSuppressed(ex);
+      }
+      return;
+    }
+
+    List<String> evicted;
+    lock.lock();
+    try {
+      Long previous = files.put(fileName, size);
+      if (previous != null) {
+        sizeBytes -= previous;
+      }
+      sizeBytes += size;
+      evicted = evict();
+    } finally {
+      lock.unlock();
+    }
+    deleteFiles(evicted);
+  }
+
+  // must be called while holding 'lock'
+  private List<String> evict() {
+    List<String> evicted = new ArrayList<>();
+    for (Iterator<Map.Entry<String, Long>> iter = files.entrySet().iterator();
+        sizeBytes > capacityBytes && iter.hasNext(); ) {
+      Map.Entry<String, Long> eldest = iter.next();
+      sizeBytes -= eldest.getValue();
+      evicted.add(eldest.getKey());
+      iter.remove();
+    }
+    return evicted;
+  }
+
+  private void remove(String fileName) {
+    lock.lock();
+    try {
+      Long size = files.remove(fileName);
+      if (size != null) {
+        sizeBytes -= size;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void deleteFiles(List<String> fileNames) {
+    for (String fileName : fileNames) {
+      try {
+        Files.deleteIfExists(directory.resolve(fileName));
+      } catch (IOException e) {
+        LOGGER.debug("Failed to delete cached response {}", fileName, e);
+      }
+    }
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0L;
+    }
+  }
+
+  private static String fileName(String key) {
+    return ResponseCache.sha256Hex(key) + SUFFIX;
+  }
+}
@@ -17,11 +17,14 @@ package org.projectnessie.client.http.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLParameters;
 import org.immutables.value.Value;
+import org.projectnessie.client.NessieConfigConstants;
 import org.projectnessie.client.http.HttpAuthentication;
 import org.projectnessie.client.http.HttpResponseFactory;
 import org.projectnessie.client.http.RequestFilter;
@@ -100,6 +103,50 @@ public interface HttpRuntimeConfig extends AutoCloseable {
     return 2;
   }
 
+  @Value.Default
+  default int getMaxConcurrentAsyncRequests() {
+    return NessieConfigConstants.DEFAULT_MAX_CONCURRENT_ASYNC_REQUESTS;
+  }
+
+  @Value.Default
+  default boolean isCoalesceAsyncGetRequests() {
+    return true;
+  }
+
+  /** Concurrency limit and coalescing of asynchronous requests, shared by all requests. */
+  @Value.Lazy
+  default AsyncRequests asyncRequests() {
+    return new AsyncRequests(getMaxConcurrentAsyncRequests(), isCoalesceAsyncGetRequests());
+  }
+
+  /** Capacity of the in-memory response cache in bytes, {@code 0} disables the cache. */
+  @Value.Default
+  default long getResponseCacheCapacityBytes() {
+    return 0L;
+  }
+
+  @Nullable
+  @jakarta.annotation.Nullable
+  Path getResponseCacheDiskPath();
+
+  /** Capacity of the on-disk response cache in bytes, {@code 0} disables the disk cache. */
+  @Value.Default
+  default long getResponseCacheDiskCapacityBytes() {
+    return 0L;
+  }
+
+  /** The response cache shared by all requests, if enabled. */
+  @Value.Lazy
+  default Optional<ResponseCache> responseCache() {
+    long capacity = Math.max(getResponseCacheCapacityBytes(), 0L);
+    Path diskPath = getResponseCacheDiskPath();
+    long diskCapacity = diskPath != null ? getResponseCacheDiskCapacityBytes() : 0L;
+    if (capacity == 0L && diskCapacity <= 0L) {
+      return Optional.empty();
+    }
+    return Optional.of(new ResponseCache(capacity, diskPath, diskCapacity));
+  }
+
   @Override
   default void close() {
     HttpAuthentication authentication = getAuthentication();
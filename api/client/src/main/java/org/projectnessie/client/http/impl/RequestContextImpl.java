@@ -57,6 +57,11 @@ public class RequestContextImpl implements RequestContext {
     return headers.contains(name);
   }
 
+  @Override
+  public Optional<String> getHeader(String name) {
+    return headers.getFirstValue(name);
+  }
+
   @Override
   public void removeHeader(String name) {
     headers.remove(name);
@@ -0,0 +1,400 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.client.http.impl.HttpUtils.checkArgument;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.projectnessie.client.http.HttpClient.Method;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.RequestContext;
+import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.Status;
+
+/**
+ * Bounded cache for the responses of {@code GET} requests.
+ *
+ * <p>Responses to Nessie API v2 requests that are pinned to a commit hash, for example {@code
+ * trees/main@1234...abcd/contents/...}, are immutable and served from the cache without sending a
+ * request. Those responses are optionally also kept in a local directory, see {@link
+ * DiskResponseCache}.
+ *
+ * <p>Responses of other requests are only cached, if the server provided an {@code ETag} header.
+ * Those are revalidated using {@code If-None-Match}, a {@code 304 Not Modified} response is served
+ * from the cache.
+ *
+ * <p>Cached responses are only served to requests with the same {@code Authorization} header. The
+ * cache keys contain a SHA-256 hash of that header, but never the credentials themselves.
+ */
+public final class ResponseCache {
+
+  public static final String HEADER_ETAG = "ETag";
+  public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+  public static final String HEADER_AUTHORIZATION = "Authorization";
+
+  /** How a request has been served by the cache. */
+  public enum CacheOutcome {
+    /** The response was served from the cache, no request has been sent. */
+    HIT,
+    /** The cached response was served after the server responded with {@code 304 Not Modified}. */
+    REVALIDATED,
+    /** The response has been received from the server and added to the cache. */
+    MISS
+  }
+
+  /** A reference pinned to a full commit hash, optionally followed by a relative commit spec. */
+  private static final Pattern PINNED_REF = Pattern.compile("[^@]*@[0-9a-fA-F]{64}(?:[~^*].*)?");
+
+  /** Resources below {@code trees/{ref}} whose responses only depend on the commit. */
+  private static final Set<String> COMMIT_RESOURCES =
+      new HashSet<>(Arrays.asList("contents", "entries", "history", "diff"));
+
+  /** Approximate per-entry heap overhead in addition to the key and the response body. */
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final long capacityBytes;
+  @Nullable private final DiskResponseCache disk;
+
+  private final Lock lock = new ReentrantLock();
+  // guarded by 'lock', in access order
+  private final LinkedHashMap<String, CachedResponse> entries =
+      new LinkedHashMap<>(16, 0.75f, true);
+  // guarded by 'lock'
+  private long sizeBytes;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public ResponseCache(long capacityBytes, @Nullable Path diskPath, long diskCapacityBytes) {
+    checkArgument(capacityBytes >= 0L, "capacityBytes must not be negative");
+    this.capacityBytes = capacityBytes;
+    this.disk =
+        diskPath != null && diskCapacityBytes > 0L
+            ? new DiskResponseCache(diskPath, diskCapacityBytes)
+            : null;
+  }
+
+  /** The number of requests served from the cache, including revalidated responses. */
+  public long hits() {
+    return hits.get();
+  }
+
+  /** The number of responses that have been added to the cache. */
+  public long misses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns whether the response to a {@code GET} request for the given URI only depends on the
+   * commit hashes in the URI.
+   */
+  public static boolean isImmutable(URI uri) {
+    String path = uri.getRawPath();
+    if (path == null) {
+      return false;
+    }
+    String[] segments = path.split("/");
+    for (int i = 0; i < segments.length - 2; i++) {
+      if ("v2".equals(segments[i]) && "trees".equals(segments[i + 1])) {
+        return isImmutableTreeResource(segments, i + 2);
+      }
+    }
+    return false;
+  }
+
+  private static boolean isImmutableTreeResource(String[] segments, int refIndex) {
+    int resourceIndex = refIndex + 1;
+    if (resourceIndex >= segments.length
+        || !COMMIT_RESOURCES.contains(segments[resourceIndex])
+        || !isPinned(segments[refIndex])) {
+      return false;
+    }
+    if ("diff".equals(segments[resourceIndex])) {
+      return resourceIndex + 1 < segments.length && isPinned(segments[resourceIndex + 1]);
+    }
+    return true;
+  }
+
+  private static boolean isPinned(String rawRef) {
+    try {
+      return PINNED_REF.matcher(URLDecoder.decode(rawRef, "UTF-8")).matches();
+    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the cached response for the given request, if the request does not need to be sent.
+   * Adds the {@code If-None-Match} header to the request, if the cached response needs to be
+   * revalidated.
+   */
+  @Nullable
+  public ResponseContext lookup(RequestContext request) {
+    if (request.getMethod() != Method.GET) {
+      return null;
+    }
+    URI uri = request.getUri();
+    CachedResponse cached = get(cacheKey(request));
+    if (cached == null) {
+      return null;
+    }
+    if (cached.immutable) {
+      hits.incrementAndGet();
+      return new CachedResponseContext(cached, uri, CacheOutcome.HIT);
+    }
+    request.putHeader(HEADER_IF_NONE_MATCH, cached.etag);
+    return null;
+  }
+
+  /**
+   * Processes the response received for the given request. Cacheable responses are read and added
+   * to the cache, a {@code 304 Not Modified} response is replaced with the cached response.
+   */
+  public ResponseContext received(RequestContext request, ResponseContext response) {
+    if (request.getMethod() != Method.GET) {
+      return response;
+    }
+    URI uri = request.getUri();
+    String key = cacheKey(request);
+    try {
+      int status = response.getStatus().getCode();
+      if (status == Status.NOT_MODIFIED_CODE) {
+        CachedResponse cached = get(key);
+        if (cached != null && !cached.immutable) {
+          closeBody(response);
+          hits.incrementAndGet();
+          return new CachedResponseContext(cached, uri, CacheOutcome.REVALIDATED);
+        }
+        return response;
+      }
+      if (status != Status.OK_CODE || !response.isJsonCompatibleResponse()) {
+        // Only complete JSON responses are cached, streamed responses are never buffered.
+        return response;
+      }
+
+      boolean immutable = isImmutable(uri);
+      String etag = immutable ? null : response.getHeader(HEADER_ETAG);
+      if (!immutable && etag == null) {
+        return response;
+      }
+
+      CachedResponse cached =
+          new CachedResponse(response.getContentType(), etag, immutable, readBody(response));
+      put(key, cached);
+      misses.incrementAndGet();
+      return new CachedResponseContext(cached, uri, CacheOutcome.MISS);
+    } catch (IOException e) {
+      throw new HttpClientException(
+          String.format("Failed to read the response of the GET request against '%s'.", uri), e);
+    }
+  }
+
+  /**
+   * The cache key for a request, which partitions the cached responses by the credentials of the
+   * requests.
+   */
+  static String cacheKey(RequestContext request) {
+    String uri = request.getUri().toString();
+    return request
+        .getHeader(HEADER_AUTHORIZATION)
+        .map(authorization -> sha256Hex(authorization) + ' ' + uri)
+        .orElse(uri);
+  }
+
+  static String sha256Hex(String value) {
+    byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    StringBuilder hex = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      hex.append(HEX[(b >> 4) & 0xf]).append(HEX[b & 0xf]);
+    }
+    return hex.toString();
+  }
+
+  @Nullable
+  CachedResponse get(String key) {
+    lock.lock();
+    try {
+      CachedResponse cached = entries.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (disk != null) {
+      CachedResponse cached = disk.get(key);
+      if (cached != null) {
+        putInMemory(key, cached);
+      }
+      return cached;
+    }
+    return null;
+  }
+
+  void put(String key, CachedResponse cached) {
+    putInMemory(key, cached);
+    if (disk != null && cached.immutable) {
+      disk.put(key, cached);
+    }
+  }
+
+  private void putInMemory(String key, CachedResponse cached) {
+    long size = weight(key, cached);
+    if (size > capacityBytes) {
+      return;
+    }
+    lock.lock();
+    try {
+      CachedResponse previous = entries.put(key, cached);
+      if (previous != null) {
+        sizeBytes -= weight(key, previous);
+      }
+      sizeBytes += size;
+      for (Iterator<Map.Entry<String, CachedResponse>> iter = entries.entrySet().iterator();
+          sizeBytes > capacityBytes && iter.hasNext(); ) {
+        Map.Entry<String, CachedResponse> eldest = iter.next();
+        sizeBytes -= weight(eldest.getKey(), eldest.getValue());
+        iter.remove();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static long weight(String key, CachedResponse cached) {
+    return ENTRY_OVERHEAD + 2L * key.length() + cached.body.length;
+  }
+
+  private static byte[] readBody(ResponseContext response) throws IOException {
+    try (InputStream in = response.getInputStream()) {
+      if (in == null) {
+        return new byte[0];
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int n;
+      while ((n = in.read(buffer)) >= 0) {
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    }
+  }
+
+  private static void closeBody(ResponseContext response) throws IOException {
+    InputStream in = response.getInputStream();
+    if (in != null) {
+      in.close();
+    }
+  }
+
+  /** A cached response, the body is never modified. */
+  static final class CachedResponse {
+    @Nullable final String contentType;
+    @Nullable final String etag;
+    final boolean immutable;
+    final byte[] body;
+
+    CachedResponse(
+        @Nullable String contentType, @Nullable String etag, boolean immutable, byte[] body) {
+      this.contentType = contentType;
+      this.etag = etag;
+      this.immutable = immutable;
+      this.body = body;
+    }
+  }
+
+  /** Response context for a cached response. */
+  public static final class CachedResponseContext implements ResponseContext {
+    private final CachedResponse cached;
+    private final URI uri;
+    private final CacheOutcome outcome;
+    private InputStream inputStream;
+
+    CachedResponseContext(CachedResponse cached, URI uri, CacheOutcome outcome) {
+      this.cached = cached;
+      this.uri = uri;
+      this.outcome = outcome;
+    }
+
+    public CacheOutcome getCacheOutcome() {
+      return outcome;
+    }
+
+    @Override
+    public Status getStatus() {
+      return Status.OK;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+      if (inputStream == null) {
+        inputStream = new ByteArrayInputStream(cached.body);
+      }
+      return inputStream;
+    }
+
+    @Override
+    public String getContentType() {
+      return cached.contentType;
+    }
+
+    @Nullable
+    @Override
+    public String getHeader(String name) {
+      if (HEADER_ETAG.equalsIgnoreCase(name)) {
+        return cached.etag;
+      }
+      if (HttpUtils.HEADER_CONTENT_TYPE.equalsIgnoreCase(name)) {
+        return cached.contentType;
+      }
+      return null;
+    }
+
+    @Override
+    public URI getRequestedUri() {
+      return uri;
+    }
+  }
+}
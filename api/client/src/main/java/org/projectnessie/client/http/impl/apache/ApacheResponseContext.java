@@ -58,7 +58,12 @@ final class ApacheResponseContext implements ResponseContext {
 
   @Override
   public String getContentType() {
-    Header header = response.getFirstHeader(HEADER_CONTENT_TYPE);
+    return getHeader(HEADER_CONTENT_TYPE);
+  }
+
+  @Override
+  public String getHeader(String name) {
+    Header header = response.getFirstHeader(name);
     return header != null ? header.getValue() : null;
   }
 
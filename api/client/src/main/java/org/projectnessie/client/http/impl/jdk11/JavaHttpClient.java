@@ -65,7 +65,7 @@ final class JavaHttpClient implements org.projectnessie.client.http.HttpClient {
 
   @Override
   public HttpRequest newRequest(URI baseUri) {
-    return new JavaRequest(this.config, baseUri, client::send);
+    return new JavaRequest(this.config, baseUri, client::send, client::sendAsync);
   }
 
   @Override
@@ -17,6 +17,7 @@ package org.projectnessie.client.http.impl.jdk11;
 
 import static java.lang.Thread.currentThread;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -26,10 +27,13 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscribers;
 import java.nio.channels.Channels;
 import java.nio.channels.Pipe;
 import java.time.Duration;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
 import java.util.concurrent.ForkJoinPool;
@@ -64,20 +68,62 @@ final class JavaRequest extends BaseHttpRequest {
         throws IOException, InterruptedException;
   }
 
+  /**
+   * A functional interface that is used to asynchronously send an {@link HttpRequest} without
+   * leaking the {@link HttpClient} instance.
+   *
+   * @see HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)
+   */
+  @FunctionalInterface
+  interface AsyncHttpExchange<T> {
+    CompletionStage<HttpResponse<T>> sendAsync(
+        HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler);
+  }
+
   private static final Logger LOGGER = LoggerFactory.getLogger(JavaRequest.class);
 
+  /**
+   * Body handler for asynchronous requests, the response body is buffered, so that reading the
+   * response entity does not block.
+   */
+  private static final BodyHandler<InputStream> BUFFERED_BODY_HANDLER =
+      responseInfo ->
+          BodySubscribers.mapping(BodySubscribers.ofByteArray(), ByteArrayInputStream::new);
+
   private final HttpExchange<InputStream> exchange;
+  private final AsyncHttpExchange<InputStream> asyncExchange;
 
-  JavaRequest(HttpRuntimeConfig config, URI baseUri, HttpExchange<InputStream> exchange) {
+  JavaRequest(
+      HttpRuntimeConfig config,
+      URI baseUri,
+      HttpExchange<InputStream> exchange,
+      AsyncHttpExchange<InputStream> asyncExchange) {
     super(config, baseUri);
     this.exchange = exchange;
+    this.asyncExchange = asyncExchange;
   }
 
   @Override
   protected ResponseContext sendAndReceive(
       URI uri, Method method, Object body, RequestContext requestContext)
       throws IOException, InterruptedException {
+    HttpRequest request = buildRequest(uri, method, requestContext);
+    LOGGER.debug("Sending {} request to {} ...", method, uri);
+    HttpResponse<InputStream> response = exchange.send(request, BodyHandlers.ofInputStream());
+    return new JavaResponseContext(response);
+  }
 
+  @Override
+  protected CompletionStage<ResponseContext> sendAndReceiveAsync(
+      URI uri, Method method, Object body, RequestContext requestContext) {
+    HttpRequest request = buildRequest(uri, method, requestContext);
+    LOGGER.debug("Sending asynchronous {} request to {} ...", method, uri);
+    return asyncExchange
+        .sendAsync(request, BUFFERED_BODY_HANDLER)
+        .<ResponseContext>thenApply(JavaResponseContext::new);
+  }
+
+  private HttpRequest buildRequest(URI uri, Method method, RequestContext requestContext) {
     HttpRequest.Builder request =
         HttpRequest.newBuilder().uri(uri).timeout(Duration.ofMillis(config.getReadTimeoutMillis()));
 
@@ -90,11 +136,7 @@ final class JavaRequest extends BaseHttpRequest {
     BodyPublisher bodyPublisher =
         requestContext.doesOutput() ? bodyPublisher(requestContext) : BodyPublishers.noBody();
     request = request.method(method.name(), bodyPublisher);
-
-    LOGGER.debug("Sending {} request to {} ...", method, uri);
-    HttpResponse<InputStream> response =
-        exchange.send(request.build(), BodyHandlers.ofInputStream());
-    return new JavaResponseContext(response);
+    return request.build();
   }
 
   private BodyPublisher bodyPublisher(RequestContext context) {
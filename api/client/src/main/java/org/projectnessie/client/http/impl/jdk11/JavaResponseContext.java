@@ -66,6 +66,11 @@ final class JavaResponseContext implements ResponseContext {
     return response.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null);
   }
 
+  @Override
+  public String getHeader(String name) {
+    return response.headers().firstValue(name).orElse(null);
+  }
+
   @Override
   public URI getRequestedUri() {
     return response.uri();
@@ -15,12 +15,15 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.CommitLogParams;
 import org.projectnessie.client.builder.BaseGetCommitLogBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.LogResponse;
+import org.projectnessie.model.LogResponse.LogEntry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
@@ -44,19 +47,28 @@ final class HttpGetCommitLog extends BaseGetCommitLogBuilder<CommitLogParams> {
 
   @Override
   protected LogResponse get(CommitLogParams p) throws NessieNotFoundException {
+    return request(p)
+        .queryParam("max-records", p.maxRecords())
+        .queryParam("page-token", p.pageToken())
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(LogResponse.class);
+  }
+
+  @Override
+  public Stream<LogEntry> streamAll() throws NessieNotFoundException {
+    return StreamedEntries.streamEntries(request(params()), LogEntry.class, this::stream);
+  }
+
+  private HttpRequest request(CommitLogParams p) {
     return client
         .newRequest()
         .path("trees/{ref}/history")
         .resolveTemplate(
             "ref",
             Reference.toPathString(refName, hashOnRef)) // TODO: move refName, hashOnRef to params
-        .queryParam("max-records", p.maxRecords())
-        .queryParam("page-token", p.pageToken())
         .queryParam("filter", p.filter())
         .queryParam("limit-hash", p.startHash())
-        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()))
-        .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(LogResponse.class);
+        .queryParam("fetch", FetchOption.getFetchOptionName(p.fetchOption()));
   }
 }
@@ -16,8 +16,12 @@
 package org.projectnessie.client.rest.v2;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import org.projectnessie.client.builder.BaseGetContentBuilder;
 import org.projectnessie.client.http.HttpClient;
+import org.projectnessie.client.http.HttpClientException;
+import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
@@ -39,6 +43,32 @@ final class HttpGetContent extends BaseGetContentBuilder {
 
   @Override
   public ContentResponse getSingle(ContentKey key) throws NessieNotFoundException {
+    return singleContentRequest(key)
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(ContentResponse.class);
+  }
+
+  @Override
+  public GetMultipleContentsResponse getWithResponse() throws NessieNotFoundException {
+    return multipleContentsRequest()
+        .unwrap(NessieNotFoundException.class)
+        .post(request.build())
+        .readEntity(GetMultipleContentsResponse.class);
+  }
+
+  @Override
+  public CompletionStage<ContentResponse> getSingleAsync(ContentKey key) {
+    return unwrapNotFound(singleContentRequest(key).getAsync(ContentResponse.class));
+  }
+
+  @Override
+  public CompletionStage<GetMultipleContentsResponse> getWithResponseAsync() {
+    return unwrapNotFound(
+        multipleContentsRequest().postAsync(request.build(), GetMultipleContentsResponse.class));
+  }
+
+  private HttpRequest singleContentRequest(ContentKey key) {
     if (!request.build().getRequestedKeys().isEmpty()) {
       throw new IllegalStateException(
           "Must not use getSingle() with key() or keys(), pass the single key to getSingle()");
@@ -48,21 +78,30 @@ final class HttpGetContent extends BaseGetContentBuilder {
         .path("trees/{ref}/contents/{key}")
         .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
         .resolveTemplate("key", key.toPathString())
-        .queryParam("for-write", forWrite ? "true" : null)
-        .unwrap(NessieNotFoundException.class)
-        .get()
-        .readEntity(ContentResponse.class);
+        .queryParam("for-write", forWrite ? "true" : null);
   }
 
-  @Override
-  public GetMultipleContentsResponse getWithResponse() throws NessieNotFoundException {
+  private HttpRequest multipleContentsRequest() {
     return client
         .newRequest()
         .path("trees/{ref}/contents")
         .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
-        .queryParam("for-write", forWrite ? "true" : null)
-        .unwrap(NessieNotFoundException.class)
-        .post(request.build())
-        .readEntity(GetMultipleContentsResponse.class);
+        .queryParam("for-write", forWrite ? "true" : null);
+  }
+
+  private static <V> CompletionStage<V> unwrapNotFound(CompletionStage<V> stage) {
+    CompletableFuture<V> result = new CompletableFuture<>();
+    stage.whenComplete(
+        (value, failure) -> {
+          if (failure == null) {
+            result.complete(value);
+          } else if (failure instanceof HttpClientException
+              && failure.getCause() instanceof NessieNotFoundException) {
+            result.completeExceptionally(failure.getCause());
+          } else {
+            result.completeExceptionally(failure);
+          }
+        });
+    return result;
   }
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.DiffParams;
 import org.projectnessie.client.builder.BaseGetDiffBuilder;
 import org.projectnessie.client.http.HttpClient;
@@ -22,6 +23,7 @@ import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.DiffResponse;
+import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
@@ -48,14 +50,26 @@ final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
 
   @Override
   public DiffResponse get(DiffParams params) throws NessieNotFoundException {
+    return request(params)
+        .queryParam("max-records", params.maxRecords())
+        .queryParam("page-token", params.pageToken())
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(DiffResponse.class);
+  }
+
+  @Override
+  public Stream<DiffEntry> streamAll() throws NessieNotFoundException {
+    return StreamedEntries.streamEntries(request(params()), DiffEntry.class, this::stream);
+  }
+
+  private HttpRequest request(DiffParams params) {
     HttpRequest req =
         client
             .newRequest()
             .path("trees/{from}/diff/{to}")
             .resolveTemplate("from", params.getFromRef())
             .resolveTemplate("to", params.getToRef())
-            .queryParam("max-records", params.maxRecords())
-            .queryParam("page-token", params.pageToken())
             .queryParam("filter", params.getFilter());
     params.getRequestedKeys().forEach(k -> req.queryParam("key", k.toPathString()));
     ContentKey k = params.minKey();
@@ -70,6 +84,6 @@ final class HttpGetDiff extends BaseGetDiffBuilder<DiffParams> {
     if (k != null) {
       req.queryParam("prefix-key", k.toPathString());
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(DiffResponse.class);
+    return req;
   }
 }
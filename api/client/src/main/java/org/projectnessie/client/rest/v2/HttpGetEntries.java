@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.rest.v2;
 
+import java.util.stream.Stream;
 import org.projectnessie.api.v2.params.EntriesParams;
 import org.projectnessie.client.api.GetEntriesBuilder;
 import org.projectnessie.client.builder.BaseGetEntriesBuilder;
@@ -23,6 +24,7 @@ import org.projectnessie.client.http.HttpRequest;
 import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.Reference;
 
 final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
@@ -55,15 +57,27 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
 
   @Override
   protected EntriesResponse get(EntriesParams p) throws NessieNotFoundException {
+    return request(p)
+        .queryParam("page-token", p.pageToken())
+        .queryParam("max-records", p.maxRecords())
+        .unwrap(NessieNotFoundException.class)
+        .get()
+        .readEntity(EntriesResponse.class);
+  }
+
+  @Override
+  public Stream<Entry> streamAll() throws NessieNotFoundException {
+    return StreamedEntries.streamEntries(request(params()), Entry.class, this::stream);
+  }
+
+  private HttpRequest request(EntriesParams p) {
     HttpRequest req =
         client
             .newRequest()
             .path("trees/{ref}/entries")
             .resolveTemplate("ref", Reference.toPathString(refName, hashOnRef))
             .queryParam("filter", p.filter())
-            .queryParam("content", p.withContent() ? "true" : null)
-            .queryParam("page-token", p.pageToken())
-            .queryParam("max-records", p.maxRecords());
+            .queryParam("content", p.withContent() ? "true" : null);
     p.getRequestedKeys().forEach(k -> req.queryParam("key", k.toPathString()));
     ContentKey k = p.minKey();
     if (k != null) {
@@ -77,6 +91,6 @@ final class HttpGetEntries extends BaseGetEntriesBuilder<EntriesParams> {
     if (k != null) {
       req.queryParam("prefix-key", k.toPathString());
     }
-    return req.unwrap(NessieNotFoundException.class).get().readEntity(EntriesResponse.class);
+    return req;
   }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.rest.v2;
+
+import java.util.stream.Stream;
+import org.projectnessie.api.v2.http.HttpTreeApi;
+import org.projectnessie.client.builder.StreamingUtil;
+import org.projectnessie.client.http.HttpRequest;
+import org.projectnessie.client.http.Status;
+import org.projectnessie.client.rest.NessieServiceException;
+import org.projectnessie.error.NessieNotFoundException;
+
+/** Helper to retrieve entries from Nessie API v2 endpoints as newline-delimited JSON. */
+final class StreamedEntries {
+
+  private StreamedEntries() {}
+
+  @FunctionalInterface
+  interface PagedStream<E> {
+    Stream<E> stream() throws NessieNotFoundException;
+  }
+
+  /**
+   * Sends the given request accepting newline-delimited JSON and returns a stream over the
+   * returned entries. Servers that do not support streamed responses reply with HTTP/406, in which
+   * case the entries are retrieved using paged requests via {@code paged}.
+   */
+  static <E> Stream<E> streamEntries(HttpRequest request, Class<E> entryType, PagedStream<E> paged)
+      throws NessieNotFoundException {
+    try {
+      return StreamingUtil.streamEntries(
+          request
+              .accept(HttpTreeApi.APPLICATION_NDJSON)
+              .unwrap(NessieNotFoundException.class)
+              .get()
+              .readEntities(entryType));
+    } catch (NessieServiceException e) {
+      if (e.getError().getStatus() == Status.NOT_ACCEPTABLE_CODE) {
+        return paged.stream();
+      }
+      throw e;
+    }
+  }
+}
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.client.http;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assumptions.assumeThat;
@@ -51,7 +52,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -71,6 +75,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.client.builder.StreamingUtil;
 import org.projectnessie.client.http.impl.HttpRuntimeConfig;
 import org.projectnessie.client.rest.NessieBadResponseException;
 import org.projectnessie.client.util.HttpTestServer;
@@ -408,6 +414,281 @@ public abstract class BaseTestHttpClient {
     client.newRequest().delete();
   }
 
+  @Test
+  void testGetAsync() throws Exception {
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    handler.set(
+        (req, resp) -> {
+          soft.assertThat(req.getMethod()).isEqualTo("GET");
+          String response = MAPPER.writeValueAsString(inputBean);
+          writeResponseBody(resp, response);
+        });
+    ExampleBean bean =
+        client.newRequest().getAsync(ExampleBean.class).toCompletableFuture().get(30, SECONDS);
+    soft.assertThat(bean).isEqualTo(inputBean);
+    soft.assertThat(responseContext.get())
+        .isNotNull()
+        .extracting(ResponseContext::getStatus)
+        .isEqualTo(Status.OK);
+  }
+
+  @Test
+  void testPostAsync() throws Exception {
+    ExampleBean inputBean = new ExampleBean("x", 1, NOW);
+    handler.set(
+        (req, resp) -> {
+          soft.assertThat(req.getMethod()).isEqualTo("POST");
+          try (InputStream in = req.getInputStream()) {
+            Object bean = MAPPER.readerFor(ExampleBean.class).readValue(in);
+            soft.assertThat(bean).isEqualTo(inputBean);
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(inputBean));
+        });
+    ExampleBean bean =
+        client
+            .newRequest()
+            .postAsync(inputBean, ExampleBean.class)
+            .toCompletableFuture()
+            .get(30, SECONDS);
+    soft.assertThat(bean).isEqualTo(inputBean);
+  }
+
+  @Test
+  void testAsyncFailure() {
+    handler.set(
+        (req, resp) -> {
+          resp.setStatus(Status.BAD_REQUEST.getCode());
+          resp.setContentType("text/plain");
+          try (OutputStream os = resp.getOutputStream()) {
+            MAPPER.writeValue(os, "Hello, World!");
+          }
+        });
+    soft.assertThat(client.newRequest().getAsync(ExampleBean.class).toCompletableFuture())
+        .failsWithin(30, SECONDS)
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(NessieBadResponseException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testAsyncConcurrencyLimitAndCoalescing(boolean coalesce) {
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    handler.set(
+        (req, resp) -> {
+          requests.incrementAndGet();
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(100);
+          } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+          } finally {
+            running.decrementAndGet();
+          }
+          writeResponseBody(
+              resp, MAPPER.writeValueAsString(new ExampleBean(req.getParameter("x"), 1, NOW)));
+        });
+
+    try (HttpClient client =
+        createClient(
+            httpServer.getUri(),
+            b -> b.setMaxConcurrentAsyncRequests(2).setCoalesceAsyncGetRequests(coalesce))) {
+      List<CompletableFuture<ExampleBean>> identical = new ArrayList<>();
+      List<CompletableFuture<ExampleBean>> distinct = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        identical.add(
+            client
+                .newRequest()
+                .queryParam("x", "same")
+                .getAsync(ExampleBean.class)
+                .toCompletableFuture());
+      }
+      for (int i = 0; i < 10; i++) {
+        distinct.add(
+            client
+                .newRequest()
+                .queryParam("x", "distinct-" + i)
+                .getAsync(ExampleBean.class)
+                .toCompletableFuture());
+      }
+
+      for (CompletableFuture<ExampleBean> f : identical) {
+        soft.assertThat(f)
+            .succeedsWithin(30, SECONDS)
+            .extracting(ExampleBean::getField1)
+            .isEqualTo("same");
+      }
+      for (int i = 0; i < distinct.size(); i++) {
+        soft.assertThat(distinct.get(i))
+            .succeedsWithin(30, SECONDS)
+            .extracting(ExampleBean::getField1)
+            .isEqualTo("distinct-" + i);
+      }
+    }
+
+    soft.assertThat(maxRunning).hasValueLessThanOrEqualTo(2);
+    soft.assertThat(requests).hasValue(coalesce ? 11 : 20);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void testResponseCache(boolean async) throws Exception {
+    String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger notModified = new AtomicInteger();
+    handler.set(
+        (req, resp) -> {
+          requests.incrementAndGet();
+          if (req.getRequestURI().endsWith("/contents")) {
+            if ("\"v1\"".equals(req.getHeader("If-None-Match"))) {
+              notModified.incrementAndGet();
+              resp.setStatus(304);
+              return;
+            }
+            resp.addHeader("ETag", "\"v1\"");
+          }
+          writeResponseBody(resp, MAPPER.writeValueAsString(new ExampleBean("x", 1, NOW)));
+        });
+
+    try (HttpClient client =
+        createClient(httpServer.getUri(), b -> b.setResponseCacheCapacityMb(1))) {
+      // Hash-pinned requests are sent once
+      getRepeatedly(client, async, "v2/trees/main@" + hash + "/entries");
+      soft.assertThat(requests).hasValue(1);
+
+      // Branch-relative requests without an ETag are always sent
+      requests.set(0);
+      getRepeatedly(client, async, "v2/trees/main/entries");
+      soft.assertThat(requests).hasValue(3);
+
+      // Branch-relative requests with an ETag are revalidated
+      requests.set(0);
+      getRepeatedly(client, async, "v2/trees/main/contents");
+      soft.assertThat(requests).hasValue(3);
+      soft.assertThat(notModified).hasValue(2);
+    }
+  }
+
+  @Test
+  void testResponseCacheBypassedWithRequestAuthentication() throws Exception {
+    String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    AtomicInteger requests = new AtomicInteger();
+    handler.set(
+        (req, resp) -> {
+          requests.incrementAndGet();
+          writeResponseBody(resp, MAPPER.writeValueAsString(new ExampleBean("x", 1, NOW)));
+        });
+
+    try (HttpClient client =
+        createClient(httpServer.getUri(), b -> b.setResponseCacheCapacityMb(1))) {
+      String path = "v2/trees/main@" + hash + "/entries";
+      client.newRequest().path(path).get();
+      soft.assertThat(requests).hasValue(1);
+
+      // Requests with request specific authentication neither use nor populate the cache
+      for (int i = 0; i < 3; i++) {
+        ExampleBean bean =
+            client
+                .newRequest()
+                .path(path)
+                .authentication(mock(HttpAuthentication.class))
+                .get()
+                .readEntity(ExampleBean.class);
+        soft.assertThat(bean).extracting(ExampleBean::getField1).isEqualTo("x");
+      }
+      soft.assertThat(requests).hasValue(4);
+    }
+  }
+
+  private void getRepeatedly(HttpClient client, boolean async, String path) throws Exception {
+    for (int i = 0; i < 3; i++) {
+      HttpRequest request = client.newRequest().path(path);
+      ExampleBean bean =
+          async
+              ? request.getAsync(ExampleBean.class).toCompletableFuture().get(30, SECONDS)
+              : request.get().readEntity(ExampleBean.class);
+      soft.assertThat(bean).extracting(ExampleBean::getField1).isEqualTo("x");
+    }
+  }
+
+  @Test
+  void testStreamedEntities() throws Exception {
+    String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+    AtomicInteger requests = new AtomicInteger();
+    handler.set(
+        (req, resp) -> {
+          requests.incrementAndGet();
+          soft.assertThat(req.getHeader("Accept")).isEqualTo("application/x-ndjson");
+          StringBuilder ndjson = new StringBuilder();
+          for (int i = 0; i < 3; i++) {
+            ndjson.append(MAPPER.writeValueAsString(new ExampleBean("x" + i, i, NOW))).append('\n');
+          }
+          writeResponseBody(resp, ndjson.toString(), "application/x-ndjson");
+        });
+
+    try (HttpClient client =
+        createClient(httpServer.getUri(), b -> b.setResponseCacheCapacityMb(1))) {
+      for (int i = 0; i < 2; i++) {
+        try (Stream<ExampleBean> beans =
+            StreamingUtil.streamEntries(
+                client
+                    .newRequest()
+                    .path("v2/trees/main@" + hash + "/entries")
+                    .accept("application/x-ndjson")
+                    .get()
+                    .readEntities(ExampleBean.class))) {
+          soft.assertThat(beans)
+              .extracting(ExampleBean::getField1)
+              .containsExactly("x0", "x1", "x2");
+        }
+      }
+      // Streamed responses are never cached
+      soft.assertThat(requests).hasValue(2);
+    }
+
+    handler.set(
+        (req, resp) ->
+            writeResponseBody(resp, MAPPER.writeValueAsString(new ExampleBean("x", 1, NOW))));
+    soft.assertThatThrownBy(
+            () ->
+                client
+                    .newRequest()
+                    .accept("application/x-ndjson")
+                    .get()
+                    .readEntities(ExampleBean.class))
+        .isInstanceOf(NessieBadResponseException.class)
+        .hasMessageContaining("Content-Type 'application/json");
+  }
+
+  @Test
+  void testStreamedEntitiesErrorMidStream() throws Exception {
+    handler.set(
+        (req, resp) -> {
+          StringBuilder ndjson = new StringBuilder();
+          for (int i = 0; i < 2; i++) {
+            ndjson.append(MAPPER.writeValueAsString(new ExampleBean("x" + i, i, NOW))).append('\n');
+          }
+          // The server failed after the response has been committed.
+          ndjson.append("{\"field1\":\"x2\",\"fie");
+          writeResponseBody(resp, ndjson.toString(), "application/x-ndjson");
+        });
+
+    List<String> received = new ArrayList<>();
+    try (Stream<ExampleBean> beans =
+        StreamingUtil.streamEntries(
+            client
+                .newRequest()
+                .accept("application/x-ndjson")
+                .get()
+                .readEntities(ExampleBean.class))) {
+      // An incomplete stream must not look like a complete one.
+      soft.assertThatThrownBy(() -> beans.forEach(b -> received.add(b.getField1())))
+          .isInstanceOf(RuntimeException.class);
+    }
+    soft.assertThat(received).containsExactly("x0", "x1");
+  }
+
   @Test
   void testGetQueryParam() {
     ExampleBean inputBean = new ExampleBean("x", 1, NOW);
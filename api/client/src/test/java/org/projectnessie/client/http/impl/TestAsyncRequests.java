@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestAsyncRequests {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void limitConcurrentRequests() {
+    AsyncRequests asyncRequests = new AsyncRequests(2, true);
+    List<CompletableFuture<String>> started = new ArrayList<>();
+    List<CompletionStage<String>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(
+          asyncRequests.submit(
+              () -> {
+                CompletableFuture<String> request = new CompletableFuture<>();
+                started.add(request);
+                return request;
+              }));
+    }
+
+    soft.assertThat(started).hasSize(2);
+    soft.assertThat(asyncRequests.pendingRequests()).isEqualTo(3);
+
+    // Completing a request starts the next pending one.
+    started.get(0).complete("0");
+    soft.assertThat(results.get(0).toCompletableFuture()).isCompletedWithValue("0");
+    soft.assertThat(started).hasSize(3);
+
+    started.get(1).completeExceptionally(new IllegalStateException("failed"));
+    soft.assertThat(results.get(1).toCompletableFuture())
+        .failsWithin(5, SECONDS)
+        .withThrowableOfType(Exception.class)
+        .withCauseInstanceOf(IllegalStateException.class);
+    soft.assertThat(started).hasSize(4);
+
+    started.get(2).complete("2");
+    started.get(3).complete("3");
+    soft.assertThat(started).hasSize(5);
+    soft.assertThat(asyncRequests.pendingRequests()).isEqualTo(0);
+    started.get(4).complete("4");
+    soft.assertThat(results.get(4).toCompletableFuture()).isCompletedWithValue("4");
+  }
+
+  @Test
+  public void manySynchronouslyCompletingPendingRequests() {
+    AsyncRequests asyncRequests = new AsyncRequests(1, true);
+    CompletableFuture<String> first = new CompletableFuture<>();
+    asyncRequests.submit(() -> first);
+
+    int count = 100_000;
+    List<CompletionStage<String>> results = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String value = Integer.toString(i);
+      results.add(asyncRequests.submit(() -> CompletableFuture.completedFuture(value)));
+    }
+    soft.assertThat(asyncRequests.pendingRequests()).isEqualTo(count);
+
+    // Completing the first request starts all pending requests without recursing.
+    first.complete("first");
+    soft.assertThat(asyncRequests.pendingRequests()).isEqualTo(0);
+    for (int i = 0; i < count; i += 10_000) {
+      soft.assertThat(results.get(i).toCompletableFuture())
+          .isCompletedWithValue(Integer.toString(i));
+    }
+    soft.assertThat(results.get(count - 1).toCompletableFuture())
+        .isCompletedWithValue(Integer.toString(count - 1));
+
+    // The permit has been released.
+    CompletionStage<String> next =
+        asyncRequests.submit(() -> CompletableFuture.completedFuture("x"));
+    soft.assertThat(next.toCompletableFuture()).isCompletedWithValue("x");
+  }
+
+  @Test
+  public void failingRequestSupplier() {
+    AsyncRequests asyncRequests = new AsyncRequests(1, true);
+    CompletionStage<String> failed =
+        asyncRequests.submit(
+            () -> {
+              throw new IllegalArgumentException("supplier");
+            });
+    soft.assertThat(failed.toCompletableFuture()).isCompletedExceptionally();
+
+    // The permit of the failed request has been released.
+    CompletionStage<String> next =
+        asyncRequests.submit(() -> CompletableFuture.completedFuture("x"));
+    soft.assertThat(next.toCompletableFuture()).isCompletedWithValue("x");
+  }
+
+  @Test
+  public void coalesceIdenticalRequests() {
+    AsyncRequests asyncRequests = new AsyncRequests(10, true);
+    List<CompletableFuture<String>> started = new ArrayList<>();
+    List<CompletionStage<String>> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(
+          asyncRequests.submitCoalescing(
+              "key",
+              () -> {
+                CompletableFuture<String> request = new CompletableFuture<>();
+                started.add(request);
+                return request;
+              }));
+    }
+
+    soft.assertThat(started).hasSize(1);
+    soft.assertThat(asyncRequests.coalescedRequests()).isEqualTo(4);
+
+    started.get(0).complete("value");
+    for (CompletionStage<String> result : results) {
+      soft.assertThat(result.toCompletableFuture()).isCompletedWithValue("value");
+    }
+
+    // Not coalesced with a completed request.
+    asyncRequests.submitCoalescing("key", () -> CompletableFuture.completedFuture("new"));
+    soft.assertThat(asyncRequests.coalescedRequests()).isEqualTo(4);
+  }
+
+  @Test
+  public void noCoalescing() {
+    AsyncRequests asyncRequests = new AsyncRequests(10, false);
+    List<CompletableFuture<String>> started = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      asyncRequests.submitCoalescing(
+          "key",
+          () -> {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            started.add(request);
+            return request;
+          });
+    }
+    soft.assertThat(started).hasSize(3);
+    soft.assertThat(asyncRequests.coalescedRequests()).isEqualTo(0);
+  }
+
+  @Test
+  public void illegalLimit() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AsyncRequests(0, true))
+        .withMessage("maxConcurrentRequests must be positive, but is 0");
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.client.http.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.InstanceOfAssertFactories.type;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.client.http.HttpClient.Method;
+import org.projectnessie.client.http.RequestContext;
+import org.projectnessie.client.http.ResponseContext;
+import org.projectnessie.client.http.Status;
+import org.projectnessie.client.http.impl.ResponseCache.CacheOutcome;
+import org.projectnessie.client.http.impl.ResponseCache.CachedResponseContext;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestResponseCache {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final String HASH = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "/api/v2/trees/main@" + HASH + "/contents/a.b",
+        "/api/v2/trees/main%40" + HASH + "/entries",
+        "/api/v2/trees/%40" + HASH + "~2/history",
+        "/api/v2/trees/main@" + HASH + "/diff/other@" + HASH,
+      })
+  public void immutable(String path) {
+    soft.assertThat(ResponseCache.isImmutable(URI.create("http://host" + path))).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "/api/v2/trees/main/contents/a",
+        "/api/v2/trees/main@12345678/contents/a",
+        "/api/v2/trees/main@" + HASH,
+        "/api/v2/trees/main@" + HASH + "/diff/other",
+        "/api/v1/trees/tree/main",
+      })
+  public void notImmutable(String path) {
+    soft.assertThat(ResponseCache.isImmutable(URI.create("http://host" + path))).isFalse();
+  }
+
+  @Test
+  public void hashPinnedResponses(@TempDir Path dir) throws Exception {
+    ResponseCache cache = new ResponseCache(1024 * 1024, dir, 1024 * 1024);
+    URI uri = URI.create("http://host/api/v2/trees/main%40" + HASH + "/contents/a");
+
+    soft.assertThat(cache.lookup(request(uri))).isNull();
+    ResponseContext received = cache.received(request(uri), response(uri, 200, "body", null));
+    soft.assertThat(received)
+        .asInstanceOf(type(CachedResponseContext.class))
+        .extracting(CachedResponseContext::getCacheOutcome)
+        .isEqualTo(CacheOutcome.MISS);
+    soft.assertThat(body(received)).isEqualTo("body");
+
+    ResponseContext cached = cache.lookup(request(uri));
+    soft.assertThat(cached)
+        .asInstanceOf(type(CachedResponseContext.class))
+        .extracting(CachedResponseContext::getCacheOutcome)
+        .isEqualTo(CacheOutcome.HIT);
+    soft.assertThat(body(cached)).isEqualTo("body");
+    soft.assertThat(cached.getContentType()).isEqualTo("application/json");
+    soft.assertThat(cache.hits()).isEqualTo(1);
+    soft.assertThat(cache.misses()).isEqualTo(1);
+
+    // Served from disk by another cache instance
+    ResponseCache other = new ResponseCache(0, dir, 1024 * 1024);
+    ResponseContext fromDisk = other.lookup(request(uri));
+    soft.assertThat(fromDisk).isNotNull();
+    soft.assertThat(body(fromDisk)).isEqualTo("body");
+    soft.assertThat(fromDisk.getContentType()).isEqualTo("application/json");
+  }
+
+  @Test
+  public void partitionedByCredentials(@TempDir Path dir) throws Exception {
+    ResponseCache cache = new ResponseCache(1024 * 1024, dir, 1024 * 1024);
+    URI uri = URI.create("http://host/api/v2/trees/main@" + HASH + "/contents/a");
+
+    cache.received(request(uri, "Bearer token-alice"), response(uri, 200, "alice", null));
+    cache.received(request(uri, null), response(uri, 200, "anonymous", null));
+
+    soft.assertThat(body(cache.lookup(request(uri, "Bearer token-alice")))).isEqualTo("alice");
+    soft.assertThat(body(cache.lookup(request(uri, null)))).isEqualTo("anonymous");
+    soft.assertThat(cache.lookup(request(uri, "Bearer token-bob"))).isNull();
+
+    // Also partitioned on disk, which does not contain the credentials
+    ResponseCache other = new ResponseCache(0, dir, 1024 * 1024);
+    soft.assertThat(body(other.lookup(request(uri, "Bearer token-alice")))).isEqualTo("alice");
+    soft.assertThat(other.lookup(request(uri, "Bearer token-bob"))).isNull();
+    List<Path> files;
+    try (Stream<Path> list = Files.list(dir)) {
+      files = list.collect(Collectors.toList());
+    }
+    soft.assertThat(files).hasSize(2);
+    for (Path file : files) {
+      soft.assertThat(new String(Files.readAllBytes(file), UTF_8)).doesNotContain("token");
+    }
+  }
+
+  @Test
+  public void revalidatedResponses() throws Exception {
+    ResponseCache cache = new ResponseCache(1024 * 1024, null, 0);
+    URI uri = URI.create("http://host/api/v2/trees/main/contents/a");
+
+    ResponseContext response = response(uri, 200, "body", null);
+    soft.assertThat(cache.received(request(uri), response)).isSameAs(response);
+
+    cache.received(request(uri), response(uri, 200, "body", "\"v1\""));
+    HttpHeaders headers = new HttpHeaders();
+    RequestContext request = new RequestContextImpl(headers, uri, Method.GET, null);
+    soft.assertThat(cache.lookup(request)).isNull();
+    soft.assertThat(headers.getFirstValue(ResponseCache.HEADER_IF_NONE_MATCH)).contains("\"v1\"");
+
+    ResponseContext revalidated = cache.received(request, response(uri, 304, "", null));
+    soft.assertThat(revalidated)
+        .asInstanceOf(type(CachedResponseContext.class))
+        .extracting(CachedResponseContext::getCacheOutcome)
+        .isEqualTo(CacheOutcome.REVALIDATED);
+    soft.assertThat(revalidated.getStatus()).isEqualTo(Status.OK);
+    soft.assertThat(body(revalidated)).isEqualTo("body");
+  }
+
+  @Test
+  public void eviction(@TempDir Path dir) throws Exception {
+    ResponseCache cache = new ResponseCache(2000, dir, 1000);
+    String body = Stream.generate(() -> "x").limit(300).reduce("", String::concat);
+    for (int i = 0; i < 10; i++) {
+      URI uri = URI.create("http://host/api/v2/trees/main@" + HASH + "/contents/k" + i);
+      cache.received(request(uri), response(uri, 200, body, null));
+    }
+
+    // The most recently added responses are retained, 3 in memory and 2 of those on disk
+    for (int i = 0; i < 10; i++) {
+      URI uri = URI.create("http://host/api/v2/trees/main@" + HASH + "/contents/k" + i);
+      ResponseContext cached = cache.lookup(request(uri));
+      if (i >= 7) {
+        soft.assertThat(cached).describedAs("k%d", i).isNotNull();
+      } else {
+        soft.assertThat(cached).describedAs("k%d", i).isNull();
+      }
+    }
+    try (Stream<Path> files = Files.list(dir)) {
+      soft.assertThat(files).hasSize(2);
+    }
+  }
+
+  @Test
+  public void illegalCapacity() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> new ResponseCache(-1, null, 0))
+        .withMessage("capacityBytes must not be negative");
+  }
+
+  private static String body(ResponseContext response) throws IOException {
+    try (InputStream in = response.getInputStream()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[1024];
+      int n;
+      while ((n = in.read(buffer)) >= 0) {
+        out.write(buffer, 0, n);
+      }
+      return new String(out.toByteArray(), UTF_8);
+    }
+  }
+
+  private static RequestContext request(URI uri) {
+    return request(uri, null);
+  }
+
+  private static RequestContext request(URI uri, String authorization) {
+    HttpHeaders headers = new HttpHeaders();
+    if (authorization != null) {
+      headers.put(ResponseCache.HEADER_AUTHORIZATION, authorization);
+    }
+    return new RequestContextImpl(headers, uri, Method.GET, null);
+  }
+
+  private static ResponseContext response(URI uri, int status, String body, String etag) {
+    return new ResponseContext() {
+      @Override
+      public Status getStatus() {
+        return Status.fromCode(status);
+      }
+
+      @Override
+      public InputStream getInputStream() {
+        return new ByteArrayInputStream(body.getBytes(UTF_8));
+      }
+
+      @Override
+      public String getContentType() {
+        return "application/json";
+      }
+
+      @Override
+      public String getHeader(String name) {
+        return ResponseCache.HEADER_ETAG.equals(name) ? etag : null;
+      }
+
+      @Override
+      public URI getRequestedUri() {
+        return uri;
+      }
+    };
+  }
+}
@@ -20,6 +20,12 @@ import static org.projectnessie.model.Validation.REF_NAME_MESSAGE;
 /** A collections of constants for defining OpenAPI annotations. */
 public interface ApiDoc {
 
+  String STREAMING_INFO =
+      "Clients that send the 'Accept: application/x-ndjson' header receive all matching entries, "
+          + "without paging, as newline-delimited JSON, one entry per line. The entries are written "
+          + "while they are being retrieved. The 'max-records' parameter limits the total number of "
+          + "returned entries in this case.\n";
+
   String PAGING_INFO =
       "To implement paging, check 'hasMore' in the response and, if 'true', pass the value "
           + "returned as 'token' in the next invocation as the 'pageToken' parameter.\n"
@@ -24,6 +24,7 @@ import static org.projectnessie.api.v2.doc.ApiDoc.MERGE_TRANSPLANT_BRANCH_DESCRI
 import static org.projectnessie.api.v2.doc.ApiDoc.PAGING_INFO;
 import static org.projectnessie.api.v2.doc.ApiDoc.REF_NAME_DESCRIPTION;
 import static org.projectnessie.api.v2.doc.ApiDoc.REF_PARAMETER_DESCRIPTION;
+import static org.projectnessie.api.v2.doc.ApiDoc.STREAMING_INFO;
 import static org.projectnessie.api.v2.doc.ApiDoc.WITH_DOC_PARAMETER_DESCRIPTION;
 import static org.projectnessie.model.Validation.REF_NAME_PATH_ELEMENT_REGEX;
 
@@ -85,6 +86,13 @@ import org.projectnessie.model.ser.Views;
 @Tag(name = "v2")
 public interface HttpTreeApi extends TreeApi {
 
+  /**
+   * Media type of the streaming variants of {@link #getEntries(String, EntriesParams)}, {@link
+   * #getCommitLog(String, CommitLogParams)} and {@link #getDiff(DiffParams)}, which return all
+   * entries as newline-delimited JSON.
+   */
+  String APPLICATION_NDJSON = "application/x-ndjson";
+
   @Override
   @GET
   @jakarta.ws.rs.GET
@@ -259,6 +267,8 @@ public interface HttpTreeApi extends TreeApi {
               + "\n"
               + PAGING_INFO
               + "\n"
+              + STREAMING_INFO
+              + "\n"
               + "The 'filter' parameter allows for advanced filtering capabilities using the Common Expression Language (CEL).\n"
               + "An intro to CEL can be found at https://github.com/google/cel-spec/blob/master/doc/intro.md.\n",
       operationId = "getEntriesV2")
@@ -327,6 +337,8 @@ public interface HttpTreeApi extends TreeApi {
               + "\n"
               + PAGING_INFO
               + "\n"
+              + STREAMING_INFO
+              + "\n"
               + "The 'filter' parameter allows for advanced filtering capabilities using the Common Expression Language (CEL).\n"
               + "An intro to CEL can be found at https://github.com/google/cel-spec/blob/master/doc/intro.md.\n"
               + "\n"
@@ -414,7 +426,9 @@ public interface HttpTreeApi extends TreeApi {
               + "- main/diff/myBranch@23445678\n"
               + "- main/diff/myBranch@23445678\n"
               + "- my/branch@/diff/main\n"
-              + "- myBranch/diff/-\n",
+              + "- myBranch/diff/-\n"
+              + "\n"
+              + STREAMING_INFO,
       operationId = "getDiffV2")
   @APIResponses({
     @APIResponse(
@@ -27,6 +27,15 @@ dependencies {
   implementation(project(":nessie-events-api"))
   implementation(project(":nessie-events-spi"))
   implementation(project(":nessie-events-service"))
+  implementation(project(":nessie-versioned-storage-common"))
+
+  compileOnly(libs.immutables.builder)
+  compileOnly(libs.immutables.value.annotations)
+  annotationProcessor(libs.immutables.value.processor)
+
+  implementation(platform(libs.jackson.bom))
+  implementation("com.fasterxml.jackson.core:jackson-databind")
+  implementation("com.fasterxml.jackson.core:jackson-annotations")
 
   // Quarkus
   implementation(enforcedPlatform(libs.quarkus.bom))
@@ -52,6 +61,9 @@ dependencies {
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
   testImplementation(libs.awaitility)
+  testImplementation(libs.threeten.extra)
+  testImplementation(project(":nessie-versioned-storage-testextension"))
+  testImplementation(project(":nessie-versioned-storage-inmemory-tests"))
 
   testCompileOnly(platform(libs.jackson.bom))
   testCompileOnly("com.fasterxml.jackson.core:jackson-annotations")
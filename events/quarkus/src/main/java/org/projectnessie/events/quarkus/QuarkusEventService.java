@@ -27,12 +27,17 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
 import org.projectnessie.events.quarkus.config.EventBusConfigurer;
+import org.projectnessie.events.quarkus.delivery.EventBatcher;
 import org.projectnessie.events.quarkus.delivery.EventDelivery;
 import org.projectnessie.events.quarkus.delivery.EventDeliveryFactory;
+import org.projectnessie.events.quarkus.outbox.EventOutbox;
 import org.projectnessie.events.service.EventConfig;
 import org.projectnessie.events.service.EventFactory;
 import org.projectnessie.events.service.EventService;
@@ -63,11 +68,17 @@ public class QuarkusEventService extends EventService {
   private final EventBus bus;
   private final EventDeliveryFactory deliveryFactory;
   private final DeliveryOptions deliveryOptions;
+  private final EventOutbox outbox;
+
+  /** The number of subscriptions that receive events of a type, used to track the outbox. */
+  private final Map<EventType, Integer> subscriptionsPerType = new EnumMap<>(EventType.class);
+
+  private final List<EventBatcher> batchers = new ArrayList<>();
 
   // Mandatory for CDI.
   @SuppressWarnings("unused")
   public QuarkusEventService() {
-    this(null, null, null, null, null, null);
+    this(null, null, null, null, null, null, null);
   }
 
   @Inject
@@ -77,12 +88,13 @@ public class QuarkusEventService extends EventService {
       EventSubscribers subscribers,
       EventBus bus,
       EventDeliveryFactory deliveryFactory,
-      @Named(EventBusConfigurer.EVENTS_DELIVERY_OPTIONS_BEAN_NAME)
-          DeliveryOptions deliveryOptions) {
+      @Named(EventBusConfigurer.EVENTS_DELIVERY_OPTIONS_BEAN_NAME) DeliveryOptions deliveryOptions,
+      EventOutbox outbox) {
     super(config, factory, subscribers);
     this.bus = bus;
     this.deliveryFactory = deliveryFactory;
     this.deliveryOptions = deliveryOptions;
+    this.outbox = outbox;
   }
 
   public void onStartup(@Observes StartupEvent event) {
@@ -91,18 +103,30 @@ public class QuarkusEventService extends EventService {
         subscribers.getSubscriptions().entrySet()) {
       EventSubscription subscription = entry.getKey();
       EventSubscriber subscriber = entry.getValue();
-      Handler<Message<Event>> handler = e -> deliverEvent(e.body(), subscriber, subscription);
+      Handler<Message<Event>> handler;
+      if (subscriber.getMaxBatchSize() > 1) {
+        EventBatcher batcher =
+            deliveryFactory.createBatcher(
+                subscriber, outbox.isEnabled() ? outbox::deliveryCompleted : null);
+        batchers.add(batcher);
+        handler = e -> batcher.add(e.body());
+      } else {
+        handler = e -> deliverEvent(e.body(), subscriber, subscription);
+      }
       for (EventType eventType : EventType.values()) {
         if (subscriber.accepts(eventType)) {
           String address = NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX + eventType;
           MessageConsumer<Event> consumer = bus.localConsumer(address);
           consumer.handler(handler);
+          subscriptionsPerType.merge(eventType, 1, Integer::sum);
         }
       }
     }
+    outbox.recover(this::expectedDeliveries, this::publishEvent);
   }
 
   public void onShutdown(@Observes ShutdownEvent event) {
+    batchers.forEach(EventBatcher::flush);
     close();
   }
 
@@ -114,15 +138,32 @@ public class QuarkusEventService extends EventService {
 
   @Override
   protected void fireEvent(Event event) {
+    if (outbox.isEnabled()) {
+      outbox.store(event, expectedDeliveries(event), () -> publishEvent(event));
+    } else {
+      publishEvent(event);
+    }
+  }
+
+  private void publishEvent(Event event) {
     // Publish the event to all interested subscribers that are listening to this address.
     String address = NESSIE_EVENTS_SUBSCRIBERS_ADDR_PREFIX + event.getType();
     bus.publish(address, event, deliveryOptions);
   }
 
+  private int expectedDeliveries(Event event) {
+    return subscriptionsPerType.getOrDefault(event.getType(), 0);
+  }
+
   @Override
   protected void deliverEvent(
       Event event, EventSubscriber subscriber, EventSubscription subscription) {
-    EventDelivery delivery = deliveryFactory.create(event, subscriber, subscription);
+    EventDelivery delivery =
+        deliveryFactory.create(
+            event,
+            subscriber,
+            subscription,
+            outbox.isEnabled() ? () -> outbox.deliveryCompleted(event) : null);
     delivery.start();
   }
 }
@@ -44,6 +44,40 @@ public interface QuarkusEventConfig extends EventConfig {
   @WithName("retry")
   RetryConfig getRetryConfig();
 
+  @WithName("outbox")
+  OutboxConfig getOutboxConfig();
+
+  interface OutboxConfig {
+
+    /**
+     * Whether events are persisted in an outbox before being delivered (disabled by default). When
+     * enabled, events that have not been delivered to all subscribers are re-delivered after a
+     * restart, so subscribers may receive the same event more than once. Requires a Nessie
+     * version store backed by a persistence layer.
+     */
+    @WithName("enabled")
+    @WithDefault("false")
+    boolean isEnabled();
+
+    /**
+     * The duration of the lease that a Nessie instance holds on its events in the outbox. The lease
+     * is renewed periodically, events of an instance whose lease expired, for example because it
+     * crashed, are re-delivered by another instance or by the restarted instance.
+     */
+    @WithName("lease-duration")
+    @WithDefault("PT1M")
+    Duration getLeaseDuration();
+
+    /**
+     * The maximum number of undelivered events in the outbox of a Nessie instance. Further events
+     * are delivered, but not persisted in the outbox, until events in the outbox have been
+     * delivered. Bounds the size of the outbox index object of an instance.
+     */
+    @WithName("max-events")
+    @WithDefault("2000")
+    int getMaxEvents();
+  }
+
   interface RetryConfig {
 
     /**
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.projectnessie.events.quarkus.delivery.StandardEventDelivery.addSuppressed;
+
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.List;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.events.spi.EventSubscriber;
+
+/**
+ * A {@link RetriableEventDelivery} that delivers a batch of events at once via {@link
+ * EventSubscriber#onEvents(List)}. Retries always re-deliver the whole batch.
+ *
+ * <p>The events must have been filtered via {@link EventSubscriber#accepts(Event)} before, see
+ * {@link EventBatcher}. Attempts for blocking subscribers are executed on a Vert.x worker thread.
+ */
+class BatchEventDelivery extends RetriableEventDelivery {
+
+  private final List<Event> events;
+  private final EventSubscriber subscriber;
+  private final QuarkusEventConfig.RetryConfig config;
+  private final Vertx vertx;
+  private RetriableEventDelivery self = this;
+
+  BatchEventDelivery(
+      List<Event> events,
+      EventSubscriber subscriber,
+      QuarkusEventConfig.RetryConfig config,
+      Vertx vertx) {
+    this.events = events;
+    this.subscriber = subscriber;
+    this.config = config;
+    this.vertx = vertx;
+  }
+
+  List<Event> getEvents() {
+    return events;
+  }
+
+  @Override
+  public void start() {
+    if (events.isEmpty()) {
+      self.deliveryRejected();
+    } else {
+      self.startAttempt(1, config.getInitialDelay(), null);
+    }
+  }
+
+  @Override
+  void startAttempt(int currentAttempt, Duration nextDelay, Throwable previousError) {
+    if (subscriber.isBlocking()) {
+      vertx.<Void>executeBlocking(
+          () -> {
+            attempt(currentAttempt, nextDelay, previousError);
+            return null;
+          },
+          false);
+    } else {
+      attempt(currentAttempt, nextDelay, previousError);
+    }
+  }
+
+  private void attempt(int currentAttempt, Duration nextDelay, Throwable previousError) {
+    try {
+      self.tryDeliver(currentAttempt);
+      self.deliverySuccessful(currentAttempt);
+    } catch (Exception e) {
+      self.attemptFailed(currentAttempt, nextDelay, addSuppressed(e, previousError));
+    }
+  }
+
+  @Override
+  void tryDeliver(int currentAttempt) {
+    subscriber.onEvents(events);
+  }
+
+  @Override
+  void attemptFailed(int lastAttempt, Duration nextDelay, Throwable error) {
+    if (lastAttempt < config.getMaxAttempts()) {
+      self.scheduleRetry(lastAttempt, nextDelay, error);
+    } else {
+      self.deliveryFailed(lastAttempt, error);
+    }
+  }
+
+  @Override
+  void scheduleRetry(int lastAttempt, Duration nextDelay, Throwable lastError) {
+    vertx.setTimer(
+        nextDelay.toMillis(),
+        id -> self.startAttempt(lastAttempt + 1, config.getNextDelay(nextDelay), lastError));
+  }
+
+  @Override
+  final void setSelf(RetriableEventDelivery self) {
+    this.self = self;
+  }
+
+  @Override
+  final RetriableEventDelivery getSelf() {
+    return self;
+  }
+}
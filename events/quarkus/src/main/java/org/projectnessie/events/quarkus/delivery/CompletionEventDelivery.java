@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+/**
+ * A {@link DelegatingEventDelivery} that invokes a callback once the delivery reached a terminal
+ * state: successful, failed or rejected.
+ */
+class CompletionEventDelivery extends DelegatingEventDelivery {
+
+  private final Runnable onCompletion;
+
+  CompletionEventDelivery(RetriableEventDelivery delegate, Runnable onCompletion) {
+    super(delegate);
+    this.onCompletion = onCompletion;
+    setSelf(this);
+  }
+
+  @Override
+  void deliverySuccessful(int lastAttempt) {
+    try {
+      super.deliverySuccessful(lastAttempt);
+    } finally {
+      onCompletion.run();
+    }
+  }
+
+  @Override
+  void deliveryFailed(int lastAttempt, Throwable error) {
+    try {
+      super.deliveryFailed(lastAttempt, error);
+    } finally {
+      onCompletion.run();
+    }
+  }
+
+  @Override
+  void deliveryRejected() {
+    try {
+      super.deliveryRejected();
+    } finally {
+      onCompletion.run();
+    }
+  }
+}
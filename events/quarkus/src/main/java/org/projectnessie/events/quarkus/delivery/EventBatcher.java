@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.spi.EventSubscriber;
+
+/**
+ * Collects events for a single subscriber into batches, which are delivered once either {@link
+ * EventSubscriber#getMaxBatchSize()} events have been collected or the oldest collected event
+ * waited for {@link EventSubscriber#getMaxBatchLinger()}, whichever comes first.
+ *
+ * <p>Events that the subscriber does not {@linkplain EventSubscriber#accepts(Event) accept} are
+ * not added to a batch, but passed to the {@code rejected} callback.
+ *
+ * <p>Instances of this class are thread-safe, events can be added from any thread.
+ */
+public class EventBatcher {
+
+  private final EventSubscriber subscriber;
+  private final Vertx vertx;
+  private final Function<List<Event>, EventDelivery> deliveryFactory;
+  private final Consumer<Event> rejected;
+  private final int maxBatchSize;
+  private final long lingerMillis;
+
+  private List<Event> pending;
+  private long lingerTimerId = -1L;
+
+  EventBatcher(
+      EventSubscriber subscriber,
+      Vertx vertx,
+      Function<List<Event>, EventDelivery> deliveryFactory,
+      Consumer<Event> rejected) {
+    this.subscriber = subscriber;
+    this.vertx = vertx;
+    this.deliveryFactory = deliveryFactory;
+    this.rejected = rejected;
+    this.maxBatchSize = Math.max(subscriber.getMaxBatchSize(), 1);
+    this.lingerMillis = Math.max(subscriber.getMaxBatchLinger().toMillis(), 1L);
+    this.pending = new ArrayList<>(maxBatchSize);
+  }
+
+  /** Adds an event to the current batch, delivers the batch if it is full. */
+  public void add(Event event) {
+    if (!subscriber.accepts(event)) {
+      rejected.accept(event);
+      return;
+    }
+    List<Event> batch = null;
+    synchronized (this) {
+      pending.add(event);
+      if (pending.size() >= maxBatchSize) {
+        batch = drain();
+      } else if (lingerTimerId == -1L) {
+        lingerTimerId = vertx.setTimer(lingerMillis, this::lingerExpired);
+      }
+    }
+    deliver(batch);
+  }
+
+  /** Delivers the current batch, if not empty. */
+  public void flush() {
+    List<Event> batch;
+    synchronized (this) {
+      batch = drain();
+    }
+    deliver(batch);
+  }
+
+  private void lingerExpired(long timerId) {
+    List<Event> batch;
+    synchronized (this) {
+      if (timerId != lingerTimerId) {
+        // The batch, for which the timer has been started, has already been delivered.
+        return;
+      }
+      batch = drain();
+    }
+    deliver(batch);
+  }
+
+  private List<Event> drain() {
+    if (lingerTimerId != -1L) {
+      vertx.cancelTimer(lingerTimerId);
+      lingerTimerId = -1L;
+    }
+    if (pending.isEmpty()) {
+      return null;
+    }
+    List<Event> batch = pending;
+    pending = new ArrayList<>(maxBatchSize);
+    return batch;
+  }
+
+  private void deliver(List<Event> batch) {
+    if (batch != null) {
+      deliveryFactory.apply(batch).start();
+    }
+  }
+}
@@ -22,6 +22,8 @@ import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import java.util.List;
+import java.util.function.Consumer;
 import org.projectnessie.events.api.Event;
 import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
 import org.projectnessie.events.spi.EventSubscriber;
@@ -55,10 +57,25 @@ public class EventDeliveryFactory {
 
   public EventDelivery create(
       Event event, EventSubscriber subscriber, EventSubscription subscription) {
+    return create(event, subscriber, subscription, null);
+  }
+
+  /**
+   * Creates a delivery of a single event, the optional {@code onCompletion} callback is invoked
+   * once the delivery succeeded, failed or was rejected.
+   */
+  public EventDelivery create(
+      Event event,
+      EventSubscriber subscriber,
+      EventSubscription subscription,
+      Runnable onCompletion) {
     RetriableEventDelivery delivery =
         subscriber.isBlocking()
             ? new BlockingEventDelivery(event, subscriber, config.getRetryConfig(), vertx)
             : new StandardEventDelivery(event, subscriber, config.getRetryConfig(), vertx);
+    if (onCompletion != null) {
+      delivery = new CompletionEventDelivery(delivery, onCompletion);
+    }
     if (LoggingEventDelivery.isLoggingEnabled()) {
       delivery = new LoggingEventDelivery(delivery, event, subscription);
     }
@@ -71,6 +88,49 @@ public class EventDeliveryFactory {
     return delivery;
   }
 
+  /**
+   * Creates a batcher for a subscriber that opted into batched delivery via {@link
+   * EventSubscriber#getMaxBatchSize()}. The optional {@code onCompletion} callback is invoked for
+   * each event once its delivery succeeded, failed or was rejected.
+   *
+   * <p>Batched deliveries are not traced, since a single span cannot represent multiple events.
+   */
+  public EventBatcher createBatcher(EventSubscriber subscriber, Consumer<Event> onCompletion) {
+    Consumer<Event> completion = onCompletion != null ? onCompletion : e -> {};
+    Consumer<Event> rejected =
+        registry == null
+            ? completion
+            : e -> {
+              registry
+                  .counter(
+                      MetricsEventDelivery.NESSIE_EVENTS_REJECTED,
+                      MetricsEventDelivery.EVENT_TYPE_TAG_NAME,
+                      e.getType().name())
+                  .increment();
+              completion.accept(e);
+            };
+    return new EventBatcher(
+        subscriber, vertx, events -> createBatch(events, subscriber, completion), rejected);
+  }
+
+  private EventDelivery createBatch(
+      List<Event> events, EventSubscriber subscriber, Consumer<Event> onCompletion) {
+    RetriableEventDelivery delivery =
+        new BatchEventDelivery(events, subscriber, config.getRetryConfig(), vertx);
+    delivery =
+        new CompletionEventDelivery(
+            delivery,
+            () -> {
+              for (Event event : events) {
+                onCompletion.accept(event);
+              }
+            });
+    if (registry != null) {
+      delivery = new MetricsBatchEventDelivery(delivery, events, registry, clock);
+    }
+    return delivery;
+  }
+
   private record MicrometerClockAdapter(java.time.Clock clock)
       implements io.micrometer.core.instrument.Clock {
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.EVENT_TYPE_TAG_NAME;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.NESSIE_EVENTS_FAILED;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.NESSIE_EVENTS_RETRIES;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.NESSIE_EVENTS_SUCCESSFUL;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.NESSIE_EVENTS_TOTAL;
+import static org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.STATUS_TAG_NAME;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.quarkus.delivery.MetricsEventDelivery.DeliveryStatus;
+
+/**
+ * Metrics for batched deliveries, reported with the same meters as {@link MetricsEventDelivery},
+ * counting each event of a batch individually.
+ */
+class MetricsBatchEventDelivery extends DelegatingEventDelivery {
+
+  private final MeterRegistry registry;
+  private final Clock clock;
+  private final Map<EventType, Integer> eventCounts = new EnumMap<>(EventType.class);
+
+  private long startTime;
+
+  MetricsBatchEventDelivery(
+      RetriableEventDelivery delegate, List<Event> events, MeterRegistry registry, Clock clock) {
+    super(delegate);
+    this.registry = registry;
+    this.clock = clock;
+    for (Event event : events) {
+      eventCounts.merge(event.getType(), 1, Integer::sum);
+    }
+    setSelf(this);
+  }
+
+  @Override
+  public void start() {
+    startTime = clock.monotonicTime();
+    super.start();
+  }
+
+  @Override
+  void deliverySuccessful(int lastAttempt) {
+    super.deliverySuccessful(lastAttempt);
+    record(DeliveryStatus.SUCCESSFUL, NESSIE_EVENTS_SUCCESSFUL, lastAttempt);
+  }
+
+  @Override
+  void deliveryFailed(int lastAttempt, Throwable error) {
+    super.deliveryFailed(lastAttempt, error);
+    record(DeliveryStatus.FAILED, NESSIE_EVENTS_FAILED, lastAttempt);
+  }
+
+  private void record(DeliveryStatus status, String counterName, int lastAttempt) {
+    long duration = clock.monotonicTime() - startTime;
+    eventCounts.forEach(
+        (type, count) -> {
+          Tags tags = Tags.of(EVENT_TYPE_TAG_NAME, type.name());
+          Timer timer =
+              Timer.builder(NESSIE_EVENTS_TOTAL)
+                  .tags(tags.and(STATUS_TAG_NAME, status.name()))
+                  .publishPercentileHistogram()
+                  .publishPercentiles(0.5, 0.95, 0.99)
+                  .register(registry);
+          for (int i = 0; i < count; i++) {
+            timer.record(duration, TimeUnit.NANOSECONDS);
+          }
+          registry.counter(counterName, tags).increment(count);
+          if (lastAttempt > 1) {
+            registry.counter(NESSIE_EVENTS_RETRIES, tags).increment((lastAttempt - 1) * count);
+          }
+        });
+  }
+}
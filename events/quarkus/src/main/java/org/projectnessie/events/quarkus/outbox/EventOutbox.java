@@ -0,0 +1,497 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static java.util.UUID.randomUUID;
+import static org.projectnessie.events.quarkus.outbox.EventOutboxObj.eventOutboxObjId;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists events via {@link Persist} until they have been delivered to all interested
+ * subscribers, so that pending deliveries survive a restart.
+ *
+ * <p>All persistence operations are executed on Vert.x worker threads, events are published once
+ * they have been persisted. If persisting an event fails, the event is published nevertheless, but
+ * will not be re-delivered after a restart.
+ *
+ * <p>The events in the outbox are owned by the Nessie instance that persisted them and are listed
+ * in the instance's {@link EventOutboxIndexObj}, all instances are listed in the {@link
+ * EventOutboxInstancesObj}, so recovery does not need to scan the repository. Each instance holds
+ * a lease on its index, which is renewed periodically. Another instance, or the same instance after
+ * a restart, takes over the events of an index only after its lease expired, so the in-flight
+ * events of live instances are not re-delivered.
+ *
+ * <p>Additions to the index of an instance that are queued while the index is being written are
+ * written together with the next index update, removals are written with the next index update or
+ * lease renewal. The number of events in the index of an instance is bounded, events that exceed
+ * the bound are published, but not persisted.
+ *
+ * <p>An event is removed from the outbox once all deliveries reached a terminal state, including
+ * deliveries that failed after the maximum number of retries. Events recovered from the outbox are
+ * delivered again to all interested subscribers, so delivery is "at least once" and subscribers
+ * can use {@link Event#getId()} to detect duplicates.
+ */
+@ApplicationScoped
+public class EventOutbox {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EventOutbox.class);
+
+  private final Vertx vertx;
+  private final Persist persist;
+  private final Duration leaseDuration;
+  private final int maxEvents;
+  private final Clock clock;
+  private final Map<UUID, AtomicInteger> pendingDeliveries = new ConcurrentHashMap<>();
+
+  /**
+   * Events added to or removed from the outbox that are not yet reflected in {@link #index},
+   * guarded by {@code indexChanges}.
+   */
+  private final Set<UUID> addedEvents = new HashSet<>();
+
+  private final Set<UUID> removedEvents = new HashSet<>();
+  private final Object indexChanges = new Object();
+
+  /**
+   * Sequence number of the last change added to {@link #addedEvents}, guarded by {@code
+   * indexChanges}.
+   */
+  private long queuedChanges;
+
+  /** Sequence number of the last change written to {@link #index}, guarded by {@code this}. */
+  private long writtenChanges;
+
+  /** The index of this instance as last written, guarded by {@code this}. */
+  private EventOutboxIndexObj index;
+
+  /** The number of events in {@link #index}. */
+  private volatile int indexedEvents;
+
+  private volatile long renewalTimer = -1L;
+
+  // Mandatory for CDI.
+  @SuppressWarnings("unused")
+  public EventOutbox() {
+    this(null, null, null);
+  }
+
+  @Inject
+  public EventOutbox(
+      QuarkusEventConfig config,
+      @SuppressWarnings("CdiInjectionPointsInspection") Vertx vertx,
+      Instance<Persist> persist) {
+    this(
+        vertx,
+        config != null
+                && config.getOutboxConfig().isEnabled()
+                && persist != null
+                && persist.isResolvable()
+            ? persist.get()
+            : null,
+        config != null ? config.getOutboxConfig().getLeaseDuration() : Duration.ofMinutes(1),
+        config != null ? config.getOutboxConfig().getMaxEvents() : 0,
+        Clock.systemUTC());
+  }
+
+  EventOutbox(Vertx vertx, Persist persist, Duration leaseDuration, int maxEvents, Clock clock) {
+    this.vertx = vertx;
+    this.persist = persist;
+    this.leaseDuration = leaseDuration;
+    this.maxEvents = maxEvents;
+    this.clock = clock;
+  }
+
+  /** Whether the outbox is enabled and a {@link Persist} instance is available. */
+  public boolean isEnabled() {
+    return persist != null;
+  }
+
+  /**
+   * Persists the given event, then invokes {@code publish}.
+   *
+   * @param event the event to persist
+   * @param expectedDeliveries the number of deliveries that will {@linkplain
+   *     #deliveryCompleted(Event) complete} for this event
+   * @param publish publishes the event to the subscribers
+   */
+  public void store(Event event, int expectedDeliveries, Runnable publish) {
+    if (persist == null || expectedDeliveries <= 0) {
+      publish.run();
+      return;
+    }
+    vertx
+        .executeBlocking(
+            () -> {
+              persistEvent(event);
+              return null;
+            },
+            false)
+        .onComplete(
+            result -> {
+              if (result.succeeded()) {
+                pendingDeliveries.put(event.getId(), new AtomicInteger(expectedDeliveries));
+              } else {
+                LOGGER.warn(
+                    "Failed to persist event {} in the outbox, event will not be re-delivered "
+                        + "after a restart",
+                    event.getIdAsText(),
+                    result.cause());
+              }
+              publish.run();
+            });
+  }
+
+  /** Called once a delivery of the given event reached a terminal state. */
+  public void deliveryCompleted(Event event) {
+    AtomicInteger pending = pendingDeliveries.get(event.getId());
+    if (pending != null && pending.decrementAndGet() == 0) {
+      pendingDeliveries.remove(event.getId());
+      remove(event.getId());
+    }
+  }
+
+  /**
+   * Creates the index of this instance and re-publishes the events of instances whose lease
+   * expired asynchronously. Then periodically renews the lease of this instance and recovers the
+   * events of instances whose lease expired in the meantime.
+   *
+   * @param expectedDeliveries returns the number of deliveries for an event
+   * @param publish publishes an event to the subscribers
+   */
+  public Future<Integer> recover(
+      ToIntFunction<Event> expectedDeliveries, Consumer<Event> publish) {
+    if (persist == null) {
+      return Future.succeededFuture(0);
+    }
+    long renewalInterval = Math.max(1L, leaseDuration.toMillis() / 3);
+    renewalTimer =
+        vertx.setPeriodic(renewalInterval, id -> republish(expectedDeliveries, publish));
+    return republish(expectedDeliveries, publish);
+  }
+
+  @PreDestroy
+  void stopRenewal() {
+    if (renewalTimer != -1L) {
+      vertx.cancelTimer(renewalTimer);
+    }
+  }
+
+  private Future<Integer> republish(
+      ToIntFunction<Event> expectedDeliveries, Consumer<Event> publish) {
+    return vertx
+        .executeBlocking(this::recoverExpired, false)
+        .map(
+            events -> {
+              for (Event event : events) {
+                int deliveries = expectedDeliveries.applyAsInt(event);
+                if (deliveries <= 0) {
+                  remove(event.getId());
+                  continue;
+                }
+                pendingDeliveries.put(event.getId(), new AtomicInteger(deliveries));
+                publish.accept(event);
+              }
+              if (!events.isEmpty()) {
+                LOGGER.info("Re-publishing {} undelivered events from the outbox", events.size());
+              }
+              return events.size();
+            })
+        .onFailure(e -> LOGGER.warn("Failed to renew the lease of the event outbox", e));
+  }
+
+  private void remove(UUID eventId) {
+    vertx
+        .executeBlocking(
+            () -> {
+              removeEvent(eventId);
+              return null;
+            },
+            false)
+        .onFailure(e -> LOGGER.warn("Failed to remove event {} from the outbox", eventId, e));
+  }
+
+  /**
+   * Persists the event and adds it to the index of this instance. The event is deleted again, if
+   * the index could not be written.
+   */
+  void persistEvent(Event event) throws ObjTooLargeException {
+    UUID eventId = event.getId();
+    if (outboxSize() >= maxEvents) {
+      throw new IllegalStateException(
+          "The event outbox already contains the maximum number of " + maxEvents + " events");
+    }
+    EventOutboxObj obj =
+        EventOutboxObj.builder()
+            .id(eventOutboxObjId(eventId))
+            .event(EventOutboxCodec.serialize(event))
+            .build();
+    persist.storeObj(obj, true);
+    long change;
+    synchronized (indexChanges) {
+      addedEvents.add(eventId);
+      change = ++queuedChanges;
+    }
+    try {
+      writeIndex(change);
+    } catch (RuntimeException | ObjTooLargeException e) {
+      synchronized (indexChanges) {
+        addedEvents.remove(eventId);
+      }
+      persist.deleteObj(obj.id());
+      throw e;
+    }
+  }
+
+  /** The approximate number of events in the outbox of this instance. */
+  private int outboxSize() {
+    synchronized (indexChanges) {
+      return indexedEvents + addedEvents.size() - removedEvents.size();
+    }
+  }
+
+  /**
+   * Removes the event from the outbox. The index of this instance is updated with the next write,
+   * at the latest when the lease is renewed.
+   */
+  void removeEvent(UUID eventId) {
+    persist.deleteObj(eventOutboxObjId(eventId));
+    synchronized (indexChanges) {
+      removedEvents.add(eventId);
+    }
+  }
+
+  /**
+   * Renews the lease of this instance, creating its index if necessary, and takes over the events
+   * of other instances whose lease expired.
+   */
+  synchronized List<Event> recoverExpired() throws ObjTooLargeException {
+    writeIndex();
+
+    EventOutboxInstancesObj instances = fetchInstances();
+    if (instances == null) {
+      return List.of();
+    }
+    List<String> others = new ArrayList<>(instances.instanceIds());
+    others.remove(index.instanceId());
+    EventOutboxIndexObj[] indexes =
+        persist.fetchTypedObjsIfExist(
+            others.stream().map(EventOutboxIndexObj::eventOutboxIndexObjId).toArray(ObjId[]::new),
+            EventOutboxIndexObj.OBJ_TYPE,
+            EventOutboxIndexObj.class);
+
+    long now = clock.millis();
+    List<Event> events = new ArrayList<>();
+    Set<String> gone = new HashSet<>();
+    for (int i = 0; i < indexes.length; i++) {
+      EventOutboxIndexObj other = indexes[i];
+      if (other == null) {
+        gone.add(others.get(i));
+        continue;
+      }
+      if (other.leaseExpires() > now) {
+        continue;
+      }
+      if (outboxSize() + other.events().size() > maxEvents) {
+        // Taken over once enough events of this instance have been delivered.
+        LOGGER.warn(
+            "Not taking over the events of expired event outbox instance {}, the outbox of this "
+                + "instance is full",
+            other.instanceId());
+        continue;
+      }
+      EventOutboxIndexObj claimed =
+          EventOutboxIndexObj.builder()
+              .from(other)
+              .versionToken(randomUUID().toString())
+              .leaseExpires(leaseExpires())
+              .build();
+      if (!persist.updateConditional(other, claimed)) {
+        // Renewed by its owner or claimed by another instance.
+        continue;
+      }
+      events.addAll(loadEvents(claimed.events()));
+      writeIndex();
+      if (persist.deleteConditional(claimed)) {
+        gone.add(claimed.instanceId());
+      }
+    }
+    if (!gone.isEmpty()) {
+      updateInstances(instanceIds -> instanceIds.removeAll(gone));
+    }
+    return events;
+  }
+
+  /** Loads the given events and adds them to the changes of the index of this instance. */
+  private List<Event> loadEvents(Set<UUID> eventIds) {
+    EventOutboxObj[] objs =
+        persist.fetchTypedObjsIfExist(
+            eventIds.stream().map(EventOutboxObj::eventOutboxObjId).toArray(ObjId[]::new),
+            EventOutboxObj.OBJ_TYPE,
+            EventOutboxObj.class);
+    List<Event> events = new ArrayList<>();
+    for (EventOutboxObj obj : objs) {
+      if (obj == null) {
+        // Already delivered
+        continue;
+      }
+      try {
+        events.add(EventOutboxCodec.deserialize(obj.event()));
+      } catch (Exception e) {
+        LOGGER.warn("Removing unreadable event {} from the outbox", obj.id(), e);
+        persist.deleteObj(obj.id());
+      }
+    }
+    synchronized (indexChanges) {
+      events.forEach(event -> addedEvents.add(event.getId()));
+    }
+    return events;
+  }
+
+  /**
+   * Writes the pending changes to the index of this instance, unless the given change has already
+   * been written together with the changes of other threads.
+   */
+  private synchronized void writeIndex(long change) throws ObjTooLargeException {
+    if (writtenChanges < change) {
+      writeIndex();
+    }
+  }
+
+  /**
+   * Writes the pending changes to the index of this instance and renews its lease. If another
+   * instance took over the index after the lease expired, continues with a new index.
+   */
+  synchronized void writeIndex() throws ObjTooLargeException {
+    Set<UUID> added;
+    Set<UUID> removed;
+    long changes;
+    synchronized (indexChanges) {
+      added = new HashSet<>(addedEvents);
+      removed = new HashSet<>(removedEvents);
+      changes = queuedChanges;
+      addedEvents.clear();
+      removedEvents.clear();
+    }
+    try {
+      while (true) {
+        if (index == null) {
+          index = createIndex();
+        }
+        EventOutboxIndexObj current = index;
+        Set<UUID> events = new HashSet<>(current.events());
+        events.addAll(added);
+        events.removeAll(removed);
+        EventOutboxIndexObj updated =
+            EventOutboxIndexObj.builder()
+                .from(current)
+                .versionToken(randomUUID().toString())
+                .leaseExpires(leaseExpires())
+                .events(events)
+                .build();
+        if (persist.updateConditional(current, updated)) {
+          index = updated;
+          indexedEvents = events.size();
+          writtenChanges = changes;
+          return;
+        }
+        LOGGER.warn(
+            "The lease of event outbox instance {} expired, its events have been taken over by "
+                + "another instance",
+            current.instanceId());
+        index = null;
+        indexedEvents = 0;
+      }
+    } catch (RuntimeException | ObjTooLargeException e) {
+      synchronized (indexChanges) {
+        addedEvents.addAll(added);
+        removedEvents.addAll(removed);
+      }
+      throw e;
+    }
+  }
+
+  synchronized String instanceId() {
+    return index != null ? index.instanceId() : null;
+  }
+
+  private EventOutboxIndexObj createIndex() throws ObjTooLargeException {
+    String instanceId = randomUUID().toString();
+    EventOutboxIndexObj created =
+        EventOutboxIndexObj.builder()
+            .versionToken(randomUUID().toString())
+            .instanceId(instanceId)
+            .leaseExpires(leaseExpires())
+            .build();
+    persist.storeObj(created);
+    updateInstances(instanceIds -> instanceIds.add(instanceId));
+    return created;
+  }
+
+  private void updateInstances(Consumer<Set<String>> update) throws ObjTooLargeException {
+    while (true) {
+      EventOutboxInstancesObj current = fetchInstances();
+      Set<String> instanceIds =
+          current != null ? new HashSet<>(current.instanceIds()) : new HashSet<>();
+      update.accept(instanceIds);
+      EventOutboxInstancesObj updated =
+          EventOutboxInstancesObj.builder()
+              .versionToken(randomUUID().toString())
+              .instanceIds(instanceIds)
+              .build();
+      if (current == null
+          ? persist.storeObj(updated)
+          : persist.updateConditional(current, updated)) {
+        return;
+      }
+    }
+  }
+
+  private EventOutboxInstancesObj fetchInstances() {
+    return persist.fetchTypedObjsIfExist(
+        new ObjId[] {EventOutboxInstancesObj.OBJ_ID},
+        EventOutboxInstancesObj.OBJ_TYPE,
+        EventOutboxInstancesObj.class)[0];
+  }
+
+  private long leaseExpires() {
+    return clock.millis() + leaseDuration.toMillis();
+  }
+}
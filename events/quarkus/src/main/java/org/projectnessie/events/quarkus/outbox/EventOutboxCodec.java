@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.CommitMeta;
+import org.projectnessie.events.api.Content;
+import org.projectnessie.events.api.ContentEvent;
+import org.projectnessie.events.api.ContentKey;
+import org.projectnessie.events.api.ContentStoredEvent;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.api.ImmutableCommitEvent;
+import org.projectnessie.events.api.ImmutableCommitMeta;
+import org.projectnessie.events.api.ImmutableContent;
+import org.projectnessie.events.api.ImmutableContentRemovedEvent;
+import org.projectnessie.events.api.ImmutableContentStoredEvent;
+import org.projectnessie.events.api.ImmutableMergeEvent;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.ImmutableReferenceDeletedEvent;
+import org.projectnessie.events.api.ImmutableReferenceUpdatedEvent;
+import org.projectnessie.events.api.ImmutableTransplantEvent;
+import org.projectnessie.events.api.MergeEvent;
+import org.projectnessie.events.api.MultiReferenceEvent;
+import org.projectnessie.events.api.Reference;
+import org.projectnessie.events.api.ReferenceEvent;
+import org.projectnessie.events.api.WithHashAfterEvent;
+import org.projectnessie.events.api.WithHashBeforeEvent;
+
+/**
+ * Converts {@link Event}s from and to JSON for the {@link EventOutbox}.
+ *
+ * <p>The event API types are not Jackson-aware, hence the explicit mapping.
+ */
+final class EventOutboxCodec {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> PROPERTIES_TYPE =
+      new TypeReference<>() {};
+  private static final TypeReference<Map<String, List<String>>> COMMIT_PROPERTIES_TYPE =
+      new TypeReference<>() {};
+
+  private EventOutboxCodec() {}
+
+  static String serialize(Event event) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("type", event.getType().name());
+    node.put("id", event.getId().toString());
+    node.put("repositoryId", event.getRepositoryId());
+    node.put("eventCreationTimestamp", event.getEventCreationTimestamp().toString());
+    event.getEventInitiator().ifPresent(initiator -> node.put("eventInitiator", initiator));
+    node.set("properties", MAPPER.valueToTree(event.getProperties()));
+    if (event instanceof ReferenceEvent) {
+      node.set("reference", serializeReference(((ReferenceEvent) event).getReference()));
+    }
+    if (event instanceof MultiReferenceEvent) {
+      MultiReferenceEvent multiReferenceEvent = (MultiReferenceEvent) event;
+      node.set("sourceReference", serializeReference(multiReferenceEvent.getSourceReference()));
+      node.set("targetReference", serializeReference(multiReferenceEvent.getTargetReference()));
+    }
+    if (event instanceof WithHashBeforeEvent) {
+      node.put("hashBefore", ((WithHashBeforeEvent) event).getHashBefore());
+    }
+    if (event instanceof WithHashAfterEvent) {
+      node.put("hashAfter", ((WithHashAfterEvent) event).getHashAfter());
+    }
+    if (event instanceof MergeEvent) {
+      node.put("commonAncestorHash", ((MergeEvent) event).getCommonAncestorHash());
+    }
+    if (event instanceof CommitEvent) {
+      node.set("commitMeta", serializeCommitMeta(((CommitEvent) event).getCommitMeta()));
+    }
+    if (event instanceof ContentEvent) {
+      ContentEvent contentEvent = (ContentEvent) event;
+      node.put("hash", contentEvent.getHash());
+      node.put("commitCreationTimestamp", contentEvent.getCommitCreationTimestamp().toString());
+      node.set("contentKey", MAPPER.valueToTree(contentEvent.getContentKey().getElements()));
+    }
+    if (event instanceof ContentStoredEvent) {
+      Content content = ((ContentStoredEvent) event).getContent();
+      ObjectNode contentNode = node.putObject("content");
+      contentNode.put("type", content.getType());
+      contentNode.put("id", content.getId());
+      contentNode.set("properties", MAPPER.valueToTree(content.getProperties()));
+    }
+    return node.toString();
+  }
+
+  static Event deserialize(String json) throws IOException {
+    JsonNode node = MAPPER.readTree(json);
+    EventType type = EventType.valueOf(text(node, "type"));
+    UUID id = UUID.fromString(text(node, "id"));
+    String repositoryId = text(node, "repositoryId");
+    Instant eventCreationTimestamp = Instant.parse(text(node, "eventCreationTimestamp"));
+    Optional<String> eventInitiator =
+        node.hasNonNull("eventInitiator")
+            ? Optional.of(node.get("eventInitiator").asText())
+            : Optional.empty();
+    Map<String, Object> properties = MAPPER.convertValue(node.get("properties"), PROPERTIES_TYPE);
+    switch (type) {
+      case COMMIT:
+        return ImmutableCommitEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hashBefore(text(node, "hashBefore"))
+            .hashAfter(text(node, "hashAfter"))
+            .commitMeta(deserializeCommitMeta(node.get("commitMeta")))
+            .build();
+      case MERGE:
+        return ImmutableMergeEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .sourceReference(deserializeReference(node.get("sourceReference")))
+            .targetReference(deserializeReference(node.get("targetReference")))
+            .hashBefore(text(node, "hashBefore"))
+            .hashAfter(text(node, "hashAfter"))
+            .commonAncestorHash(text(node, "commonAncestorHash"))
+            .build();
+      case TRANSPLANT:
+        return ImmutableTransplantEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .sourceReference(deserializeReference(node.get("sourceReference")))
+            .targetReference(deserializeReference(node.get("targetReference")))
+            .hashBefore(text(node, "hashBefore"))
+            .hashAfter(text(node, "hashAfter"))
+            .build();
+      case REFERENCE_CREATED:
+        return ImmutableReferenceCreatedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hashAfter(text(node, "hashAfter"))
+            .build();
+      case REFERENCE_UPDATED:
+        return ImmutableReferenceUpdatedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hashBefore(text(node, "hashBefore"))
+            .hashAfter(text(node, "hashAfter"))
+            .build();
+      case REFERENCE_DELETED:
+        return ImmutableReferenceDeletedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hashBefore(text(node, "hashBefore"))
+            .build();
+      case CONTENT_STORED:
+        return ImmutableContentStoredEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hash(text(node, "hash"))
+            .commitCreationTimestamp(Instant.parse(text(node, "commitCreationTimestamp")))
+            .contentKey(deserializeContentKey(node.get("contentKey")))
+            .content(deserializeContent(node.get("content")))
+            .build();
+      case CONTENT_REMOVED:
+        return ImmutableContentRemovedEvent.builder()
+            .id(id)
+            .repositoryId(repositoryId)
+            .eventCreationTimestamp(eventCreationTimestamp)
+            .eventInitiator(eventInitiator)
+            .properties(properties)
+            .reference(deserializeReference(node.get("reference")))
+            .hash(text(node, "hash"))
+            .commitCreationTimestamp(Instant.parse(text(node, "commitCreationTimestamp")))
+            .contentKey(deserializeContentKey(node.get("contentKey")))
+            .build();
+      default:
+        throw new IllegalArgumentException("Unknown event type: " + type);
+    }
+  }
+
+  private static ObjectNode serializeReference(Reference reference) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("simpleName", reference.getSimpleName());
+    reference.getFullName().ifPresent(fullName -> node.put("fullName", fullName));
+    node.put("type", reference.getType());
+    return node;
+  }
+
+  private static Reference deserializeReference(JsonNode node) {
+    return ImmutableReference.builder()
+        .simpleName(text(node, "simpleName"))
+        .fullName(
+            node.hasNonNull("fullName")
+                ? Optional.of(node.get("fullName").asText())
+                : Optional.empty())
+        .type(text(node, "type"))
+        .build();
+  }
+
+  private static ObjectNode serializeCommitMeta(CommitMeta commitMeta) {
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("committer", commitMeta.getCommitter());
+    node.set("authors", MAPPER.valueToTree(commitMeta.getAuthors()));
+    node.set("allSignedOffBy", MAPPER.valueToTree(commitMeta.getAllSignedOffBy()));
+    node.put("message", commitMeta.getMessage());
+    node.put("commitTimestamp", commitMeta.getCommitTimestamp().toString());
+    node.put("authorTimestamp", commitMeta.getAuthorTimestamp().toString());
+    node.set("allProperties", MAPPER.valueToTree(commitMeta.getAllProperties()));
+    return node;
+  }
+
+  private static CommitMeta deserializeCommitMeta(JsonNode node) {
+    return ImmutableCommitMeta.builder()
+        .committer(text(node, "committer"))
+        .authors(strings(node.get("authors")))
+        .allSignedOffBy(strings(node.get("allSignedOffBy")))
+        .message(text(node, "message"))
+        .commitTimestamp(Instant.parse(text(node, "commitTimestamp")))
+        .authorTimestamp(Instant.parse(text(node, "authorTimestamp")))
+        .allProperties(MAPPER.convertValue(node.get("allProperties"), COMMIT_PROPERTIES_TYPE))
+        .build();
+  }
+
+  private static ContentKey deserializeContentKey(JsonNode node) {
+    return ContentKey.of(strings(node));
+  }
+
+  private static Content deserializeContent(JsonNode node) {
+    return ImmutableContent.builder()
+        .type(text(node, "type"))
+        .id(text(node, "id"))
+        .properties(MAPPER.convertValue(node.get("properties"), PROPERTIES_TYPE))
+        .build();
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    if (value == null || value.isNull()) {
+      throw new IllegalArgumentException("Missing field '" + field + "'");
+    }
+    return value.asText();
+  }
+
+  private static List<String> strings(JsonNode node) {
+    List<String> strings = new ArrayList<>();
+    if (node instanceof ArrayNode) {
+      node.forEach(element -> strings.add(element.asText()));
+    }
+    return strings;
+  }
+}
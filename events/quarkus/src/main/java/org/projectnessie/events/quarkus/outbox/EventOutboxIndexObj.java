@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static org.projectnessie.versioned.storage.common.objtypes.CustomObjType.uncachedObjType;
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Set;
+import java.util.UUID;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.objtypes.UpdateableObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * The events in the outbox that are owned by one Nessie instance, together with the instance's
+ * lease. Events of an instance are only recovered by another instance after the lease expired.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableEventOutboxIndexObj.class)
+@JsonDeserialize(as = ImmutableEventOutboxIndexObj.class)
+// Suppress: "Constructor parameters should be better defined on the same level of inheritance
+// hierarchy..."
+@SuppressWarnings("immutables:subtype")
+public interface EventOutboxIndexObj extends UpdateableObj {
+
+  ObjType OBJ_TYPE = uncachedObjType("event-outbox-index", "ev-out-i", EventOutboxIndexObj.class);
+
+  static ObjId eventOutboxIndexObjId(String instanceId) {
+    return objIdHasher("EventOutboxIndex").hash(instanceId).generate();
+  }
+
+  static ImmutableEventOutboxIndexObj.Builder builder() {
+    return ImmutableEventOutboxIndexObj.builder();
+  }
+
+  @Override
+  @Value.Default
+  default ObjId id() {
+    return eventOutboxIndexObjId(instanceId());
+  }
+
+  @Override
+  @Value.Default
+  default ObjType type() {
+    return OBJ_TYPE;
+  }
+
+  /** The ID of the Nessie instance that owns the events. */
+  String instanceId();
+
+  /** The time in milliseconds since the epoch, until which the owning instance holds the lease. */
+  long leaseExpires();
+
+  /** The IDs of the events in the outbox, see {@link EventOutboxObj#eventOutboxObjId(UUID)}. */
+  Set<UUID> events();
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.objtypes.CustomObjType.uncachedObjType;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Set;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.objtypes.UpdateableObj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * The IDs of all Nessie instances that have an {@link EventOutboxIndexObj}, so that the outbox can
+ * be recovered without scanning the repository.
+ */
+@Value.Immutable
+@JsonSerialize(as = ImmutableEventOutboxInstancesObj.class)
+@JsonDeserialize(as = ImmutableEventOutboxInstancesObj.class)
+// Suppress: "Constructor parameters should be better defined on the same level of inheritance
+// hierarchy..."
+@SuppressWarnings("immutables:subtype")
+public interface EventOutboxInstancesObj extends UpdateableObj {
+
+  ObjType OBJ_TYPE =
+      uncachedObjType("event-outbox-instances", "ev-out-n", EventOutboxInstancesObj.class);
+
+  ObjId OBJ_ID = ObjId.objIdFromByteArray("event-outbox-instances".getBytes(UTF_8));
+
+  static ImmutableEventOutboxInstancesObj.Builder builder() {
+    return ImmutableEventOutboxInstancesObj.builder();
+  }
+
+  @Override
+  @Value.Default
+  default ObjId id() {
+    return OBJ_ID;
+  }
+
+  @Override
+  @Value.Default
+  default ObjType type() {
+    return OBJ_TYPE;
+  }
+
+  Set<String> instanceIds();
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static org.projectnessie.versioned.storage.common.objtypes.CustomObjType.uncachedObjType;
+import static org.projectnessie.versioned.storage.common.persist.ObjIdHasher.objIdHasher;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.UUID;
+import org.immutables.value.Value;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/** An event that has not yet been delivered to all subscribers. */
+@Value.Immutable
+@JsonSerialize(as = ImmutableEventOutboxObj.class)
+@JsonDeserialize(as = ImmutableEventOutboxObj.class)
+public interface EventOutboxObj extends Obj {
+
+  ObjType OBJ_TYPE = uncachedObjType("event-outbox", "ev-out", EventOutboxObj.class);
+
+  static ObjId eventOutboxObjId(UUID eventId) {
+    return objIdHasher("EventOutbox").hash(eventId).generate();
+  }
+
+  static ImmutableEventOutboxObj.Builder builder() {
+    return ImmutableEventOutboxObj.builder();
+  }
+
+  @Override
+  @Value.Default
+  default ObjType type() {
+    return OBJ_TYPE;
+  }
+
+  /** The JSON representation of the event, see {@link EventOutboxCodec}. */
+  String event();
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.quarkus.config.QuarkusEventConfig;
+import org.projectnessie.events.quarkus.config.TestQuarkusEventConfig;
+import org.projectnessie.events.spi.EventSubscriber;
+
+@ExtendWith(MockitoExtension.class)
+class TestBatchEventDelivery {
+
+  @Mock CommitEvent event1;
+  @Mock CommitEvent event2;
+  @Mock EventSubscriber subscriber;
+  @Mock Vertx vertx;
+
+  QuarkusEventConfig.RetryConfig retryConfig = new TestQuarkusEventConfig.MockRetryConfig();
+
+  BatchEventDelivery newDelivery(List<Event> events) {
+    BatchEventDelivery spy = spy(new BatchEventDelivery(events, subscriber, retryConfig, vertx));
+    spy.setSelf(spy);
+    return spy;
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void deliverySuccessNoRetry(boolean blocking) {
+    setUpBlocking(blocking);
+    BatchEventDelivery delivery = newDelivery(List.of(event1, event2));
+    delivery.start();
+    verify(subscriber).onEvents(List.of(event1, event2));
+    verify(delivery).deliverySuccessful(1);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void deliverySuccessWithRetry(boolean blocking) {
+    setUpBlocking(blocking);
+    setUpVertxTimer();
+    mockSubscriberFailures(2);
+    BatchEventDelivery delivery = newDelivery(List.of(event1, event2));
+    delivery.start();
+    verify(subscriber, times(3)).onEvents(List.of(event1, event2));
+    verify(delivery).deliverySuccessful(3);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void deliveryFailureWithRetry(boolean blocking) {
+    setUpBlocking(blocking);
+    setUpVertxTimer();
+    mockSubscriberFailures(3);
+    BatchEventDelivery delivery = newDelivery(List.of(event1, event2));
+    delivery.start();
+    verify(subscriber, times(3)).onEvents(List.of(event1, event2));
+    verify(delivery)
+        .deliveryFailed(
+            eq(3),
+            argThat(e -> e.getMessage().equals("fail3") && e.getSuppressed().length == 1));
+  }
+
+  @Test
+  void emptyBatchIsRejected() {
+    BatchEventDelivery delivery = newDelivery(List.of());
+    delivery.start();
+    verify(subscriber, never()).onEvents(any());
+    verify(delivery).deliveryRejected();
+  }
+
+  @Test
+  void completionCallback() {
+    AtomicInteger completions = new AtomicInteger();
+    RetriableEventDelivery delivery =
+        new CompletionEventDelivery(
+            new BatchEventDelivery(List.of(event1), subscriber, retryConfig, vertx),
+            completions::incrementAndGet);
+    delivery.start();
+    assertThat(completions).hasValue(1);
+    assertThat(delivery.getSelf()).isSameAs(delivery);
+  }
+
+  void mockSubscriberFailures(int numFailures) {
+    AtomicInteger attempt = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              int i = attempt.incrementAndGet();
+              if (i <= numFailures) {
+                throw new RuntimeException("fail" + i);
+              }
+              return null;
+            })
+        .when(subscriber)
+        .onEvents(any());
+  }
+
+  void setUpVertxTimer() {
+    when(vertx.setTimer(anyLong(), any()))
+        .thenAnswer(
+            invocation -> {
+              Handler<Long> argument = invocation.getArgument(1);
+              argument.handle(1L);
+              return 1L;
+            });
+  }
+
+  @SuppressWarnings("unchecked")
+  void setUpBlocking(boolean blocking) {
+    when(subscriber.isBlocking()).thenReturn(blocking);
+    if (blocking) {
+      doAnswer(
+              invocation -> {
+                Callable<Void> task = invocation.getArgument(0);
+                task.call();
+                return null;
+              })
+          .when(vertx)
+          .executeBlocking(any(Callable.class), eq(false));
+    }
+  }
+}
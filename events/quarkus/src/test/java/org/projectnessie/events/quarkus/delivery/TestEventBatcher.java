@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.delivery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.spi.EventSubscriber;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestEventBatcher {
+
+  @Mock CommitEvent event1;
+  @Mock CommitEvent event2;
+  @Mock CommitEvent event3;
+  @Mock EventSubscriber subscriber;
+  @Mock Vertx vertx;
+
+  final List<List<Event>> batches = new ArrayList<>();
+  final List<Event> rejected = new ArrayList<>();
+  final AtomicReference<Handler<Long>> timer = new AtomicReference<>();
+
+  EventBatcher batcher;
+
+  @BeforeEach
+  void setUp() {
+    when(subscriber.getMaxBatchSize()).thenReturn(2);
+    when(subscriber.getMaxBatchLinger()).thenReturn(Duration.ofMillis(50));
+    when(subscriber.accepts(any(Event.class))).thenReturn(true);
+    when(vertx.setTimer(anyLong(), any()))
+        .thenAnswer(
+            invocation -> {
+              timer.set(invocation.getArgument(1));
+              return 42L;
+            });
+    batcher =
+        new EventBatcher(
+            subscriber,
+            vertx,
+            events -> () -> batches.add(List.copyOf(events)),
+            rejected::add);
+  }
+
+  @Test
+  void deliverWhenFull() {
+    batcher.add(event1);
+    assertThat(batches).isEmpty();
+    verify(vertx).setTimer(eq(50L), any());
+    batcher.add(event2);
+    assertThat(batches).containsExactly(List.of(event1, event2));
+    verify(vertx).cancelTimer(42L);
+    batcher.add(event3);
+    assertThat(batches).hasSize(1);
+  }
+
+  @Test
+  void deliverWhenLingerExpired() {
+    batcher.add(event1);
+    assertThat(batches).isEmpty();
+    timer.get().handle(42L);
+    assertThat(batches).containsExactly(List.of(event1));
+    // The timer of a delivered batch must not deliver a later batch.
+    batcher.add(event2);
+    timer.get().handle(4711L);
+    assertThat(batches).containsExactly(List.of(event1));
+  }
+
+  @Test
+  void rejectedEvents() {
+    when(subscriber.accepts(event2)).thenReturn(false);
+    batcher.add(event1);
+    batcher.add(event2);
+    batcher.add(event3);
+    assertThat(rejected).containsExactly(event2);
+    assertThat(batches).containsExactly(List.of(event1, event3));
+  }
+
+  @Test
+  void flush() {
+    batcher.flush();
+    assertThat(batches).isEmpty();
+    verify(vertx, never()).setTimer(anyLong(), any());
+    batcher.add(event1);
+    batcher.flush();
+    assertThat(batches).containsExactly(List.of(event1));
+  }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.projectnessie.events.quarkus.outbox.EventOutboxIndexObj.eventOutboxIndexObjId;
+import static org.projectnessie.events.quarkus.outbox.EventOutboxObj.eventOutboxObjId;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.Reference;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.inmemorytests.InmemoryBackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+import org.threeten.extra.MutableClock;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieBackend(InmemoryBackendTestFactory.class)
+public class TestEventOutbox {
+
+  static final Duration LEASE = Duration.ofMinutes(1);
+  static final int MAX_EVENTS = 3;
+
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  protected MutableClock clock;
+
+  @BeforeEach
+  protected void setup() {
+    clock = MutableClock.of(Instant.now(), ZoneId.of("Z"));
+  }
+
+  @Test
+  public void recoverOnlyAfterLeaseExpired() throws Exception {
+    EventOutbox first = outbox();
+    EventOutbox second = outbox();
+
+    Event event = event();
+    first.persistEvent(event);
+    String firstInstance = first.instanceId();
+
+    soft.assertThat(second.recoverExpired()).isEmpty();
+    soft.assertThat(instanceIds()).containsExactlyInAnyOrder(firstInstance, second.instanceId());
+
+    clock.add(LEASE.minusSeconds(1));
+    soft.assertThat(second.recoverExpired()).isEmpty();
+
+    clock.add(Duration.ofSeconds(1));
+    soft.assertThat(second.recoverExpired()).containsExactly(event);
+    soft.assertThat(index(firstInstance)).isNull();
+    soft.assertThat(index(second.instanceId()).events()).containsExactly(event.getId());
+    soft.assertThat(instanceIds()).containsExactly(second.instanceId());
+
+    // Recovered only once
+    soft.assertThat(second.recoverExpired()).isEmpty();
+  }
+
+  @Test
+  public void liveInstanceKeepsItsEvents() throws Exception {
+    EventOutbox first = outbox();
+    EventOutbox second = outbox();
+
+    Event event = event();
+    first.persistEvent(event);
+    second.recoverExpired();
+
+    for (int i = 0; i < 5; i++) {
+      clock.add(LEASE.dividedBy(2));
+      first.writeIndex();
+      soft.assertThat(second.recoverExpired()).isEmpty();
+    }
+    soft.assertThat(index(first.instanceId()).events()).containsExactly(event.getId());
+  }
+
+  @Test
+  public void removedEvents() throws Exception {
+    EventOutbox outbox = outbox();
+
+    Event event = event();
+    outbox.persistEvent(event);
+    outbox.removeEvent(event.getId());
+    soft.assertThat(persist.fetchObjsIfExist(new ObjId[] {eventOutboxObjId(event.getId())})[0])
+        .isNull();
+
+    outbox.writeIndex();
+    soft.assertThat(index(outbox.instanceId()).events()).isEmpty();
+  }
+
+  @Test
+  public void expiredInstanceContinuesWithNewIndex() throws Exception {
+    EventOutbox first = outbox();
+    EventOutbox second = outbox();
+
+    Event event1 = event();
+    first.persistEvent(event1);
+    String firstInstance = first.instanceId();
+
+    clock.add(LEASE);
+    soft.assertThat(second.recoverExpired()).containsExactly(event1);
+
+    Event event2 = event();
+    first.persistEvent(event2);
+    soft.assertThat(first.instanceId()).isNotEqualTo(firstInstance);
+    soft.assertThat(index(first.instanceId()).events()).containsExactly(event2.getId());
+    soft.assertThat(index(second.instanceId()).events()).containsExactly(event1.getId());
+    soft.assertThat(instanceIds())
+        .containsExactlyInAnyOrder(first.instanceId(), second.instanceId());
+  }
+
+  @Test
+  public void boundedNumberOfEvents() throws Exception {
+    EventOutbox outbox = outbox();
+
+    Event[] events = {event(), event(), event()};
+    for (Event event : events) {
+      outbox.persistEvent(event);
+    }
+
+    Event exceeding = event();
+    soft.assertThatIllegalStateException()
+        .isThrownBy(() -> outbox.persistEvent(exceeding))
+        .withMessageContaining("maximum number of 3 events");
+    soft.assertThat(persist.fetchObjsIfExist(new ObjId[] {eventOutboxObjId(exceeding.getId())}))
+        .containsOnlyNulls();
+
+    outbox.removeEvent(events[0].getId());
+    outbox.persistEvent(exceeding);
+    soft.assertThat(index(outbox.instanceId()).events())
+        .containsExactlyInAnyOrder(events[1].getId(), events[2].getId(), exceeding.getId());
+  }
+
+  @Test
+  public void fullOutboxDoesNotTakeOverEvents() throws Exception {
+    EventOutbox first = outbox();
+    EventOutbox second = outbox();
+
+    first.persistEvent(event());
+    for (int i = 0; i < MAX_EVENTS; i++) {
+      second.persistEvent(event());
+    }
+
+    clock.add(LEASE);
+    soft.assertThat(second.recoverExpired()).isEmpty();
+    soft.assertThat(index(first.instanceId())).isNotNull();
+  }
+
+  @Test
+  public void failedIndexWriteDeletesEvent() throws Exception {
+    Persist failing = spy(persist);
+    EventOutbox outbox = new EventOutbox(null, failing, LEASE, MAX_EVENTS, clock);
+
+    Event event1 = event();
+    outbox.persistEvent(event1);
+
+    doThrow(new RuntimeException("update failed")).when(failing).updateConditional(any(), any());
+    Event event2 = event();
+    soft.assertThatThrownBy(() -> outbox.persistEvent(event2)).hasMessage("update failed");
+    soft.assertThat(persist.fetchObjsIfExist(new ObjId[] {eventOutboxObjId(event2.getId())}))
+        .containsOnlyNulls();
+
+    // The failed event is not written with the next successful index update.
+    doCallRealMethod().when(failing).updateConditional(any(), any());
+    Event event3 = event();
+    outbox.persistEvent(event3);
+    soft.assertThat(index(outbox.instanceId()).events())
+        .containsExactlyInAnyOrder(event1.getId(), event3.getId());
+  }
+
+  private EventOutbox outbox() {
+    return new EventOutbox(null, persist, LEASE, MAX_EVENTS, clock);
+  }
+
+  private EventOutboxIndexObj index(String instanceId) {
+    return persist.fetchTypedObjsIfExist(
+        new ObjId[] {eventOutboxIndexObjId(instanceId)},
+        EventOutboxIndexObj.OBJ_TYPE,
+        EventOutboxIndexObj.class)[0];
+  }
+
+  private Iterable<String> instanceIds() {
+    return persist.fetchTypedObjsIfExist(
+            new ObjId[] {EventOutboxInstancesObj.OBJ_ID},
+            EventOutboxInstancesObj.OBJ_TYPE,
+            EventOutboxInstancesObj.class)[0]
+        .instanceIds();
+  }
+
+  private Event event() {
+    return ImmutableReferenceCreatedEvent.builder()
+        .id(UUID.randomUUID())
+        .repositoryId("repo1")
+        .eventCreationTimestamp(clock.instant())
+        .reference(
+            ImmutableReference.builder()
+                .simpleName("branch1")
+                .fullName("refs/heads/branch1")
+                .type(Reference.BRANCH)
+                .build())
+        .hashAfter("1234")
+        .build();
+  }
+}
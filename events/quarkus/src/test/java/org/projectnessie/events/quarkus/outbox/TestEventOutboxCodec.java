@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.events.quarkus.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.projectnessie.events.api.CommitMeta;
+import org.projectnessie.events.api.ContentKey;
+import org.projectnessie.events.api.Event;
+import org.projectnessie.events.api.EventType;
+import org.projectnessie.events.api.ImmutableCommitEvent;
+import org.projectnessie.events.api.ImmutableCommitMeta;
+import org.projectnessie.events.api.ImmutableContent;
+import org.projectnessie.events.api.ImmutableContentRemovedEvent;
+import org.projectnessie.events.api.ImmutableContentStoredEvent;
+import org.projectnessie.events.api.ImmutableMergeEvent;
+import org.projectnessie.events.api.ImmutableReference;
+import org.projectnessie.events.api.ImmutableReferenceCreatedEvent;
+import org.projectnessie.events.api.ImmutableReferenceDeletedEvent;
+import org.projectnessie.events.api.ImmutableReferenceUpdatedEvent;
+import org.projectnessie.events.api.ImmutableTransplantEvent;
+import org.projectnessie.events.api.Reference;
+
+class TestEventOutboxCodec {
+
+  static final Instant NOW = Instant.parse("2024-05-01T12:34:56.789Z");
+
+  static final Reference MAIN =
+      ImmutableReference.builder()
+          .simpleName("main")
+          .fullName("refs/heads/main")
+          .type(Reference.BRANCH)
+          .build();
+
+  static final Reference TAG =
+      ImmutableReference.builder().simpleName("tag1").type(Reference.TAG).build();
+
+  static final CommitMeta COMMIT_META =
+      ImmutableCommitMeta.builder()
+          .committer("committer")
+          .authors(List.of("author1", "author2"))
+          .allSignedOffBy(List.of("signer"))
+          .message("message")
+          .commitTimestamp(NOW)
+          .authorTimestamp(NOW.minusSeconds(60))
+          .allProperties(Map.of("key1", List.of("value1", "value2")))
+          .build();
+
+  @ParameterizedTest
+  @MethodSource("events")
+  void roundTrip(Event event) throws Exception {
+    String json = EventOutboxCodec.serialize(event);
+    assertThat(EventOutboxCodec.deserialize(json)).isEqualTo(event);
+  }
+
+  @Test
+  void allEventTypesCovered() {
+    assertThat(events().map(Event::getType)).containsExactlyInAnyOrder(EventType.values());
+  }
+
+  @Test
+  void missingField() {
+    assertThatThrownBy(() -> EventOutboxCodec.deserialize("{\"type\":\"COMMIT\"}"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Missing field 'id'");
+  }
+
+  static Stream<Event> events() {
+    return Stream.of(
+        ImmutableCommitEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .eventInitiator("alice")
+            .properties(Map.of("static", "value", "nested", Map.of("a", "b")))
+            .reference(MAIN)
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .commitMeta(COMMIT_META)
+            .build(),
+        ImmutableMergeEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .sourceReference(TAG)
+            .targetReference(MAIN)
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .commonAncestorHash("9abc")
+            .build(),
+        ImmutableTransplantEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .eventInitiator("bob")
+            .sourceReference(TAG)
+            .targetReference(MAIN)
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .build(),
+        ImmutableReferenceCreatedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .reference(TAG)
+            .hashAfter("5678")
+            .build(),
+        ImmutableReferenceUpdatedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .reference(MAIN)
+            .hashBefore("1234")
+            .hashAfter("5678")
+            .build(),
+        ImmutableReferenceDeletedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .reference(MAIN)
+            .hashBefore("1234")
+            .build(),
+        ImmutableContentStoredEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .reference(MAIN)
+            .hash("5678")
+            .commitCreationTimestamp(NOW)
+            .contentKey(ContentKey.of("ns", "table"))
+            .content(
+                ImmutableContent.builder()
+                    .type("ICEBERG_TABLE")
+                    .id("content-id")
+                    .properties(
+                        Map.of(
+                            "metadataLocation", "s3://bucket/metadata.json",
+                            "snapshotId", 42,
+                            "list", List.of("a", "b")))
+                    .build())
+            .build(),
+        ImmutableContentRemovedEvent.builder()
+            .id(UUID.randomUUID())
+            .repositoryId("repo1")
+            .eventCreationTimestamp(NOW)
+            .reference(MAIN)
+            .hash("5678")
+            .commitCreationTimestamp(NOW)
+            .contentKey(ContentKey.of("ns", "table"))
+            .build());
+  }
+}
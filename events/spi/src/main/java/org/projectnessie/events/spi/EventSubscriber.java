@@ -15,6 +15,8 @@
  */
 package org.projectnessie.events.spi;
 
+import java.time.Duration;
+import java.util.List;
 import org.projectnessie.events.api.CommitEvent;
 import org.projectnessie.events.api.ContentRemovedEvent;
 import org.projectnessie.events.api.ContentStoredEvent;
@@ -161,6 +163,41 @@ public interface EventSubscriber extends AutoCloseable {
     }
   }
 
+  /**
+   * Called with a batch of events, if this subscriber opted into batched delivery via {@link
+   * #getMaxBatchSize()}. The default implementation simply invokes {@link #onEvent(Event)} for each
+   * event.
+   *
+   * <p>Batches contain only events that this subscriber {@linkplain #accepts(Event) accepts}. The
+   * order of the events within a batch is the order in which they were received. If this method
+   * throws, the whole batch is considered failed and may be retried.
+   */
+  default void onEvents(List<Event> events) {
+    for (Event event : events) {
+      onEvent(event);
+    }
+  }
+
+  /**
+   * Returns the maximum number of events to deliver at once via {@link #onEvents(List)}.
+   *
+   * <p>The default is 1, which means that events are delivered one by one via {@link
+   * #onEvent(Event)}.
+   */
+  default int getMaxBatchSize() {
+    return 1;
+  }
+
+  /**
+   * Returns the maximum time an event may wait for more events to fill up a batch, before the
+   * (incomplete) batch is delivered. Only relevant if {@link #getMaxBatchSize()} is greater than 1.
+   *
+   * <p>The default is 100 milliseconds.
+   */
+  default Duration getMaxBatchLinger() {
+    return Duration.ofMillis(100);
+  }
+
   /**
    * Called when the Nessie server is stopped. Subscribers should release any resources they hold in
    * this method.
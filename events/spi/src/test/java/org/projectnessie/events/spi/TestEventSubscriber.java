@@ -18,11 +18,15 @@ package org.projectnessie.events.spi;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.projectnessie.events.api.CommitEvent;
+import org.projectnessie.events.api.Event;
 import org.projectnessie.events.api.EventType;
 import org.projectnessie.events.api.MergeEvent;
 
@@ -84,4 +88,26 @@ class TestEventSubscriber {
     assertThat(subscriber.accepts(commit2)).isFalse();
     assertThat(subscriber.accepts(merge)).isFalse();
   }
+
+  @Test
+  void onEventsDispatchesToOnEvent() {
+    List<Event> received = new ArrayList<>();
+    EventSubscriber subscriber =
+        new EventSubscriber() {
+          @Override
+          public void onSubscribe(EventSubscription subscription) {}
+
+          @Override
+          public void onEvent(Event event) {
+            received.add(event);
+          }
+
+          @Override
+          public void close() {}
+        };
+    assertThat(subscriber.getMaxBatchSize()).isEqualTo(1);
+    assertThat(subscriber.getMaxBatchLinger()).isEqualTo(Duration.ofMillis(100));
+    subscriber.onEvents(List.of(commit1, merge, commit2));
+    assertThat(received).containsExactly(commit1, merge, commit2);
+  }
 }
@@ -14,7 +14,10 @@
  * limitations under the License.
  */
 
-plugins { id("nessie-conventions-iceberg") }
+plugins {
+  id("nessie-conventions-iceberg")
+  alias(libs.plugins.jmh)
+}
 
 publishingHelper { mavenName = "Nessie - GC - Base Implementation Tests" }
 
@@ -32,4 +35,16 @@ dependencies {
 
   implementation(platform(libs.junit.bom))
   implementation(libs.bundles.junit.testing)
+
+  jmhImplementation(libs.jmh.core)
+  jmhCompileOnly(libs.microprofile.openapi)
+  jmhCompileOnly(libs.jakarta.validation.api)
+  jmhCompileOnly(libs.jakarta.annotation.api)
+  jmhCompileOnly(platform(libs.jackson.bom))
+  jmhCompileOnly("com.fasterxml.jackson.core:jackson-annotations")
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion = libs.versions.jmh.get() }
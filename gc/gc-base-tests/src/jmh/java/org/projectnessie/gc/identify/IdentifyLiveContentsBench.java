@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.gc.contents.ContentReference.icebergContent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.gc.contents.LiveContentSetsRepository;
+import org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi;
+import org.projectnessie.gc.repository.RepositoryConnector;
+import org.projectnessie.model.Branch;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.Content;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Detached;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.LogResponse.LogEntry;
+import org.projectnessie.model.Operation;
+import org.projectnessie.model.Reference;
+
+/**
+ * Benchmark for the mark phase over a synthetic repository with many branches, which fork from the
+ * commit log of the default branch at random commits. All commits are live, so the commit log of
+ * each branch is walked down to the root commit, unless the visited-deduplicator stops the walk.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class IdentifyLiveContentsBench {
+
+  public enum Deduplicator {
+    NONE(() -> VisitedDeduplicator.NOOP),
+    DEFAULT(DefaultVisitedDeduplicator::new),
+    STRIPED(StripedVisitedDeduplicator::new);
+
+    final Supplier<VisitedDeduplicator> supplier;
+
+    Deduplicator(Supplier<VisitedDeduplicator> supplier) {
+      this.supplier = supplier;
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"2000", "20000"})
+    public int branches;
+
+    @Param({"200"})
+    public int mainCommits;
+
+    @Param({"5"})
+    public int branchCommits;
+
+    @Param({"DEFAULT", "STRIPED"})
+    public Deduplicator deduplicator;
+
+    @Param({"4", "32"})
+    public int maxParallelism;
+
+    private SyntheticRepository repository;
+
+    @Setup(Level.Trial)
+    public void init() {
+      repository = new SyntheticRepository(branches, mainCommits, branchCommits);
+    }
+
+    IdentifyLiveContents identifyLiveContents() {
+      return IdentifyLiveContents.builder()
+          .contentTypeFilter(
+              new ContentTypeFilter() {
+                @Override
+                public boolean test(Content.Type type) {
+                  return true;
+                }
+
+                @Override
+                public Set<Content.Type> validTypes() {
+                  return Set.of(Content.Type.ICEBERG_TABLE);
+                }
+              })
+          // All synthetic commits are newer than the cut-off timestamp, but the cut-off policy
+          // must define a timestamp, otherwise no deduplication happens.
+          .cutOffPolicySupplier(r -> CutoffPolicy.atTimestamp(Instant.EPOCH))
+          .contentToContentReference(
+              (content, commitId, key) -> icebergContent(commitId, key, content))
+          .liveContentSetsRepository(
+              LiveContentSetsRepository.builder()
+                  .persistenceSpi(new InMemoryPersistenceSpi())
+                  .build())
+          .repositoryConnector(repository)
+          .visitedDeduplicator(deduplicator.supplier.get())
+          .parallelism(Math.min(IdentifyLiveContents.DEFAULT_PARALLELISM, maxParallelism))
+          .maxParallelism(maxParallelism)
+          .build();
+    }
+  }
+
+  @Benchmark
+  public Object identifyLiveContents(BenchmarkParam param) {
+    return param.identifyLiveContents().identifyLiveContents();
+  }
+
+  /** Commit log entries with the index of their parent, branches refer to their head commit. */
+  static final class SyntheticRepository implements RepositoryConnector {
+    private final LogEntry[] commits;
+    private final int[] parents;
+    private final Map<String, Integer> heads = new HashMap<>();
+    private final List<Reference> references;
+
+    SyntheticRepository(int branches, int mainCommits, int branchCommits) {
+      int numCommits = mainCommits + branches * branchCommits;
+      commits = new LogEntry[numCommits];
+      parents = new int[numCommits];
+      references = new ArrayList<>(branches + 1);
+      Random random = new Random(42L);
+
+      int c = 0;
+      for (; c < mainCommits; c++) {
+        addCommit(c, c - 1, random);
+      }
+      addReference("main", c - 1);
+
+      for (int b = 0; b < branches; b++) {
+        int parent = random.nextInt(mainCommits);
+        for (int i = 0; i < branchCommits; i++, c++) {
+          addCommit(c, parent, random);
+          parent = c;
+        }
+        addReference("branch-" + b, parent);
+      }
+    }
+
+    private void addReference(String name, int head) {
+      String hash = commits[head].getCommitMeta().getHash();
+      references.add(Branch.of(name, hash));
+      heads.put(hash, head);
+    }
+
+    private void addCommit(int index, int parent, Random random) {
+      String hash =
+          String.format(
+              "%016x%016x%016x%016x",
+              random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+      ContentKey key = ContentKey.of("table-" + random.nextInt(100));
+      commits[index] =
+          LogEntry.builder()
+              .commitMeta(
+                  CommitMeta.builder()
+                      .hash(hash)
+                      .message("commit " + index)
+                      .commitTime(Instant.ofEpochSecond(1_000_000L + index))
+                      .build())
+              .operations(
+                  List.of(
+                      Operation.Put.of(
+                          key,
+                          IcebergTable.of(
+                              "s3://bucket/" + key + "/metadata-" + index + ".json",
+                              index,
+                              0,
+                              0,
+                              0,
+                              key.toString()))))
+              .build();
+      parents[index] = parent;
+    }
+
+    @Override
+    public Stream<Reference> allReferences() {
+      return references.stream();
+    }
+
+    @Override
+    public Stream<LogEntry> commitLog(Reference ref) {
+      int head = heads.get(ref.getHash());
+      return Stream.iterate(head, i -> i >= 0, i -> parents[i]).map(i -> commits[i]);
+    }
+
+    @Override
+    public Stream<Map.Entry<ContentKey, Content>> allContents(
+        Detached ref, Set<Content.Type> types) {
+      return Collections.<ContentKey, Content>emptyMap().entrySet().stream();
+    }
+
+    @Override
+    public void close() {}
+  }
+}
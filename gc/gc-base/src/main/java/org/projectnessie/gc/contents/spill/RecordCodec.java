@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.contents.ImmutableContentReference;
+import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.types.ContentTypes;
+import org.projectnessie.storage.uri.StorageUri;
+
+/** Serializes and deserializes the records stored in {@link SortedRun}s. */
+interface RecordCodec<T> {
+
+  void write(DataOutput out, T value) throws IOException;
+
+  T read(DataInput in) throws IOException;
+
+  RecordCodec<ContentReference> CONTENT_REFERENCE =
+      new RecordCodec<ContentReference>() {
+        @Override
+        public void write(DataOutput out, ContentReference value) throws IOException {
+          writeString(out, value.contentId());
+          writeString(out, value.commitId());
+          List<String> elements = value.contentKey().getElements();
+          out.writeInt(elements.size());
+          for (String element : elements) {
+            writeString(out, element);
+          }
+          writeString(out, value.contentType().name());
+          writeNullableString(out, value.metadataLocation());
+          Long snapshotId = value.snapshotId();
+          out.writeBoolean(snapshotId != null);
+          if (snapshotId != null) {
+            out.writeLong(snapshotId);
+          }
+        }
+
+        @Override
+        public ContentReference read(DataInput in) throws IOException {
+          String contentId = readString(in);
+          String commitId = readString(in);
+          int numElements = in.readInt();
+          List<String> elements = new ArrayList<>(numElements);
+          for (int i = 0; i < numElements; i++) {
+            elements.add(readString(in));
+          }
+          String contentType = readString(in);
+          String metadataLocation = readNullableString(in);
+          Long snapshotId = in.readBoolean() ? in.readLong() : null;
+          return ImmutableContentReference.of(
+              contentId,
+              commitId,
+              ContentKey.of(elements),
+              ContentTypes.forName(contentType),
+              metadataLocation,
+              snapshotId);
+        }
+      };
+
+  RecordCodec<FileReference> FILE_REFERENCE =
+      new RecordCodec<FileReference>() {
+        @Override
+        public void write(DataOutput out, FileReference value) throws IOException {
+          writeString(out, value.base().location());
+          writeString(out, value.path().location());
+          out.writeLong(value.modificationTimeMillisEpoch());
+        }
+
+        @Override
+        public FileReference read(DataInput in) throws IOException {
+          StorageUri base = StorageUri.of(readString(in));
+          StorageUri path = StorageUri.of(readString(in));
+          return FileReference.of(path, base, in.readLong());
+        }
+      };
+
+  /** Writes a string without the 64k length limitation of {@link DataOutput#writeUTF(String)}. */
+  static void writeString(DataOutput out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  static String readString(DataInput in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  static void writeNullableString(DataOutput out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      writeString(out, value);
+    }
+  }
+
+  static String readNullableString(DataInput in) throws IOException {
+    return in.readBoolean() ? readString(in) : null;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.google.common.collect.AbstractIterator;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * An immutable local file containing sorted records, organized in individually compressed blocks.
+ *
+ * <p>Each block consists of the number of records, the uncompressed and the compressed size (each
+ * as a 4-byte integer) followed by the deflated records. The first record and the file offset of
+ * each block are kept on heap to seek to the block that may contain a requested record, so reading
+ * never needs more than one uncompressed block per iterator.
+ */
+final class SortedRun<T> implements AutoCloseable {
+  private static final int BLOCK_HEADER_SIZE = 12;
+
+  private final Path file;
+  private final RecordCodec<T> codec;
+  private final List<T> firstRecords;
+  private final long[] blockOffsets;
+  private final long recordCount;
+  private final FileChannel channel;
+
+  private SortedRun(
+      Path file, RecordCodec<T> codec, List<T> firstRecords, long[] blockOffsets, long recordCount)
+      throws IOException {
+    this.file = file;
+    this.codec = codec;
+    this.firstRecords = firstRecords;
+    this.blockOffsets = blockOffsets;
+    this.recordCount = recordCount;
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+  }
+
+  /**
+   * Writes the given records, which must already be sorted and distinct, to a new file.
+   *
+   * @return the new run or {@code null}, if {@code records} is empty
+   */
+  static <T> SortedRun<T> write(
+      Path file, Iterator<T> records, RecordCodec<T> codec, int blockSize) throws IOException {
+    if (!records.hasNext()) {
+      return null;
+    }
+
+    List<T> firstRecords = new ArrayList<>();
+    List<Long> blockOffsets = new ArrayList<>();
+    long recordCount = 0L;
+
+    ByteArrayOutputStream block = new ByteArrayOutputStream(blockSize + blockSize / 4);
+    DataOutputStream blockOut = new DataOutputStream(block);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(blockSize);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DataOutputStream out =
+        new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file, CREATE_NEW, WRITE)))) {
+      long position = 0L;
+      int blockRecords = 0;
+      while (records.hasNext()) {
+        T record = records.next();
+        if (blockRecords == 0) {
+          firstRecords.add(record);
+          blockOffsets.add(position);
+        }
+        codec.write(blockOut, record);
+        blockRecords++;
+        recordCount++;
+
+        if (block.size() >= blockSize || !records.hasNext()) {
+          deflater.reset();
+          compressed.reset();
+          DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater);
+          block.writeTo(deflate);
+          deflate.finish();
+
+          out.writeInt(blockRecords);
+          out.writeInt(block.size());
+          out.writeInt(compressed.size());
+          compressed.writeTo(out);
+          position += BLOCK_HEADER_SIZE + compressed.size();
+
+          block.reset();
+          blockRecords = 0;
+        }
+      }
+    } finally {
+      deflater.end();
+    }
+
+    return new SortedRun<>(
+        file,
+        codec,
+        firstRecords,
+        blockOffsets.stream().mapToLong(Long::longValue).toArray(),
+        recordCount);
+  }
+
+  long recordCount() {
+    return recordCount;
+  }
+
+  /** Iterates over all records in this run. */
+  Iterator<T> iterator() {
+    return iterator(0);
+  }
+
+  /**
+   * Iterates over the records in this run, starting at the last block whose first record matches
+   * {@code before}, which must match all records that sort before the first requested one.
+   * Callers still have to skip the leading records that match {@code before}.
+   */
+  Iterator<T> iteratorFrom(Predicate<T> before) {
+    int low = 0;
+    int high = firstRecords.size() - 1;
+    int block = 0;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (before.test(firstRecords.get(mid))) {
+        block = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return iterator(block);
+  }
+
+  private Iterator<T> iterator(int firstBlock) {
+    return new AbstractIterator<T>() {
+      private int nextBlock = firstBlock;
+      private DataInputStream current;
+      private int remaining;
+
+      @Override
+      protected T computeNext() {
+        try {
+          while (remaining == 0) {
+            if (nextBlock == blockOffsets.length) {
+              return endOfData();
+            }
+            current = readBlock(nextBlock++);
+          }
+          remaining--;
+          return codec.read(current);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      private DataInputStream readBlock(int block) throws IOException {
+        long offset = blockOffsets[block];
+        ByteBuffer header = readFully(offset, BLOCK_HEADER_SIZE);
+        int records = header.getInt();
+        int uncompressedSize = header.getInt();
+        int compressedSize = header.getInt();
+        ByteBuffer compressed = readFully(offset + BLOCK_HEADER_SIZE, compressedSize);
+
+        byte[] uncompressed = new byte[uncompressedSize];
+        Inflater inflater = new Inflater();
+        try {
+          inflater.setInput(compressed.array(), 0, compressedSize);
+          int length = 0;
+          while (length < uncompressedSize) {
+            int n = inflater.inflate(uncompressed, length, uncompressedSize - length);
+            if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+              throw new EOFException("Truncated block " + block + " in " + file);
+            }
+            length += n;
+          }
+        } catch (DataFormatException e) {
+          throw new IOException("Corrupt block " + block + " in " + file, e);
+        } finally {
+          inflater.end();
+        }
+
+        remaining = records;
+        return new DataInputStream(new ByteArrayInputStream(uncompressed));
+      }
+    };
+  }
+
+  private ByteBuffer readFully(long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      // Positional reads do not change the channel's position and can happen concurrently.
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of " + file);
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /** Closes and deletes the file. */
+  @Override
+  public void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Collects records in a bounded, sorted on-heap buffer that is spilled to a new {@link SortedRun}
+ * when it is full, similar to the memtable of a log-structured merge tree.
+ *
+ * <p>Spilled runs are organized in levels: once a level contains {@code mergeFanIn} runs, those
+ * are merged into a single run on the next level, so every record is rewritten only a logarithmic
+ * number of times. Reading requires all runs to be merged into a single, {@link #sealed()} run.
+ * Duplicate records, as determined by the comparator, are eliminated in the buffer and during
+ * merges.
+ */
+final class SortedRuns<T> implements AutoCloseable {
+
+  private final Path directory;
+  private final String prefix;
+  private final RecordCodec<T> codec;
+  private final Comparator<T> comparator;
+  private final int maxBufferedRecords;
+  private final int mergeFanIn;
+  private final int blockSize;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final List<List<SortedRun<T>>> levels = new ArrayList<>();
+  private NavigableSet<T> buffer;
+  private int runCounter;
+
+  /** The merged run for readers, only valid if no records were added since the last merge. */
+  private volatile SortedRun<T> sealedRun;
+
+  private volatile boolean modified;
+
+  SortedRuns(
+      Path directory,
+      String prefix,
+      RecordCodec<T> codec,
+      Comparator<T> comparator,
+      int maxBufferedRecords,
+      int mergeFanIn,
+      int blockSize) {
+    this.directory = directory;
+    this.prefix = prefix;
+    this.codec = codec;
+    this.comparator = comparator;
+    this.maxBufferedRecords = maxBufferedRecords;
+    this.mergeFanIn = mergeFanIn;
+    this.blockSize = blockSize;
+    this.buffer = new TreeSet<>(comparator);
+  }
+
+  /**
+   * Adds the given records.
+   *
+   * @return the number of records that were not already present in the on-heap buffer, duplicates
+   *     of already spilled records are counted, but eliminated when runs are merged
+   */
+  long add(Iterator<T> records) {
+    long added = 0L;
+    while (records.hasNext()) {
+      T record = records.next();
+      lock.lock();
+      try {
+        if (buffer.add(record)) {
+          added++;
+          modified = true;
+          if (buffer.size() >= maxBufferedRecords) {
+            spill();
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        lock.unlock();
+      }
+    }
+    return added;
+  }
+
+  /**
+   * Spills the buffer and merges all runs into a single run, if records were added since the last
+   * call.
+   *
+   * <p>Iterators over the returned run must be consumed before more records are added, because the
+   * run is merged away and deleted by the next call to this function after that.
+   *
+   * @return the run containing all records, or empty, if no records have been added
+   */
+  Optional<SortedRun<T>> sealed() {
+    if (!modified) {
+      return Optional.ofNullable(sealedRun);
+    }
+
+    lock.lock();
+    try {
+      if (modified) {
+        spill();
+        List<SortedRun<T>> runs =
+            levels.stream().flatMap(List::stream).collect(Collectors.toList());
+        if (runs.size() > 1) {
+          SortedRun<T> merged = merge(runs);
+          levels.forEach(List::clear);
+          levels.get(levels.size() - 1).add(merged);
+          sealedRun = merged;
+        } else {
+          sealedRun = runs.isEmpty() ? null : runs.get(0);
+        }
+        modified = false;
+      }
+      return Optional.ofNullable(sealedRun);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void spill() throws IOException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    SortedRun<T> run = SortedRun.write(nextFile(), buffer.iterator(), codec, blockSize);
+    buffer = new TreeSet<>(comparator);
+    addRun(0, run);
+  }
+
+  private void addRun(int level, SortedRun<T> run) throws IOException {
+    if (levels.size() == level) {
+      levels.add(new ArrayList<>());
+    }
+    List<SortedRun<T>> runs = levels.get(level);
+    runs.add(run);
+    if (runs.size() >= mergeFanIn) {
+      SortedRun<T> merged = merge(runs);
+      runs.clear();
+      addRun(level + 1, merged);
+    }
+  }
+
+  private SortedRun<T> merge(List<SortedRun<T>> runs) throws IOException {
+    List<Iterator<T>> iterators =
+        runs.stream().map(SortedRun::iterator).collect(Collectors.toList());
+    PeekingIterator<T> merged =
+        Iterators.peekingIterator(Iterators.mergeSorted(iterators, comparator));
+    Iterator<T> distinct =
+        new AbstractIterator<T>() {
+          @Override
+          protected T computeNext() {
+            if (!merged.hasNext()) {
+              return endOfData();
+            }
+            T next = merged.next();
+            while (merged.hasNext() && comparator.compare(next, merged.peek()) == 0) {
+              merged.next();
+            }
+            return next;
+          }
+        };
+
+    SortedRun<T> result = SortedRun.write(nextFile(), distinct, codec, blockSize);
+    for (SortedRun<T> run : runs) {
+      run.close();
+    }
+    return result;
+  }
+
+  private Path nextFile() {
+    return directory.resolve(prefix + "-" + runCounter++ + ".run");
+  }
+
+  /** Deletes all runs. */
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      IOException ex = null;
+      for (List<SortedRun<T>> runs : levels) {
+        for (SortedRun<T> run : runs) {
+          try {
+            run.close();
+          } catch (IOException e) {
+            if (ex == null) {
+              ex = e;
+            } else {
+              ex.addSuppressed(e);
+            }
+          }
+        }
+      }
+      levels.clear();
+      buffer.clear();
+      sealedRun = null;
+      modified = false;
+      if (ex != null) {
+        throw ex;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+}
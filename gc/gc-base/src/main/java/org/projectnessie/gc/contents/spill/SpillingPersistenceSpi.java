@@ -0,0 +1,462 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import static com.google.common.base.Throwables.getStackTraceAsString;
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.immutables.value.Value;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.contents.ImmutableLiveContentSet;
+import org.projectnessie.gc.contents.LiveContentSet;
+import org.projectnessie.gc.contents.LiveContentSet.Status;
+import org.projectnessie.gc.contents.LiveContentSetNotFoundException;
+import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.storage.uri.StorageUri;
+
+/**
+ * A {@link PersistenceSpi} implementation that keeps only the live content sets' state on heap, but
+ * spills identified content references and deferred file deletions to sorted, compressed files in
+ * a local {@link #directory()}, merged like the runs of a log-structured merge tree.
+ *
+ * <p>Content references are read back in content-ID order, and looking up the references of a
+ * single content ID only reads the blocks that contain it, so the heap required by a GC run is
+ * bounded by the configured buffer sizes and does not grow with the number of live contents.
+ *
+ * <p>Like the {@link org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi}, live content
+ * sets are not persisted beyond the lifetime of this instance, the mark and sweep phases must run
+ * in the same process. {@link #close() Closing} this instance deletes all files.
+ */
+@Value.Immutable
+public abstract class SpillingPersistenceSpi implements PersistenceSpi, AutoCloseable {
+
+  public static final int DEFAULT_MAX_BUFFERED_RECORDS = 100_000;
+  public static final int DEFAULT_MERGE_FAN_IN = 8;
+  public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+  static final Comparator<ContentReference> CONTENT_REFERENCE_ORDER =
+      Comparator.comparing(ContentReference::contentId)
+          .thenComparing(r -> r.contentType().name())
+          .thenComparing(ContentReference::metadataLocation, nullsFirst(naturalOrder()))
+          .thenComparing(ContentReference::snapshotId, nullsFirst(naturalOrder()));
+
+  static final Comparator<FileReference> FILE_REFERENCE_ORDER =
+      Comparator.comparing(FileReference::base).thenComparing(FileReference::path);
+
+  private final Map<UUID, SpillingLiveContentSet> liveContentSets = new ConcurrentHashMap<>();
+
+  public static Builder builder() {
+    return ImmutableSpillingPersistenceSpi.builder();
+  }
+
+  public interface Builder {
+    /** Local directory for the spill files, each live content set uses a subdirectory. */
+    @CanIgnoreReturnValue
+    Builder directory(Path directory);
+
+    /**
+     * Number of records that are buffered on heap before those are written to a new file, default
+     * is {@value #DEFAULT_MAX_BUFFERED_RECORDS}.
+     */
+    @CanIgnoreReturnValue
+    Builder maxBufferedRecords(int maxBufferedRecords);
+
+    /**
+     * Number of files on the same level that are merged into one file on the next level, default
+     * is {@value #DEFAULT_MERGE_FAN_IN}.
+     */
+    @CanIgnoreReturnValue
+    Builder mergeFanIn(int mergeFanIn);
+
+    /**
+     * Uncompressed size of the individually compressed blocks in the files, default is {@value
+     * #DEFAULT_BLOCK_SIZE} bytes.
+     */
+    @CanIgnoreReturnValue
+    Builder blockSize(int blockSize);
+
+    SpillingPersistenceSpi build();
+  }
+
+  abstract Path directory();
+
+  @Value.Default
+  int maxBufferedRecords() {
+    return DEFAULT_MAX_BUFFERED_RECORDS;
+  }
+
+  @Value.Default
+  int mergeFanIn() {
+    return DEFAULT_MERGE_FAN_IN;
+  }
+
+  @Value.Default
+  int blockSize() {
+    return DEFAULT_BLOCK_SIZE;
+  }
+
+  @Value.Check
+  void verify() {
+    Preconditions.checkArgument(
+        maxBufferedRecords() >= 1, "maxBufferedRecords must be greater than 0");
+    Preconditions.checkArgument(mergeFanIn() >= 2, "mergeFanIn must be greater than 1");
+    Preconditions.checkArgument(blockSize() >= 1024, "blockSize must be at least 1024");
+  }
+
+  final class SpillingLiveContentSet {
+    final Path directory;
+
+    final SortedRuns<ContentReference> contents;
+
+    final SortedRuns<FileReference> fileDeletions;
+
+    /** Map of content-ID to base locations, which is small compared to the content references. */
+    final Map<String, Set<StorageUri>> baseLocations = new ConcurrentHashMap<>();
+
+    final AtomicReference<LiveContentSet> liveContentSet;
+
+    volatile long distinctContentIdCount = -1L;
+
+    SpillingLiveContentSet(Path directory, LiveContentSet liveContentSet) {
+      this.directory = directory;
+      this.liveContentSet = new AtomicReference<>(liveContentSet);
+      this.contents =
+          new SortedRuns<>(
+              directory,
+              "contents",
+              RecordCodec.CONTENT_REFERENCE,
+              CONTENT_REFERENCE_ORDER,
+              maxBufferedRecords(),
+              mergeFanIn(),
+              blockSize());
+      this.fileDeletions =
+          new SortedRuns<>(
+              directory,
+              "deletions",
+              RecordCodec.FILE_REFERENCE,
+              FILE_REFERENCE_ORDER,
+              maxBufferedRecords(),
+              mergeFanIn(),
+              blockSize());
+    }
+
+    void delete() throws IOException {
+      try {
+        contents.close();
+      } finally {
+        try {
+          fileDeletions.close();
+        } finally {
+          Files.deleteIfExists(directory);
+        }
+      }
+    }
+  }
+
+  @Override
+  public long addIdentifiedLiveContent(
+      @NotNull UUID liveSetId, @NotNull Stream<ContentReference> contentReference) {
+    SpillingLiveContentSet lcs = get(liveSetId);
+    long added = lcs.contents.add(contentReference.iterator());
+    if (added > 0L) {
+      lcs.distinctContentIdCount = -1L;
+    }
+    return added;
+  }
+
+  @Override
+  public void startIdentifyLiveContents(@NotNull UUID liveSetId, @NotNull Instant created) {
+    Preconditions.checkState(
+        !liveContentSets.containsKey(liveSetId), "Duplicate liveSetId " + liveSetId);
+    Path liveSetDirectory = directory().resolve(liveSetId.toString());
+    try {
+      Files.createDirectories(liveSetDirectory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    Preconditions.checkState(
+        liveContentSets.putIfAbsent(
+                liveSetId,
+                new SpillingLiveContentSet(
+                    liveSetDirectory,
+                    LiveContentSet.builder()
+                        .persistenceSpi(this)
+                        .id(liveSetId)
+                        .created(created)
+                        .status(Status.IDENTIFY_IN_PROGRESS)
+                        .build()))
+            == null,
+        "Duplicate liveSetId " + liveSetId);
+  }
+
+  @Override
+  public void finishedIdentifyLiveContents(
+      @NotNull UUID liveSetId, @NotNull Instant finished, @Nullable Throwable failure) {
+    SpillingLiveContentSet lcs = get(liveSetId);
+    lcs.liveContentSet.getAndUpdate(
+        current -> {
+          ImmutableLiveContentSet.Builder b =
+              assertStatus(current, Status.IDENTIFY_IN_PROGRESS)
+                  .unbuild()
+                  .identifyCompleted(finished);
+          if (failure != null) {
+            b.status(Status.IDENTIFY_FAILED).errorMessage(failure.toString());
+          } else {
+            b.status(Status.IDENTIFY_SUCCESS);
+          }
+          return b.build();
+        });
+    if (failure == null) {
+      // Merge all runs now, so the expire phase does not have to wait for it.
+      lcs.contents.sealed();
+    }
+  }
+
+  @Override
+  public LiveContentSet startExpireContents(@NotNull UUID liveSetId, @NotNull Instant started) {
+    return get(liveSetId)
+        .liveContentSet
+        .getAndUpdate(
+            current ->
+                assertStatus(current, Status.IDENTIFY_SUCCESS)
+                    .unbuild()
+                    .expiryStarted(started)
+                    .status(Status.EXPIRY_IN_PROGRESS)
+                    .build());
+  }
+
+  @Override
+  public LiveContentSet finishedExpireContents(
+      @NotNull UUID liveSetId, @NotNull Instant finished, @Nullable Throwable failure) {
+    return get(liveSetId)
+        .liveContentSet
+        .getAndUpdate(
+            current -> {
+              ImmutableLiveContentSet.Builder b =
+                  assertStatus(current, Status.EXPIRY_IN_PROGRESS)
+                      .unbuild()
+                      .expiryCompleted(finished);
+              if (failure != null) {
+                b.status(Status.EXPIRY_FAILED).errorMessage(getStackTraceAsString(failure));
+              } else {
+                b.status(Status.EXPIRY_SUCCESS);
+              }
+              return b.build();
+            });
+  }
+
+  @Override
+  public LiveContentSet getLiveContentSet(@NotNull UUID liveSetId)
+      throws LiveContentSetNotFoundException {
+    SpillingLiveContentSet lcs = liveContentSets.get(liveSetId);
+    if (lcs == null) {
+      throw new LiveContentSetNotFoundException(liveSetId);
+    }
+    return lcs.liveContentSet.get();
+  }
+
+  @Override
+  public long fetchDistinctContentIdCount(@NotNull UUID liveSetId) {
+    return getOptional(liveSetId)
+        .map(
+            lcs -> {
+              long count = lcs.distinctContentIdCount;
+              if (count < 0L) {
+                try (Stream<String> contentIds = fetchContentIds(liveSetId)) {
+                  count = contentIds.count();
+                }
+                lcs.distinctContentIdCount = count;
+              }
+              return count;
+            })
+        .orElse(0L);
+  }
+
+  /** Returns the distinct content IDs in ascending order. */
+  @Override
+  public Stream<String> fetchContentIds(@NotNull UUID liveSetId) {
+    return getOptional(liveSetId)
+        .flatMap(lcs -> lcs.contents.sealed())
+        .map(
+            run -> {
+              Iterator<ContentReference> refs = run.iterator();
+              Iterator<String> contentIds =
+                  new AbstractIterator<String>() {
+                    private String previous;
+
+                    @Override
+                    protected String computeNext() {
+                      while (refs.hasNext()) {
+                        String contentId = refs.next().contentId();
+                        if (!contentId.equals(previous)) {
+                          previous = contentId;
+                          return contentId;
+                        }
+                      }
+                      return endOfData();
+                    }
+                  };
+              return stream(contentIds);
+            })
+        .orElse(Stream.empty());
+  }
+
+  @Override
+  public Stream<ContentReference> fetchContentReferences(
+      @NotNull UUID liveSetId, @NotNull String contentId) {
+    Predicate<ContentReference> before = r -> r.contentId().compareTo(contentId) < 0;
+    return getOptional(liveSetId)
+        .flatMap(lcs -> lcs.contents.sealed())
+        .map(
+            run ->
+                stream(run.iteratorFrom(before))
+                    .dropWhile(before)
+                    .takeWhile(r -> r.contentId().equals(contentId)))
+        .orElse(Stream.empty());
+  }
+
+  @Override
+  public void associateBaseLocations(
+      UUID liveSetId, String contentId, Collection<StorageUri> baseLocations) {
+    assertStatus(get(liveSetId), Status.EXPIRY_IN_PROGRESS)
+        .baseLocations
+        .computeIfAbsent(contentId, x -> ConcurrentHashMap.newKeySet())
+        .addAll(baseLocations);
+  }
+
+  @Override
+  public Stream<StorageUri> fetchBaseLocations(UUID liveSetId, String contentId) {
+    return get(liveSetId).baseLocations.getOrDefault(contentId, emptySet()).stream();
+  }
+
+  @Override
+  public Stream<StorageUri> fetchAllBaseLocations(UUID liveSetId) {
+    return get(liveSetId).baseLocations.values().stream().flatMap(Collection::stream);
+  }
+
+  @Override
+  public void deleteLiveContentSet(UUID liveSetId) {
+    SpillingLiveContentSet lcs = liveContentSets.remove(liveSetId);
+    Preconditions.checkState(lcs != null, "Live content set not found %s", liveSetId);
+    try {
+      lcs.delete();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Stream<LiveContentSet> getAllLiveContents() {
+    return liveContentSets.values().stream().map(lcs -> lcs.liveContentSet.get());
+  }
+
+  @Override
+  public long addFileDeletions(UUID liveSetId, Stream<FileReference> files) {
+    return assertStatus(get(liveSetId), Status.EXPIRY_IN_PROGRESS)
+        .fileDeletions
+        .add(files.iterator());
+  }
+
+  @Override
+  public Stream<FileReference> fetchFileDeletions(UUID liveSetId) {
+    return assertStatus(get(liveSetId), Status.EXPIRY_SUCCESS)
+        .fileDeletions
+        .sealed()
+        .map(run -> stream(run.iterator()))
+        .orElse(Stream.empty());
+  }
+
+  /** Deletes the files of all live content sets. */
+  @Override
+  public void close() throws IOException {
+    IOException ex = null;
+    for (Iterator<SpillingLiveContentSet> iter = liveContentSets.values().iterator();
+        iter.hasNext(); ) {
+      SpillingLiveContentSet lcs = iter.next();
+      iter.remove();
+      try {
+        lcs.delete();
+      } catch (IOException e) {
+        if (ex == null) {
+          ex = e;
+        } else {
+          ex.addSuppressed(e);
+        }
+      }
+    }
+    if (ex != null) {
+      throw ex;
+    }
+  }
+
+  private static <T> Stream<T> stream(Iterator<T> iterator) {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            iterator, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL),
+        false);
+  }
+
+  private SpillingLiveContentSet get(UUID liveSetId) {
+    SpillingLiveContentSet lcs = liveContentSets.get(liveSetId);
+    if (lcs == null) {
+      throw new IllegalStateException(new LiveContentSetNotFoundException(liveSetId));
+    }
+    return lcs;
+  }
+
+  private Optional<SpillingLiveContentSet> getOptional(UUID liveSetId) {
+    return Optional.ofNullable(liveContentSets.get(liveSetId));
+  }
+
+  private static SpillingLiveContentSet assertStatus(SpillingLiveContentSet current, Status valid) {
+    assertStatus(current.liveContentSet.get(), valid);
+    return current;
+  }
+
+  private static LiveContentSet assertStatus(LiveContentSet current, Status valid) {
+    Preconditions.checkState(
+        current.status() == valid,
+        "Expected current status of " + valid + ", but is " + current.status());
+    return current;
+  }
+}
@@ -23,6 +23,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.agrona.collections.ObjectHashSet;
 
 /**
@@ -40,27 +42,35 @@ import org.agrona.collections.ObjectHashSet;
  * <p>NOTE: the reason that this deduplicator is not wired up to the Nessie GC tool is that the
  * exact heap pressure needs to be thoroughly determined, because a Java OutOfMemory situation must
  * be avoided.
+ *
+ * <p>Uses a {@link Lock} instead of {@code synchronized}, so that contended calls from virtual
+ * threads do not pin their carrier thread.
  */
 public final class DefaultVisitedDeduplicator implements VisitedDeduplicator {
 
   private final Map<Instant, Set<String>> alreadyVisited = new HashMap<>();
+  private final Lock lock = new ReentrantLock();
 
   @Override
-  public synchronized boolean alreadyVisited(
-      @Nonnull Instant cutoffTimestamp, @Nonnull String commitId) {
+  public boolean alreadyVisited(@Nonnull Instant cutoffTimestamp, @Nonnull String commitId) {
     if (cutoffTimestamp.equals(NO_TIMESTAMP)) {
       return false;
     }
 
-    for (Entry<Instant, Set<String>> instantSetEntry : alreadyVisited.entrySet()) {
-      if (!instantSetEntry.getKey().isAfter(cutoffTimestamp)
-          && instantSetEntry.getValue().contains(commitId)) {
-        return true;
+    lock.lock();
+    try {
+      for (Entry<Instant, Set<String>> instantSetEntry : alreadyVisited.entrySet()) {
+        if (!instantSetEntry.getKey().isAfter(cutoffTimestamp)
+            && instantSetEntry.getValue().contains(commitId)) {
+          return true;
+        }
       }
-    }
 
-    Set<String> commits =
-        alreadyVisited.computeIfAbsent(cutoffTimestamp, x -> new ObjectHashSet<>());
-    return !commits.add(commitId);
+      Set<String> commits =
+          alreadyVisited.computeIfAbsent(cutoffTimestamp, x -> new ObjectHashSet<>());
+      return !commits.add(commitId);
+    } finally {
+      lock.unlock();
+    }
   }
 }
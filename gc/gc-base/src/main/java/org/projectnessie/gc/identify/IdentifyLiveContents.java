@@ -21,14 +21,18 @@ import jakarta.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.Spliterator;
 import java.util.UUID;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.immutables.value.Value;
 import org.projectnessie.error.NessieNotFoundException;
@@ -62,7 +66,8 @@ import org.slf4j.LoggerFactory;
  *       GC run.
  *   <li>A consumer via {@link #liveContentSetsRepository()} for the identified live content
  *       objects}.
- *   <li>The desired number of named-references being walked concurrently.
+ *   <li>The desired number of named-references being walked concurrently, which adapts to the
+ *       number of named references.
  *   <li>A {@link #visitedDeduplicator() de-duplication functionality} to prevent walking the same
  *       commit(s) with compatible cut-off timestamps.
  * </ul>
@@ -72,6 +77,10 @@ public abstract class IdentifyLiveContents {
   private static final Logger LOGGER = LoggerFactory.getLogger(IdentifyLiveContents.class);
 
   public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_MAX_PARALLELISM = 32;
+
+  /** Number of named references per thread used to calculate the effective parallelism. */
+  public static final int REFERENCES_PER_THREAD = 100;
 
   private final AtomicBoolean executed = new AtomicBoolean();
 
@@ -132,7 +141,8 @@ public abstract class IdentifyLiveContents {
      * Optional ability to sort all Nessie named references to make the configured {@link
      * #visitedDeduplicator()} work more efficiently. For example the {@link
      * DefaultVisitedDeduplicator} benefits from processing references in the reverse order of a
-     * reference's highest retention time.
+     * reference's highest retention time. Named references are submitted for processing in this
+     * order.
      *
      * @see #cutOffPolicySupplier(PerRefCutoffPolicySupplier)
      * @see #visitedDeduplicator(VisitedDeduplicator)
@@ -141,12 +151,26 @@ public abstract class IdentifyLiveContents {
     Builder referenceComparator(ReferenceComparator referenceComparator);
 
     /**
-     * Configures the number of references that can expire concurrently, default is {@value
+     * Configures the minimum number of references that can expire concurrently, default is {@value
      * #DEFAULT_PARALLELISM}.
+     *
+     * @see #maxParallelism(int)
      */
     @CanIgnoreReturnValue
     Builder parallelism(int parallelism);
 
+    /**
+     * Configures the maximum number of references that can expire concurrently, defaults to the
+     * greater of {@value #DEFAULT_MAX_PARALLELISM} and {@link #parallelism(int)}. The effective
+     * parallelism is one thread per {@value #REFERENCES_PER_THREAD} named references, but at least
+     * {@link #parallelism(int)} and at most this value.
+     *
+     * <p>Use a {@link #visitedDeduplicator(VisitedDeduplicator)} that is suitable for concurrent
+     * use, like {@link StripedVisitedDeduplicator}, for high values.
+     */
+    @CanIgnoreReturnValue
+    Builder maxParallelism(int maxParallelism);
+
     IdentifyLiveContents build();
   }
 
@@ -163,39 +187,24 @@ public abstract class IdentifyLiveContents {
       throw new IllegalStateException("identifyLiveContents() has already been called.");
     }
 
-    @SuppressWarnings("resource")
-    ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism());
-    try {
-      return forkJoinPool.invoke(ForkJoinTask.adapt(this::walkAllReferences));
-    } finally {
-      forkJoinPool.shutdown();
-    }
-  }
-
-  private UUID walkAllReferences() {
     try (AddContents addContents = liveContentSetsRepository().newAddContents()) {
       try {
-        @SuppressWarnings("resource")
-        Stream<Reference> refs = repositoryConnector().allReferences();
-
-        // If a Reference comparator is configured, then apply it to the stream of references.
-        // Note: Stream.sorted() has the side effect that all references will be fetched first and
-        // sorted.
-        ReferenceComparator refsCmp = referenceComparator();
-        if (refsCmp != null) {
-          refs = refs.sorted(refsCmp);
-        }
+        List<Reference> refs = allReferences();
+        int parallelism = effectiveParallelism(refs.size());
 
-        Optional<ReferencesWalkResult> result =
-            refs.parallel()
-                .map(ref -> identifyContentsForReference(addContents, ref))
-                .reduce(ReferencesWalkResult::add);
+        LOGGER.info(
+            "live-set#{}: Walking {} named references using {} threads.",
+            addContents.id(),
+            refs.size(),
+            parallelism);
+
+        ReferencesWalkResult result = walkReferences(addContents, refs, parallelism);
 
         LOGGER.info(
             "live-set#{}: Finished walking all named references, took {}: {}.",
             addContents.id(),
             Duration.between(addContents.created(), clock().instant()),
-            result.isPresent() ? result.get() : "<no result>");
+            result);
 
         addContents.finished();
 
@@ -212,6 +221,64 @@ public abstract class IdentifyLiveContents {
     }
   }
 
+  private List<Reference> allReferences() throws NessieNotFoundException {
+    try (Stream<Reference> refs = repositoryConnector().allReferences()) {
+      // If a Reference comparator is configured, then apply it to the list of references.
+      ReferenceComparator refsCmp = referenceComparator();
+      return (refsCmp != null ? refs.sorted(refsCmp) : refs).collect(Collectors.toList());
+    }
+  }
+
+  int effectiveParallelism(int numReferences) {
+    int adaptive = (numReferences + REFERENCES_PER_THREAD - 1) / REFERENCES_PER_THREAD;
+    return Math.max(parallelism(), Math.min(maxParallelism(), adaptive));
+  }
+
+  /**
+   * Walks the commit logs of the given references concurrently, each reference is a separate task,
+   * so that references with long commit logs do not delay the references queued behind them.
+   */
+  private ReferencesWalkResult walkReferences(
+      AddContents addContents, List<Reference> refs, int parallelism) {
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            r -> {
+              Thread t = new Thread(r, "nessie-gc-identify-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    try {
+      List<Future<ReferencesWalkResult>> walks = new ArrayList<>(refs.size());
+      for (Reference ref : refs) {
+        walks.add(executor.submit(() -> identifyContentsForReference(addContents, ref)));
+      }
+
+      ReferencesWalkResult result = ReferencesWalkResult.EMPTY;
+      for (Future<ReferencesWalkResult> walk : walks) {
+        try {
+          result = result.add(walk.get());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          throw new RuntimeException(cause);
+        }
+      }
+      return result;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @SuppressWarnings("resource")
   private ReferencesWalkResult identifyContentsForReference(
       AddContents addContents, Reference namedReference) {
@@ -363,6 +430,8 @@ public abstract class IdentifyLiveContents {
       this.numContents = numContents;
     }
 
+    static final ReferencesWalkResult EMPTY = new ReferencesWalkResult(0, 0, 0, 0L);
+
     static ReferencesWalkResult singleShortCircuit(int numCommits, long numContents) {
       return new ReferencesWalkResult(1, numCommits, 1, numContents);
     }
@@ -428,8 +497,16 @@ public abstract class IdentifyLiveContents {
     return DEFAULT_PARALLELISM;
   }
 
+  @Value.Default
+  int maxParallelism() {
+    return Math.max(parallelism(), DEFAULT_MAX_PARALLELISM);
+  }
+
   @Value.Check
   void verify() {
     Preconditions.checkArgument(parallelism() >= 1, "Parallelism must be greater than 0");
+    Preconditions.checkArgument(
+        maxParallelism() >= parallelism(),
+        "Max parallelism must be greater than or equal to parallelism");
   }
 }
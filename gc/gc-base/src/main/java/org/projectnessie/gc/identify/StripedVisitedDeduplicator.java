@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.gc.identify.CutoffPolicy.NO_TIMESTAMP;
+
+import jakarta.annotation.Nonnull;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.ObjectHashSet;
+
+/**
+ * A {@link VisitedDeduplicator} with the same semantics as {@link DefaultVisitedDeduplicator},
+ * intended for concurrent commit log walks of many references.
+ *
+ * <p>Visited commits are maintained per cut-off timestamp. Each set of visited commits is split
+ * into stripes, selected by the commit ID and guarded by their own lock, so concurrent calls for
+ * different commits rarely contend.
+ *
+ * <p>Commit IDs, which are hex-encoded hashes of at least 128 bits, like Nessie commit IDs, are
+ * stored as two {@code long}s of the first 128 bits in a primitive hash map, which requires a
+ * fraction of the heap needed to store the commit IDs as strings. All other commit IDs are stored
+ * as strings.
+ */
+public final class StripedVisitedDeduplicator implements VisitedDeduplicator {
+
+  public static final int DEFAULT_STRIPES = 64;
+
+  private static final long MISSING = 0L;
+
+  private final ConcurrentNavigableMap<Instant, VisitedCommits> alreadyVisited =
+      new ConcurrentSkipListMap<>();
+  private final int stripeMask;
+
+  public StripedVisitedDeduplicator() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a new deduplicator with the given number of stripes per cut-off timestamp, which is
+   * rounded up to the next power of two.
+   */
+  public StripedVisitedDeduplicator(int stripes) {
+    checkArgument(stripes > 0 && stripes <= 1 << 16, "Illegal number of stripes %s", stripes);
+    this.stripeMask = (stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1) - 1;
+  }
+
+  @Override
+  public boolean alreadyVisited(@Nonnull Instant cutoffTimestamp, @Nonnull String commitId) {
+    if (cutoffTimestamp.equals(NO_TIMESTAMP)) {
+      return false;
+    }
+
+    long high = hexToLong(commitId, 0);
+    long low = hexToLong(commitId, 16);
+    boolean compact = high != MISSING && low != MISSING;
+    int stripe =
+        (compact ? Long.hashCode(high) ^ Long.hashCode(low) : commitId.hashCode()) & stripeMask;
+
+    for (VisitedCommits visited : alreadyVisited.headMap(cutoffTimestamp, true).values()) {
+      if (visited.contains(stripe, compact, high, low, commitId)) {
+        return true;
+      }
+    }
+
+    return !alreadyVisited
+        .computeIfAbsent(cutoffTimestamp, x -> new VisitedCommits(stripeMask + 1))
+        .add(stripe, compact, high, low, commitId);
+  }
+
+  /**
+   * Parses 16 hex characters starting at {@code offset}, returns {@link #MISSING}, if the string is
+   * too short or contains non-hex characters in that range. A value that parses to {@link #MISSING}
+   * is treated like a non-hex commit ID.
+   */
+  static long hexToLong(String commitId, int offset) {
+    if (commitId.length() < offset + 16) {
+      return MISSING;
+    }
+    long value = 0L;
+    for (int i = offset; i < offset + 16; i++) {
+      int digit = Character.digit(commitId.charAt(i), 16);
+      if (digit < 0) {
+        return MISSING;
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+  private static final class VisitedCommits {
+    private final Stripe[] stripes;
+
+    VisitedCommits(int numStripes) {
+      stripes = new Stripe[numStripes];
+      for (int i = 0; i < numStripes; i++) {
+        stripes[i] = new Stripe();
+      }
+    }
+
+    boolean contains(int stripe, boolean compact, long high, long low, String commitId) {
+      Stripe s = stripes[stripe];
+      s.lock.lock();
+      try {
+        if (compact && s.compact.get(high) == low) {
+          return true;
+        }
+        return s.other != null && s.other.contains(commitId);
+      } finally {
+        s.lock.unlock();
+      }
+    }
+
+    /** Returns {@code true}, if the commit ID has been added. */
+    boolean add(int stripe, boolean compact, long high, long low, String commitId) {
+      Stripe s = stripes[stripe];
+      s.lock.lock();
+      try {
+        if (compact) {
+          long existing = s.compact.get(high);
+          if (existing == MISSING) {
+            s.compact.put(high, low);
+            return true;
+          }
+          if (existing == low) {
+            return false;
+          }
+          // Another commit ID with the same first 64 bits, store it as a string.
+        }
+        if (s.other == null) {
+          s.other = new ObjectHashSet<>();
+        }
+        return s.other.add(commitId);
+      } finally {
+        s.lock.unlock();
+      }
+    }
+  }
+
+  private static final class Stripe {
+    final Lock lock = new ReentrantLock();
+    final Long2LongHashMap compact = new Long2LongHashMap(MISSING);
+    ObjectHashSet<String> other;
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import static org.projectnessie.gc.contents.ContentReference.icebergContent;
+import static org.projectnessie.gc.contents.spill.SpillingPersistenceSpi.CONTENT_REFERENCE_ORDER;
+import static org.projectnessie.gc.contents.spill.SpillingPersistenceSpi.FILE_REFERENCE_ORDER;
+import static org.projectnessie.model.Content.Type.ICEBERG_TABLE;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.gc.contents.ContentReference;
+import org.projectnessie.gc.files.FileReference;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.storage.uri.StorageUri;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestSortedRuns {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void mergeAndLookup() throws Exception {
+    List<ContentReference> refs = new ArrayList<>();
+    for (int cid = 0; cid < 300; cid++) {
+      for (int snapshot = 0; snapshot < cid % 7 + 1; snapshot++) {
+        refs.add(
+            icebergContent(
+                ICEBERG_TABLE,
+                String.format("cid-%05d", cid),
+                "12345678",
+                ContentKey.of("ns", "table-" + cid),
+                "meta-" + cid + "-" + snapshot,
+                snapshot));
+      }
+    }
+    TreeSet<ContentReference> expected = new TreeSet<>(CONTENT_REFERENCE_ORDER);
+    expected.addAll(refs);
+
+    try (SortedRuns<ContentReference> runs =
+        new SortedRuns<>(
+            tempDir,
+            "contents",
+            RecordCodec.CONTENT_REFERENCE,
+            CONTENT_REFERENCE_ORDER,
+            50,
+            3,
+            1024)) {
+      Collections.shuffle(refs, new Random(42L));
+      soft.assertThat(runs.add(refs.iterator())).isEqualTo(refs.size());
+      // Duplicates of already spilled records are eliminated when the runs are merged.
+      Collections.shuffle(refs, new Random(43L));
+      runs.add(refs.subList(0, refs.size() / 2).iterator());
+
+      soft.assertThat(runs.sealed())
+          .hasValueSatisfying(
+              run -> {
+                soft.assertThat(run.recordCount()).isEqualTo(expected.size());
+                soft.assertThat(run.iterator()).toIterable().containsExactlyElementsOf(expected);
+              });
+      try (Stream<Path> files = Files.list(tempDir)) {
+        soft.assertThat(files).hasSize(1);
+      }
+
+      SortedRun<ContentReference> run = runs.sealed().orElseThrow();
+      for (String contentId :
+          expected.stream().map(ContentReference::contentId).collect(Collectors.toSet())) {
+        List<ContentReference> found = new ArrayList<>();
+        run.iteratorFrom(r -> r.contentId().compareTo(contentId) < 0)
+            .forEachRemaining(
+                r -> {
+                  if (r.contentId().equals(contentId)) {
+                    found.add(r);
+                  }
+                });
+        soft.assertThat(found)
+            .containsExactlyElementsOf(
+                expected.stream()
+                    .filter(r -> r.contentId().equals(contentId))
+                    .collect(Collectors.toList()));
+      }
+    }
+
+    try (Stream<Path> files = Files.list(tempDir)) {
+      soft.assertThat(files).isEmpty();
+    }
+  }
+
+  @Test
+  public void fileReferences() throws Exception {
+    List<FileReference> files = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      files.add(
+          FileReference.of(
+              StorageUri.of("file-" + i), StorageUri.of("s3://bucket/table-" + i % 13 + "/"), i));
+    }
+    TreeSet<FileReference> expected = new TreeSet<>(FILE_REFERENCE_ORDER);
+    expected.addAll(files);
+
+    try (SortedRuns<FileReference> runs =
+        new SortedRuns<>(
+            tempDir, "deletions", RecordCodec.FILE_REFERENCE, FILE_REFERENCE_ORDER, 100, 2, 1024)) {
+      soft.assertThat(runs.sealed()).isEmpty();
+
+      Collections.shuffle(files, new Random(42L));
+      soft.assertThat(runs.add(files.iterator())).isEqualTo(files.size());
+
+      soft.assertThat(runs.sealed())
+          .hasValueSatisfying(
+              run ->
+                  soft.assertThat(run.iterator())
+                      .toIterable()
+                      .containsExactlyElementsOf(expected)
+                      .extracting(FileReference::modificationTimeMillisEpoch)
+                      .doesNotContain(-1L));
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.contents.spill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.UUID;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.projectnessie.gc.contents.tests.AbstractPersistenceSpi;
+
+public class TestSpillingPersistenceSpi extends AbstractPersistenceSpi {
+
+  @TempDir Path tempDir;
+
+  @Override
+  protected PersistenceSpi createPersistenceSpi() {
+    return SpillingPersistenceSpi.builder().directory(tempDir).build();
+  }
+
+  @Override
+  protected void assertDeleted(UUID id) {
+    assertThat(tempDir.resolve(id.toString())).doesNotExist();
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.gc.identify;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestStripedVisitedDeduplicator {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  static final String HASH_1 = "2e1cfa82b035c26cbbbdae632cea070514eb8b773f616aaeaf668e2f0be8f10d";
+  static final String HASH_2 = "2e1cfa82b035c26c0000000000000000000000000000000000000000000000ff";
+  static final String HASH_3 = "11223344556677889900aabbccddeeff";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"commit-", "2e1cfa82b035c26cbbbdae632cea070"})
+  public void cutoffSemantics(String prefix) {
+    StripedVisitedDeduplicator dedup = new StripedVisitedDeduplicator(4);
+
+    Instant t = Instant.now();
+    Instant minus1 = t.minusSeconds(1);
+    Instant minus2 = t.minusSeconds(2);
+
+    soft.assertThat(dedup.alreadyVisited(t, prefix + "1")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(t, prefix + "1")).isTrue();
+    soft.assertThat(dedup.alreadyVisited(minus2, prefix + "1")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(minus2, prefix + "1")).isTrue();
+    soft.assertThat(dedup.alreadyVisited(minus1, prefix + "1")).isTrue();
+    soft.assertThat(dedup.alreadyVisited(t, prefix + "2")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(minus2, prefix + "3")).isFalse();
+    soft.assertThat(dedup.alreadyVisited(minus1, prefix + "3")).isTrue();
+    soft.assertThat(dedup.alreadyVisited(CutoffPolicy.NO_TIMESTAMP, prefix + "3")).isFalse();
+  }
+
+  @Test
+  public void sameFirst64Bits() {
+    StripedVisitedDeduplicator dedup = new StripedVisitedDeduplicator();
+    Instant t = Instant.now();
+
+    soft.assertThat(dedup.alreadyVisited(t, HASH_1)).isFalse();
+    soft.assertThat(dedup.alreadyVisited(t, HASH_2)).isFalse();
+    soft.assertThat(dedup.alreadyVisited(t, HASH_3)).isFalse();
+    soft.assertThat(dedup.alreadyVisited(t, HASH_1)).isTrue();
+    soft.assertThat(dedup.alreadyVisited(t, HASH_2)).isTrue();
+    soft.assertThat(dedup.alreadyVisited(t, HASH_3)).isTrue();
+  }
+
+  @Test
+  public void hexToLong() {
+    soft.assertThat(StripedVisitedDeduplicator.hexToLong(HASH_3, 0)).isEqualTo(0x1122334455667788L);
+    soft.assertThat(StripedVisitedDeduplicator.hexToLong(HASH_3, 16))
+        .isEqualTo(0x9900aabbccddeeffL);
+    soft.assertThat(StripedVisitedDeduplicator.hexToLong(HASH_3, 17)).isEqualTo(0L);
+    soft.assertThat(StripedVisitedDeduplicator.hexToLong("commit-1", 0)).isEqualTo(0L);
+  }
+
+  @Test
+  public void concurrentVisits() throws Exception {
+    StripedVisitedDeduplicator dedup = new StripedVisitedDeduplicator(8);
+    Instant t = Instant.now();
+    int threads = 8;
+    int commits = 10_000;
+    AtomicInteger notVisited = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<CompletableFuture<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (int c = 0; c < commits; c++) {
+                    String commitId = String.format("%016x%016x", c + 1L, c * 31L + 1L);
+                    if (!dedup.alreadyVisited(t, commitId)) {
+                      notVisited.incrementAndGet();
+                    }
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } finally {
+      executor.shutdown();
+    }
+
+    // Each commit is reported as "not visited" exactly once
+    soft.assertThat(notVisited).hasValue(commits);
+  }
+}
@@ -44,6 +44,7 @@ import org.projectnessie.gc.iceberg.IcebergContentTypeFilter;
 import org.projectnessie.gc.iceberg.files.IcebergFiles;
 import org.projectnessie.gc.identify.IdentifyLiveContents;
 import org.projectnessie.gc.identify.PerRefCutoffPolicySupplier;
+import org.projectnessie.gc.identify.StripedVisitedDeduplicator;
 import org.projectnessie.gc.repository.RepositoryConnector;
 import org.projectnessie.gc.tool.cli.Closeables;
 import org.projectnessie.gc.tool.cli.options.IcebergOptions;
@@ -164,7 +165,7 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
     RepositoryConnector repositoryConnector =
         markOptions.getNessie().createRepositoryConnector(closeables);
 
-    IdentifyLiveContents identify =
+    IdentifyLiveContents.Builder identifyBuilder =
         IdentifyLiveContents.builder()
             .liveContentSetsRepository(liveContentSetsRepository)
             .contentTypeFilter(IcebergContentTypeFilter.INSTANCE)
@@ -172,7 +173,11 @@ public abstract class BaseRepositoryCommand extends BaseCommand {
             .repositoryConnector(repositoryConnector)
             .contentToContentReference(IcebergContentToContentReference.INSTANCE)
             .parallelism(markOptions.getParallelism())
-            .build();
+            .maxParallelism(markOptions.getMaxParallelism());
+    if (markOptions.isDeduplicateCommits()) {
+      identifyBuilder.visitedDeduplicator(new StripedVisitedDeduplicator());
+    }
+    IdentifyLiveContents identify = identifyBuilder.build();
 
     UUID liveContentSetId = identify.identifyLiveContents();
 
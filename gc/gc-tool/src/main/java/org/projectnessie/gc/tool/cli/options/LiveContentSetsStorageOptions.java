@@ -15,12 +15,14 @@
  */
 package org.projectnessie.gc.tool.cli.options;
 
+import java.nio.file.Path;
 import java.sql.Connection;
 import javax.sql.DataSource;
 import org.projectnessie.gc.contents.LiveContentSetsRepository;
 import org.projectnessie.gc.contents.inmem.InMemoryPersistenceSpi;
 import org.projectnessie.gc.contents.jdbc.JdbcPersistenceSpi;
 import org.projectnessie.gc.contents.spi.PersistenceSpi;
+import org.projectnessie.gc.contents.spill.SpillingPersistenceSpi;
 import org.projectnessie.gc.tool.cli.Closeables;
 import picocli.CommandLine;
 import picocli.CommandLine.Model.CommandSpec;
@@ -37,6 +39,8 @@ public class LiveContentSetsStorageOptions {
     @CommandLine.ArgGroup(exclusive = false)
     JdbcOptions jdbc;
 
+    @CommandLine.ArgGroup SpillContentsStorageOptions spill;
+
     static class InMemoryContentsStorageOptions {
       @CommandLine.Option(
           names = "--inmemory",
@@ -44,6 +48,17 @@ public class LiveContentSetsStorageOptions {
               "Flag whether to use the in-memory contents storage. Prefer a JDBC storage.")
       boolean inmemory;
     }
+
+    static class SpillContentsStorageOptions {
+      @CommandLine.Option(
+          names = "--spill-directory",
+          paramLabel = "<directory>",
+          description =
+              "Use local, sorted and compressed files in the given directory as the contents "
+                  + "storage. Needs only little heap for huge live content sets, but like the "
+                  + "in-memory storage, live content sets are not retained after the process exits.")
+      Path spillDirectory;
+    }
   }
 
   public void assertNotInMemory(CommandSpec commandSpec) {
@@ -56,6 +71,11 @@ public class LiveContentSetsStorageOptions {
           commandSpec.commandLine(),
           "Must not use in-memory content-storage with " + additionalMessage);
     }
+    if (contentsStorageOpts.spill != null) {
+      throw new ParameterException(
+          commandSpec.commandLine(),
+          "Must not use spill-to-disk content-storage with " + additionalMessage);
+    }
   }
 
   public LiveContentSetsRepository createLiveContentSetsRepository(Closeables closeables)
@@ -72,6 +92,12 @@ public class LiveContentSetsStorageOptions {
     if (contentsStorageOpts.jdbc != null) {
       return createJdbcPersistenceSpi(closeables, contentsStorageOpts.jdbc);
     }
+    if (contentsStorageOpts.spill != null) {
+      return closeables.add(
+          SpillingPersistenceSpi.builder()
+              .directory(contentsStorageOpts.spill.spillDirectory)
+              .build());
+    }
 
     throw new IllegalStateException("No contents-storage configured");
   }
@@ -27,6 +27,7 @@ import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.projectnessie.gc.identify.CutoffPolicy;
+import org.projectnessie.gc.identify.IdentifyLiveContents;
 import org.projectnessie.gc.identify.PerRefCutoffPolicySupplier;
 import picocli.CommandLine;
 import picocli.CommandLine.Model.CommandSpec;
@@ -81,6 +82,23 @@ public class MarkOptions {
       description = "Number of Nessie references that can be walked in parallel.")
   int parallelism;
 
+  @CommandLine.Option(
+      names = "--identify-max-parallelism",
+      defaultValue = "" + IdentifyLiveContents.DEFAULT_MAX_PARALLELISM,
+      description =
+          "Maximum number of Nessie references that can be walked in parallel, the effective "
+              + "parallelism adapts to the number of references, one thread per "
+              + IdentifyLiveContents.REFERENCES_PER_THREAD
+              + " references.")
+  int maxParallelism;
+
+  @CommandLine.Option(
+      names = "--identify-deduplicate-commits",
+      description =
+          "Stop walking the commit log of a reference at a commit that has already been walked "
+              + "using a compatible cut-off timestamp. Requires heap for about 32 bytes per commit.")
+  boolean deduplicateCommits;
+
   @CommandLine.Spec CommandSpec commandSpec;
 
   public NessieOptions getNessie() {
@@ -91,6 +109,14 @@ public class MarkOptions {
     return parallelism;
   }
 
+  public int getMaxParallelism() {
+    return Math.max(parallelism, maxParallelism);
+  }
+
+  public boolean isDeduplicateCommits() {
+    return deduplicateCommits;
+  }
+
   public Path getLiveSetIdFile() {
     return liveSetIdFile;
   }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.perftest.gatling
+
+import java.lang.Integer.getInteger
+import java.lang.System.getProperty
+import scala.concurrent.duration.Duration
+
+/** @param inFlight
+  *   number of concurrent requests each simulated user keeps in flight,
+  *   system property `sim.inFlight`, defaults to `1000`
+  * @param tables
+  *   number of tables created on the branch used by the readers, system
+  *   property `sim.tables`, defaults to `500`
+  * @param commits
+  *   number of commits created on the branch used by the readers, system
+  *   property `sim.commits`, defaults to `50`
+  * @param duration
+  *   the duration of the simulation, system property `sim.duration`, defaults
+  *   to `60s`
+  * @param numUsers
+  *   see [[BaseParams.numUsers]]
+  * @param opRate
+  *   see [[BaseParams.opRate]]
+  * @param note
+  *   see [[BaseParams.note]]
+  */
+case class ConcurrentReadsParams(
+    inFlight: Int,
+    tables: Int,
+    commits: Int,
+    duration: Duration,
+    override val numUsers: Int,
+    override val opRate: Double,
+    override val note: String
+) extends BaseParams {
+
+  override def asPrintableString(): String = {
+    s"""${super.asPrintableString().trim}
+    |   in-flight:      $inFlight
+    |   tables:         $tables
+    |   commits:        $commits
+    |   duration:       $duration
+    |""".stripMargin
+  }
+}
+
+object ConcurrentReadsParams {
+  def fromSystemProperties(): ConcurrentReadsParams = {
+    val base = BaseParams.fromSystemProperties()
+    val inFlight: Int = getInteger("sim.inFlight", 1000)
+    val tables: Int = getInteger("sim.tables", 500)
+    val commits: Int = getInteger("sim.commits", 50)
+    val duration: Duration = Duration.create(getProperty("sim.duration", "60s"))
+    ConcurrentReadsParams(
+      inFlight,
+      tables,
+      commits,
+      duration,
+      base.numUsers,
+      base.opRate,
+      base.note
+    )
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.perftest.gatling
+
+import io.gatling.core.Predef._
+import io.gatling.core.scenario.Simulation
+import io.gatling.core.structure.{
+  ChainBuilder,
+  PopulationBuilder,
+  ScenarioBuilder
+}
+import java.util.concurrent.{
+  Callable,
+  ExecutorService,
+  Executors,
+  Future,
+  ThreadLocalRandom
+}
+import org.projectnessie.client.api.NessieApiV2
+import org.projectnessie.model.CommitMeta.fromMessage
+import org.projectnessie.model.{Branch, ContentKey, IcebergTable, Operation}
+import org.projectnessie.perftest.gatling.Predef.nessie
+import scala.collection.mutable.ListBuffer
+import scala.concurrent.duration.{FiniteDuration, HOURS, NANOSECONDS}
+
+/** Gatling simulation that keeps a large number of concurrent, comparably
+  * slow read requests in flight against Nessie, to compare the throughput of
+  * the server with and without `nessie.server.virtual-threads.enabled`.
+  *
+  * Preparation: create a branch with a configurable number of tables and
+  * commits.
+  *
+  * Each simulated user then repeatedly issues
+  * [[ConcurrentReadsParams.inFlight]] concurrent requests - listing all
+  * entries, reading the whole commit log or reading a single table - and waits
+  * for all of them to complete. The Gatling action measures the time to
+  * complete a whole round of requests.
+  *
+  * It has a bunch of configurables, see [[ConcurrentReadsParams]]
+  */
+class ConcurrentReadsSimulation extends Simulation {
+
+  private val params: ConcurrentReadsParams =
+    ConcurrentReadsParams.fromSystemProperties()
+
+  private val branchName = s"concurrent-reads-${System.currentTimeMillis()}"
+
+  private val requestExecutor: ExecutorService = Executors.newCachedThreadPool(
+    r => {
+      val t = new Thread(r, "concurrent-reads")
+      t.setDaemon(true)
+      t
+    }
+  )
+
+  private def prepareScenario(): ScenarioBuilder = {
+    scenario("Initialize")
+      .exec(
+        nessie("prepare - Create branch")
+          .execute { (client, session) =>
+            val branch = client
+              .createReference()
+              .reference(Branch.of(branchName, null))
+              .create()
+            session.set("branch", branch).set("tablesCreated", 0)
+          }
+      )
+      .exitHereIfFailed
+      .repeat(params.commits, "commitNum") {
+        exec(prepareCommit)
+      }
+      .exitHereIfFailed
+  }
+
+  private def prepareCommit: ChainBuilder = exec(
+    nessie("prepare - Commit tables")
+      .execute { (client, session) =>
+        val head = session("branch").as[Branch]
+        val commitNum = session("commitNum").as[Int]
+        val tablesCreated = session("tablesCreated").as[Int]
+        // Spread the tables over the commits, the last commits may not add any
+        val tablesPerCommit =
+          Math.max(1, (params.tables + params.commits - 1) / params.commits)
+        val tables =
+          Math.min(tablesPerCommit, params.tables - tablesCreated)
+
+        val commit = client
+          .commitMultipleOperations()
+          .branch(head)
+          .commitMeta(fromMessage(s"Commit #$commitNum"))
+        if (tables > 0) {
+          for (t <- tablesCreated until tablesCreated + tables) {
+            commit.operation(
+              Operation.Put
+                .of(tableKey(t), IcebergTable.of("meta-0", 1, 2, 3, 4))
+            )
+          }
+        } else {
+          commit.operation(
+            Operation.Put.of(
+              tableKey(0),
+              IcebergTable.of(s"meta-$commitNum", 1, 2, 3, 4)
+            )
+          )
+        }
+        val updatedHead = commit.commit()
+
+        session
+          .set("branch", updatedHead)
+          .set("tablesCreated", tablesCreated + Math.max(0, tables))
+      }
+  )
+
+  private def tableKey(t: Int): ContentKey = ContentKey.of(s"table-$t")
+
+  private def readRequest(client: NessieApiV2, num: Int): Unit = {
+    num % 3 match {
+      case 0 =>
+        client.getEntries.refName(branchName).stream().forEach(_ => {})
+      case 1 =>
+        client.getCommitLog.refName(branchName).stream().forEach(_ => {})
+      case _ =>
+        client.getContent
+          .refName(branchName)
+          .getSingle(
+            tableKey(ThreadLocalRandom.current().nextInt(params.tables))
+          )
+    }
+  }
+
+  private def readersScenario(): ScenarioBuilder = {
+    val chain = exec(
+      nessie(s"readers - ${params.inFlight} concurrent reads").execute {
+        (client, session) =>
+          val futures = ListBuffer[Future[Unit]]()
+          for (i <- 0 until params.inFlight) {
+            futures.addOne(
+              requestExecutor.submit(new Callable[Unit] {
+                override def call(): Unit = readRequest(client, i)
+              })
+            )
+          }
+          // Propagates the first failure, if any
+          futures.foreach(f => f.get())
+          session
+      }
+    )
+
+    val paced: ChainBuilder = if (params.opRate > 0) {
+      val oneHour = FiniteDuration(1, HOURS)
+      val nanosPerIteration =
+        oneHour.toNanos / (params.opRate * oneHour.toSeconds)
+      pace(FiniteDuration(nanosPerIteration.toLong, NANOSECONDS))
+        .exitBlockOnFail(chain)
+    } else {
+      // if no rate is configured, run "as fast as possible"
+      chain
+    }
+
+    scenario("readers")
+      .exec(
+        forever("iteration") {
+          paced
+        }
+      )
+  }
+
+  /** Sets up the simulation. Implemented as a function to respect the
+    * maximum-duration.
+    */
+  private def doSetUp(): SetUp = {
+    val nessieProtocol: NessieProtocol = nessie().clientFromSystemProperties()
+
+    System.out.println(params.asPrintableString())
+
+    val prepare: PopulationBuilder =
+      prepareScenario().inject(atOnceUsers(1))
+    val readers: PopulationBuilder =
+      readersScenario().inject(atOnceUsers(params.numUsers))
+
+    setUp(prepare.andThen(readers))
+      .maxDuration(FiniteDuration(params.duration.toNanos, NANOSECONDS))
+      .protocols(nessieProtocol)
+  }
+
+  after {
+    requestExecutor.shutdownNow()
+  }
+
+  // This is where everything starts, doSetUp() returns the `SetUp` ...
+  doSetUp()
+}
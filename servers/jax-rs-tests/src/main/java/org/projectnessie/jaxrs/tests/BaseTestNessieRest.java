@@ -20,18 +20,22 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.projectnessie.model.CommitMeta.fromMessage;
 import static org.projectnessie.model.Validation.REF_NAME_MESSAGE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
@@ -51,6 +55,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.api.v2.http.HttpTreeApi;
 import org.projectnessie.client.api.CommitMultipleOperationsBuilder;
 import org.projectnessie.client.api.NessieApiV2;
 import org.projectnessie.client.ext.NessieApiVersion;
@@ -68,12 +73,15 @@ import org.projectnessie.model.Content;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.ContentResponse;
 import org.projectnessie.model.DiffResponse;
+import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.GetMultipleContentsRequest;
 import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.IcebergTable;
 import org.projectnessie.model.ImmutableBranch;
 import org.projectnessie.model.ImmutableOperations;
+import org.projectnessie.model.LogEntry;
 import org.projectnessie.model.Namespace;
 import org.projectnessie.model.Operation.Put;
 import org.projectnessie.model.Reference;
@@ -952,4 +960,139 @@ public abstract class BaseTestNessieRest extends BaseTestNessieApi {
           }
         });
   }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @Test
+  public void streamingResponses() throws Exception {
+    Branch branch = createBranchV2("streamingResponses");
+    String initialHash = branch.getHash();
+    for (int i = 0; i < 5; i++) {
+      branch =
+          commitV2(branch, ContentKey.of("stream-" + i), IcebergTable.of("l" + i, 1, 2, 3, 4));
+    }
+    Branch initial = Branch.of(branch.getName(), initialHash);
+
+    // Streamed responses contain all entries, which requires multiple pages with JSON responses.
+    List<Entry> entries =
+        readNdjson(streaming().get("trees/{ref}/entries", branch.toPathString()), Entry.class);
+    soft.assertThat(entries)
+        .containsExactlyInAnyOrderElementsOf(
+            apiV2().getEntries().reference(branch).maxRecords(2).stream()
+                .collect(Collectors.toList()));
+
+    List<LogEntry> log =
+        readNdjson(streaming().get("trees/{ref}/history", branch.toPathString()), LogEntry.class);
+    soft.assertThat(log)
+        .extracting(e -> e.getCommitMeta().getHash())
+        .containsExactlyElementsOf(
+            apiV2().getCommitLog().reference(branch).maxRecords(2).stream()
+                .map(e -> e.getCommitMeta().getHash())
+                .collect(Collectors.toList()))
+        .startsWith(branch.getHash());
+
+    List<DiffEntry> diff =
+        readNdjson(
+            streaming()
+                .get("trees/{from}/diff/{to}", initial.toPathString(), branch.toPathString()),
+            DiffEntry.class);
+    soft.assertThat(diff)
+        .extracting(DiffEntry::getKey)
+        .containsExactlyInAnyOrderElementsOf(
+            IntStream.range(0, 5)
+                .mapToObj(i -> ContentKey.of("stream-" + i))
+                .collect(Collectors.toList()));
+
+    // "max-records" limits the number of streamed entries, there is no paging token.
+    soft.assertThat(
+            readNdjson(
+                streaming()
+                    .queryParam("max-records", 2)
+                    .get("trees/{ref}/history", branch.toPathString()),
+                LogEntry.class))
+        .hasSize(2);
+  }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "trees/streamingErrors-not-there/entries",
+        "trees/streamingErrors-not-there/history",
+        "trees/streamingErrors-not-there/diff/-",
+        "trees/-/diff/streamingErrors-not-there"
+      })
+  public void streamingErrors(String path) {
+    // Errors that happen before the response is committed are reported with the right status.
+    NessieError error =
+        streaming()
+            .get(path)
+            .then()
+            .statusCode(404)
+            .contentType(ContentType.JSON)
+            .extract()
+            .as(NessieError.class);
+    soft.assertThat(error.getErrorCode()).isEqualTo(ErrorCode.REFERENCE_NOT_FOUND);
+  }
+
+  @NessieApiVersions(versions = {NessieApiVersion.V2})
+  @Test
+  public void streamingClientDisconnect() throws Exception {
+    Branch branch = createBranchV2("streamingClientDisconnect");
+    ImmutableOperations.Builder ops =
+        ImmutableOperations.builder().commitMeta(CommitMeta.fromMessage("many keys"));
+    for (int i = 0; i < 1000; i++) {
+      ops.addOperations(Put.of(ContentKey.of("key-" + i), IcebergTable.of("l" + i, 1, 2, 3, 4)));
+    }
+    branch =
+        rest()
+            .body(ops.build())
+            .post("trees/{ref}/history/commit", branch.toPathString())
+            .then()
+            .statusCode(200)
+            .extract()
+            .as(CommitResponse.class)
+            .getTargetBranch();
+
+    // Read only the first entry, then disconnect while the server is still producing entries.
+    URL url =
+        clientUri
+            .resolve(clientUri.getPath() + "/trees/" + branch.toPathString() + "/entries")
+            .toURL();
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    try {
+      connection.setRequestProperty("Accept", HttpTreeApi.APPLICATION_NDJSON);
+      soft.assertThat(connection.getResponseCode()).isEqualTo(200);
+      soft.assertThat(connection.getContentType()).startsWith(HttpTreeApi.APPLICATION_NDJSON);
+      try (InputStream in = connection.getInputStream()) {
+        soft.assertThat(in.read()).isEqualTo((int) '{');
+      }
+    } finally {
+      connection.disconnect();
+    }
+
+    // The server is still fully functional, the aborted stream did not leak resources
+    for (int i = 0; i < 3; i++) {
+      soft.assertThat(
+              readNdjson(
+                  streaming().get("trees/{ref}/entries", branch.toPathString()), Entry.class))
+          .hasSize(1000);
+    }
+  }
+
+  private static RequestSpecification streaming() {
+    return rest().accept(HttpTreeApi.APPLICATION_NDJSON);
+  }
+
+  private static <T> List<T> readNdjson(Response response, Class<T> type) throws IOException {
+    String body =
+        response
+            .then()
+            .statusCode(200)
+            .contentType(startsWith(HttpTreeApi.APPLICATION_NDJSON))
+            .extract()
+            .asString();
+    try (MappingIterator<T> entries = new ObjectMapper().readerFor(type).readValues(body)) {
+      return entries.readAll();
+    }
+  }
 }
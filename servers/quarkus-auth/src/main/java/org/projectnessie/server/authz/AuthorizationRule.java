@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.authz;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.projectnessie.cel.tools.Script;
+import org.projectnessie.cel.tools.ScriptException;
+
+/**
+ * A compiled authorization rule plus the result of a simple analysis how the rule uses the {@code
+ * path} variable, which allows reusing a rule's decision for different content keys.
+ */
+final class AuthorizationRule {
+
+  /** How an authorization rule uses the {@code path} variable. */
+  enum PathUsage {
+    /** The rule does not refer to {@code path}, the decision is the same for all paths. */
+    NONE,
+    /**
+     * The rule refers to {@code path} only via {@code path.startsWith('literal')}, the decision is
+     * the same for all paths that match the same set of prefixes.
+     */
+    PREFIX,
+    /** The rule uses {@code path} in any other way, the decision is specific to a path. */
+    ANY
+  }
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'[^'\\\\]*'|\"[^\"\\\\]*\"");
+  private static final Pattern PATH_IDENTIFIER = Pattern.compile("\\bpath\\b");
+  private static final Pattern PATH_MACRO_VARIABLE = Pattern.compile("\\(\\s*path\\s*,");
+  private static final Pattern PATH_STARTS_WITH =
+      Pattern.compile(
+          "\\bpath\\s*\\.\\s*startsWith\\s*\\(\\s*"
+              + "('([^'\\\\]*)'|\"([^\"\\\\]*)\")"
+              + "\\s*\\)");
+
+  private final String id;
+  private final Script script;
+  private final PathUsage pathUsage;
+  private final String[] pathPrefixes;
+
+  private AuthorizationRule(
+      String id, Script script, PathUsage pathUsage, List<String> pathPrefixes) {
+    this.id = id;
+    this.script = script;
+    this.pathUsage = pathUsage;
+    this.pathPrefixes = pathPrefixes.toArray(new String[0]);
+  }
+
+  static AuthorizationRule authorizationRule(String id, String expression, Script script) {
+    if (expression.contains("\\")
+        || expression.contains("'''")
+        || expression.contains("\"\"\"")
+        || PATH_MACRO_VARIABLE.matcher(expression).find()) {
+      // Escape sequences, multi-line strings and macros that shadow 'path' are not handled by the
+      // simple analysis below.
+      return new AuthorizationRule(id, script, PathUsage.ANY, List.of());
+    }
+    if (!refersToPath(expression)) {
+      return new AuthorizationRule(id, script, PathUsage.NONE, List.of());
+    }
+
+    List<String> prefixes = new ArrayList<>();
+    Matcher startsWith = PATH_STARTS_WITH.matcher(expression);
+    StringBuilder remaining = new StringBuilder();
+    while (startsWith.find()) {
+      prefixes.add(startsWith.group(2) != null ? startsWith.group(2) : startsWith.group(3));
+      startsWith.appendReplacement(remaining, "true");
+    }
+    startsWith.appendTail(remaining);
+    if (!refersToPath(remaining.toString())) {
+      return new AuthorizationRule(id, script, PathUsage.PREFIX, prefixes);
+    }
+
+    return new AuthorizationRule(id, script, PathUsage.ANY, List.of());
+  }
+
+  private static boolean refersToPath(String expression) {
+    String withoutLiterals = STRING_LITERAL.matcher(expression).replaceAll("''");
+    return PATH_IDENTIFIER.matcher(withoutLiterals).find();
+  }
+
+  String id() {
+    return id;
+  }
+
+  PathUsage pathUsage() {
+    return pathUsage;
+  }
+
+  /**
+   * Returns a value that is equal for all paths, for which this rule yields the same decision, if
+   * all other arguments are the same.
+   */
+  Object pathDiscriminator(String path) {
+    switch (pathUsage) {
+      case NONE:
+        return "";
+      case PREFIX:
+        BitSet matching = new BitSet(pathPrefixes.length);
+        for (int i = 0; i < pathPrefixes.length; i++) {
+          if (path.startsWith(pathPrefixes[i])) {
+            matching.set(i);
+          }
+        }
+        return matching;
+      case ANY:
+        return path;
+      default:
+        throw new IllegalStateException("Unknown path usage " + pathUsage);
+    }
+  }
+
+  boolean execute(Map<String, Object> arguments) {
+    try {
+      return script.execute(Boolean.class, arguments);
+    } catch (ScriptException e) {
+      throw new RuntimeException(
+          String.format(
+              "Failed to execute authorization rule with id '%s' due to: %s", id, e.getMessage()),
+          e);
+    }
+  }
+}
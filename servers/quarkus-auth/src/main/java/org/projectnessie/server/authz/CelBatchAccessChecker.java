@@ -15,13 +15,14 @@
  */
 package org.projectnessie.server.authz;
 
+import com.google.common.cache.Cache;
 import java.security.Principal;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
-import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.Content.Type;
 import org.projectnessie.model.ContentKey;
 import org.projectnessie.model.RepositoryConfig;
@@ -34,11 +35,21 @@ import org.projectnessie.versioned.NamedRef;
 /**
  * A reference implementation of the {@link BatchAccessChecker} that performs access checks using
  * CEL expressions.
+ *
+ * <p>Decisions of the individual rules are memoized for the duration of a {@link #check()}, and
+ * optionally across requests, see {@link CompiledAuthorizationRules#sharedDecisions()}. Rules that
+ * do not refer to the content path or only check path prefixes are evaluated once for all content
+ * keys that yield the same decision, for example once per namespace, instead of once per key.
  */
 final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
   private final CompiledAuthorizationRules compiledRules;
   private final AccessContext context;
 
+  // Per-check() state
+  private Map<DecisionKey, Boolean> decisions;
+  private String roleName;
+  private List<String> roles;
+
   CelBatchAccessChecker(CompiledAuthorizationRules compiledRules, AccessContext context) {
     this.compiledRules = compiledRules;
     this.context = context;
@@ -47,6 +58,9 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
   @Override
   public Map<Check, String> check() {
     Map<Check, String> failed = new LinkedHashMap<>();
+    decisions = new HashMap<>();
+    roleName = null;
+    roles = null;
     getChecks()
         .forEach(
             check -> {
@@ -64,17 +78,20 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
   }
 
   private String roleName() {
-    Principal user = context.user();
-    if (user == null) {
-      return "";
+    if (roleName == null) {
+      Principal user = context.user();
+      String name = user != null ? user.getName() : null;
+      roleName = name != null ? name : "";
     }
-    String name = user.getName();
-    return name != null ? name : "";
+    return roleName;
   }
 
   private List<String> roles() {
-    // CEL only accepts lists and maps, but not sets
-    return List.copyOf(context.roleIds());
+    if (roles == null) {
+      // CEL only accepts lists and maps, but not sets
+      roles = List.copyOf(context.roleIds());
+    }
+    return roles;
   }
 
   private void canPerformOp(Check check, Map<Check, String> failed) {
@@ -163,22 +180,81 @@ final class CelBatchAccessChecker extends AbstractBatchAccessChecker {
       Check check,
       Supplier<String> errorMessageSupplier,
       Map<Check, String> failed) {
-    boolean allowed =
-        compiledRules.getRules().entrySet().stream()
-            .anyMatch(
-                entry -> {
-                  try {
-                    return entry.getValue().execute(Boolean.class, arguments);
-                  } catch (ScriptException e) {
-                    throw new RuntimeException(
-                        String.format(
-                            "Failed to execute authorization rule with id '%s' due to: %s",
-                            entry.getKey(), e.getMessage()),
-                        e);
-                  }
-                });
+    Map<String, Object> argumentsWithoutPath = arguments;
+    String path = (String) arguments.get("path");
+    if (!path.isEmpty()) {
+      argumentsWithoutPath = new HashMap<>(arguments);
+      argumentsWithoutPath.remove("path");
+    }
+    int argumentsHash = argumentsWithoutPath.hashCode();
+
+    Cache<DecisionKey, Boolean> sharedDecisions = compiledRules.sharedDecisions();
+    boolean allowed = false;
+    for (AuthorizationRule rule : compiledRules.getAuthorizationRules()) {
+      DecisionKey key =
+          new DecisionKey(
+              rule.id(), argumentsWithoutPath, argumentsHash, rule.pathDiscriminator(path));
+      Boolean decision = decisions.get(key);
+      if (decision == null && sharedDecisions != null) {
+        decision = sharedDecisions.getIfPresent(key);
+      }
+      if (decision == null) {
+        decision = rule.execute(arguments);
+        if (sharedDecisions != null) {
+          sharedDecisions.put(key, decision);
+        }
+      }
+      decisions.put(key, decision);
+      if (decision) {
+        allowed = true;
+        break;
+      }
+    }
+
     if (!allowed) {
       failed.put(check, errorMessageSupplier.get());
     }
   }
+
+  /**
+   * Identifies the decision of a rule for the given arguments, with the content path replaced by
+   * the rule's {@link AuthorizationRule#pathDiscriminator(String) path discriminator}.
+   */
+  static final class DecisionKey {
+    private final String ruleId;
+    private final Map<String, Object> argumentsWithoutPath;
+    private final Object pathDiscriminator;
+    private final int hash;
+
+    DecisionKey(
+        String ruleId,
+        Map<String, Object> argumentsWithoutPath,
+        int argumentsHash,
+        Object pathDiscriminator) {
+      this.ruleId = ruleId;
+      this.argumentsWithoutPath = argumentsWithoutPath;
+      this.pathDiscriminator = pathDiscriminator;
+      this.hash = (31 * ruleId.hashCode() + argumentsHash) * 31 + pathDiscriminator.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DecisionKey)) {
+        return false;
+      }
+      DecisionKey that = (DecisionKey) o;
+      return hash == that.hash
+          && ruleId.equals(that.ruleId)
+          && pathDiscriminator.equals(that.pathDiscriminator)
+          && argumentsWithoutPath.equals(that.argumentsWithoutPath);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
 }
@@ -15,16 +15,23 @@
  */
 package org.projectnessie.server.authz;
 
+import static org.projectnessie.server.authz.AuthorizationRule.authorizationRule;
 import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import io.quarkus.runtime.Startup;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.server.authz.CelBatchAccessChecker.DecisionKey;
 import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
 import org.projectnessie.services.cel.CELUtil;
 
@@ -37,27 +44,46 @@ import org.projectnessie.services.cel.CELUtil;
 public class CompiledAuthorizationRules {
   private final QuarkusNessieAuthorizationConfig config;
   private final Map<String, Script> compiledRules;
+  private final List<AuthorizationRule> authorizationRules;
+  private final Cache<DecisionKey, Boolean> sharedDecisions;
   private static final String ALLOW_VIEWING_ALL_REFS_ID = "__ALLOW_VIEWING_REF_ID";
   private static final String ALLOW_VIEWING_ALL_REFS =
       String.format("op=='%s' && ref.matches('.*')", VIEW_REFERENCE);
+  private static final long SHARED_DECISIONS_MAX_SIZE = 100_000L;
 
   @Inject
   public CompiledAuthorizationRules(QuarkusNessieAuthorizationConfig config) {
     this.config = config;
-    this.compiledRules = compileAuthorizationRules();
+    Map<String, String> rules = effectiveRules();
+    this.compiledRules = compileAuthorizationRules(rules);
+    this.authorizationRules = analyzeAuthorizationRules(rules, compiledRules);
+    this.sharedDecisions =
+        config
+            .decisionCacheTtl()
+            .<Cache<DecisionKey, Boolean>>map(
+                ttl ->
+                    CacheBuilder.newBuilder()
+                        .expireAfterWrite(ttl)
+                        .maximumSize(SHARED_DECISIONS_MAX_SIZE)
+                        .build())
+            .orElse(null);
   }
 
-  /**
-   * Compiles all authorization rules and returns them.
-   *
-   * @return A map of compiled authorization rules
-   */
-  private Map<String, Script> compileAuthorizationRules() {
+  private Map<String, String> effectiveRules() {
     Map<String, String> rules = new HashMap<>(config.rules());
     // by default we allow viewing all references until there's a user-defined VIEW_REFERENCE rule
     if (rules.entrySet().stream().noneMatch(r -> r.getValue().contains(VIEW_REFERENCE.name()))) {
       rules.put(ALLOW_VIEWING_ALL_REFS_ID, ALLOW_VIEWING_ALL_REFS);
     }
+    return rules;
+  }
+
+  /**
+   * Compiles all authorization rules and returns them.
+   *
+   * @return A map of compiled authorization rules
+   */
+  private static Map<String, Script> compileAuthorizationRules(Map<String, String> rules) {
     Map<String, Script> scripts = new HashMap<>();
     rules.forEach(
         (key, value) ->
@@ -89,4 +115,26 @@ public class CompiledAuthorizationRules {
   public Map<String, Script> getRules() {
     return compiledRules;
   }
+
+  private static List<AuthorizationRule> analyzeAuthorizationRules(
+      Map<String, String> rules, Map<String, Script> compiledRules) {
+    ImmutableList.Builder<AuthorizationRule> analyzed = ImmutableList.builder();
+    compiledRules.forEach(
+        (id, script) -> analyzed.add(authorizationRule(id, rules.get(id), script)));
+    return analyzed.build();
+  }
+
+  /** Returns the compiled authorization rules including the analysis of their path usage. */
+  List<AuthorizationRule> getAuthorizationRules() {
+    return authorizationRules;
+  }
+
+  /**
+   * Returns the authorization decisions that are shared across requests, or {@code null}, if
+   * decisions shall not be shared.
+   */
+  @Nullable
+  Cache<DecisionKey, Boolean> sharedDecisions() {
+    return sharedDecisions;
+  }
 }
@@ -19,7 +19,9 @@ import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 
 /** Configuration for Nessie authorization settings. */
 @StaticInitSafe
@@ -47,4 +49,13 @@ public interface QuarkusNessieAuthorizationConfig {
    *     expression.
    */
   Map<String, String> rules();
+
+  /**
+   * Time for which authorization decisions are shared across requests of the same principal with
+   * the same roles. Decisions are only reused within a single request, if not set. Changes to the
+   * roles of a principal are respected immediately, but changes to the rules require a restart
+   * anyway.
+   */
+  @WithName("decision-cache-ttl")
+  Optional<Duration> decisionCacheTtl();
 }
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.server.authz;
 
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.projectnessie.services.authz.Check.CheckType.CREATE_REFERENCE;
@@ -22,7 +23,9 @@ import static org.projectnessie.services.authz.Check.CheckType.VIEW_REFERENCE;
 
 import jakarta.enterprise.inject.Instance;
 import java.security.Principal;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import org.assertj.core.api.SoftAssertions;
@@ -32,8 +35,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.Namespace;
+import org.projectnessie.server.authz.AuthorizationRule.PathUsage;
 import org.projectnessie.server.config.QuarkusNessieAuthorizationConfig;
 import org.projectnessie.services.authz.AbstractBatchAccessChecker;
 import org.projectnessie.services.authz.AccessCheckException;
@@ -166,7 +173,125 @@ public class TestCELAuthZ {
         .isSameAs(AbstractBatchAccessChecker.NOOP_ACCESS_CHECKER);
   }
 
+  @Test
+  void ruleAnalysis() {
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            buildConfig(
+                Map.of(
+                    "none",
+                    "op=='READ_ENTITY_VALUE' && role=='admin'",
+                    "prefix",
+                    "op=='READ_ENTITY_VALUE' "
+                        + "&& (path.startsWith('ns1.') || path.startsWith(\"ns2.\"))",
+                    "any",
+                    "path.matches('^ns3[.].*')",
+                    "literal",
+                    "op=='READ_ENTITY_VALUE' && ref=='path'",
+                    "macro",
+                    "roles.exists(path, path.startsWith('ns1.'))",
+                    "escaped",
+                    "path.startsWith('ns1\\\\.')"),
+                Optional.empty()));
+
+    soft.assertThat(rules.getAuthorizationRules())
+        .extracting(AuthorizationRule::id, AuthorizationRule::pathUsage)
+        .containsExactlyInAnyOrder(
+            tuple("none", PathUsage.NONE),
+            tuple("prefix", PathUsage.PREFIX),
+            tuple("any", PathUsage.ANY),
+            tuple("literal", PathUsage.NONE),
+            tuple("macro", PathUsage.ANY),
+            tuple("escaped", PathUsage.ANY),
+            tuple("__ALLOW_VIEWING_REF_ID", PathUsage.NONE));
+
+    AuthorizationRule prefix =
+        rules.getAuthorizationRules().stream()
+            .filter(r -> r.id().equals("prefix"))
+            .findFirst()
+            .orElseThrow();
+    soft.assertThat(prefix.pathDiscriminator("ns1.a")).isEqualTo(prefix.pathDiscriminator("ns1.b"));
+    soft.assertThat(prefix.pathDiscriminator("ns2.a")).isEqualTo(prefix.pathDiscriminator("ns2.b"));
+    soft.assertThat(prefix.pathDiscriminator("ns3.a")).isEqualTo(prefix.pathDiscriminator("x"));
+    soft.assertThat(prefix.pathDiscriminator("ns1.a"))
+        .isNotEqualTo(prefix.pathDiscriminator("ns2.a"));
+    soft.assertThat(prefix.pathDiscriminator("ns1.a")).isNotEqualTo(prefix.pathDiscriminator("x"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  void decisionCache(boolean shared) {
+    CompiledAuthorizationRules rules =
+        new CompiledAuthorizationRules(
+            buildConfig(
+                Map.of(
+                    "prefix",
+                    "op=='READ_CONTENT_KEY' && path.startsWith('allowed.') && role=='user'",
+                    "exact",
+                    "op=='READ_CONTENT_KEY' && path=='denied.special'"),
+                shared ? Optional.of(Duration.ofMinutes(1)) : Optional.empty()));
+
+    BranchName main = BranchName.of("main");
+    for (int run = 0; run < 2; run++) {
+      CelBatchAccessChecker batchAccessChecker =
+          new CelBatchAccessChecker(rules, () -> () -> "user");
+      for (int i = 0; i < 500; i++) {
+        batchAccessChecker.can(
+            Check.check(CheckType.READ_CONTENT_KEY, main, ContentKey.of("allowed", "t" + i)));
+        batchAccessChecker.can(
+            Check.check(CheckType.READ_CONTENT_KEY, main, ContentKey.of("denied", "t" + i)));
+      }
+      batchAccessChecker.can(
+          Check.check(CheckType.READ_CONTENT_KEY, main, ContentKey.of("denied", "special")));
+
+      Map<Check, String> failed = batchAccessChecker.check();
+      soft.assertThat(failed)
+          .hasSize(500)
+          .allSatisfy(
+              (check, msg) ->
+                  soft.assertThat(check.key())
+                      .extracting(ContentKey::getNamespace)
+                      .isEqualTo(Namespace.of("denied")));
+
+      CelBatchAccessChecker otherUser = new CelBatchAccessChecker(rules, () -> () -> "other");
+      otherUser.can(
+          Check.check(CheckType.READ_CONTENT_KEY, main, ContentKey.of("allowed", "t" + run)));
+      soft.assertThat(otherUser.check()).hasSize(1);
+    }
+
+    if (shared) {
+      // One decision per rule for the whole "allowed" and "denied" namespaces for the "prefix"
+      // rule, individual decisions per key for the "exact" rule.
+      soft.assertThat(rules.sharedDecisions()).isNotNull();
+      soft.assertThat(rules.sharedDecisions().size()).isLessThanOrEqualTo(1010L);
+    } else {
+      soft.assertThat(rules.sharedDecisions()).isNull();
+    }
+  }
+
   private static QuarkusNessieAuthorizationConfig buildConfig(boolean enabled) {
+    return buildConfig(
+        enabled,
+        Map.of(
+            "foo",
+            "false",
+            "bar",
+            "'bar' in roles",
+            "baz",
+            "role=='baz'",
+            "contentType",
+            "op in ['READ_CONTENT_KEY', 'READ_ENTITY_VALUE', 'CREATE_ENTITY', 'UPDATE_ENTITY', 'DELETE_ENTITY'] "
+                + "&& contentType=='foo'"),
+        Optional.empty());
+  }
+
+  private static QuarkusNessieAuthorizationConfig buildConfig(
+      Map<String, String> rules, Optional<Duration> decisionCacheTtl) {
+    return buildConfig(true, rules, decisionCacheTtl);
+  }
+
+  private static QuarkusNessieAuthorizationConfig buildConfig(
+      boolean enabled, Map<String, String> rules, Optional<Duration> decisionCacheTtl) {
     return new QuarkusNessieAuthorizationConfig() {
       @Override
       public String authorizationType() {
@@ -180,16 +305,12 @@ public class TestCELAuthZ {
 
       @Override
       public Map<String, String> rules() {
-        return Map.of(
-            "foo",
-            "false",
-            "bar",
-            "'bar' in roles",
-            "baz",
-            "role=='baz'",
-            "contentType",
-            "op in ['READ_CONTENT_KEY', 'READ_ENTITY_VALUE', 'CREATE_ENTITY', 'UPDATE_ENTITY', 'DELETE_ENTITY'] "
-                + "&& contentType=='foo'");
+        return rules;
+      }
+
+      @Override
+      public Optional<Duration> decisionCacheTtl() {
+        return decisionCacheTtl;
       }
     };
   }
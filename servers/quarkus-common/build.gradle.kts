@@ -60,6 +60,7 @@ dependencies {
   implementation("io.quarkus:quarkus-jdbc-h2")
   implementation("io.quarkus:quarkus-opentelemetry")
   implementation("io.quarkus:quarkus-micrometer")
+  implementation("org.eclipse.microprofile.health:microprofile-health-api")
   implementation("io.smallrye.config:smallrye-config-source-keystore")
   implementation(enforcedPlatform(libs.quarkus.amazon.services.bom))
   implementation("io.quarkiverse.amazonservices:quarkus-amazon-dynamodb")
@@ -36,4 +36,16 @@ public interface QuarkusCassandraConfig extends CassandraConfig {
   @Override
   @WithDefault(DEFAULT_DDL_TIMEOUT)
   Duration ddlTimeout();
+
+  @Override
+  @WithDefault(DEFAULT_FETCH_OBJS_STRATEGY)
+  FetchObjsStrategy fetchObjsStrategy();
+
+  @Override
+  @WithDefault(DEFAULT_FETCH_OBJS_CONCURRENCY)
+  int fetchObjsConcurrency();
+
+  @Override
+  @WithDefault(DEFAULT_FETCH_OBJS_SPECULATIVE_DELAY)
+  Duration fetchObjsSpeculativeDelay();
 }
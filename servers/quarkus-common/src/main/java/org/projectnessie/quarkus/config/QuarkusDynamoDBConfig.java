@@ -17,6 +17,7 @@ package org.projectnessie.quarkus.config;
 
 import io.quarkus.runtime.annotations.StaticInitSafe;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import java.util.Optional;
 
 /**
@@ -28,4 +29,18 @@ import java.util.Optional;
 public interface QuarkusDynamoDBConfig {
   /** Prefix for tables, default is no prefix. */
   Optional<String> tablePrefix();
+
+  /**
+   * Maximum number of concurrent {@code BatchGetItem} requests, of up to 100 keys each, issued when
+   * fetching many objects or references at once.
+   */
+  @WithDefault("8")
+  int batchGetConcurrency();
+
+  /**
+   * Number of segments of the parallel scans used to scan all objects of a repository, for example
+   * during exports, and to erase repositories.
+   */
+  @WithDefault("8")
+  int scanSegments();
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2023 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.config;
+
+import io.quarkus.runtime.annotations.StaticInitSafe;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+import org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig.ObjectsReadPreference;
+
+/**
+ * When setting {@code nessie.version.store.type=MONGODB} which enables MongoDB as the version store
+ * used by the Nessie server, the following configurations are applicable.
+ */
+@StaticInitSafe
+@ConfigMapping(prefix = "nessie.version.store.persist.mongodb")
+public interface QuarkusMongoDBConfig {
+  /**
+   * Read preference for objects that are never updated, like contents and indexes. Valid values are
+   * {@code PRIMARY}, {@code SECONDARY_PREFERRED} and {@code NEAREST}. References, commits and
+   * updateable objects are always read from the primary, objects that are not found on a replica
+   * are re-fetched from the primary.
+   */
+  @WithDefault("PRIMARY")
+  ObjectsReadPreference objectsReadPreference();
+}
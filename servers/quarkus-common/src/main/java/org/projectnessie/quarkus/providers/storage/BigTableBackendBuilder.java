@@ -21,11 +21,14 @@ import com.google.api.gax.core.CredentialsProvider;
 import com.google.api.gax.rpc.PermissionDeniedException;
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkiverse.googlecloudservices.common.GcpBootstrapConfiguration;
 import io.quarkiverse.googlecloudservices.common.GcpConfigHolder;
 import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.inject.Any;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import java.util.Optional;
 import org.projectnessie.quarkus.config.QuarkusBigTableConfig;
 import org.projectnessie.quarkus.providers.versionstore.StoreType;
 import org.projectnessie.versioned.storage.bigtable.BigTableBackendConfig;
@@ -46,6 +49,8 @@ public class BigTableBackendBuilder implements BackendBuilder {
 
   @Inject Instance<GcpConfigHolder> gcpConfigHolderInstance;
 
+  @Inject @Any Instance<MeterRegistry> meterRegistry;
+
   @Override
   public Backend buildBackend() {
     CredentialsProvider credentialsProvider = null;
@@ -121,12 +126,15 @@ public class BigTableBackendBuilder implements BackendBuilder {
       }
 
       BigTableBackendFactory factory = new BigTableBackendFactory();
+      Optional<MeterRegistry> registry =
+          meterRegistry.isResolvable() ? Optional.of(meterRegistry.get()) : Optional.empty();
       BigTableBackendConfig c =
           BigTableBackendConfig.builder()
               .dataClient(dataClient)
               .tableAdminClient(tableAdminClient)
               .tablePrefix(bigTableConfig.tablePrefix())
               .totalApiTimeout(bigTableConfig.totalTimeout())
+              .meterRegistry(registry)
               .build();
       return factory.buildBackend(c);
     } catch (Exception e) {
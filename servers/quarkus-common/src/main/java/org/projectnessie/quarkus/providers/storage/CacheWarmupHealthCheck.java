@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.quarkus.providers.storage;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+import org.projectnessie.quarkus.config.QuarkusStoreConfig;
+import org.projectnessie.versioned.storage.cache.CacheBackend;
+import org.projectnessie.versioned.storage.cache.CacheWarmup;
+import org.projectnessie.versioned.storage.cache.CacheWarmupResult;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the optional objects cache warm-up in the background during startup and reports "down" via
+ * the readiness probe until the warm-up has finished.
+ */
+@Readiness
+@ApplicationScoped
+public class CacheWarmupHealthCheck implements HealthCheck {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmupHealthCheck.class);
+
+  public static final String NAME = "Objects Cache Warm-up";
+
+  @Inject QuarkusStoreConfig storeConfig;
+  @Inject CacheBackend cacheBackend;
+  @Inject Persist persist;
+
+  private volatile boolean running;
+  private volatile CacheWarmupResult result;
+
+  void startWarmup(@Observes StartupEvent event) {
+    if (!storeConfig.cacheWarmupEnabled()) {
+      return;
+    }
+    if (cacheBackend == CacheBackend.noopCacheBackend()) {
+      LOGGER.info("Objects cache warm-up is enabled, but the objects cache is disabled.");
+      return;
+    }
+
+    running = true;
+    Thread thread = new Thread(this::warmUp, "nessie-cache-warmup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void warmUp() {
+    try {
+      LOGGER.info("Starting objects cache warm-up ...");
+      int references = storeConfig.cacheWarmupReferences();
+      int parallelism = storeConfig.cacheWarmupParallelism();
+      CacheWarmupResult r = CacheWarmup.cacheWarmup(persist, references, parallelism).warmUp();
+      LOGGER.info(
+          "Objects cache warm-up loaded {} objects for {} references in {} ms.",
+          r.objects(),
+          r.references(),
+          r.duration().toMillis());
+      result = r;
+    } catch (Exception e) {
+      // The warm-up is best-effort, do not prevent the service from becoming ready.
+      LOGGER.warn("Objects cache warm-up failed", e);
+    } finally {
+      running = false;
+    }
+  }
+
+  @Override
+  public HealthCheckResponse call() {
+    HealthCheckResponseBuilder healthCheckResponse = HealthCheckResponse.builder().name(NAME);
+    CacheWarmupResult r = result;
+    if (r != null) {
+      healthCheckResponse
+          .withData("references", r.references())
+          .withData("objects", r.objects())
+          .withData("duration-ms", r.duration().toMillis());
+    }
+    return healthCheckResponse.status(!running).build();
+  }
+}
@@ -51,6 +51,9 @@ public class CassandraBackendBuilder implements BackendBuilder {
               .keyspace(keyspace)
               .ddlTimeout(config.ddlTimeout())
               .dmlTimeout(config.dmlTimeout())
+              .fetchObjsStrategy(config.fetchObjsStrategy())
+              .fetchObjsConcurrency(config.fetchObjsConcurrency())
+              .fetchObjsSpeculativeDelay(config.fetchObjsSpeculativeDelay())
               .build();
       return factory.buildBackend(c);
     } catch (InterruptedException | ExecutionException e) {
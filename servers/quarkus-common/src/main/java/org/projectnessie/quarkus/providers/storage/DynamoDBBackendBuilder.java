@@ -41,6 +41,8 @@ public class DynamoDBBackendBuilder implements BackendBuilder {
         DynamoDBBackendConfig.builder()
             .client(client)
             .tablePrefix(dynamoDBConfig.tablePrefix())
+            .batchGetConcurrency(dynamoDBConfig.batchGetConcurrency())
+            .scanSegments(dynamoDBConfig.scanSegments())
             .build();
     return factory.buildBackend(c);
   }
@@ -30,6 +30,7 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,6 +49,7 @@ import org.projectnessie.versioned.storage.cache.DistributedCacheInvalidation;
 import org.projectnessie.versioned.storage.cache.DistributedCacheInvalidationConsumer;
 import org.projectnessie.versioned.storage.cache.DistributedCacheInvalidations;
 import org.projectnessie.versioned.storage.cache.PersistCaches;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.persist.Backend;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
@@ -160,7 +162,19 @@ public class PersistProvider {
         cacheConfig.referenceNegativeTtl(referenceCacheNegativeTtl.orElse(refTtl));
       }
 
+      int offHeapCacheSizeMB = storeConfig.cacheOffHeapCapacityMB().orElse(0);
+      cacheConfig.offHeapCapacityMb(offHeapCacheSizeMB);
+
       String info = format("Using objects cache with %d MB", effectiveCacheSizeMB);
+      if (offHeapCacheSizeMB > 0) {
+        info += format(" and an off-heap tier with %d MB", offHeapCacheSizeMB);
+      }
+      Optional<Path> diskCachePath = storeConfig.cacheDiskPath();
+      if (diskCachePath.isPresent()) {
+        int diskCacheSizeMB = storeConfig.cacheDiskCapacityMB();
+        cacheConfig.diskPath(diskCachePath.get()).diskCapacityMb(diskCacheSizeMB);
+        info += format(", a disk tier with %d MB in %s", diskCacheSizeMB, diskCachePath.get());
+      }
 
       CacheBackend cacheBackend = PersistCaches.newBackend(cacheConfig.build());
 
@@ -188,6 +202,10 @@ public class PersistProvider {
     }
   }
 
+  public void closeCacheBackend(@Disposes CacheBackend cacheBackend) {
+    cacheBackend.close();
+  }
+
   public static class EnvironmentCheck {
     public EnvironmentCheck() {}
   }
@@ -213,7 +231,8 @@ public class PersistProvider {
   @Produces
   @Singleton
   @NotObserved
-  public Persist producePersist(CacheBackend cacheBackend) {
+  public Persist producePersist(
+      CacheBackend cacheBackend, @Any Instance<MeterRegistry> meterRegistry) {
     VersionStoreType versionStoreType = versionStoreConfig.getVersionStoreType();
 
     if (backend.isUnsatisfied()) {
@@ -225,8 +244,16 @@ public class PersistProvider {
 
     LOGGER.info("Creating/opening version store {} ...", versionStoreType);
 
+    StoreConfig config = storeConfig;
+    if (meterRegistry.isResolvable()) {
+      config =
+          StoreConfig.Adjustable.empty()
+              .from(storeConfig)
+              .withMeterRegistry(Optional.of(meterRegistry.get()));
+    }
+
     PersistFactory persistFactory = b.createFactory();
-    Persist persist = persistFactory.newPersist(storeConfig);
+    Persist persist = persistFactory.newPersist(config);
 
     persist = cacheBackend.wrap(persist);
 
@@ -38,6 +38,8 @@ dependencies {
   compileOnly(enforcedPlatform(libs.quarkus.bom))
   compileOnly("io.quarkus:quarkus-core")
   compileOnly("io.smallrye.config:smallrye-config-core")
+  // StoreConfig.meterRegistry()
+  compileOnly("io.micrometer:micrometer-core")
 
   implementation(libs.guava)
 
@@ -39,4 +39,15 @@ public interface QuarkusServerConfig extends ServerConfig {
   @WithName("access-checks-batch-size")
   @WithDefault("" + ServerConfig.DEFAULT_ACCESS_CHECK_BATCH_SIZE)
   int accessChecksBatchSize();
+
+  /**
+   * Whether REST requests, including Iceberg REST requests, are processed on virtual threads
+   * instead of the worker thread pool. Using virtual threads can increase the throughput for many
+   * concurrent requests against slow backend databases, when the worker thread pool would
+   * otherwise be exhausted. Requires Java 21 or newer, older Java versions fall back to the worker
+   * thread pool.
+   */
+  @WithName("virtual-threads.enabled")
+  @WithDefault("false")
+  boolean virtualThreadsEnabled();
 }
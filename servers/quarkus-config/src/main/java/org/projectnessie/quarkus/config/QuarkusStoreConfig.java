@@ -20,6 +20,7 @@ import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithConverter;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
@@ -73,6 +74,11 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   long retryMaxSleepMillis();
 
+  @WithName(CONFIG_RETRY_STRATEGY)
+  @WithDefault("FIXED")
+  @Override
+  RetryStrategy retryStrategy();
+
   @WithName(CONFIG_PARENTS_PER_COMMIT)
   @WithDefault("" + DEFAULT_PARENTS_PER_COMMIT)
   @Override
@@ -93,6 +99,11 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   int maxReferenceStripesPerCommit();
 
+  @WithName(CONFIG_INDEX_STRIPE_FILTER_BITS_PER_KEY)
+  @WithDefault("" + DEFAULT_INDEX_STRIPE_FILTER_BITS_PER_KEY)
+  @Override
+  int indexStripeFilterBitsPerKey();
+
   @WithName(CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS)
   @WithDefault("" + DEFAULT_ASSUMED_WALL_CLOCK_DRIFT_MICROS)
   @Override
@@ -149,6 +160,65 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @WithName(CONFIG_CACHE_CAPACITY_FRACTION_ADJUST_MB)
   OptionalInt cacheCapacityFractionAdjustMB();
 
+  String CONFIG_CACHE_OFF_HEAP_CAPACITY_MB = "cache-off-heap-capacity-mb";
+
+  /**
+   * Amount of off-heap memory in MB used as a second cache tier for objects that got evicted from
+   * the on-heap objects cache, set to 0 or leave unset to disable the off-heap tier. The off-heap
+   * tier is only effective, if the (on-heap) objects cache is enabled. Make sure that the JVM's
+   * {@code -XX:MaxDirectMemorySize} is large enough to hold the off-heap tier.
+   */
+  @WithName(CONFIG_CACHE_OFF_HEAP_CAPACITY_MB)
+  OptionalInt cacheOffHeapCapacityMB();
+
+  String CONFIG_CACHE_DISK_PATH = "cache-disk-path";
+
+  /**
+   * Directory of the optional persistent local disk cache tier. Immutable objects, for example
+   * commits, indexes and content values, are kept in this directory, so that the objects cache is
+   * warm after a restart. The directory must be local to the Nessie instance, must not be shared
+   * with other Nessie instances and should be retained across restarts. The disk cache tier is only
+   * effective, if the (on-heap) objects cache is enabled.
+   */
+  @WithName(CONFIG_CACHE_DISK_PATH)
+  Optional<Path> cacheDiskPath();
+
+  String CONFIG_CACHE_DISK_CAPACITY_MB = "cache-disk-capacity-mb";
+
+  /**
+   * Amount of disk space in MB used by the persistent local disk cache tier. The oldest cached
+   * objects are evicted when the capacity is exceeded.
+   */
+  @WithName(CONFIG_CACHE_DISK_CAPACITY_MB)
+  @WithDefault("1024")
+  int cacheDiskCapacityMB();
+
+  String CONFIG_CACHE_WARMUP_ENABLED = "cache-warmup-enabled";
+
+  /**
+   * Whether to load the head commits and reference indexes of the most recently updated references
+   * and of the internal references into the objects cache during startup. The readiness probe
+   * reports "down" until the warm-up has finished. The warm-up is only effective, if the objects
+   * cache is enabled.
+   */
+  @WithName(CONFIG_CACHE_WARMUP_ENABLED)
+  @WithDefault("false")
+  boolean cacheWarmupEnabled();
+
+  String CONFIG_CACHE_WARMUP_REFERENCES = "cache-warmup-references";
+
+  /** Number of most recently updated references to load during the cache warm-up. */
+  @WithName(CONFIG_CACHE_WARMUP_REFERENCES)
+  @WithDefault("20")
+  int cacheWarmupReferences();
+
+  String CONFIG_CACHE_WARMUP_PARALLELISM = "cache-warmup-parallelism";
+
+  /** Number of concurrent object fetches during the cache warm-up. */
+  @WithName(CONFIG_CACHE_WARMUP_PARALLELISM)
+  @WithDefault("4")
+  int cacheWarmupParallelism();
+
   @WithName(CONFIG_REFERENCE_CACHE_TTL)
   @Override
   Optional<Duration> referenceCacheTtl();
@@ -157,6 +227,25 @@ public interface QuarkusStoreConfig extends StoreConfig {
   @Override
   Optional<Duration> referenceCacheNegativeTtl();
 
+  @WithName(CONFIG_OBJ_COMPRESSION)
+  @Override
+  Optional<String> objCompression();
+
+  @WithName(CONFIG_OBJ_COMPRESSION_MIN_SIZE)
+  @WithDefault("" + DEFAULT_OBJ_COMPRESSION_MIN_SIZE)
+  @Override
+  int objCompressionMinSize();
+
+  @WithName(CONFIG_COMMIT_QUEUE_ENABLED)
+  @WithDefault("" + DEFAULT_COMMIT_QUEUE_ENABLED)
+  @Override
+  boolean commitQueueEnabled();
+
+  @WithName(CONFIG_COMMIT_QUEUE_MAX_BATCH_SIZE)
+  @WithDefault("" + DEFAULT_COMMIT_QUEUE_MAX_BATCH_SIZE)
+  @Override
+  int commitQueueMaxBatchSize();
+
   /**
    * Host names or IP addresses or kubernetes headless-service name of all Nessie server instances
    * accessing the same repository.
@@ -28,11 +28,13 @@ configurations.all { exclude(group = "org.projectnessie.nessie", module = "nessi
 dependencies {
   implementation(project(":nessie-model-quarkus"))
   implementation(project(":nessie-rest-common"))
+  implementation(project(":nessie-quarkus-config"))
 
   implementation(enforcedPlatform(libs.quarkus.bom))
   implementation("io.quarkus:quarkus-core")
   implementation("io.quarkus:quarkus-rest")
   implementation("io.quarkus:quarkus-rest-jackson")
+  implementation("io.quarkus:quarkus-virtual-threads")
 
   implementation("com.fasterxml.jackson.core:jackson-databind")
   compileOnly("com.fasterxml.jackson.core:jackson-annotations")
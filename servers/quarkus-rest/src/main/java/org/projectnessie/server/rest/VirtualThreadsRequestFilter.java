@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.server.rest;
+
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.vertx.core.Context;
+import jakarta.inject.Inject;
+import java.util.concurrent.ExecutorService;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.core.ResteasyReactiveRequestContext;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveContainerRequestContext;
+import org.projectnessie.quarkus.config.QuarkusServerConfig;
+
+/**
+ * Dispatches the processing of REST requests to a virtual thread, if enabled via {@code
+ * nessie.server.virtual-threads.enabled}.
+ *
+ * <p>The filter runs on the Vert.x event loop, before Quarkus dispatches a blocking resource method
+ * to a worker thread. Once a request is processed on a virtual thread, Quarkus does not dispatch it
+ * again, because blocking is allowed on virtual threads.
+ *
+ * <p>The executor for virtual threads is provided by Quarkus, it preserves the request's Vert.x
+ * context and falls back to the worker thread pool, if the Java runtime does not support virtual
+ * threads.
+ *
+ * <p>{@code @RunOnVirtualThread} cannot be used, because Quarkus rejects it for applications that
+ * are not compiled for Java 21, and it would not allow to switch virtual threads on and off at
+ * runtime.
+ */
+public class VirtualThreadsRequestFilter {
+
+  private final boolean enabled;
+  private final ExecutorService virtualThreads;
+
+  @Inject
+  public VirtualThreadsRequestFilter(
+      QuarkusServerConfig serverConfig, @VirtualThreads ExecutorService virtualThreads) {
+    this.enabled = serverConfig.virtualThreadsEnabled();
+    this.virtualThreads = virtualThreads;
+  }
+
+  @ServerRequestFilter(nonBlocking = true)
+  public void dispatchToVirtualThread(ResteasyReactiveContainerRequestContext requestContext) {
+    if (enabled && Context.isOnEventLoopThread()) {
+      ResteasyReactiveRequestContext context =
+          (ResteasyReactiveRequestContext) requestContext.getServerRequestContext();
+      context.suspend();
+      context.resume(virtualThreads);
+    }
+  }
+}
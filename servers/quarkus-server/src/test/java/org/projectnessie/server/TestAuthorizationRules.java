@@ -23,6 +23,7 @@ import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.security.TestSecurity;
 import java.util.Collections;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.projectnessie.client.api.CommitMultipleOperationsBuilder;
 import org.projectnessie.client.ext.NessieApiVersion;
@@ -33,7 +34,10 @@ import org.projectnessie.error.NessieNotFoundException;
 import org.projectnessie.model.Branch;
 import org.projectnessie.model.CommitMeta;
 import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.DiffResponse.DiffEntry;
+import org.projectnessie.model.EntriesResponse.Entry;
 import org.projectnessie.model.IcebergTable;
+import org.projectnessie.model.LogEntry;
 import org.projectnessie.model.Operation.Delete;
 import org.projectnessie.model.Operation.Put;
 import org.projectnessie.model.Reference;
@@ -186,6 +190,44 @@ class TestAuthorizationRules extends BaseClientAuthTest {
                 "'READ_ENTRIES' is not allowed for role '%s' on reference", "disallowed_user"));
   }
 
+  @Test
+  @TestSecurity(user = "admin_user")
+  @NessieApiVersions(versions = NessieApiVersion.V2) // Streaming is only supported in API v2
+  void testStreamingAllowed() throws Exception {
+    try (Stream<Entry> entries = api().getEntries().refName("main").streamAll()) {
+      assertThat(entries).isNotNull();
+    }
+    try (Stream<LogEntry> log = api().getCommitLog().refName("main").streamAll()) {
+      assertThat(log).isNotNull();
+    }
+    try (Stream<DiffEntry> diff =
+        api().getDiff().fromRefName("main").toRefName("main").streamAll()) {
+      assertThat(diff).isEmpty();
+    }
+  }
+
+  @Test
+  @TestSecurity(user = "disallowed_user")
+  @NessieApiVersions(versions = NessieApiVersion.V2) // Streaming is only supported in API v2
+  void testStreamingDisallowed() {
+    // Access checks happen before the streamed response is committed.
+    assertThatThrownBy(() -> api().getEntries().refName("main").streamAll())
+        .isInstanceOf(NessieForbiddenException.class)
+        .hasMessageContaining(
+            String.format(
+                "'READ_ENTRIES' is not allowed for role '%s' on reference", "disallowed_user"));
+    assertThatThrownBy(() -> api().getCommitLog().refName("main").streamAll())
+        .isInstanceOf(NessieForbiddenException.class)
+        .hasMessageContaining(
+            String.format(
+                "'LIST_COMMIT_LOG' is not allowed for role '%s' on reference", "disallowed_user"));
+    assertThatThrownBy(() -> api().getDiff().fromRefName("main").toRefName("main").streamAll())
+        .isInstanceOf(NessieForbiddenException.class)
+        .hasMessageContaining(
+            String.format(
+                "'VIEW_REFERENCE' is not allowed for role '%s' on reference", "disallowed_user"));
+  }
+
   @Test
   @TestSecurity(user = "disallowed_user")
   void testCommitDisallowed() {
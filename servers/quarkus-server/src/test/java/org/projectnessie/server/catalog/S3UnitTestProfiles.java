@@ -48,6 +48,16 @@ public abstract class S3UnitTestProfiles implements QuarkusTestProfile {
     }
   }
 
+  public static class S3VirtualThreadsUnitTestProfile extends S3UnitTestProfile {
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return ImmutableMap.<String, String>builder()
+          .putAll(super.getConfigOverrides())
+          .put("nessie.server.virtual-threads.enabled", "true")
+          .build();
+    }
+  }
+
   @Override
   public List<TestResourceEntry> testResources() {
     return Collections.singletonList(
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.projectnessie.model.ser.Views;
+import org.projectnessie.services.spi.PagedCountingResponseHandler;
+
+/**
+ * Writes the entries passed to {@link #addEntry(Object)} as newline-delimited JSON to an output
+ * stream, as soon as those are produced.
+ *
+ * <p>Writing to the output stream blocks while the client does not consume the response, which
+ * stops the production of entries. If the client disconnects, writing fails, and the resulting
+ * {@link UncheckedIOException} aborts the production of entries and closes the underlying
+ * iterators.
+ */
+final class NdjsonResponseHandler<E> extends PagedCountingResponseHandler<Void, E> {
+
+  private static final ObjectWriter WRITER =
+      new ObjectMapper()
+          .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+          .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .writerWithView(Views.V2.class);
+
+  /** Number of entries after which the written entries are flushed to the client. */
+  private static final int FLUSH_INTERVAL = 100;
+
+  private final JsonGenerator generator;
+  private int unflushed;
+
+  NdjsonResponseHandler(OutputStream output, Integer maxRecords) throws IOException {
+    super(maxRecords);
+    this.generator =
+        WRITER
+            .createGenerator(output)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .setRootValueSeparator(null);
+  }
+
+  @Override
+  protected boolean doAddEntry(E entry) {
+    try {
+      WRITER.writeValue(generator, entry);
+      generator.writeRaw('\n');
+      if (++unflushed == FLUSH_INTERVAL) {
+        generator.flush();
+        unflushed = 0;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return true;
+  }
+
+  @Override
+  public void hasMore(String pagingToken) {
+    // The number of entries has been limited by the client.
+  }
+
+  @Override
+  public Void build() {
+    try {
+      generator.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return null;
+  }
+}
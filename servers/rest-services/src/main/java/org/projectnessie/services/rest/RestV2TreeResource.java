@@ -17,13 +17,23 @@ package org.projectnessie.services.rest;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.api.v2.params.ReferenceResolver.resolveReferencePathElement;
+import static org.projectnessie.model.Validation.REF_NAME_PATH_ELEMENT_REGEX;
 import static org.projectnessie.services.impl.RefUtil.toReference;
 import static org.projectnessie.services.spi.TreeService.MAX_COMMIT_LOG_ENTRIES;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.BeanParam;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import org.projectnessie.api.v2.http.HttpTreeApi;
@@ -45,6 +55,7 @@ import org.projectnessie.model.ContentResponse;
 import org.projectnessie.model.DiffResponse;
 import org.projectnessie.model.DiffResponse.DiffEntry;
 import org.projectnessie.model.EntriesResponse;
+import org.projectnessie.model.FetchOption;
 import org.projectnessie.model.GetMultipleContentsRequest;
 import org.projectnessie.model.GetMultipleContentsResponse;
 import org.projectnessie.model.ImmutableCommitMeta;
@@ -66,7 +77,10 @@ import org.projectnessie.services.spi.ConfigService;
 import org.projectnessie.services.spi.ContentService;
 import org.projectnessie.services.spi.DiffService;
 import org.projectnessie.services.spi.PagedCountingResponseHandler;
+import org.projectnessie.services.spi.PagedResponseHandler;
 import org.projectnessie.services.spi.TreeService;
+import org.projectnessie.versioned.NamedRef;
+import org.projectnessie.versioned.WithHash;
 
 /** REST endpoint for the tree-API. */
 @RequestScoped
@@ -304,6 +318,191 @@ public class RestV2TreeResource implements HttpTreeApi {
             params.getFilter());
   }
 
+  /**
+   * Streams the entries of the given reference as newline-delimited JSON, for clients that accept
+   * {@value HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Produces(HttpTreeApi.APPLICATION_NDJSON)
+  @Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/entries")
+  public StreamingOutput streamEntries(
+      @PathParam("ref") String ref, @BeanParam EntriesParams params)
+      throws NessieNotFoundException {
+    ParsedReference reference = parseRefPathString(ref);
+    // Resolve the reference and check access before the response is committed, so that errors are
+    // reported with the right HTTP status.
+    List<WithHash<NamedRef>> effective = new ArrayList<>(1);
+    tree()
+        .getEntries(
+            reference.name(),
+            reference.hashWithRelativeSpec(),
+            null,
+            params.filter(),
+            params.pageToken(),
+            params.withContent(),
+            new ProbeResponseHandler<>(),
+            effective::add,
+            params.minKey(),
+            params.maxKey(),
+            params.prefixKey(),
+            params.getRequestedKeys());
+    String hash = effective.get(0).getHash().asString();
+    return streamingOutput(
+        output ->
+            tree()
+                .getEntries(
+                    reference.name(),
+                    hash,
+                    null,
+                    params.filter(),
+                    params.pageToken(),
+                    params.withContent(),
+                    new NdjsonResponseHandler<>(output, params.maxRecords()),
+                    h -> {},
+                    params.minKey(),
+                    params.maxKey(),
+                    params.prefixKey(),
+                    params.getRequestedKeys()));
+  }
+
+  /**
+   * Streams the commit log of the given reference as newline-delimited JSON, for clients that
+   * accept {@value HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Produces(HttpTreeApi.APPLICATION_NDJSON)
+  @Path("{ref:" + REF_NAME_PATH_ELEMENT_REGEX + "}/history")
+  public StreamingOutput streamCommitLog(
+      @PathParam("ref") String ref, @BeanParam CommitLogParams params)
+      throws NessieNotFoundException {
+    ParsedReference reference = parseRefPathString(ref);
+    // Resolve the reference and check access before the response is committed, so that errors are
+    // reported with the right HTTP status. The first log entry is the commit to stream from.
+    LogEntry youngest =
+        tree()
+            .getCommitLog(
+                reference.name(),
+                FetchOption.MINIMAL,
+                params.startHash(),
+                reference.hashWithRelativeSpec(),
+                params.filter(),
+                params.pageToken(),
+                new ProbeResponseHandler<>());
+    if (youngest == null) {
+      return output -> {};
+    }
+    String hash = youngest.getCommitMeta().getHash();
+    return streamingOutput(
+        output ->
+            tree()
+                .getCommitLog(
+                    reference.name(),
+                    params.fetchOption(),
+                    params.startHash(),
+                    hash,
+                    params.filter(),
+                    params.pageToken(),
+                    new NdjsonResponseHandler<>(output, params.maxRecords())));
+  }
+
+  /**
+   * Streams the differences between the given references as newline-delimited JSON, for clients
+   * that accept {@value HttpTreeApi#APPLICATION_NDJSON}.
+   */
+  @GET
+  @Produces(HttpTreeApi.APPLICATION_NDJSON)
+  @Path(
+      "{from-ref:"
+          + REF_NAME_PATH_ELEMENT_REGEX
+          + "}/diff/{to-ref:"
+          + REF_NAME_PATH_ELEMENT_REGEX
+          + "}")
+  public StreamingOutput streamDiff(@BeanParam DiffParams params) throws NessieNotFoundException {
+    ParsedReference from = parseRefPathString(params.getFromRef());
+    ParsedReference to = parseRefPathString(params.getToRef());
+    // Resolve the references and check access before the response is committed, so that errors
+    // are reported with the right HTTP status.
+    List<WithHash<NamedRef>> effectiveFrom = new ArrayList<>(1);
+    List<WithHash<NamedRef>> effectiveTo = new ArrayList<>(1);
+    diff()
+        .getDiff(
+            from.name(),
+            from.hashWithRelativeSpec(),
+            to.name(),
+            to.hashWithRelativeSpec(),
+            params.pageToken(),
+            new ProbeResponseHandler<>(),
+            effectiveFrom::add,
+            effectiveTo::add,
+            params.minKey(),
+            params.maxKey(),
+            params.prefixKey(),
+            params.getRequestedKeys(),
+            params.getFilter());
+    String fromHash = effectiveFrom.get(0).getHash().asString();
+    String toHash = effectiveTo.get(0).getHash().asString();
+    return streamingOutput(
+        output ->
+            diff()
+                .getDiff(
+                    from.name(),
+                    fromHash,
+                    to.name(),
+                    toHash,
+                    params.pageToken(),
+                    new NdjsonResponseHandler<>(output, params.maxRecords()),
+                    h -> {},
+                    h -> {},
+                    params.minKey(),
+                    params.maxKey(),
+                    params.prefixKey(),
+                    params.getRequestedKeys(),
+                    params.getFilter()));
+  }
+
+  @FunctionalInterface
+  private interface StreamingCall {
+    void stream(OutputStream output) throws IOException, NessieNotFoundException;
+  }
+
+  private static StreamingOutput streamingOutput(StreamingCall call) {
+    return output -> {
+      try {
+        call.stream(output);
+      } catch (UncheckedIOException e) {
+        // Usually the client disconnected, producing entries has been aborted.
+        throw e.getCause();
+      } catch (NessieNotFoundException e) {
+        // The reference has been deleted after it has been resolved.
+        throw new IOException(e);
+      }
+    };
+  }
+
+  /**
+   * Rejects all entries, only remembers the first one, used to resolve references and check access
+   * before a streaming response is started.
+   */
+  private static final class ProbeResponseHandler<E> implements PagedResponseHandler<E, E> {
+    private E first;
+
+    @Override
+    public boolean addEntry(E entry) {
+      if (first == null) {
+        first = entry;
+      }
+      return false;
+    }
+
+    @Override
+    public void hasMore(String pagingToken) {}
+
+    @Override
+    public E build() {
+      return first;
+    }
+  }
+
   @JsonView(Views.V2.class)
   @Override
   public SingleReferenceResponse assignReference(String type, String ref, Reference assignTo)
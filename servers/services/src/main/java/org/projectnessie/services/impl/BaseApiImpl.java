@@ -27,8 +27,10 @@ import com.google.common.collect.ImmutableMap;
 import jakarta.annotation.Nullable;
 import java.security.Principal;
 import java.time.Instant;
+import java.util.Set;
 import java.util.function.IntFunction;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.projectnessie.cel.tools.Script;
 import org.projectnessie.cel.tools.ScriptException;
 import org.projectnessie.model.CommitMeta;
@@ -115,6 +117,39 @@ public abstract class BaseApiImpl {
     return getAuthorizer().startAccessCheck(accessContext);
   }
 
+  /**
+   * Like {@link #startAccessCheck()}, but the identity of the current caller is resolved eagerly.
+   * Must be used for access checks that may run on another thread, like commit validators, which
+   * are run by another committer's thread when commits are queued.
+   */
+  protected Supplier<BatchAccessChecker> callerAccessCheck() {
+    AccessContext caller = resolvedAccessContext(accessContext);
+    Authorizer authorizer = getAuthorizer();
+    return () -> authorizer.startAccessCheck(caller);
+  }
+
+  private static AccessContext resolvedAccessContext(AccessContext context) {
+    Principal user = context.user();
+    Set<String> roleIds = user != null ? Set.copyOf(context.roleIds()) : Set.of();
+    boolean anonymous = user == null || context.isAnonymous();
+    return new AccessContext() {
+      @Override
+      public Principal user() {
+        return user;
+      }
+
+      @Override
+      public Set<String> roleIds() {
+        return roleIds;
+      }
+
+      @Override
+      public boolean isAnonymous() {
+        return anonymous;
+      }
+    };
+  }
+
   protected MetadataRewriter<CommitMeta> commitMetaUpdate(
       @Nullable CommitMeta commitMeta, IntFunction<String> squashMessage) {
     Principal principal = getPrincipal();
@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.projectnessie.api.v1.NamespaceApi;
 import org.projectnessie.api.v1.params.NamespaceParams;
@@ -358,6 +359,7 @@ public class NamespaceApiImpl extends BaseApiImpl implements NamespaceService {
 
   private Hash commit(BranchName branch, String commitMsg, Operation contentOperation)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    Supplier<BatchAccessChecker> accessCheck = callerAccessCheck();
     return getStore()
         .commit(
             branch,
@@ -366,7 +368,7 @@ public class NamespaceApiImpl extends BaseApiImpl implements NamespaceService {
                 .rewriteSingle(CommitMeta.fromMessage(commitMsg)),
             Collections.singletonList(contentOperation),
             validation -> {
-              BatchAccessChecker check = startAccessCheck().canCommitChangeAgainstReference(branch);
+              BatchAccessChecker check = accessCheck.get().canCommitChangeAgainstReference(branch);
               validation
                   .operations()
                   .forEach(
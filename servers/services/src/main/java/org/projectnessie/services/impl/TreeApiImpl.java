@@ -1093,7 +1093,7 @@ public class TreeApiImpl extends BaseApiImpl implements TreeService {
     // checks almost never changes. Therefore, we use RetriableAccessChecker to avoid re-validating
     // access checks (which could be a time-consuming operation) on subsequent retries, unless
     // authorization input data changes.
-    RetriableAccessChecker accessChecker = new RetriableAccessChecker(this::startAccessCheck);
+    RetriableAccessChecker accessChecker = new RetriableAccessChecker(callerAccessCheck());
     return validation -> {
       BatchAccessChecker check = accessChecker.newAttempt();
       check.canCommitChangeAgainstReference(branchName);
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2022 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.services.impl;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.services.authz.AbstractBatchAccessChecker;
+import org.projectnessie.services.authz.AccessContext;
+import org.projectnessie.services.authz.BatchAccessChecker;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCallerAccessCheck {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @Test
+  public void identityResolvedEagerly() {
+    AtomicReference<String> currentUser = new AtomicReference<>("alice");
+    AccessContext requestContext =
+        new AccessContext() {
+          @Override
+          public Principal user() {
+            String name = currentUser.get();
+            return () -> name;
+          }
+
+          @Override
+          public Set<String> roleIds() {
+            return Set.of(currentUser.get() + "-role");
+          }
+        };
+    AtomicReference<AccessContext> checkedContext = new AtomicReference<>();
+    TreeApiImpl api =
+        new TreeApiImpl(
+            null,
+            null,
+            context -> {
+              checkedContext.set(context);
+              return AbstractBatchAccessChecker.NOOP_ACCESS_CHECKER;
+            },
+            requestContext);
+
+    Supplier<BatchAccessChecker> accessCheck = api.callerAccessCheck();
+
+    // Simulates running the access check for another request, for example by a commit queue leader
+    currentUser.set("bob");
+    accessCheck.get();
+
+    soft.assertThat(checkedContext.get().user().getName()).isEqualTo("alice");
+    soft.assertThat(checkedContext.get().roleIds()).containsExactly("alice-role");
+    soft.assertThat(checkedContext.get().isAnonymous()).isFalse();
+  }
+
+  @Test
+  public void nullUser() {
+    AtomicReference<AccessContext> checkedContext = new AtomicReference<>();
+    TreeApiImpl api =
+        new TreeApiImpl(
+            null,
+            null,
+            context -> {
+              checkedContext.set(context);
+              return AbstractBatchAccessChecker.NOOP_ACCESS_CHECKER;
+            },
+            () -> null);
+
+    api.callerAccessCheck().get();
+
+    soft.assertThat(checkedContext.get().user()).isNull();
+    soft.assertThat(checkedContext.get().roleIds()).isEmpty();
+    soft.assertThat(checkedContext.get().isAnonymous()).isTrue();
+  }
+}
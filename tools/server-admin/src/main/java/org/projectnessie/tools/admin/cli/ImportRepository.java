@@ -23,8 +23,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Locale;
 import org.projectnessie.versioned.transfer.ExportImportConstants;
 import org.projectnessie.versioned.transfer.ImportResult;
+import org.projectnessie.versioned.transfer.ImportStageStats;
 import org.projectnessie.versioned.transfer.NessieImporter;
 import org.projectnessie.versioned.transfer.ProgressEvent;
 import org.projectnessie.versioned.transfer.ProgressListener;
@@ -46,6 +48,7 @@ public class ImportRepository extends BaseCommand {
   static final String ERASE_BEFORE_IMPORT = "--erase-before-import";
   static final String INPUT_BUFFER_SIZE = "--input-buffer-size";
   static final String COMMIT_BATCH_SIZE = "--commit-batch-size";
+  static final String WRITE_CONCURRENCY = "--write-concurrency";
 
   @CommandLine.Option(
       names = {"-p", PATH},
@@ -65,6 +68,14 @@ public class ImportRepository extends BaseCommand {
               + ".")
   private Integer commitBatchSize;
 
+  @CommandLine.Option(
+      names = WRITE_CONCURRENCY,
+      description =
+          "Number of batches written concurrently, defaults to "
+              + ExportImportConstants.DEFAULT_IMPORT_WRITE_CONCURRENCY
+              + ".")
+  private Integer writeConcurrency;
+
   @CommandLine.Option(
       names = INPUT_BUFFER_SIZE,
       description =
@@ -96,6 +107,9 @@ public class ImportRepository extends BaseCommand {
       if (commitBatchSize != null) {
         builder.commitBatchSize(commitBatchSize);
       }
+      if (writeConcurrency != null) {
+        builder.importWriteConcurrency(writeConcurrency);
+      }
 
       if (erase) {
         spec.commandLine().getOut().println("Erasing repository...");
@@ -242,6 +256,19 @@ public class ImportRepository extends BaseCommand {
       }
     }
 
+    @Override
+    public void importStageStats(@Nonnull ProgressEvent phase, @Nonnull ImportStageStats stats) {
+      endPhase();
+      dot = false;
+      out.printf(
+          "  %s stage: %d items using %d threads, %.1f items/s, %.0f%% utilization%n",
+          stats.stage().name().toLowerCase(Locale.ROOT),
+          stats.items(),
+          stats.threads(),
+          stats.itemsPerSecond(),
+          stats.utilization() * 100d);
+    }
+
     private Duration totalDuration() {
       return Duration.ofNanos(System.nanoTime() - timeOffset);
     }
@@ -38,6 +38,7 @@ dependencies {
 
   implementation(libs.guava)
   implementation(libs.slf4j.api)
+  implementation(libs.micrometer.core)
 
   compileOnly(libs.immutables.builder)
   compileOnly(libs.immutables.value.annotations)
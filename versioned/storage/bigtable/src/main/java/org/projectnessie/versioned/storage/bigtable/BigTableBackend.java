@@ -65,6 +65,7 @@ public final class BigTableBackend implements Backend {
   final String tableObjs;
   final TableId tableRefsId;
   final TableId tableObjsId;
+  final BigTableMetrics metrics;
 
   public BigTableBackend(@Nonnull BigTableBackendConfig config) {
     this.config = config;
@@ -76,6 +77,7 @@ public final class BigTableBackend implements Backend {
         config.tablePrefix().map(prefix -> prefix + '_' + TABLE_OBJS).orElse(TABLE_OBJS);
     this.tableRefsId = TableId.of(tableRefs);
     this.tableObjsId = TableId.of(tableObjs);
+    this.metrics = new BigTableMetrics(config.meterRegistry());
   }
 
   @Nonnull
@@ -17,6 +17,7 @@ package org.projectnessie.versioned.storage.bigtable;
 
 import com.google.cloud.bigtable.admin.v2.BigtableTableAdminClient;
 import com.google.cloud.bigtable.data.v2.BigtableDataClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.Nullable;
 import java.time.Duration;
 import java.util.Optional;
@@ -34,6 +35,9 @@ public interface BigTableBackendConfig {
   /** Total timeout (including retries) for Bigtable API calls. */
   Optional<Duration> totalApiTimeout();
 
+  /** Registry for the Bigtable operation metrics, no metrics are published if empty. */
+  Optional<MeterRegistry> meterRegistry();
+
   static ImmutableBigTableBackendConfig.Builder builder() {
     return ImmutableBigTableBackendConfig.builder();
   }
@@ -114,6 +114,11 @@ public final class BigTableClientsFactory {
    * factories.
    */
   public static void applyCommonDataClientSettings(BigtableDataSettings.Builder settings) {
+    // Let the bulk mutation batchers adjust the number of outstanding mutations to the observed
+    // latencies, and block when the limits are reached, instead of overloading the cluster with
+    // large imports or upserts.
+    settings.setBulkMutationFlowControl(true);
+
     EnhancedBigtableStubSettings.Builder stubSettings = settings.stubSettings();
 
     stubSettings
@@ -36,10 +36,18 @@ final class BigTableConstants {
   // Tue Apr 7 08:14:21 2020 +0200
   static final long CELL_TIMESTAMP = 1586232861000L;
 
-  static final int MAX_PARALLEL_READS = 5;
   static final int MAX_BULK_READS = 100;
   static final int MAX_BULK_MUTATIONS = 1000;
 
+  /** Maximum number of row keys in the row set of a single multi-row read. */
+  static final int MAX_ROW_SET_READ_KEYS = 500;
+
+  /** Maximum number of concurrent multi-row reads issued for a single multi-get. */
+  static final int MAX_CONCURRENT_ROW_SET_READS = 8;
+
+  /** Maximum number of in-flight {@code CheckAndMutateRow} requests issued by {@code storeObjs}. */
+  static final int MAX_CONCURRENT_CONDITIONAL_MUTATIONS = 100;
+
   static final Duration DEFAULT_BULK_READ_TIMEOUT = Duration.ofSeconds(5);
 
   private BigTableConstants() {}
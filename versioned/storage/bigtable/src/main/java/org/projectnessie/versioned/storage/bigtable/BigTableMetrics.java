@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.bigtable;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Publishes the sizes and latencies of multi-row Bigtable operations to the {@link
+ * BigTableBackendConfig#meterRegistry() configured meter registry}, if any. The meters are created
+ * once per operation, when the backend is constructed.
+ */
+final class BigTableMetrics {
+  static final String BATCH_SIZE_METRIC = "nessie.storage.bigtable.batch-size";
+  static final String BATCH_LATENCY_METRIC = "nessie.storage.bigtable.batch-latency";
+
+  enum Operation {
+    READ_ROWS("read-rows"),
+    STORE_OBJS("store-objs"),
+    UPSERT_OBJS("upsert-objs"),
+    DELETE_OBJS("delete-objs");
+
+    final String tag;
+
+    Operation(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final Map<Operation, DistributionSummary> batchSizes = new EnumMap<>(Operation.class);
+  private final Map<Operation, Timer> batchLatencies = new EnumMap<>(Operation.class);
+
+  BigTableMetrics(Optional<MeterRegistry> meterRegistry) {
+    meterRegistry.ifPresent(
+        registry -> {
+          for (Operation operation : Operation.values()) {
+            batchSizes.put(
+                operation,
+                DistributionSummary.builder(BATCH_SIZE_METRIC)
+                    .description("Number of rows per multi-row Bigtable operation")
+                    .baseUnit("rows")
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            batchLatencies.put(
+                operation,
+                Timer.builder(BATCH_LATENCY_METRIC)
+                    .description("Latency of multi-row Bigtable operations")
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+          }
+        });
+  }
+
+  void recordBatch(Operation operation, int size, long startNanos) {
+    DistributionSummary batchSize = batchSizes.get(operation);
+    if (batchSize != null && size > 0) {
+      batchSize.record(size);
+      batchLatencies.get(operation).record(System.nanoTime() - startNanos, NANOSECONDS);
+    }
+  }
+}
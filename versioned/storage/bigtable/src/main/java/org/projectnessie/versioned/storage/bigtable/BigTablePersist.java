@@ -25,12 +25,18 @@ import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.CEL
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.DEFAULT_BULK_READ_TIMEOUT;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.FAMILY_OBJS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.FAMILY_REFS;
-import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.MAX_PARALLEL_READS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.MAX_CONCURRENT_CONDITIONAL_MUTATIONS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.MAX_CONCURRENT_ROW_SET_READS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.MAX_ROW_SET_READ_KEYS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_OBJS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_OBJS_OR_VERS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_OBJ_VERS;
 import static org.projectnessie.versioned.storage.bigtable.BigTableConstants.QUALIFIER_REFS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableMetrics.Operation.DELETE_OBJS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableMetrics.Operation.READ_ROWS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableMetrics.Operation.STORE_OBJS;
+import static org.projectnessie.versioned.storage.bigtable.BigTableMetrics.Operation.UPSERT_OBJS;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromByteBuffer;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeObj;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializeReference;
@@ -61,13 +67,16 @@ import com.google.protobuf.ByteString;
 import jakarta.annotation.Nonnull;
 import java.lang.reflect.Array;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
@@ -85,17 +94,20 @@ import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.ObjTypes;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.common.util.CompressionPolicy;
 
 public class BigTablePersist implements Persist {
 
   private final BigTableBackend backend;
   private final StoreConfig config;
+  private final CompressionPolicy compressionPolicy;
   private final ByteString keyPrefix;
   private final long apiTimeoutMillis;
 
   BigTablePersist(BigTableBackend backend, StoreConfig config) {
     this.backend = backend;
     this.config = config;
+    this.compressionPolicy = CompressionPolicy.fromConfig(config);
     this.keyPrefix = copyFromUtf8(config.repositoryId() + ':');
     this.apiTimeoutMillis =
         backend.config().totalApiTimeout().orElse(DEFAULT_BULK_READ_TIMEOUT).toMillis();
@@ -151,13 +163,7 @@ public class BigTablePersist implements Persist {
   public Reference[] fetchReferences(@Nonnull String[] names) {
     try {
       Reference[] r = new Reference[names.length];
-      bulkFetch(
-          backend.tableRefsId,
-          names,
-          r,
-          this::dbKey,
-          BigTablePersist::referenceFromRow,
-          name -> {});
+      bulkFetch(backend.tableRefsId, names, r, this::dbKey, BigTablePersist::referenceFromRow);
       return r;
     } catch (ExecutionException | TimeoutException e) {
       throw new RuntimeException(e);
@@ -333,7 +339,7 @@ public class BigTablePersist implements Persist {
       @SuppressWarnings("unchecked")
       T[] r = (T[]) Array.newInstance(typeClass, ids.length);
 
-      bulkFetch(backend.tableObjsId, ids, r, this::dbKey, this::objFromRow, x -> {});
+      bulkFetch(backend.tableObjsId, ids, r, this::dbKey, this::objFromRow);
 
       if (type != null) {
         for (int i = 0; i < r.length; i++) {
@@ -408,28 +414,46 @@ public class BigTablePersist implements Persist {
       return new boolean[] {r};
     }
 
+    // Storing an object must not overwrite an existing object, which is not possible with bulk
+    // mutations. The number of in-flight conditional mutations is bounded instead.
+    long start = System.nanoTime();
+    int window = MAX_CONCURRENT_CONDITIONAL_MUTATIONS;
     @SuppressWarnings("unchecked")
     ApiFuture<Boolean>[] futures = new ApiFuture[objs.length];
+    boolean[] r = new boolean[objs.length];
     for (int i = 0; i < objs.length; i++) {
+      if (i >= window) {
+        r[i - window] = awaitStoreObj(futures[i - window]);
+      }
       Obj obj = objs[i];
       if (obj != null) {
         ConditionalRowMutation conditionalRowMutation = mutationForStoreObj(obj, false);
         futures[i] = backend.client().checkAndMutateRowAsync(conditionalRowMutation);
       }
     }
+    for (int i = Math.max(0, objs.length - window); i < objs.length; i++) {
+      r[i] = awaitStoreObj(futures[i]);
+    }
 
-    boolean[] r = new boolean[objs.length];
-    for (int i = 0; i < objs.length; i++) {
-      Obj o = objs[i];
-      if (o != null) {
-        try {
-          r[i] = !futures[i].get();
-        } catch (Exception e) {
-          throw new RuntimeException(e);
-        }
+    backend.metrics.recordBatch(STORE_OBJS, objs.length, start);
+    return r;
+  }
+
+  private static boolean awaitStoreObj(ApiFuture<Boolean> future) {
+    if (future == null) {
+      return false;
+    }
+    try {
+      return !future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ApiException) {
+        throw apiException((ApiException) e.getCause());
       }
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
     }
-    return r;
   }
 
   @Override
@@ -449,6 +473,7 @@ public class BigTablePersist implements Persist {
     if (ids.length == 0) {
       return;
     }
+    long start = System.nanoTime();
     try (Batcher<RowMutationEntry, Void> batcher =
         backend.client().newBulkMutationBatcher(backend.tableObjsId)) {
       for (ObjId id : ids) {
@@ -463,6 +488,7 @@ public class BigTablePersist implements Persist {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
     }
+    backend.metrics.recordBatch(DELETE_OBJS, ids.length, start);
   }
 
   @Override
@@ -475,7 +501,11 @@ public class BigTablePersist implements Persist {
 
       byte[] serialized =
           serializeObj(
-              obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), false);
+              obj,
+              effectiveIncrementalIndexSizeLimit(),
+              effectiveIndexSegmentSizeLimit(),
+              false,
+              compressionPolicy);
 
       backend
           .client()
@@ -491,6 +521,7 @@ public class BigTablePersist implements Persist {
       return;
     }
 
+    long start = System.nanoTime();
     try (Batcher<RowMutationEntry, Void> batcher =
         backend.client().newBulkMutationBatcher(backend.tableObjsId)) {
       for (Obj obj : objs) {
@@ -504,7 +535,11 @@ public class BigTablePersist implements Persist {
 
         byte[] serialized =
             serializeObj(
-                obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), false);
+                obj,
+                effectiveIncrementalIndexSizeLimit(),
+                effectiveIndexSegmentSizeLimit(),
+                false,
+                compressionPolicy);
 
         batcher.add(objToMutation(obj, RowMutationEntry.create(key), serialized));
       }
@@ -514,6 +549,7 @@ public class BigTablePersist implements Persist {
       Thread.currentThread().interrupt();
       throw new RuntimeException(e);
     }
+    backend.metrics.recordBatch(UPSERT_OBJS, objs.length, start);
   }
 
   @Override
@@ -568,7 +604,8 @@ public class BigTablePersist implements Persist {
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
     int indexSizeLimit =
         ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-    byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false);
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, false, compressionPolicy);
 
     return objToMutation(obj, Mutation.create(), serialized);
   }
@@ -681,53 +718,74 @@ public class BigTablePersist implements Persist {
     return deserializeObj(id, obj, versionToken);
   }
 
+  /**
+   * Fetches the rows for the given IDs using streaming multi-row reads with row sets of up to
+   * {@value BigTableConstants#MAX_ROW_SET_READ_KEYS} keys, with up to {@value
+   * BigTableConstants#MAX_CONCURRENT_ROW_SET_READS} reads in flight. Each distinct key is read only
+   * once.
+   */
   private <ID, R> void bulkFetch(
-      TableId tableId,
-      ID[] ids,
-      R[] r,
-      Function<ID, ByteString> keyGen,
-      Function<Row, R> resultGen,
-      Consumer<ID> notFound)
+      TableId tableId, ID[] ids, R[] r, Function<ID, ByteString> keyGen, Function<Row, R> resultGen)
       throws InterruptedException, ExecutionException, TimeoutException {
     int num = ids.length;
     if (num == 0) {
       return;
     }
 
-    ApiFuture<Row>[] handles;
-    if (num <= MAX_PARALLEL_READS) {
-      handles = doBulkFetch(ids, keyGen, key -> backend.client().readRowAsync(tableId, key));
-    } else {
-      try (Batcher<ByteString, Row> batcher = backend.client().newBulkReadRowsBatcher(tableId)) {
-        handles = doBulkFetch(ids, keyGen, batcher::add);
+    long start = System.nanoTime();
+    ByteString[] keys = new ByteString[num];
+    Map<ByteString, Integer> keyToIndex = new HashMap<>(num * 2);
+    List<ByteString> distinctKeys = new ArrayList<>(num);
+    for (int idx = 0; idx < num; idx++) {
+      ID id = ids[idx];
+      if (id != null) {
+        ByteString key = keyGen.apply(id);
+        keys[idx] = key;
+        if (keyToIndex.putIfAbsent(key, idx) == null) {
+          distinctKeys.add(key);
+        }
       }
     }
 
-    for (int idx = 0; idx < num; idx++) {
-      ApiFuture<Row> handle = handles[idx];
-      if (handle != null) {
-        Row row = handle.get(apiTimeoutMillis, MILLISECONDS);
-        if (row != null) {
-          r[idx] = resultGen.apply(row);
-        } else {
-          notFound.accept(ids[idx]);
+    Deque<ApiFuture<List<Row>>> inFlight = new ArrayDeque<>();
+    for (int offset = 0; offset < distinctKeys.size(); offset += MAX_ROW_SET_READ_KEYS) {
+      if (inFlight.size() == MAX_CONCURRENT_ROW_SET_READS) {
+        collectRows(inFlight.removeFirst(), keyToIndex, r, resultGen);
+      }
+      int end = Math.min(offset + MAX_ROW_SET_READ_KEYS, distinctKeys.size());
+      Query query = Query.create(tableId);
+      for (ByteString key : distinctKeys.subList(offset, end)) {
+        query.rowKey(key);
+      }
+      inFlight.addLast(backend.client().readRowsCallable().all().futureCall(query));
+    }
+    while (!inFlight.isEmpty()) {
+      collectRows(inFlight.removeFirst(), keyToIndex, r, resultGen);
+    }
+
+    if (distinctKeys.size() < num) {
+      for (int idx = 0; idx < num; idx++) {
+        ByteString key = keys[idx];
+        if (key != null && r[idx] == null) {
+          r[idx] = r[keyToIndex.get(key)];
         }
       }
     }
+
+    backend.metrics.recordBatch(READ_ROWS, distinctKeys.size(), start);
   }
 
-  private <ID> ApiFuture<Row>[] doBulkFetch(
-      ID[] ids, Function<ID, ByteString> keyGen, Function<ByteString, ApiFuture<Row>> handleGen) {
-    int num = ids.length;
-    @SuppressWarnings("unchecked")
-    ApiFuture<Row>[] handles = new ApiFuture[num];
-    for (int idx = 0; idx < num; idx++) {
-      ID id = ids[idx];
-      if (id != null) {
-        ByteString key = keyGen.apply(id);
-        handles[idx] = handleGen.apply(key);
+  private <R> void collectRows(
+      ApiFuture<List<Row>> rows,
+      Map<ByteString, Integer> keyToIndex,
+      R[] r,
+      Function<Row, R> resultGen)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    for (Row row : rows.get(apiTimeoutMillis, MILLISECONDS)) {
+      Integer idx = keyToIndex.get(row.getKey());
+      if (idx != null) {
+        r[idx] = resultGen.apply(row);
       }
     }
-    return handles;
   }
 }
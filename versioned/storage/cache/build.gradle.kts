@@ -35,6 +35,7 @@ dependencies {
   implementation(libs.guava)
   implementation(libs.caffeine)
   implementation(libs.micrometer.core)
+  implementation(libs.slf4j.api)
 
   compileOnly(libs.immutables.builder)
   compileOnly(libs.immutables.value.annotations)
@@ -30,7 +30,7 @@ import org.projectnessie.versioned.storage.common.persist.Reference;
  * Provides the cache primitives for a caching {@link Persist} facade, suitable for multiple
  * repositories. It is adviseable to have one {@link CacheBackend} per {@link Backend}.
  */
-public interface CacheBackend {
+public interface CacheBackend extends AutoCloseable {
   /**
    * Special sentinel reference instance to indicate that a referenc object has been marked as "not
    * found". This object is only for cache-internal purposes.
@@ -102,6 +102,10 @@ public interface CacheBackend {
 
   void putReferenceNegative(@Nonnull String repositoryId, @Nonnull String name);
 
+  /** Releases resources held by this cache backend, for example files of a disk tier. */
+  @Override
+  default void close() {}
+
   static CacheBackend noopCacheBackend() {
     return NoopCacheBackend.INSTANCE;
   }
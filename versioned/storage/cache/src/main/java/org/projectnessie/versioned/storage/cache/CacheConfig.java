@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.function.LongSupplier;
@@ -30,9 +31,35 @@ public interface CacheConfig {
   String INVALID_REFERENCE_NEGATIVE_TTL =
       "Cache reference-negative-TTL must only be present, if reference-TTL is configured, and must only be positive.";
   String INVALID_REFERENCE_TTL = "Cache reference-TTL must be positive, if present.";
+  String INVALID_OFF_HEAP_CAPACITY = "Cache off-heap capacity must not be negative.";
+  String INVALID_DISK_CAPACITY = "Cache disk capacity must be positive, if a disk path is present.";
 
   long capacityMb();
 
+  /**
+   * Capacity of the optional off-heap cache tier in MB, {@code 0} disables the off-heap tier.
+   *
+   * <p>Objects that are evicted from the on-heap cache due to size constraints are moved to the
+   * off-heap tier. The off-heap tier is allocated using direct byte buffers, make sure to configure
+   * a sufficiently large {@code -XX:MaxDirectMemorySize}.
+   */
+  @Value.Default
+  default long offHeapCapacityMb() {
+    return 0L;
+  }
+
+  /**
+   * Directory for the optional persistent disk cache tier, which holds immutable objects across
+   * restarts. The directory must be local to the Nessie instance and must not be shared.
+   */
+  Optional<Path> diskPath();
+
+  /** Capacity of the optional persistent disk cache tier in MB. */
+  @Value.Default
+  default long diskCapacityMb() {
+    return 0L;
+  }
+
   Optional<MeterRegistry> meterRegistry();
 
   Optional<Duration> referenceTtl();
@@ -50,6 +77,8 @@ public interface CacheConfig {
 
   @Value.Check
   default void check() {
+    checkState(offHeapCapacityMb() >= 0L, INVALID_OFF_HEAP_CAPACITY);
+    checkState(diskPath().isEmpty() || diskCapacityMb() > 0L, INVALID_DISK_CAPACITY);
     referenceTtl()
         .ifPresent(ttl -> checkState(ttl.compareTo(Duration.ZERO) > 0, INVALID_REFERENCE_TTL));
     referenceNegativeTtl()
@@ -64,6 +93,15 @@ public interface CacheConfig {
     @CanIgnoreReturnValue
     Builder capacityMb(long capacityMb);
 
+    @CanIgnoreReturnValue
+    Builder offHeapCapacityMb(long offHeapCapacityMb);
+
+    @CanIgnoreReturnValue
+    Builder diskPath(Path diskPath);
+
+    @CanIgnoreReturnValue
+    Builder diskCapacityMb(long diskCapacityMb);
+
     @CanIgnoreReturnValue
     Builder meterRegistry(MeterRegistry meterRegistry);
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.cache.CacheWarmupResult.cacheWarmupResult;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REFS;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REPO;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.projectnessie.versioned.storage.common.logic.PagedResult;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
+import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.common.persist.Reference;
+
+/**
+ * Loads the objects that are needed by the first requests after a restart into the objects cache.
+ *
+ * <p>Walks the most recently updated references plus the internal references and prefetches their
+ * head commits, the reference indexes and the reference index stripes in parallel via the given
+ * {@link Persist} instance, which should be a {@link CacheBackend#wrap(Persist) caching} one.
+ */
+public final class CacheWarmup {
+  /** Maximum number of object IDs fetched by a single {@code fetchObjs} call. */
+  static final int FETCH_BATCH_SIZE = 50;
+
+  private final Persist persist;
+  private final int maxReferences;
+  private final int parallelism;
+
+  private CacheWarmup(Persist persist, int maxReferences, int parallelism) {
+    checkArgument(maxReferences >= 0, "maxReferences must not be negative");
+    checkArgument(parallelism > 0, "parallelism must be positive");
+    this.persist = persist;
+    this.maxReferences = maxReferences;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Creates a new cache warm-up.
+   *
+   * @param persist the caching persist instance
+   * @param maxReferences number of most recently updated references to load
+   * @param parallelism number of concurrent object fetches
+   */
+  public static CacheWarmup cacheWarmup(Persist persist, int maxReferences, int parallelism) {
+    return new CacheWarmup(persist, maxReferences, parallelism);
+  }
+
+  public CacheWarmupResult warmUp() {
+    long start = System.nanoTime();
+
+    List<Reference> references = references();
+
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      Set<ObjId> headIds = new LinkedHashSet<>();
+      for (Reference reference : references) {
+        headIds.add(reference.pointer());
+      }
+
+      List<Obj> heads = fetchParallel(new ArrayList<>(headIds), executor);
+      Set<ObjId> indexIds = new LinkedHashSet<>();
+      for (Obj head : heads) {
+        if (head instanceof CommitObj) {
+          CommitObj commit = (CommitObj) head;
+          if (commit.referenceIndex() != null) {
+            indexIds.add(commit.referenceIndex());
+          }
+          for (IndexStripe stripe : commit.referenceIndexStripes()) {
+            indexIds.add(stripe.segment());
+          }
+        }
+      }
+
+      List<Obj> indexes = fetchParallel(new ArrayList<>(indexIds), executor);
+      Set<ObjId> stripeIds = new LinkedHashSet<>();
+      for (Obj index : indexes) {
+        if (index instanceof IndexSegmentsObj) {
+          for (IndexStripe stripe : ((IndexSegmentsObj) index).stripes()) {
+            stripeIds.add(stripe.segment());
+          }
+        }
+      }
+      stripeIds.removeAll(indexIds);
+
+      List<Obj> stripes = fetchParallel(new ArrayList<>(stripeIds), executor);
+
+      int objects = heads.size() + indexes.size() + stripes.size();
+      return cacheWarmupResult(
+          references.size(), objects, Duration.ofNanos(System.nanoTime() - start));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /** The internal references plus the {@code maxReferences} most recently updated references. */
+  private List<Reference> references() {
+    List<Reference> references = new ArrayList<>();
+    for (String internal : List.of(REF_REFS.name(), REF_REPO.name())) {
+      Reference ref = persist.fetchReference(internal);
+      if (ref != null) {
+        references.add(ref);
+      }
+    }
+
+    if (maxReferences > 0) {
+      Comparator<Reference> byLastUpdate = Comparator.comparingLong(CacheWarmup::lastUpdated);
+      PriorityQueue<Reference> mostRecent = new PriorityQueue<>(maxReferences + 1, byLastUpdate);
+      PagedResult<Reference, String> refs =
+          referenceLogic(persist).queryReferences(referencesQuery());
+      refs.forEachRemaining(
+          ref -> {
+            if (!ref.deleted()) {
+              mostRecent.add(ref);
+              if (mostRecent.size() > maxReferences) {
+                mostRecent.poll();
+              }
+            }
+          });
+      references.addAll(mostRecent);
+    }
+
+    return references;
+  }
+
+  private static long lastUpdated(Reference reference) {
+    return reference.previousPointers().isEmpty()
+        ? reference.createdAtMicros()
+        : reference.previousPointers().get(0).timestamp();
+  }
+
+  private List<Obj> fetchParallel(List<ObjId> ids, ExecutorService executor) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    int batchSize =
+        Math.max(1, Math.min(FETCH_BATCH_SIZE, (ids.size() + parallelism - 1) / parallelism));
+    List<CompletableFuture<Obj[]>> futures = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += batchSize) {
+      ObjId[] batch = ids.subList(i, Math.min(ids.size(), i + batchSize)).toArray(new ObjId[0]);
+      futures.add(CompletableFuture.supplyAsync(() -> persist.fetchObjsIfExist(batch), executor));
+    }
+
+    List<Obj> result = new ArrayList<>(ids.size());
+    for (CompletableFuture<Obj[]> future : futures) {
+      for (Obj obj : future.join()) {
+        if (obj != null) {
+          result.add(obj);
+        }
+      }
+    }
+    return result;
+  }
+}
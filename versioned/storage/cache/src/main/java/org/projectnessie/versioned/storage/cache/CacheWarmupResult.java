@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import java.time.Duration;
+import org.immutables.value.Value;
+
+/** Result of a {@link CacheWarmup cache warm-up}. */
+@Value.Immutable
+public interface CacheWarmupResult {
+  /** Number of references, including internal references, whose objects have been prefetched. */
+  @Value.Parameter(order = 1)
+  int references();
+
+  /** Number of objects that have been loaded into the cache. */
+  @Value.Parameter(order = 2)
+  int objects();
+
+  @Value.Parameter(order = 3)
+  Duration duration();
+
+  static CacheWarmupResult cacheWarmupResult(int references, int objects, Duration duration) {
+    return ImmutableCacheWarmupResult.of(references, objects, duration);
+  }
+}
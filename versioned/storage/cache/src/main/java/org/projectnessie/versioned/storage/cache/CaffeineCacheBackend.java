@@ -28,12 +28,17 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
 import jakarta.annotation.Nonnull;
 import java.time.Duration;
+import java.util.Optional;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.objtypes.UpdateableObj;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
@@ -44,10 +49,14 @@ import org.projectnessie.versioned.storage.serialize.ProtoSerialization;
 class CaffeineCacheBackend implements CacheBackend {
 
   public static final String CACHE_NAME = "nessie-objects";
+  public static final String OFF_HEAP_CACHE_NAME = "nessie-objects-off-heap";
+  public static final String DISK_CACHE_NAME = "nessie-objects-disk";
   private static final byte[] NON_EXISTING_SENTINEL = "NON_EXISTING".getBytes(UTF_8);
 
   private final CacheConfig config;
   final Cache<CacheKeyValue, byte[]> cache;
+  final OffHeapCacheTier offHeap;
+  final DiskCacheTier disk;
 
   private final long refCacheTtlNanos;
   private final long refCacheNegativeTtlNanos;
@@ -109,6 +118,58 @@ class CaffeineCacheBackend implements CacheBackend {
                   x -> config.capacityMb());
             });
 
+    long offHeapCapacityMb = config.offHeapCapacityMb();
+    if (offHeapCapacityMb > 0L) {
+      StatsCounter offHeapStats = StatsCounter.disabledStatsCounter();
+      Optional<MeterRegistry> meterRegistry = config.meterRegistry();
+      if (meterRegistry.isPresent()) {
+        offHeapStats = new CaffeineStatsCounter(meterRegistry.get(), OFF_HEAP_CACHE_NAME);
+        meterRegistry
+            .get()
+            .gauge(
+                "cache_capacity_mb",
+                singletonList(Tag.of("cache", OFF_HEAP_CACHE_NAME)),
+                "",
+                x -> config.offHeapCapacityMb());
+      }
+      this.offHeap =
+          new OffHeapCacheTier(
+              offHeapCapacityMb * 1024L * 1024L, config.clockNanos(), offHeapStats);
+      // Move objects that are evicted due to size constraints to the off-heap tier. Expired and
+      // explicitly invalidated entries must not be moved.
+      cacheBuilder.evictionListener(
+          (CacheKeyValue key, byte[] value, RemovalCause cause) -> {
+            if (cause == RemovalCause.SIZE
+                && key != null
+                && value != null
+                && value != NON_EXISTING_SENTINEL) {
+              offHeap.put(key, value);
+            }
+          });
+    } else {
+      this.offHeap = null;
+    }
+
+    if (config.diskPath().isPresent()) {
+      StatsCounter diskStats = StatsCounter.disabledStatsCounter();
+      Optional<MeterRegistry> meterRegistry = config.meterRegistry();
+      if (meterRegistry.isPresent()) {
+        diskStats = new CaffeineStatsCounter(meterRegistry.get(), DISK_CACHE_NAME);
+        meterRegistry
+            .get()
+            .gauge(
+                "cache_capacity_mb",
+                singletonList(Tag.of("cache", DISK_CACHE_NAME)),
+                "",
+                x -> config.diskCapacityMb());
+      }
+      this.disk =
+          new DiskCacheTier(
+              config.diskPath().get(), config.diskCapacityMb() * 1024L * 1024L, diskStats);
+    } else {
+      this.disk = null;
+    }
+
     this.cache = cacheBuilder.build();
   }
 
@@ -118,6 +179,13 @@ class CaffeineCacheBackend implements CacheBackend {
     return new CachingPersistImpl(persist, cache);
   }
 
+  @Override
+  public void close() {
+    if (disk != null) {
+      disk.close();
+    }
+  }
+
   private int weigher(CacheKeyValue key, byte[] value) {
     int size = key.heapSize();
     if (value != null) {
@@ -130,7 +198,14 @@ class CaffeineCacheBackend implements CacheBackend {
   @Override
   public Obj get(@Nonnull String repositoryId, @Nonnull ObjId id) {
     CacheKeyValue key = cacheKey(repositoryId, id);
-    byte[] value = cache.getIfPresent(key);
+    byte[] value = getIfPresent(key);
+    if (value == null && disk != null) {
+      value = disk.get(key);
+      if (value != null) {
+        // only immutable objects that can be cached forever are held in the disk tier
+        cache.put(cacheKeyValue(repositoryId, id, CACHE_UNLIMITED), value);
+      }
+    }
     if (value == null) {
       return null;
     }
@@ -140,6 +215,26 @@ class CaffeineCacheBackend implements CacheBackend {
     return ProtoSerialization.deserializeObj(id, value, null);
   }
 
+  private byte[] getIfPresent(CacheKeyValue key) {
+    byte[] value = cache.getIfPresent(key);
+    if (value == null && offHeap != null) {
+      CacheKeyValue[] holder = new CacheKeyValue[1];
+      value = offHeap.get(key, holder);
+      if (value != null) {
+        // promote back to the on-heap cache
+        cache.put(holder[0], value);
+      }
+    }
+    return value;
+  }
+
+  private void invalidate(CacheKeyValue key) {
+    cache.invalidate(key);
+    if (offHeap != null) {
+      offHeap.remove(key);
+    }
+  }
+
   @Override
   public void put(@Nonnull String repositoryId, @Nonnull Obj obj) {
     putLocal(repositoryId, obj);
@@ -161,6 +256,16 @@ class CaffeineCacheBackend implements CacheBackend {
           expiresAt == CACHE_UNLIMITED ? CACHE_UNLIMITED : MICROSECONDS.toNanos(expiresAt);
       CacheKeyValue keyValue = cacheKeyValue(repositoryId, obj.id(), expiresAtNanos);
       cache.put(keyValue, serialized);
+      if (offHeap != null) {
+        // an older version of an updateable object might still be present in the off-heap tier
+        offHeap.remove(keyValue);
+      }
+      if (disk != null
+          && expiresAt == CACHE_UNLIMITED
+          && !(obj instanceof UpdateableObj)
+          && !disk.contains(keyValue)) {
+        disk.put(keyValue, serialized);
+      }
     } catch (ObjTooLargeException e) {
       // this should never happen
       throw new RuntimeException(e);
@@ -182,17 +287,32 @@ class CaffeineCacheBackend implements CacheBackend {
     CacheKeyValue keyValue = cacheKeyValue(repositoryId, id, expiresAtNanos);
 
     cache.put(keyValue, NON_EXISTING_SENTINEL);
+    if (offHeap != null) {
+      offHeap.remove(keyValue);
+    }
+    if (disk != null) {
+      disk.remove(keyValue);
+    }
   }
 
   @Override
   public void remove(@Nonnull String repositoryId, @Nonnull ObjId id) {
     CacheKeyValue key = cacheKey(repositoryId, id);
-    cache.invalidate(key);
+    invalidate(key);
+    if (disk != null) {
+      disk.remove(key);
+    }
   }
 
   @Override
   public void clear(@Nonnull String repositoryId) {
     cache.asMap().keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    if (offHeap != null) {
+      offHeap.clear(repositoryId);
+    }
+    if (disk != null) {
+      disk.clear(repositoryId);
+    }
   }
 
   private ObjId refObjId(String name) {
@@ -206,7 +326,7 @@ class CaffeineCacheBackend implements CacheBackend {
     }
     ObjId id = refObjId(name);
     CacheKeyValue key = cacheKey(repositoryId, id);
-    cache.invalidate(key);
+    invalidate(key);
   }
 
   @Override
@@ -223,6 +343,9 @@ class CaffeineCacheBackend implements CacheBackend {
     CacheKeyValue key =
         cacheKeyValue(repositoryId, id, config.clockNanos().getAsLong() + refCacheTtlNanos);
     cache.put(key, serializeReference(r));
+    if (offHeap != null) {
+      offHeap.remove(key);
+    }
   }
 
   @Override
@@ -234,6 +357,9 @@ class CaffeineCacheBackend implements CacheBackend {
     CacheKeyValue key =
         cacheKeyValue(repositoryId, id, config.clockNanos().getAsLong() + refCacheNegativeTtlNanos);
     cache.put(key, NON_EXISTING_SENTINEL);
+    if (offHeap != null) {
+      offHeap.remove(key);
+    }
   }
 
   @Override
@@ -243,7 +369,7 @@ class CaffeineCacheBackend implements CacheBackend {
     }
     ObjId id = refObjId(name);
     CacheKeyValue keyValue = cacheKey(repositoryId, id);
-    byte[] bytes = cache.getIfPresent(keyValue);
+    byte[] bytes = getIfPresent(keyValue);
     if (bytes == NON_EXISTING_SENTINEL) {
       return NON_EXISTENT_REFERENCE_SENTINEL;
     }
@@ -0,0 +1,569 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.CacheKeyValue;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache tier that holds serialized immutable objects in local files, so that the cache
+ * is warm after a restart.
+ *
+ * <p>Cached objects are appended to segment files in the configured directory. When the current
+ * segment is full, a new segment file is created and the oldest segment files are deleted, if the
+ * total size exceeds the configured capacity, evicting all entries in those segments. Removals are
+ * recorded as tombstones, so that removed objects do not re-appear after a restart.
+ *
+ * <p>The index of cache keys to segment locations is kept on heap and rebuilt from the segment
+ * files during startup. Segment files are never modified after they have been closed. Incomplete
+ * records at the end of a segment file, for example after a crash, are ignored. Values are
+ * verified against a checksum when being read.
+ *
+ * <p>Records are appended by a single writer thread, so that callers do not wait for disk I/O.
+ * Removals take effect immediately, pending puts are limited to the size of one segment, further
+ * puts are dropped until the writer caught up.
+ *
+ * <p>The directory must not be shared by multiple processes, which is enforced using a file lock.
+ */
+final class DiskCacheTier implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiskCacheTier.class);
+
+  static final int MIN_SEGMENT_SIZE = 1024 * 1024;
+  static final int MAX_SEGMENT_SIZE = 256 * 1024 * 1024;
+  static final int MIN_SEGMENTS = 8;
+  static final long CLOSE_TIMEOUT_SECONDS = 30L;
+
+  static final String LOCK_FILE = "cache.lock";
+  static final Pattern SEGMENT_FILE = Pattern.compile("segment-([0-9]+)[.]bin");
+
+  private static final byte KIND_PUT = 1;
+  private static final byte KIND_REMOVE = 2;
+  private static final byte KIND_CLEAR = 3;
+
+  /** Record length and value checksum. */
+  private static final int RECORD_HEADER = 8;
+
+  /** Kind, repository ID length and object ID length. */
+  private static final int KEY_HEADER = 4;
+
+  private static final byte[] NO_BYTES = new byte[0];
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final StatsCounter stats;
+
+  private final Map<CacheKeyValue, Location> index = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<Long, FileChannel> segments = new ConcurrentSkipListMap<>();
+
+  /** Guards segment files against being deleted while being read. */
+  private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+
+  /** Serializes appends to the current segment and the corresponding index updates. */
+  private final Lock appendLock = new ReentrantLock();
+
+  private final FileChannel lockChannel;
+  private final FileLock fileLock;
+
+  private final ExecutorService writer;
+  private final AtomicLong pendingPutBytes = new AtomicLong();
+
+  private long currentSegment;
+  private long writeOffset;
+  private boolean closed;
+
+  DiskCacheTier(Path directory, long capacityBytes, StatsCounter stats) {
+    this.directory = directory;
+    this.stats = stats;
+
+    long segSize = capacityBytes / MIN_SEGMENTS;
+    segSize = Math.max(MIN_SEGMENT_SIZE, Math.min(MAX_SEGMENT_SIZE, segSize));
+    this.segmentSize = (int) segSize;
+    this.maxSegments = (int) Math.max(MIN_SEGMENTS, capacityBytes / segSize);
+
+    try {
+      Files.createDirectories(directory);
+      this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), CREATE, WRITE);
+      this.fileLock = tryLock(lockChannel);
+      if (fileLock == null) {
+        lockChannel.close();
+        throw new IllegalStateException(
+            "Disk cache directory " + directory + " is used by another process");
+      }
+
+      long loaded = System.nanoTime();
+      List<Long> existing = existingSegments();
+      for (Long seq : existing) {
+        if (Files.size(segmentFile(seq)) == 0L) {
+          // do not let empty segments from previous runs count against the capacity
+          Files.delete(segmentFile(seq));
+          continue;
+        }
+        segments.put(seq, FileChannel.open(segmentFile(seq), READ));
+        loadSegment(seq);
+      }
+      currentSegment = existing.isEmpty() ? 0L : existing.get(existing.size() - 1) + 1L;
+      newSegment();
+      LOGGER.info(
+          "Loaded {} entries from {} disk cache segments in {} in {} ms",
+          index.size(),
+          segments.size() - 1,
+          directory,
+          (System.nanoTime() - loaded) / 1_000_000L);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open disk cache in " + directory, e);
+    }
+
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              Thread t = new Thread(r, "nessie-disk-cache-writer");
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  long capacityBytes() {
+    return (long) maxSegments * segmentSize;
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  boolean contains(CacheKeyValue key) {
+    return index.containsKey(key);
+  }
+
+  /** Returns the serialized value for the given key or {@code null}. */
+  byte[] get(CacheKeyValue key) {
+    Location loc = index.get(key);
+    if (loc == null) {
+      stats.recordMisses(1);
+      return null;
+    }
+
+    byte[] value = new byte[loc.length];
+    segmentsLock.readLock().lock();
+    try {
+      FileChannel channel = segments.get(loc.segment);
+      if (channel == null) {
+        // segment has been evicted concurrently
+        stats.recordMisses(1);
+        return null;
+      }
+      readFully(channel, ByteBuffer.wrap(value), loc.offset);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read from disk cache segment {}", loc.segment, e);
+      index.remove(key, loc);
+      stats.recordMisses(1);
+      return null;
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    if (crc(value) != loc.crc) {
+      LOGGER.warn("Checksum mismatch for {} in disk cache segment {}", key, loc.segment);
+      index.remove(key, loc);
+      stats.recordMisses(1);
+      return null;
+    }
+
+    stats.recordHits(1);
+    return value;
+  }
+
+  /**
+   * Asynchronously adds a serialized value, values larger than a segment are silently ignored.
+   * Already present keys are not written again.
+   */
+  void put(CacheKeyValue key, byte[] value) {
+    int length = value.length;
+    if (pendingPutBytes.addAndGet(length) > segmentSize) {
+      pendingPutBytes.addAndGet(-length);
+      return;
+    }
+    submit(
+        () -> {
+          try {
+            if (!index.containsKey(key)) {
+              append(KIND_PUT, key.repositoryId, key.id, value);
+            }
+          } finally {
+            pendingPutBytes.addAndGet(-length);
+          }
+        });
+  }
+
+  void remove(CacheKeyValue key) {
+    boolean present = index.remove(key) != null;
+    // A pending put for the same key might have been appended in the meantime.
+    submit(
+        () -> {
+          if (present || index.containsKey(key)) {
+            append(KIND_REMOVE, key.repositoryId, key.id, null);
+          }
+        });
+  }
+
+  void clear(String repositoryId) {
+    boolean present = index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+    submit(
+        () -> {
+          if (present
+              || index.keySet().stream().anyMatch(k -> k.repositoryId.equals(repositoryId))) {
+            append(KIND_CLEAR, repositoryId, null, null);
+          }
+        });
+  }
+
+  /** Waits until all previously submitted writes have been appended. */
+  void flush() {
+    try {
+      writer.submit(() -> {}).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private void submit(Runnable write) {
+    try {
+      writer.execute(write);
+    } catch (RejectedExecutionException e) {
+      // closed
+    }
+  }
+
+  /**
+   * Appends all pending writes, then closes the segment files and releases the file lock. Can be
+   * called multiple times.
+   */
+  @Override
+  public void close() {
+    writer.shutdown();
+    try {
+      if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        LOGGER.warn("Timed out appending pending writes to the disk cache in {}", directory);
+        writer.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writer.shutdownNow();
+    }
+
+    appendLock.lock();
+    segmentsLock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      for (FileChannel channel : segments.values()) {
+        channel.close();
+      }
+      segments.clear();
+      index.clear();
+      fileLock.release();
+      lockChannel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+      appendLock.unlock();
+    }
+  }
+
+  private void append(byte kind, String repositoryId, ObjId id, byte[] value) {
+    byte[] repo = repositoryId.getBytes(UTF_8);
+    byte[] idBytes = id != null ? id.asByteArray() : NO_BYTES;
+    byte[] val = value != null ? value : NO_BYTES;
+    int keyLength = KEY_HEADER + repo.length + idBytes.length;
+    int recordLength = RECORD_HEADER + keyLength + val.length;
+    if (recordLength > segmentSize || repo.length > 0xffff || idBytes.length > 0xff) {
+      return;
+    }
+
+    int crc = crc(val);
+    ByteBuffer record =
+        ByteBuffer.allocate(recordLength)
+            .putInt(keyLength + val.length)
+            .putInt(crc)
+            .put(kind)
+            .putShort((short) repo.length)
+            .put(repo)
+            .put((byte) idBytes.length)
+            .put(idBytes)
+            .put(val);
+    record.flip();
+
+    appendLock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      if (writeOffset + recordLength > segmentSize) {
+        newSegment();
+      }
+      FileChannel channel = segments.get(currentSegment);
+      long offset = writeOffset;
+      writeFully(channel, record, offset);
+      writeOffset += recordLength;
+
+      CacheKeyValue key = id != null ? new CacheKeyValue(repositoryId, id) : null;
+      switch (kind) {
+        case KIND_PUT:
+          index.put(
+              key,
+              new Location(
+                  currentSegment, offset + RECORD_HEADER + keyLength, val.length, crc));
+          break;
+        case KIND_REMOVE:
+          index.remove(key);
+          break;
+        case KIND_CLEAR:
+          index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown record kind " + kind);
+      }
+    } catch (IOException e) {
+      // The disk cache is best-effort, do not fail the caller.
+      LOGGER.warn("Failed to write to disk cache in {}", directory, e);
+      if (id != null) {
+        index.remove(new CacheKeyValue(repositoryId, id));
+      } else {
+        index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+      }
+    } finally {
+      appendLock.unlock();
+    }
+  }
+
+  /** Must be called while holding the append lock (or from the constructor). */
+  private void newSegment() throws IOException {
+    if (!segments.isEmpty() && segments.lastKey() == currentSegment) {
+      currentSegment++;
+    }
+    FileChannel channel = FileChannel.open(segmentFile(currentSegment), CREATE_NEW, READ, WRITE);
+    segments.put(currentSegment, channel);
+    writeOffset = 0L;
+
+    while (segments.size() > maxSegments) {
+      evictSegment(segments.firstKey());
+    }
+  }
+
+  private void evictSegment(long seq) throws IOException {
+    segmentsLock.writeLock().lock();
+    try {
+      FileChannel channel = segments.remove(seq);
+      if (channel != null) {
+        channel.close();
+      }
+      Files.deleteIfExists(segmentFile(seq));
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+
+    List<Location> evicted = new ArrayList<>();
+    index
+        .entrySet()
+        .removeIf(
+            e -> {
+              Location loc = e.getValue();
+              if (loc.segment == seq) {
+                evicted.add(loc);
+                return true;
+              }
+              return false;
+            });
+    for (Location loc : evicted) {
+      stats.recordEviction(loc.length, RemovalCause.SIZE);
+    }
+  }
+
+  private List<Long> existingSegments() throws IOException {
+    List<Long> existing = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(
+          f -> {
+            Matcher m = SEGMENT_FILE.matcher(f.getFileName().toString());
+            if (m.matches()) {
+              existing.add(Long.parseLong(m.group(1)));
+            }
+          });
+    }
+    existing.sort(Long::compare);
+    return existing;
+  }
+
+  private void loadSegment(long seq) throws IOException {
+    Path file = segmentFile(seq);
+    long size = Files.size(file);
+    long offset = 0L;
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 65536))) {
+      while (offset + RECORD_HEADER + KEY_HEADER <= size) {
+        int length = in.readInt();
+        int crc = in.readInt();
+        if (length < KEY_HEADER || offset + RECORD_HEADER + length > size) {
+          break;
+        }
+        byte kind = in.readByte();
+        int repoLength = in.readUnsignedShort();
+        if (KEY_HEADER + repoLength > length) {
+          break;
+        }
+        byte[] repo = new byte[repoLength];
+        in.readFully(repo);
+        int idLength = in.readUnsignedByte();
+        int keyLength = KEY_HEADER + repoLength + idLength;
+        if (keyLength > length) {
+          break;
+        }
+        byte[] id = new byte[idLength];
+        in.readFully(id);
+        int valueLength = length - keyLength;
+
+        String repositoryId = new String(repo, UTF_8);
+        if (kind == KIND_PUT) {
+          index.put(
+              new CacheKeyValue(repositoryId, ObjId.objIdFromByteArray(id)),
+              new Location(seq, offset + RECORD_HEADER + keyLength, valueLength, crc));
+        } else if (kind == KIND_REMOVE) {
+          index.remove(new CacheKeyValue(repositoryId, ObjId.objIdFromByteArray(id)));
+        } else if (kind == KIND_CLEAR) {
+          index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+        } else {
+          break;
+        }
+
+        skipFully(in, valueLength);
+        offset += RECORD_HEADER + length;
+      }
+    } catch (EOFException e) {
+      // incomplete record at the end of the segment
+    }
+  }
+
+  private Path segmentFile(long seq) {
+    return directory.resolve(String.format("segment-%016d.bin", seq));
+  }
+
+  private static FileLock tryLock(FileChannel channel) throws IOException {
+    try {
+      return channel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      // locked by this process
+      return null;
+    }
+  }
+
+  private static int crc(byte[] value) {
+    CRC32 crc = new CRC32();
+    crc.update(value, 0, value.length);
+    return (int) crc.getValue();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer target, long position)
+      throws IOException {
+    while (target.hasRemaining()) {
+      int rd = channel.read(target, position);
+      if (rd < 0) {
+        throw new EOFException();
+      }
+      position += rd;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer source, long position)
+      throws IOException {
+    while (source.hasRemaining()) {
+      position += channel.write(source, position);
+    }
+  }
+
+  private static void skipFully(InputStream in, long n) throws IOException {
+    while (n > 0L) {
+      long skipped = in.skip(n);
+      if (skipped <= 0L) {
+        if (in.read() < 0) {
+          throw new EOFException();
+        }
+        skipped = 1L;
+      }
+      n -= skipped;
+    }
+  }
+
+  private static final class Location {
+    final long segment;
+    final long offset;
+    final int length;
+    final int crc;
+
+    Location(long segment, long offset, int length, int crc) {
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+      this.crc = crc;
+    }
+  }
+}
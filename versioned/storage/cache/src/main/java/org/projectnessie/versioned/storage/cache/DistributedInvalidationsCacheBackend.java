@@ -53,6 +53,11 @@ final class DistributedInvalidationsCacheBackend implements CacheBackend {
     return new CachingPersistImpl(persist, cache);
   }
 
+  @Override
+  public void close() {
+    local.close();
+  }
+
   @Override
   public Obj get(@Nonnull String repositoryId, @Nonnull ObjId id) {
     return local.get(repositoryId, id);
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.versioned.storage.common.persist.ObjType.CACHE_UNLIMITED;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.CacheKeyValue;
+
+/**
+ * Second level cache tier that holds serialized values, which were evicted from the on-heap
+ * Caffeine cache, in off-heap memory.
+ *
+ * <p>The off-heap memory is split into a fixed number of equally sized segments, allocated as
+ * direct {@link ByteBuffer}s. Values are appended to the current segment. When the current segment
+ * is full, the next segment is reused, evicting all entries that were written to that segment. This
+ * "segmented FIFO" approach keeps the memory usage strictly bounded and does not require any
+ * per-entry memory management, the only on-heap structures are the index of cache keys to segment
+ * locations.
+ *
+ * <p>The total size of all segments never exceeds the configured capacity. Small capacities are
+ * split into {@link #MIN_SEGMENTS} segments, segments do not grow beyond {@link #MAX_SEGMENT_SIZE}.
+ */
+final class OffHeapCacheTier {
+
+  static final int MIN_SEGMENT_SIZE = 16 * 1024;
+  static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  static final int MIN_SEGMENTS = 4;
+
+  private final ByteBuffer[] segments;
+  private final List<List<Location>> segmentEntries;
+  private final int segmentSize;
+  private final Map<CacheKeyValue, Location> index = new ConcurrentHashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongSupplier clockNanos;
+  private final StatsCounter stats;
+
+  private int currentSegment;
+  private int writeOffset;
+
+  OffHeapCacheTier(long capacityBytes, LongSupplier clockNanos, StatsCounter stats) {
+    this.clockNanos = clockNanos;
+    this.stats = stats;
+
+    checkArgument(
+        capacityBytes >= (long) MIN_SEGMENTS * MIN_SEGMENT_SIZE,
+        "Off-heap cache capacity of %s bytes is too small, must be at least %s bytes",
+        capacityBytes,
+        (long) MIN_SEGMENTS * MIN_SEGMENT_SIZE);
+
+    // Rounding down keeps the total size of all segments within the capacity.
+    long segSize = Math.min(MAX_SEGMENT_SIZE, capacityBytes / MIN_SEGMENTS);
+    int numSegments = (int) (capacityBytes / segSize);
+
+    this.segmentSize = (int) segSize;
+    this.segments = new ByteBuffer[numSegments];
+    this.segmentEntries = new ArrayList<>(numSegments);
+    for (int i = 0; i < numSegments; i++) {
+      segmentEntries.add(new ArrayList<>());
+    }
+  }
+
+  long capacityBytes() {
+    return (long) segments.length * segmentSize;
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  /**
+   * Returns the serialized value for the given key or {@code null}. {@code holder[0]} receives the
+   * original cache key including its expiration timestamp, if the value is present.
+   */
+  byte[] get(CacheKeyValue key, CacheKeyValue[] holder) {
+    Location loc = index.get(key);
+    if (loc == null) {
+      stats.recordMisses(1);
+      return null;
+    }
+    long expire = loc.key.expiresAtNanosEpoch;
+    if (expire != CACHE_UNLIMITED && expire - clockNanos.getAsLong() <= 0L) {
+      index.remove(key, loc);
+      stats.recordMisses(1);
+      return null;
+    }
+
+    byte[] value;
+    lock.readLock().lock();
+    try {
+      // The segment might have been reused concurrently.
+      if (index.get(key) != loc) {
+        stats.recordMisses(1);
+        return null;
+      }
+      value = new byte[loc.length];
+      ByteBuffer segment = segments[loc.segment].duplicate();
+      segment.position(loc.offset);
+      segment.get(value);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    stats.recordHits(1);
+    holder[0] = loc.key;
+    return value;
+  }
+
+  /** Adds a serialized value, values larger than a segment are silently ignored. */
+  void put(CacheKeyValue key, byte[] value) {
+    int length = value.length;
+    if (length > segmentSize) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (segments[currentSegment] == null) {
+        segments[currentSegment] = ByteBuffer.allocateDirect(segmentSize);
+      }
+      if (writeOffset + length > segmentSize) {
+        nextSegment();
+      }
+
+      ByteBuffer segment = segments[currentSegment].duplicate();
+      segment.position(writeOffset);
+      segment.put(value);
+
+      Location loc = new Location(key, currentSegment, writeOffset, length);
+      writeOffset += length;
+      segmentEntries.get(currentSegment).add(loc);
+      index.put(key, loc);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(CacheKeyValue key) {
+    index.remove(key);
+  }
+
+  void clear(String repositoryId) {
+    index.keySet().removeIf(k -> k.repositoryId.equals(repositoryId));
+  }
+
+  /** Must be called while holding the write lock. */
+  private void nextSegment() {
+    currentSegment = (currentSegment + 1) % segments.length;
+    writeOffset = 0;
+
+    if (segments[currentSegment] == null) {
+      segments[currentSegment] = ByteBuffer.allocateDirect(segmentSize);
+    }
+
+    List<Location> evicted = segmentEntries.get(currentSegment);
+    for (Location loc : evicted) {
+      if (index.remove(loc.key, loc)) {
+        stats.recordEviction(loc.length, RemovalCause.SIZE);
+      }
+    }
+    evicted.clear();
+  }
+
+  private static final class Location {
+    final CacheKeyValue key;
+    final int segment;
+    final int offset;
+    final int length;
+
+    Location(CacheKeyValue key, int segment, int offset, int length) {
+      this.key = key;
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
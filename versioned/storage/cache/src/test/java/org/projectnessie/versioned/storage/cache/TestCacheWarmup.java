@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REFS;
+import static org.projectnessie.versioned.storage.common.logic.InternalRef.REF_REPO;
+import static org.projectnessie.versioned.storage.common.logic.Logics.referenceLogic;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.versioned.storage.common.logic.ReferenceLogic;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCacheWarmup {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void warmUp() throws Exception {
+    ReferenceLogic referenceLogic = referenceLogic(persist);
+    ObjId repoHead = persist.fetchReference(REF_REPO.name()).pointer();
+    for (int i = 0; i < 5; i++) {
+      referenceLogic.createReference("refs/heads/branch-" + i, repoHead, null);
+    }
+    ObjId refsHead = persist.fetchReference(REF_REFS.name()).pointer();
+
+    CacheBackend cacheBackend =
+        PersistCaches.newBackend(CacheConfig.builder().capacityMb(16).build());
+    Persist cachingPersist = cacheBackend.wrap(persist);
+    String repositoryId = persist.config().repositoryId();
+
+    soft.assertThat(cacheBackend.get(repositoryId, refsHead)).isNull();
+    soft.assertThat(cacheBackend.get(repositoryId, repoHead)).isNull();
+
+    CacheWarmupResult result = CacheWarmup.cacheWarmup(cachingPersist, 3, 2).warmUp();
+
+    // 2 internal references + 3 most recently updated references
+    soft.assertThat(result.references()).isEqualTo(5);
+    // at least the heads of the two internal references
+    soft.assertThat(result.objects()).isGreaterThanOrEqualTo(2);
+    soft.assertThat(result.duration()).isPositive();
+
+    soft.assertThat(cacheBackend.get(repositoryId, refsHead)).isNotNull();
+    soft.assertThat(cacheBackend.get(repositoryId, repoHead)).isNotNull();
+  }
+
+  @Test
+  public void internalReferencesOnly() {
+    CacheBackend cacheBackend =
+        PersistCaches.newBackend(CacheConfig.builder().capacityMb(16).build());
+    Persist cachingPersist = cacheBackend.wrap(persist);
+
+    CacheWarmupResult result = CacheWarmup.cacheWarmup(cachingPersist, 0, 1).warmUp();
+    soft.assertThat(result.references()).isEqualTo(2);
+  }
+}
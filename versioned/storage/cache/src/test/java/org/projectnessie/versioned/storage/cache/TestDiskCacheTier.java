@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.projectnessie.versioned.storage.cache.DiskCacheTier.MIN_SEGMENTS;
+import static org.projectnessie.versioned.storage.cache.DiskCacheTier.MIN_SEGMENT_SIZE;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.CacheKeyValue;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.commontests.objtypes.VersionedTestObj;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestDiskCacheTier {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @TempDir Path dir;
+
+  @Test
+  public void survivesRestart() {
+    CacheKeyValue key1 = new CacheKeyValue("repo", randomObjId());
+    CacheKeyValue key2 = new CacheKeyValue("repo", randomObjId());
+    CacheKeyValue key3 = new CacheKeyValue("other", randomObjId());
+    byte[] value1 = randomBytes(1000);
+    byte[] value2 = randomBytes(2000);
+    byte[] value3 = randomBytes(3000);
+
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.capacityBytes()).isEqualTo((long) MIN_SEGMENTS * MIN_SEGMENT_SIZE);
+      soft.assertThat(tier.get(key1)).isNull();
+      tier.put(key1, value1);
+      tier.put(key2, value2);
+      tier.put(key3, value3);
+      tier.flush();
+      soft.assertThat(tier.get(key1)).containsExactly(value1);
+      soft.assertThat(tier.get(key2)).containsExactly(value2);
+      soft.assertThat(tier.get(key3)).containsExactly(value3);
+    }
+
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.size()).isEqualTo(3);
+      soft.assertThat(tier.get(key1)).containsExactly(value1);
+      soft.assertThat(tier.get(key2)).containsExactly(value2);
+      soft.assertThat(tier.get(key3)).containsExactly(value3);
+
+      tier.remove(key1);
+      tier.clear("other");
+      soft.assertThat(tier.get(key1)).isNull();
+      soft.assertThat(tier.get(key3)).isNull();
+    }
+
+    // removals are persisted as well
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.size()).isEqualTo(1);
+      soft.assertThat(tier.get(key1)).isNull();
+      soft.assertThat(tier.get(key2)).containsExactly(value2);
+      soft.assertThat(tier.get(key3)).isNull();
+    }
+  }
+
+  @Test
+  public void exclusiveDirectory() {
+    DiskCacheTier tier = newTier();
+    try {
+      soft.assertThatIllegalStateException()
+          .isThrownBy(this::newTier)
+          .withMessageContaining("is used by another process");
+    } finally {
+      tier.close();
+    }
+  }
+
+  @Test
+  public void incompleteRecord() throws IOException {
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId());
+    byte[] value = randomBytes(1000);
+    try (DiskCacheTier tier = newTier()) {
+      tier.put(key, value);
+    }
+
+    // simulate a partially written record
+    Path segment = segmentFiles().get(0);
+    Files.write(segment, new byte[] {0, 0, 1, 0, 1, 2, 3, 4, 1}, APPEND);
+
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.size()).isEqualTo(1);
+      soft.assertThat(tier.get(key)).containsExactly(value);
+    }
+  }
+
+  @Test
+  public void segmentEviction() throws IOException {
+    int valueSize = MIN_SEGMENT_SIZE / 8;
+    List<CacheKeyValue> keys = new ArrayList<>();
+    try (DiskCacheTier tier = newTier()) {
+      // write enough data to roll over all segments
+      for (int i = 0; i < 8 * (MIN_SEGMENTS + 2); i++) {
+        CacheKeyValue key = new CacheKeyValue("repo", randomObjId());
+        keys.add(key);
+        tier.put(key, randomBytes(valueSize));
+        tier.flush();
+      }
+      soft.assertThat(segmentFiles()).hasSize(MIN_SEGMENTS);
+      soft.assertThat(tier.size()).isLessThan(keys.size());
+      soft.assertThat(tier.get(keys.get(0))).isNull();
+      soft.assertThat(tier.get(keys.get(keys.size() - 1))).isNotNull();
+    }
+  }
+
+  @Test
+  public void backendWithDiskTier() {
+    ContentValueObj obj = contentValue("cid", 42, ByteString.copyFrom(randomBytes(1000)));
+    VersionedTestObj updateable =
+        VersionedTestObj.builder().id(randomObjId()).versionToken("1").someValue("foo").build();
+
+    CaffeineCacheBackend backend = newBackend();
+    backend.put("repo", obj);
+    backend.put("repo", updateable);
+    backend.disk.flush();
+    soft.assertThat(backend.disk.size()).isEqualTo(1);
+    backend.close();
+
+    // "restarted" backend, with an empty on-heap cache
+    backend = newBackend();
+    soft.assertThat(backend.cache.asMap()).isEmpty();
+    soft.assertThat(backend.get("repo", obj.id())).isEqualTo(obj);
+    soft.assertThat(backend.get("repo", updateable.id())).isNull();
+    soft.assertThat(backend.cache.asMap()).hasSize(1);
+
+    backend.remove("repo", obj.id());
+    soft.assertThat(backend.get("repo", obj.id())).isNull();
+    backend.close();
+
+    // the file lock has been released
+    newBackend().close();
+  }
+
+  @Test
+  public void removeAfterPendingPut() {
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId());
+    try (DiskCacheTier tier = newTier()) {
+      tier.put(key, randomBytes(1000));
+      tier.remove(key);
+      soft.assertThat(tier.get(key)).isNull();
+      tier.flush();
+      soft.assertThat(tier.get(key)).isNull();
+    }
+
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.get(key)).isNull();
+    }
+  }
+
+  @Test
+  public void closeAppendsPendingWrites() {
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId());
+    byte[] value = randomBytes(1000);
+    try (DiskCacheTier tier = newTier()) {
+      tier.put(key, value);
+    }
+
+    try (DiskCacheTier tier = newTier()) {
+      soft.assertThat(tier.get(key)).containsExactly(value);
+    }
+  }
+
+  private CaffeineCacheBackend newBackend() {
+    return new CaffeineCacheBackend(
+        CacheConfig.builder().capacityMb(8).diskPath(dir).diskCapacityMb(8).build());
+  }
+
+  private DiskCacheTier newTier() {
+    return new DiskCacheTier(dir, 0L, StatsCounter.disabledStatsCounter());
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      List<Path> segments = new ArrayList<>();
+      files
+          .filter(f -> DiskCacheTier.SEGMENT_FILE.matcher(f.getFileName().toString()).matches())
+          .sorted()
+          .forEach(segments::add);
+      return segments;
+    }
+  }
+
+  private static byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return bytes;
+  }
+}
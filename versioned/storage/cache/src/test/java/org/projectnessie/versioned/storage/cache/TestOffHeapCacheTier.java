@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cache;
+
+import static org.projectnessie.versioned.storage.cache.OffHeapCacheTier.MIN_SEGMENTS;
+import static org.projectnessie.versioned.storage.cache.OffHeapCacheTier.MIN_SEGMENT_SIZE;
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.common.persist.ObjType.CACHE_UNLIMITED;
+
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.cache.CaffeineCacheBackend.CacheKeyValue;
+import org.projectnessie.versioned.storage.common.objtypes.ContentValueObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestOffHeapCacheTier {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  static final long MIN_CAPACITY = (long) MIN_SEGMENTS * MIN_SEGMENT_SIZE;
+
+  @Test
+  public void getPutRemove() {
+    OffHeapCacheTier tier =
+        new OffHeapCacheTier(MIN_CAPACITY, System::nanoTime, StatsCounter.disabledStatsCounter());
+    soft.assertThat(tier.capacityBytes()).isEqualTo((long) MIN_SEGMENTS * MIN_SEGMENT_SIZE);
+
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId(), CACHE_UNLIMITED);
+    CacheKeyValue other = new CacheKeyValue("other", key.id, CACHE_UNLIMITED);
+    byte[] value = randomBytes(1000);
+
+    CacheKeyValue[] holder = new CacheKeyValue[1];
+    soft.assertThat(tier.get(key, holder)).isNull();
+
+    tier.put(key, value);
+    soft.assertThat(tier.get(key, holder)).containsExactly(value);
+    soft.assertThat(holder[0]).isSameAs(key);
+    soft.assertThat(tier.get(other, holder)).isNull();
+    soft.assertThat(tier.size()).isEqualTo(1);
+
+    tier.put(other, value);
+    soft.assertThat(tier.size()).isEqualTo(2);
+    tier.remove(key);
+    soft.assertThat(tier.get(key, holder)).isNull();
+    soft.assertThat(tier.get(other, holder)).containsExactly(value);
+
+    tier.clear("other");
+    soft.assertThat(tier.get(other, holder)).isNull();
+    soft.assertThat(tier.size()).isEqualTo(0);
+
+    // values larger than a segment are not stored
+    tier.put(key, randomBytes(MIN_SEGMENT_SIZE + 1));
+    soft.assertThat(tier.get(key, holder)).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {MIN_CAPACITY, MIN_CAPACITY + 3, 1024 * 1024, 3 * 1024 * 1024 + 5})
+  public void smallCapacity(long capacity) {
+    OffHeapCacheTier tier =
+        new OffHeapCacheTier(capacity, System::nanoTime, StatsCounter.disabledStatsCounter());
+    soft.assertThat(tier.capacityBytes())
+        .isLessThanOrEqualTo(capacity)
+        .isGreaterThan(capacity - MIN_SEGMENTS);
+
+    // fill all segments, values do not fit into a segment twice
+    int valueSize = (int) (capacity / MIN_SEGMENTS / 2 + 1);
+    List<CacheKeyValue> keys = new ArrayList<>();
+    for (int i = 0; i < MIN_SEGMENTS; i++) {
+      CacheKeyValue key = new CacheKeyValue("repo", randomObjId(), CACHE_UNLIMITED);
+      keys.add(key);
+      tier.put(key, randomBytes(valueSize));
+    }
+    CacheKeyValue[] holder = new CacheKeyValue[1];
+    for (CacheKeyValue key : keys) {
+      soft.assertThat(tier.get(key, holder)).isNotNull();
+    }
+
+    // values larger than a segment are not stored
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId(), CACHE_UNLIMITED);
+    tier.put(key, randomBytes((int) (capacity / MIN_SEGMENTS) + 1));
+    soft.assertThat(tier.get(key, holder)).isNull();
+  }
+
+  @Test
+  public void capacityTooSmall() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(
+            () ->
+                new OffHeapCacheTier(
+                    MIN_CAPACITY - 1, System::nanoTime, StatsCounter.disabledStatsCounter()));
+  }
+
+  @Test
+  public void expiration() {
+    AtomicLong clock = new AtomicLong(1000L);
+    OffHeapCacheTier tier =
+        new OffHeapCacheTier(MIN_CAPACITY, clock::get, StatsCounter.disabledStatsCounter());
+
+    CacheKeyValue key = new CacheKeyValue("repo", randomObjId(), 2000L);
+    byte[] value = randomBytes(100);
+    tier.put(key, value);
+
+    CacheKeyValue[] holder = new CacheKeyValue[1];
+    soft.assertThat(tier.get(key, holder)).containsExactly(value);
+    clock.set(1999L);
+    soft.assertThat(tier.get(key, holder)).containsExactly(value);
+    clock.set(2000L);
+    soft.assertThat(tier.get(key, holder)).isNull();
+    soft.assertThat(tier.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void segmentEviction() {
+    OffHeapCacheTier tier =
+        new OffHeapCacheTier(MIN_CAPACITY, System::nanoTime, StatsCounter.disabledStatsCounter());
+
+    int valueSize = MIN_SEGMENT_SIZE / 4;
+    List<CacheKeyValue> keys = new ArrayList<>();
+    // fill all segments, each segment holds 4 values
+    for (int i = 0; i < 4 * MIN_SEGMENTS; i++) {
+      CacheKeyValue key = new CacheKeyValue("repo", randomObjId(), CACHE_UNLIMITED);
+      keys.add(key);
+      tier.put(key, randomBytes(valueSize));
+    }
+    soft.assertThat(tier.size()).isEqualTo(4 * MIN_SEGMENTS);
+
+    // the next value reuses the first segment, evicting the first 4 values
+    CacheKeyValue next = new CacheKeyValue("repo", randomObjId(), CACHE_UNLIMITED);
+    tier.put(next, randomBytes(valueSize));
+
+    CacheKeyValue[] holder = new CacheKeyValue[1];
+    for (int i = 0; i < keys.size(); i++) {
+      if (i < 4) {
+        soft.assertThat(tier.get(keys.get(i), holder)).describedAs("key #%d", i).isNull();
+      } else {
+        soft.assertThat(tier.get(keys.get(i), holder)).describedAs("key #%d", i).isNotNull();
+      }
+    }
+    soft.assertThat(tier.get(next, holder)).isNotNull();
+    soft.assertThat(tier.size()).isEqualTo(4 * MIN_SEGMENTS - 3);
+  }
+
+  @Test
+  public void backendEvictsToOffHeap() {
+    CaffeineCacheBackend backend =
+        new CaffeineCacheBackend(CacheConfig.builder().capacityMb(1).offHeapCapacityMb(8).build());
+
+    List<Obj> objs = new ArrayList<>();
+    for (int i = 0; i < 64; i++) {
+      ContentValueObj obj =
+          contentValue("cid-" + i, 42, ByteString.copyFrom(randomBytes(64 * 1024)));
+      objs.add(obj);
+      backend.put("repo", obj);
+    }
+    backend.cache.cleanUp();
+
+    soft.assertThat(backend.offHeap.size()).isGreaterThan(0);
+    for (Obj obj : objs) {
+      // Caffeine runs evictions asynchronously, wait for pending evictions from promoted entries
+      backend.cache.cleanUp();
+      soft.assertThat(backend.get("repo", obj.id())).isEqualTo(obj);
+    }
+
+    backend.clear("repo");
+    soft.assertThat(backend.offHeap.size()).isEqualTo(0);
+    for (Obj obj : objs) {
+      soft.assertThat(backend.get("repo", obj.id())).isNull();
+    }
+  }
+
+  private static byte[] randomBytes(int size) {
+    byte[] bytes = new byte[size];
+    ThreadLocalRandom.current().nextBytes(bytes);
+    return bytes;
+  }
+}
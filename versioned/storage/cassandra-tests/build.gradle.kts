@@ -17,6 +17,7 @@
 plugins {
   id("nessie-conventions-server")
   id("nessie-jacoco")
+  alias(libs.plugins.jmh)
 }
 
 publishingHelper { mavenName = "Nessie - Storage - Cassandra & ScyllaDB - Tests" }
@@ -42,4 +43,12 @@ dependencies {
   implementation("org.testcontainers:cassandra") {
     exclude("com.datastax.cassandra", "cassandra-driver-core")
   }
+
+  jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(":nessie-versioned-storage-common-tests"))
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion = libs.versions.jmh.get() }
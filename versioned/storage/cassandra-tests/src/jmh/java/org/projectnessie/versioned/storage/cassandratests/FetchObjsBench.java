@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandratests;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.commontests.RandomObjs.storeRandomContentValues;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.cassandra.CassandraBackend;
+import org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig;
+import org.projectnessie.versioned.storage.cassandra.CassandraConfig.FetchObjsStrategy;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Compares the latency of fetching multiple objects using multi-partition {@code IN} queries
+ * against one single-partition query per object, using a local Cassandra container.
+ *
+ * <p>The container is a single-node cluster, so this benchmark measures the coordinator overhead of
+ * the {@code IN} queries, but not the benefit of token-aware routing in a multi-node cluster. The
+ * sample-time mode reports the tail latencies.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+public class FetchObjsBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"BATCHED_IN", "PER_PARTITION", "PER_PARTITION_SPECULATIVE"})
+    public Variant variant;
+
+    @Param({"20", "100"})
+    public int batchSize;
+
+    @Param({"20000"})
+    public int numObjs;
+
+    @Param({"1024"})
+    public int valueSize;
+
+    private CassandraBackendTestFactory testFactory;
+    private CassandraBackend backend;
+    Persist persist;
+    ObjId[] ids;
+
+    @Setup
+    public void init() throws Exception {
+      testFactory = new CassandraBackendTestFactory();
+      testFactory.start();
+      testFactory.maybeCreateKeyspace();
+
+      backend =
+          new CassandraBackend(
+              CassandraBackendConfig.builder()
+                  .client(testFactory.buildNewClient())
+                  .keyspace(testFactory.getKeyspace())
+                  .fetchObjsStrategy(variant.strategy)
+                  .fetchObjsSpeculativeDelay(variant.speculativeDelay)
+                  .build(),
+              true);
+      backend.setupSchema();
+      persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      ids =
+          Arrays.stream(storeRandomContentValues(persist, numObjs, valueSize))
+              .map(Obj::id)
+              .toArray(ObjId[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+      try {
+        backend.close();
+      } finally {
+        testFactory.stop();
+      }
+    }
+
+    ObjId randomId() {
+      return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+  }
+
+  /**
+   * Fetch strategies to compare, the speculative delay is only used by the {@code PER_PARTITION}
+   * strategy.
+   */
+  public enum Variant {
+    BATCHED_IN(FetchObjsStrategy.BATCHED_IN, Duration.ZERO),
+    PER_PARTITION(FetchObjsStrategy.PER_PARTITION, Duration.ZERO),
+    PER_PARTITION_SPECULATIVE(FetchObjsStrategy.PER_PARTITION, Duration.ofMillis(20));
+
+    final FetchObjsStrategy strategy;
+    final Duration speculativeDelay;
+
+    Variant(FetchObjsStrategy strategy, Duration speculativeDelay) {
+      this.strategy = strategy;
+      this.speculativeDelay = speculativeDelay;
+    }
+  }
+
+  @Benchmark
+  public void fetchObjs(BenchmarkParam param, Blackhole bh) {
+    ObjId[] batch = new ObjId[param.batchSize];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = param.randomId();
+    }
+    bh.consume(param.persist.fetchObjsIfExist(batch));
+  }
+}
@@ -59,8 +59,11 @@ public abstract class AbstractCassandraBackendTestFactory implements BackendTest
   public CassandraBackend createNewBackend() {
     CqlSession client = buildNewClient();
     maybeCreateKeyspace(client);
-    return new CassandraBackend(
-        CassandraBackendConfig.builder().client(client).keyspace(KEYSPACE_FOR_TEST).build(), true);
+    return new CassandraBackend(backendConfig(client), true);
+  }
+
+  protected CassandraBackendConfig backendConfig(CqlSession client) {
+    return CassandraBackendConfig.builder().client(client).keyspace(KEYSPACE_FOR_TEST).build();
   }
 
   public void maybeCreateKeyspace() {
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandratests;
+
+import static org.projectnessie.versioned.storage.cassandra.CassandraConfig.FetchObjsStrategy.PER_PARTITION;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import java.time.Duration;
+import org.projectnessie.versioned.storage.cassandra.CassandraBackendConfig;
+
+/**
+ * Cassandra backend test factory that fetches objects using one single-partition query per object
+ * and sends speculative queries after a short delay.
+ */
+public class CassandraPerPartitionBackendTestFactory extends CassandraBackendTestFactory {
+  @Override
+  protected CassandraBackendConfig backendConfig(CqlSession client) {
+    return CassandraBackendConfig.builder()
+        .from(super.backendConfig(client))
+        .fetchObjsStrategy(PER_PARTITION)
+        .fetchObjsSpeculativeDelay(Duration.ofMillis(1))
+        .build();
+  }
+}
@@ -23,6 +23,8 @@ import static com.google.common.collect.ImmutableSet.toImmutableSet;
 import static java.lang.String.format;
 import static java.util.Map.entry;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.COLS_OBJS_ALL;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.COL_OBJ_ID;
@@ -37,13 +39,17 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.C
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.CREATE_TABLE_REFS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_OBJ;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_OBJS_SCAN;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_OBJS_SCAN_BY_TOKEN;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REF;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.ERASE_REFS_SCAN;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_BATCH_READS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_DELETES;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_TOKEN_RANGE_SCANS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SELECT_BATCH_SIZE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TABLE_REFS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TOKEN_OBJS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TOKEN_RANGE_SCANS_PER_CONCURRENT_SCAN;
 
 import com.datastax.oss.driver.api.core.AllNodesFailedException;
 import com.datastax.oss.driver.api.core.CqlSession;
@@ -57,33 +63,46 @@ import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
 import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
 import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.servererrors.QueryConsistencyException;
 import jakarta.annotation.Nonnull;
 import java.lang.reflect.Array;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Object2IntHashMap;
 import org.projectnessie.versioned.storage.common.exceptions.UnknownOperationResultException;
 import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 
 public final class CassandraBackend implements Backend {
@@ -131,6 +150,9 @@ public final class CassandraBackend implements Backend {
     private final Object2IntHashMap<K> idToIndex;
     private final AtomicReferenceArray<R> result;
     private final Class<? extends R> elementType;
+    // Not using 'synchronized' + 'wait()', which would pin the carrier of a virtual thread.
+    private final Lock lock = new ReentrantLock();
+    private final Condition queryCompleted = lock.newCondition();
     private volatile Throwable failure;
     private volatile int queryCount;
     private volatile int queriesCompleted;
@@ -167,13 +189,16 @@ public final class CassandraBackend implements Backend {
     }
 
     private void noteException(Throwable ex) {
-      synchronized (this) {
+      lock.lock();
+      try {
         Throwable curr = failure;
         if (curr != null) {
           curr.addSuppressed(ex);
         } else {
           failure = ex;
         }
+      } finally {
+        lock.unlock();
       }
     }
 
@@ -185,8 +210,11 @@ public final class CassandraBackend implements Backend {
       List<K> batchKeys = new ArrayList<>(keys);
       keys.clear();
 
-      synchronized (this) {
+      lock.lock();
+      try {
         queryCount++;
+      } finally {
+        lock.unlock();
       }
 
       Consumer<CompletionStage<AsyncResultSet>> terminate =
@@ -194,9 +222,12 @@ public final class CassandraBackend implements Backend {
             // Remove the completed query from the queue, so another query can be submitted
             permits.release();
             // Increment the number of completed queries and notify the "driver"
-            synchronized (this) {
+            lock.lock();
+            try {
               queriesCompleted++;
-              this.notify();
+              queryCompleted.signalAll();
+            } finally {
+              lock.unlock();
             }
           };
 
@@ -256,8 +287,9 @@ public final class CassandraBackend implements Backend {
     public R[] finish() {
       flush();
 
-      while (true) {
-        synchronized (this) {
+      lock.lock();
+      try {
+        while (true) {
           // If a failure happened, there's not much that can be done, just re-throw
           Throwable f = failure;
           if (f != null) {
@@ -279,11 +311,13 @@ public final class CassandraBackend implements Backend {
               queryCount);
 
           try {
-            this.wait(10);
+            queryCompleted.await(10, MILLISECONDS);
           } catch (InterruptedException e) {
             throw new RuntimeException(e);
           }
         }
+      } finally {
+        lock.unlock();
       }
 
       return resultToArray();
@@ -341,6 +375,172 @@ public final class CassandraBackend implements Backend {
     return session.executeAsync(stmt);
   }
 
+  CassandraBackendConfig config() {
+    return config;
+  }
+
+  /**
+   * Runs one single-partition query per non-{@code null} key, with at most {@link
+   * CassandraConfig#fetchObjsConcurrency()} queries in flight. Unlike a multi-partition {@code IN}
+   * query, each query is routed by the driver to a replica of the partition.
+   *
+   * @return the results, at the same indexes as the keys, {@code null} for keys that have no row or
+   *     for which {@code rowToResult} returned {@code null}
+   */
+  <K, R> R[] singlePartitionQueries(
+      K[] keys,
+      Function<K, BoundStatement> queryBuilder,
+      Function<Row, R> rowToResult,
+      Class<? extends R> elementType) {
+    AtomicReferenceArray<R> result = new AtomicReferenceArray<>(keys.length);
+    try (LimitedConcurrentRequests requests =
+        new LimitedConcurrentRequests(config.fetchObjsConcurrency())) {
+      for (int i = 0; i < keys.length; i++) {
+        K key = keys[i];
+        if (key == null) {
+          continue;
+        }
+        int index = i;
+        requests.submitted(
+            executeAsyncSpeculative(queryBuilder.apply(key), config.fetchObjsSpeculativeDelay())
+                .thenAccept(
+                    rs -> {
+                      Row row = rs.one();
+                      if (row != null) {
+                        result.set(index, rowToResult.apply(row));
+                      }
+                    }));
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    R[] r = (R[]) Array.newInstance(elementType, keys.length);
+    for (int i = 0; i < r.length; i++) {
+      r[i] = result.get(i);
+    }
+    return r;
+  }
+
+  /**
+   * Executes an idempotent statement and sends it a second time, if it has not completed after
+   * {@code delay}, which likely hits another replica, to cut tail latencies caused by a single slow
+   * replica. Returns the result of whichever execution succeeds first, a failure is only returned
+   * if all executions failed.
+   */
+  CompletionStage<AsyncResultSet> executeAsyncSpeculative(BoundStatement stmt, Duration delay) {
+    if (delay.isZero() || !Boolean.TRUE.equals(stmt.isIdempotent())) {
+      return executeAsync(stmt);
+    }
+
+    CompletableFuture<AsyncResultSet> result = new CompletableFuture<>();
+    // Number of executions that have not completed yet.
+    AtomicInteger running = new AtomicInteger(1);
+    BiConsumer<AsyncResultSet, Throwable> complete =
+        (rs, failure) -> {
+          if (failure == null) {
+            result.complete(rs);
+          } else if (running.decrementAndGet() == 0) {
+            result.completeExceptionally(failure);
+          }
+        };
+    executeAsync(stmt).whenComplete(complete);
+    CompletableFuture.delayedExecutor(delay.toNanos(), NANOSECONDS)
+        .execute(
+            () -> {
+              // Only send the statement again, if the first execution has not completed yet.
+              if (!result.isDone() && running.getAndUpdate(n -> n > 0 ? n + 1 : n) > 0) {
+                executeAsync(stmt).whenComplete(complete);
+              }
+            });
+    return result;
+  }
+
+  /**
+   * Scans a whole table by splitting the token ring into ranges that are queried concurrently with
+   * a bounded number of in-flight requests, instead of a single, coordinator-driven {@code ALLOW
+   * FILTERING} scan. Falls back to the statement provided by {@code fallback}, if the driver has
+   * no token metadata.
+   *
+   * @param selectPrefix {@code SELECT} statement ending with {@code WHERE }, the token restriction
+   *     is appended
+   * @param tokenExpression the {@code token(...)} expression over the table's partition key
+   */
+  CloseableIterator<Row> scanTokenRanges(
+      String selectPrefix, String tokenExpression, Supplier<BoundStatement> fallback) {
+    List<BoundStatement> statements =
+        tokenRangeStatements(
+            selectPrefix,
+            tokenExpression,
+            MAX_CONCURRENT_TOKEN_RANGE_SCANS * TOKEN_RANGE_SCANS_PER_CONCURRENT_SCAN);
+    if (!statements.isEmpty()) {
+      return new TokenRangeScan(this, statements, MAX_CONCURRENT_TOKEN_RANGE_SCANS);
+    }
+
+    Iterator<Row> rows = execute(fallback.get()).iterator();
+    return new CloseableIterator<>() {
+      @Override
+      public boolean hasNext() {
+        return rows.hasNext();
+      }
+
+      @Override
+      public Row next() {
+        return rows.next();
+      }
+
+      @Override
+      public void close() {}
+    };
+  }
+
+  private List<BoundStatement> tokenRangeStatements(
+      String selectPrefix, String tokenExpression, int minRanges) {
+    Optional<TokenMap> tokenMap = session.getMetadata().getTokenMap();
+    if (tokenMap.isEmpty()) {
+      return List.of();
+    }
+
+    String inRange = selectPrefix + tokenExpression + " > ? AND " + tokenExpression + " <= ?";
+    String after = selectPrefix + tokenExpression + " > ?";
+    String upTo = selectPrefix + tokenExpression + " <= ?";
+
+    Set<TokenRange> ranges = tokenMap.get().getTokenRanges();
+    int splits = Math.max(1, (minRanges + ranges.size() - 1) / ranges.size());
+    List<BoundStatement> statements = new ArrayList<>();
+    for (TokenRange range : ranges) {
+      for (TokenRange split : splits > 1 ? range.splitEvenly(splits) : List.of(range)) {
+        for (TokenRange part : split.unwrap()) {
+          Token start = part.getStart();
+          Token end = part.getEnd();
+          if (start.compareTo(end) < 0) {
+            statements.add(tokenRangeStatement(inRange, end, start, end));
+          } else {
+            // Either the last part of the ring, which ends at the minimum token, or the whole ring
+            // of a single-token cluster.
+            statements.add(tokenRangeStatement(after, null, start));
+            statements.add(tokenRangeStatement(upTo, null, end));
+          }
+        }
+      }
+    }
+    return statements;
+  }
+
+  private BoundStatement tokenRangeStatement(String cql, Token routingToken, Token... tokens) {
+    BoundStatementBuilder builder =
+        newBoundStatementBuilder(cql, true)
+            .setTimeout(config.dmlTimeout())
+            .setConsistencyLevel(LOCAL_QUORUM);
+    for (int i = 0; i < tokens.length; i++) {
+      builder = builder.setToken(i, tokens[i]);
+    }
+    if (routingToken != null) {
+      // Let the driver send the query to a replica of the token range.
+      builder = builder.setRoutingToken(routingToken);
+    }
+    return builder.build();
+  }
+
   static RuntimeException unhandledException(DriverException e) {
     if (isUnknownOperationResult(e)) {
       return new UnknownOperationResultException(e);
@@ -505,10 +705,20 @@ public final class CassandraBackend implements Backend {
         requests.submitted(executeAsync(buildStatement(ERASE_REF, true, repoId, ref)));
       }
 
-      for (Row row : execute(buildStatement(ERASE_OBJS_SCAN, true, repoIdList))) {
-        String repoId = row.getString(0);
-        String objId = row.getString(1);
-        requests.submitted(executeAsync(buildStatement(ERASE_OBJ, true, repoId, objId)));
+      try (CloseableIterator<Row> rows =
+          scanTokenRanges(
+              ERASE_OBJS_SCAN_BY_TOKEN,
+              TOKEN_OBJS,
+              () -> buildStatement(ERASE_OBJS_SCAN, true, repoIdList))) {
+        while (rows.hasNext()) {
+          Row row = rows.next();
+          String repoId = row.getString(0);
+          if (!repositoryIds.contains(repoId)) {
+            continue;
+          }
+          String objId = row.getString(1);
+          requests.submitted(executeAsync(buildStatement(ERASE_OBJ, true, repoId, objId)));
+        }
       }
     }
     // We must ensure that the system clock advances a little, so that C*'s next write-timestamp
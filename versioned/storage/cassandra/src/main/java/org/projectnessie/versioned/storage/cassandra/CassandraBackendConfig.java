@@ -40,6 +40,24 @@ public interface CassandraBackendConfig extends CassandraConfig {
     return Duration.parse(DEFAULT_DML_TIMEOUT);
   }
 
+  @Override
+  @Value.Default
+  default FetchObjsStrategy fetchObjsStrategy() {
+    return FetchObjsStrategy.valueOf(DEFAULT_FETCH_OBJS_STRATEGY);
+  }
+
+  @Override
+  @Value.Default
+  default int fetchObjsConcurrency() {
+    return Integer.parseInt(DEFAULT_FETCH_OBJS_CONCURRENCY);
+  }
+
+  @Override
+  @Value.Default
+  default Duration fetchObjsSpeculativeDelay() {
+    return Duration.parse(DEFAULT_FETCH_OBJS_SPECULATIVE_DELAY);
+  }
+
   static ImmutableCassandraBackendConfig.Builder builder() {
     return ImmutableCassandraBackendConfig.builder();
   }
@@ -25,7 +25,39 @@ public interface CassandraConfig {
   /** Timeout used for queries and updates. */
   Duration dmlTimeout();
 
+  /**
+   * How multiple objects are fetched. {@code BATCHED_IN} fetches batches of objects using one
+   * multi-partition {@code IN} query per batch. {@code PER_PARTITION} sends one token-aware,
+   * single-partition query per object, so each query is routed to a replica of the object.
+   */
+  FetchObjsStrategy fetchObjsStrategy();
+
+  /**
+   * Maximum number of concurrent single-partition queries of one fetch, when using the {@code
+   * PER_PARTITION} fetch strategy.
+   */
+  int fetchObjsConcurrency();
+
+  /**
+   * Delay after which a second, speculative single-partition query is sent, if the first one has
+   * not completed yet, when using the {@code PER_PARTITION} fetch strategy. The result of the query
+   * that succeeds first is used, a failure is only reported if both queries failed. A zero duration
+   * disables speculative queries.
+   */
+  Duration fetchObjsSpeculativeDelay();
+
   String DEFAULT_DDL_TIMEOUT = "PT5S";
 
   String DEFAULT_DML_TIMEOUT = "PT3S";
+
+  String DEFAULT_FETCH_OBJS_STRATEGY = "BATCHED_IN";
+
+  String DEFAULT_FETCH_OBJS_CONCURRENCY = "32";
+
+  String DEFAULT_FETCH_OBJS_SPECULATIVE_DELAY = "PT0S";
+
+  enum FetchObjsStrategy {
+    BATCHED_IN,
+    PER_PARTITION
+  }
 }
@@ -28,6 +28,8 @@ public final class CassandraConstants {
   static final int MAX_CONCURRENT_BATCH_READS = 20;
   static final int MAX_CONCURRENT_DELETES = 20;
   static final int MAX_CONCURRENT_STORES = 20;
+  static final int MAX_CONCURRENT_TOKEN_RANGE_SCANS = 16;
+  static final int TOKEN_RANGE_SCANS_PER_CONCURRENT_SCAN = 4;
 
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
@@ -283,15 +285,41 @@ public final class CassandraConstants {
           + COL_OBJ_ID
           + " IN ?";
 
+  static final String FIND_OBJ =
+      "SELECT "
+          + COLS_OBJS_ALL.stream().map(CqlColumn::name).collect(Collectors.joining(", "))
+          + " FROM %s."
+          + TABLE_OBJS
+          + " WHERE "
+          + COL_REPO_ID
+          + "=? AND "
+          + COL_OBJ_ID
+          + "=?";
+
   static final String SCAN_OBJS =
       "SELECT "
           + COLS_OBJS_ALL.stream().map(CqlColumn::name).collect(Collectors.joining(", "))
+          + ", "
+          + COL_REPO_ID
           + " FROM %s."
           + TABLE_OBJS
           + " WHERE "
           + COL_REPO_ID
           + "=? ALLOW FILTERING";
 
+  /** Token of the partition key of {@value #TABLE_OBJS}, used for token-range scans. */
+  static final String TOKEN_OBJS = "token(" + COL_REPO_ID + ", " + COL_OBJ_ID + ")";
+
+  /** Prefix of the token-range scan over all objects, the token restriction is appended. */
+  static final String SCAN_OBJS_BY_TOKEN =
+      "SELECT "
+          + COLS_OBJS_ALL.stream().map(CqlColumn::name).collect(Collectors.joining(", "))
+          + ", "
+          + COL_REPO_ID
+          + " FROM %s."
+          + TABLE_OBJS
+          + " WHERE ";
+
   static final String ERASE_OBJS_SCAN =
       "SELECT "
           + COL_REPO_ID
@@ -302,6 +330,11 @@ public final class CassandraConstants {
           + " WHERE "
           + COL_REPO_ID
           + " IN ? ALLOW FILTERING";
+
+  /** Prefix of the token-range scan for erase, the token restriction is appended. */
+  static final String ERASE_OBJS_SCAN_BY_TOKEN =
+      "SELECT " + COL_REPO_ID + ", " + COL_OBJ_ID + " FROM %s." + TABLE_OBJS + " WHERE ";
+
   static final String ERASE_REFS_SCAN =
       "SELECT "
           + COL_REPO_ID
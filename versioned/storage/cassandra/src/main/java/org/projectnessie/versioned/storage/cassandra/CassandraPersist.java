@@ -29,12 +29,15 @@ import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.D
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.DELETE_OBJ_CONDITIONAL;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.EXPECTED_SUFFIX;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FETCH_OBJ_TYPE;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJ;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.FIND_REFERENCES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MARK_REFERENCE_AS_DELETED;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.MAX_CONCURRENT_STORES;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.PURGE_REFERENCE;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.SCAN_OBJS_BY_TOKEN;
+import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.TOKEN_OBJS;
 import static org.projectnessie.versioned.storage.cassandra.CassandraConstants.UPDATE_REFERENCE_POINTER;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.deserializeObjId;
 import static org.projectnessie.versioned.storage.cassandra.CassandraSerde.serializeObjId;
@@ -50,7 +53,6 @@ import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.nio.ByteBuffer;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
@@ -58,6 +60,7 @@ import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.projectnessie.versioned.storage.cassandra.CassandraBackend.BatchedQuery;
+import org.projectnessie.versioned.storage.cassandra.CassandraConfig.FetchObjsStrategy;
 import org.projectnessie.versioned.storage.cassandra.serializers.ObjSerializer;
 import org.projectnessie.versioned.storage.cassandra.serializers.ObjSerializers;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
@@ -285,6 +288,18 @@ public class CassandraPersist implements Persist {
           return typed;
         };
 
+    if (backend.config().fetchObjsStrategy() == FetchObjsStrategy.PER_PARTITION) {
+      try {
+        return backend.singlePartitionQueries(
+            ids,
+            id -> backend.buildStatement(FIND_OBJ, true, config.repositoryId(), serializeObjId(id)),
+            rowMapper,
+            typeClass);
+      } catch (DriverException e) {
+        throw unhandledException(e);
+      }
+    }
+
     T[] r;
     try (BatchedQuery<ObjId, T> batchedQuery =
         backend.newBatchedQuery(queryFunc, rowMapper, Obj::id, ids.length, typeClass)) {
@@ -483,17 +498,22 @@ public class CassandraPersist implements Persist {
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
       implements CloseableIterator<Obj> {
 
-    private final Iterator<Row> rs;
+    private final CloseableIterator<Row> rs;
     private final Set<ObjType> returnedObjTypes;
 
     ScanAllObjectsIterator(Set<ObjType> returnedObjTypes) {
       this.returnedObjTypes = returnedObjTypes;
-      BoundStatement stmt = backend.buildStatement(SCAN_OBJS, true, config.repositoryId());
-      rs = backend.execute(stmt).iterator();
+      rs =
+          backend.scanTokenRanges(
+              SCAN_OBJS_BY_TOKEN,
+              TOKEN_OBJS,
+              () -> backend.buildStatement(SCAN_OBJS, true, config.repositoryId()));
     }
 
     @Override
-    public void close() {}
+    public void close() {
+      rs.close();
+    }
 
     @Nullable
     @Override
@@ -504,6 +524,10 @@ public class CassandraPersist implements Persist {
         }
 
         Row row = rs.next();
+        // Token-range scans return the objects of all repositories.
+        if (!config.repositoryId().equals(row.getString(COL_REPO_ID.name()))) {
+          continue;
+        }
         ObjType type = objTypeByName(requireNonNull(row.getString(1)));
         if (!returnedObjTypes.contains(type)) {
           continue;
@@ -16,8 +16,12 @@
 package org.projectnessie.versioned.storage.cassandra;
 
 import com.google.errorprone.annotations.concurrent.GuardedBy;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 
@@ -27,21 +31,28 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
  *
  * <p>Note: this implementation does not actively prevent submitting a new query, but it prevents
  * making further progress by blocking inside {@link #submitted(CompletionStage)}.
+ *
+ * <p>Uses a {@link Lock} and a {@link Condition} instead of {@code synchronized} plus {@code
+ * wait()}, so that a virtual thread waiting in {@link #close()} does not pin its carrier thread.
  */
 final class LimitedConcurrentRequests implements AutoCloseable {
 
   /** Currently available "permits" for child queries. */
   final Semaphore permits;
 
+  private final Lock lock = new ReentrantLock();
+  private final Condition allFinished = lock.newCondition();
+
   /** Holds the potential failure. */
-  final Throwable[] failureHolder = new Throwable[1];
+  @GuardedBy("lock")
+  Throwable failure;
 
   /** Number of started queries. */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   int started;
 
   /** Number of finished queries. */
-  @GuardedBy("this")
+  @GuardedBy("lock")
   int finished;
 
   LimitedConcurrentRequests(int maxChildQueries) {
@@ -49,9 +60,12 @@ final class LimitedConcurrentRequests implements AutoCloseable {
   }
 
   void submitted(CompletionStage<?> cs) {
-    synchronized (this) {
+    lock.lock();
+    try {
       // Increment the number of started queries.
       started++;
+    } finally {
+      lock.unlock();
     }
 
     // Acquire a permit for the started query.
@@ -70,22 +84,31 @@ final class LimitedConcurrentRequests implements AutoCloseable {
 
             // Record the failure (if the query failed)
             if (throwable != null) {
-              synchronized (failureHolder) {
-                Throwable ex = failureHolder[0];
-                if (ex == null) {
-                  failureHolder[0] = throwable;
+              if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                // Failures of dependent stages are wrapped
+                throwable = throwable.getCause();
+              }
+              lock.lock();
+              try {
+                if (failure == null) {
+                  failure = throwable;
                 } else {
-                  ex.addSuppressed(throwable);
+                  failure.addSuppressed(throwable);
                 }
+              } finally {
+                lock.unlock();
               }
             }
 
           } finally {
-            synchronized (this) {
+            lock.lock();
+            try {
               // Increment the number of finished queries.
               finished++;
               // Notify potential waiter (`close()`).
-              notify();
+              allFinished.signalAll();
+            } finally {
+              lock.unlock();
             }
           }
         });
@@ -93,34 +116,27 @@ final class LimitedConcurrentRequests implements AutoCloseable {
 
   @Override
   public void close() {
+    Throwable f;
+    lock.lock();
     try {
       // Wait until all started queries have finished.
-      while (true) {
-        synchronized (this) {
-          if (finished == started) {
-            break;
-          }
-          try {
-            wait();
-          } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-          }
+      while (finished != started) {
+        try {
+          allFinished.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
         }
       }
     } finally {
-      maybeThrow();
+      f = failure;
+      lock.unlock();
     }
-  }
 
-  private void maybeThrow() {
-    synchronized (failureHolder) {
-      Throwable f = failureHolder[0];
-      if (f != null) {
-        if (f instanceof RuntimeException) {
-          throw (RuntimeException) f;
-        }
-        throw new RuntimeException(f);
+    if (f != null) {
+      if (f instanceof RuntimeException) {
+        throw (RuntimeException) f;
       }
+      throw new RuntimeException(f);
     }
   }
 }
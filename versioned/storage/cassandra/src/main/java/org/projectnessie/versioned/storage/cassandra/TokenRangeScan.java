@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.cassandra;
+
+import static java.util.Collections.emptyIterator;
+
+import com.datastax.oss.driver.api.core.DriverException;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.google.common.collect.AbstractIterator;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+
+/**
+ * Iterates over the rows returned by a list of token-range queries, which together cover the whole
+ * token ring of a table, see {@link CassandraBackend#scanTokenRanges}.
+ *
+ * <p>At most {@code maxInFlight} token-range queries are active at any time. The next page of a
+ * token-range query is requested when the consumer starts iterating over the current page, so each
+ * active query has at most one page in flight and one page buffered. Rows are returned in no
+ * particular order.
+ *
+ * <p>Driver callbacks only enqueue completed pages, all other state is only accessed by the
+ * consuming thread.
+ */
+final class TokenRangeScan extends AbstractIterator<Row> implements CloseableIterator<Row> {
+
+  private final CassandraBackend backend;
+  private final Deque<BoundStatement> pending;
+  private final int maxInFlight;
+  private final BlockingQueue<Object> completedPages = new LinkedBlockingQueue<>();
+
+  /** Number of token-range queries that have been started and have more pages to return. */
+  private int active;
+
+  private Iterator<Row> currentPage = emptyIterator();
+  private volatile boolean closed;
+
+  TokenRangeScan(CassandraBackend backend, List<BoundStatement> statements, int maxInFlight) {
+    this.backend = backend;
+    this.pending = new ArrayDeque<>(statements);
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  protected Row computeNext() {
+    while (true) {
+      if (currentPage.hasNext()) {
+        return currentPage.next();
+      }
+
+      while (active < maxInFlight && !pending.isEmpty()) {
+        active++;
+        submit(backend.executeAsync(pending.removeFirst()));
+      }
+
+      if (active == 0) {
+        return endOfData();
+      }
+
+      Object page;
+      try {
+        page = completedPages.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+
+      if (page instanceof Throwable) {
+        close();
+        Throwable failure = (Throwable) page;
+        if (failure instanceof DriverException) {
+          throw CassandraBackend.unhandledException((DriverException) failure);
+        }
+        if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        }
+        throw new RuntimeException(failure);
+      }
+
+      AsyncResultSet rs = (AsyncResultSet) page;
+      if (rs.hasMorePages()) {
+        // Fetch the next page while the current page is being consumed.
+        submit(rs.fetchNextPage());
+      } else {
+        active--;
+      }
+      currentPage = rs.currentPage().iterator();
+    }
+  }
+
+  private void submit(CompletionStage<AsyncResultSet> query) {
+    query.whenComplete(
+        (rs, failure) -> {
+          if (closed) {
+            return;
+          }
+          if (failure == null) {
+            completedPages.add(rs);
+          } else if (failure instanceof CompletionException && failure.getCause() != null) {
+            completedPages.add(failure.getCause());
+          } else {
+            completedPages.add(failure);
+          }
+        });
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    active = 0;
+    pending.clear();
+    completedPages.clear();
+    currentPage = emptyIterator();
+  }
+}
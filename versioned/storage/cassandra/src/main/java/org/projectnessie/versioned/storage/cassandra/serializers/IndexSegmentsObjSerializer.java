@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.cassandra.CqlColumn;
 import org.projectnessie.versioned.storage.cassandra.CqlColumnType;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -59,14 +60,18 @@ public class IndexSegmentsObjSerializer extends ObjSerializer<IndexSegmentsObj>
       int maxSerializedIndexSize)
       throws ObjTooLargeException {
     Stripes.Builder b = Stripes.newBuilder();
-    obj.stripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
-        .forEach(b::addStripes);
+    for (IndexStripe s : obj.stripes()) {
+      Stripe.Builder stripe =
+          Stripe.newBuilder()
+              .setFirstKey(s.firstKey().rawString())
+              .setLastKey(s.lastKey().rawString())
+              .setSegment(s.segment().asBytes());
+      ByteString keyFilter = s.keyFilter();
+      if (keyFilter != null) {
+        stripe.setKeyFilter(keyFilter);
+      }
+      b.addStripes(stripe);
+    }
     stmt.setByteBuffer(
         COL_SEGMENTS_STRIPES.name(), b.build().toByteString().asReadOnlyByteBuffer());
   }
@@ -82,7 +87,8 @@ public class IndexSegmentsObjSerializer extends ObjSerializer<IndexSegmentsObj>
                       indexStripe(
                           keyFromString(s.getFirstKey()),
                           keyFromString(s.getLastKey()),
-                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer()),
+                          s.getKeyFilter().isEmpty() ? null : s.getKeyFilter()))
               .collect(Collectors.toList());
       return indexSegments(id, stripeList);
     } catch (IOException e) {
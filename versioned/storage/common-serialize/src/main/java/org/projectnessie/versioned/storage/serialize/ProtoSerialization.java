@@ -27,6 +27,7 @@ import static org.projectnessie.versioned.storage.common.objtypes.StringObj.stri
 import static org.projectnessie.versioned.storage.common.objtypes.TagObj.tag;
 import static org.projectnessie.versioned.storage.common.objtypes.UniqueIdObj.uniqueId;
 import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
+import static org.projectnessie.versioned.storage.common.util.Compressions.uncompress;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -38,6 +39,7 @@ import java.util.function.Consumer;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.nessie.relocated.protobuf.InvalidProtocolBufferException;
 import org.projectnessie.nessie.relocated.protobuf.Parser;
+import org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.objtypes.CommitHeaders;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
@@ -61,6 +63,7 @@ import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.CommitProto;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.CommitTypeProto;
+import org.projectnessie.versioned.storage.common.proto.StorageTypes.CompressedObjProto;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.CompressionProto;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.ContentValueProto;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.CustomProto;
@@ -74,6 +77,7 @@ import org.projectnessie.versioned.storage.common.proto.StorageTypes.StringProto
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.Stripe;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.TagProto;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes.UniqueIdProto;
+import org.projectnessie.versioned.storage.common.util.CompressionPolicy;
 
 public final class ProtoSerialization {
 
@@ -247,6 +251,39 @@ public final class ProtoSerialization {
     }
   }
 
+  /**
+   * Serializes the given object like {@link #serializeObj(Obj, int, int, boolean)} and compresses
+   * the serialized representation according to the given {@link CompressionPolicy}. Compressed
+   * objects are wrapped in a {@link CompressedObjProto}, which is transparently handled by the
+   * {@code deserializeObj} functions.
+   */
+  public static byte[] serializeObj(
+      Obj obj,
+      int incrementalIndexSizeLimit,
+      int indexSizeLimit,
+      boolean includeVersionToken,
+      CompressionPolicy compressionPolicy)
+      throws ObjTooLargeException {
+    byte[] serialized =
+        serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, includeVersionToken);
+    if (serialized == null || !compressionPolicy.isEnabled()) {
+      return serialized;
+    }
+    CompressedObjProto.Builder compressed = CompressedObjProto.newBuilder();
+    byte[] data =
+        compressionPolicy.compress(
+            obj.type(),
+            serialized,
+            c -> compressed.setCompression(CompressionProto.valueOf(c.name())));
+    if (data == serialized) {
+      return serialized;
+    }
+    return ObjProto.newBuilder()
+        .setCompressed(compressed.setData(UnsafeByteOperations.unsafeWrap(data)))
+        .build()
+        .toByteArray();
+  }
+
   public static Obj deserializeObj(ObjId id, ByteBuffer serialized, String versionToken) {
     if (serialized == null) {
       return null;
@@ -272,6 +309,9 @@ public final class ProtoSerialization {
   }
 
   public static Obj deserializeObjProto(ObjId id, ObjProto obj, String versionToken) {
+    if (obj.hasCompressed()) {
+      obj = uncompressObjProto(obj.getCompressed());
+    }
     if (obj.hasCommit()) {
       return deserializeCommit(id, obj.getCommit());
     }
@@ -303,6 +343,18 @@ public final class ProtoSerialization {
     throw new UnsupportedOperationException("Cannot deserialize " + obj);
   }
 
+  private static ObjProto uncompressObjProto(CompressedObjProto compressed) {
+    byte[] data =
+        uncompress(
+            Compression.valueOf(compressed.getCompression().name()),
+            compressed.getData().toByteArray());
+    try {
+      return ObjProto.parseFrom(data);
+    } catch (InvalidProtocolBufferException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private static CommitObj deserializeCommit(ObjId id, CommitProto commit) {
     CommitObj.Builder b =
         commitBuilder()
@@ -415,7 +467,8 @@ public final class ProtoSerialization {
           indexStripe(
               keyFromString(s.getFirstKey()),
               keyFromString(s.getLastKey()),
-              deserializeObjId(s.getSegment())));
+              deserializeObjId(s.getSegment()),
+              s.getKeyFilter().isEmpty() ? null : s.getKeyFilter()));
     }
     return indexSegments(id, stripes);
   }
@@ -423,11 +476,16 @@ public final class ProtoSerialization {
   private static IndexSegmentsProto.Builder serializeIndexSegments(IndexSegmentsObj obj) {
     IndexSegmentsProto.Builder b = IndexSegmentsProto.newBuilder();
     for (IndexStripe indexStripe : obj.stripes()) {
-      b.addStripes(
+      Stripe.Builder stripe =
           Stripe.newBuilder()
               .setFirstKey(indexStripe.firstKey().rawString())
               .setLastKey(indexStripe.lastKey().rawString())
-              .setSegment(serializeObjId(indexStripe.segment())));
+              .setSegment(serializeObjId(indexStripe.segment()));
+      ByteString keyFilter = indexStripe.keyFilter();
+      if (keyFilter != null) {
+        stripe.setKeyFilter(keyFilter);
+      }
+      b.addStripes(stripe);
     }
     return b;
   }
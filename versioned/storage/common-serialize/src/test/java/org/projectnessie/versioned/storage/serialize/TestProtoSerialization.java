@@ -75,6 +75,7 @@ import org.projectnessie.versioned.storage.common.persist.Obj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.storage.common.proto.StorageTypes;
+import org.projectnessie.versioned.storage.common.util.CompressionPolicy;
 import org.projectnessie.versioned.storage.commontests.objtypes.AnotherTestObj;
 import org.projectnessie.versioned.storage.commontests.objtypes.SimpleTestObj;
 import org.projectnessie.versioned.storage.commontests.objtypes.VersionedTestObj;
@@ -93,6 +94,22 @@ public class TestProtoSerialization {
     soft.assertThat(serialized).isEqualTo(reserialized);
   }
 
+  @ParameterizedTest
+  @MethodSource("objs")
+  void compressedObjs(Obj obj) throws Exception {
+    CompressionPolicy compressionPolicy = CompressionPolicy.parse("*=zstd", 0);
+    byte[] serialized =
+        serializeObj(obj, Integer.MAX_VALUE, Integer.MAX_VALUE, true, compressionPolicy);
+    Obj deserialized = deserializeObj(obj.id(), serialized, null);
+    Obj deserializedByteBuffer = deserializeObj(obj.id(), ByteBuffer.wrap(serialized), null);
+    soft.assertThat(deserialized).isEqualTo(obj).isEqualTo(deserializedByteBuffer);
+    StorageTypes.ObjProto proto = StorageTypes.ObjProto.parseFrom(serialized);
+    if (proto.hasCompressed()) {
+      soft.assertThat(proto.getCompressed().getCompression())
+          .isSameAs(StorageTypes.CompressionProto.ZSTD);
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("previousPointers")
   void previousPointers(List<Reference.PreviousPointer> previousPointers) {
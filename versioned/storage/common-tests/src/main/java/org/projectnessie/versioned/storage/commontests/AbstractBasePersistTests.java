@@ -35,6 +35,7 @@ import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONF
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.buildKeyFilter;
 import static org.projectnessie.versioned.storage.common.json.ObjIdHelper.readerWithObjIdAndVersionToken;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.EMPTY_COMMIT_HEADERS;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitHeaders.newCommitHeaders;
@@ -476,7 +477,12 @@ public class AbstractBasePersistTests {
         indexSegments(
             asList(
                 indexStripe(key(nonAscii), key(nonAscii), randomObjId()),
-                indexStripe(key("moo", "woof"), key("zoo", "woof"), randomObjId()))),
+                indexStripe(
+                    key("moo", "woof"),
+                    key("zoo", "woof"),
+                    randomObjId(),
+                    buildKeyFilter(asList(key("moo", "woof"), key("zoo", "woof")), 2, 10)
+                        .serialized()))),
         index(emptyIndex.serialize()),
         index(index.serialize()),
         // 10
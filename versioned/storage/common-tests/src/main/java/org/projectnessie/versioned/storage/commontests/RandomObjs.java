@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.commontests;
+
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/** Random objects to populate a {@link Persist} instance, for example for benchmarks. */
+public final class RandomObjs {
+  private static final int STORE_BATCH_SIZE = 100;
+
+  private RandomObjs() {}
+
+  /** Generates a content value object with a random value of {@code valueSize} bytes. */
+  public static Obj randomContentValue(int valueSize) {
+    byte[] value = new byte[valueSize];
+    ThreadLocalRandom.current().nextBytes(value);
+    return contentValue(
+        "cid-" + ThreadLocalRandom.current().nextLong(), 42, ByteString.copyFrom(value));
+  }
+
+  /**
+   * Stores {@code numObjs} {@linkplain #randomContentValue(int) random content value objects} in
+   * batches.
+   *
+   * @return the stored objects
+   */
+  public static Obj[] storeRandomContentValues(Persist persist, int numObjs, int valueSize)
+      throws ObjTooLargeException {
+    Obj[] objs = new Obj[numObjs];
+    for (int i = 0; i < numObjs; i++) {
+      objs[i] = randomContentValue(valueSize);
+    }
+    for (int offset = 0; offset < numObjs; offset += STORE_BATCH_SIZE) {
+      persist.storeObjs(
+          Arrays.copyOfRange(objs, offset, Math.min(offset + STORE_BATCH_SIZE, numObjs)));
+    }
+
+    System.err.printf("%nStored %d objects with %d bytes values%n", numObjs, valueSize);
+    return objs;
+  }
+}
@@ -30,7 +30,7 @@ dependencies {
 
   compileOnly(platform(libs.opentelemetry.instrumentation.bom.alpha))
   compileOnly("io.opentelemetry.instrumentation:opentelemetry-instrumentation-annotations")
-  compileOnly(libs.micrometer.core)
+  implementation(libs.micrometer.core)
 
   compileOnly(libs.errorprone.annotations)
   implementation(libs.agrona)
@@ -47,6 +47,8 @@ dependencies {
   implementation("com.fasterxml.jackson.core:jackson-annotations")
 
   implementation(libs.snappy.java)
+  implementation(libs.zstd.jni)
+  implementation(libs.lz4.java)
 
   testImplementation(platform(libs.junit.bom))
   testImplementation(libs.bundles.junit.testing)
@@ -70,4 +72,8 @@ tasks.named("processJmhJandexIndex").configure { enabled = false }
 
 tasks.named("processTestJandexIndex").configure { enabled = false }
 
-jmh { jmhVersion = libs.versions.jmh.get() }
+jmh {
+  jmhVersion = libs.versions.jmh.get()
+  // Report allocations per operation, relevant for the index lookup benchmarks
+  profilers.add("gc")
+}
@@ -43,7 +43,13 @@ import org.projectnessie.versioned.storage.commontests.ImmutableRealisticKeySet;
 import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet;
 import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.IndexTestSetGenerator;
 
-/** Benchmark that uses {@link RealisticKeySet} to generate keys. */
+/**
+ * Benchmark that uses {@link RealisticKeySet} to generate keys.
+ *
+ * <p>The {@code get*}/{@code contains*} benchmarks perform lookups against a deserialized index,
+ * run with JMH's GC profiler ({@code -prof gc}, enabled by default via Gradle) to see the heap
+ * allocated per lookup ({@code gc.alloc.rate.norm}).
+ */
 @Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
 @Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
 @Fork(1)
@@ -51,6 +57,8 @@ import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.IndexTest
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(MICROSECONDS)
 public class RealisticKeyIndexImplBench {
+  private static final StoreKey NON_EXISTING_KEY = key("non", "existing", "key");
+
   @State(Scope.Benchmark)
   public static class BenchmarkParam {
 
@@ -91,6 +99,16 @@ public class RealisticKeyIndexImplBench {
     }
   }
 
+  @State(Scope.Thread)
+  public static class DeserializedIndex {
+    private StoreIndex<CommitOp> index;
+
+    @Setup
+    public void init(BenchmarkParam param) {
+      this.index = param.keyIndexTestSet.deserialize();
+    }
+  }
+
   @Benchmark
   public Object serializeUnmodifiedIndex(BenchmarkParam param) {
     return param.keyIndexTestSet.serialize();
@@ -132,6 +150,21 @@ public class RealisticKeyIndexImplBench {
     return deserialized.get(param.keyIndexTestSet.randomKey());
   }
 
+  @Benchmark
+  public Object getRandomKey(BenchmarkParam param, DeserializedIndex deserialized) {
+    return deserialized.index.get(param.keyIndexTestSet.randomKey());
+  }
+
+  @Benchmark
+  public boolean containsRandomKey(BenchmarkParam param, DeserializedIndex deserialized) {
+    return deserialized.index.contains(param.keyIndexTestSet.randomKey());
+  }
+
+  @Benchmark
+  public boolean containsNonExistingKey(DeserializedIndex deserialized) {
+    return deserialized.index.contains(NON_EXISTING_KEY);
+  }
+
   @Benchmark
   public void deserializeIterate250(BenchmarkParam param, Blackhole bh) {
     StoreIndex<CommitOp> deserialized = param.keyIndexTestSet.deserialize();
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.deserializeStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromSplits;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.buildKeyFilter;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
+
+/**
+ * Benchmark for lookups of non-existing keys in a striped reference index, which is freshly
+ * "fetched" for each lookup, like a reference index of a commit that is not yet cached. Loading a
+ * stripe is simulated by deserializing it.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class StripedIndexMissBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"10", "50"})
+    public int stripes;
+
+    @Param({"2000"})
+    public int keysPerStripe;
+
+    @Param({"0", "10"})
+    public int filterBitsPerKey;
+
+    private ByteString[] serializedStripes;
+    private StoreKeyFilter[] keyFilters;
+    private List<StoreKey> firstLastKeys;
+    private StoreKey[] missingKeys;
+    private StoreKey[] existingKeys;
+
+    @Setup
+    public void init() {
+      serializedStripes = new ByteString[stripes];
+      keyFilters = new StoreKeyFilter[stripes];
+      firstLastKeys = new ArrayList<>(stripes * 2);
+      missingKeys = new StoreKey[stripes * keysPerStripe];
+      existingKeys = new StoreKey[stripes * keysPerStripe];
+
+      for (int s = 0, k = 0; s < stripes; s++) {
+        StoreIndex<CommitOp> stripe = newStoreIndex(COMMIT_OP_SERIALIZER);
+        List<StoreKey> keys = new ArrayList<>(keysPerStripe);
+        for (int i = 0; i < keysPerStripe; i++, k++) {
+          // Missing keys sort between existing keys, so that those are within a stripe's range.
+          StoreKey existing = key("namespace", String.format("table-%08d-a", k));
+          existingKeys[k] = existing;
+          missingKeys[k] = key("namespace", String.format("table-%08d-b", k));
+          keys.add(existing);
+          stripe.add(indexElement(existing, commitOp(Action.ADD, 1, randomObjId())));
+        }
+        serializedStripes[s] = stripe.serialize();
+        keyFilters[s] =
+            filterBitsPerKey > 0 ? buildKeyFilter(keys, keys.size(), filterBitsPerKey) : null;
+        firstLastKeys.add(stripe.first());
+        firstLastKeys.add(stripe.last());
+      }
+    }
+
+    StoreIndex<CommitOp> referenceIndex() {
+      List<StoreIndex<CommitOp>> lazyStripes = new ArrayList<>(stripes);
+      for (int s = 0; s < stripes; s++) {
+        ByteString serialized = serializedStripes[s];
+        lazyStripes.add(
+            lazyStoreIndex(
+                () -> deserializeStoreIndex(serialized, COMMIT_OP_SERIALIZER),
+                firstLastKeys.get(s * 2),
+                firstLastKeys.get(s * 2 + 1),
+                keyFilters[s]));
+      }
+      return indexFromSplits(
+          lazyStripes,
+          firstLastKeys,
+          indexes -> {
+            @SuppressWarnings("unchecked")
+            StoreIndex<CommitOp>[] loaded = new StoreIndex[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+              if (indexes[i] != null) {
+                loaded[i] = deserializeStoreIndex(serializedStripes[i], COMMIT_OP_SERIALIZER);
+              }
+            }
+            return loaded;
+          });
+    }
+
+    StoreKey randomMissingKey() {
+      return missingKeys[ThreadLocalRandom.current().nextInt(missingKeys.length)];
+    }
+
+    StoreKey randomExistingKey() {
+      return existingKeys[ThreadLocalRandom.current().nextInt(existingKeys.length)];
+    }
+  }
+
+  @Benchmark
+  public void getMissingKey(BenchmarkParam param, Blackhole bh) {
+    bh.consume(param.referenceIndex().get(param.randomMissingKey()));
+  }
+
+  @Benchmark
+  public void getExistingKey(BenchmarkParam param, Blackhole bh) {
+    bh.consume(param.referenceIndex().get(param.randomExistingKey()));
+  }
+
+  @Benchmark
+  public void containsMissingKeys(BenchmarkParam param, Blackhole bh) {
+    StoreIndex<CommitOp> index = param.referenceIndex();
+    for (int i = 0; i < 20; i++) {
+      bh.consume(index.contains(param.randomMissingKey()));
+    }
+  }
+}
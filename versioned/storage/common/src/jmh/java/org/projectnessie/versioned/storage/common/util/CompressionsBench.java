@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.commontests.ImmutableRealisticKeySet;
+import org.projectnessie.versioned.storage.commontests.KeyIndexTestSet;
+
+/**
+ * Compares the compressed size and the CPU costs of the supported compression algorithms using
+ * serialized key indexes, which make up the bulk of the persisted {@code IndexObj} and {@code
+ * IndexSegmentsObj} payloads.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class CompressionsBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"NONE", "GZIP", "DEFLATE", "SNAPPY", "ZSTD", "LZ4"})
+    public Compression compression;
+
+    @Param({"-1", "9"})
+    public int level;
+
+    @Param({"25", "250"})
+    public int tablesPerNamespace;
+
+    private byte[] uncompressed;
+    private byte[] compressed;
+
+    @Setup
+    public void init() {
+      KeyIndexTestSet<CommitOp> keyIndexTestSet =
+          KeyIndexTestSet.<CommitOp>newGenerator()
+              .keySet(
+                  ImmutableRealisticKeySet.builder()
+                      .namespaceLevels(3)
+                      .foldersPerLevel(3)
+                      .tablesPerNamespace(tablesPerNamespace)
+                      .deterministic(true)
+                      .build())
+              .elementSupplier(key -> indexElement(key, commitOp(Action.ADD, 1, randomObjId())))
+              .elementSerializer(CommitOp.COMMIT_OP_SERIALIZER)
+              .build()
+              .generateIndexTestSet();
+
+      this.uncompressed = keyIndexTestSet.serialized().toByteArray();
+      this.compressed = Compressions.compress(compression, level, uncompressed);
+
+      System.err.printf(
+          "%nCompression: %s, level: %d%nUncompressed size: %d%nCompressed size: %d (%.1f%%)%n",
+          compression,
+          level,
+          uncompressed.length,
+          compressed.length,
+          100d * compressed.length / uncompressed.length);
+    }
+  }
+
+  @Benchmark
+  public byte[] compress(BenchmarkParam param) {
+    return Compressions.compress(param.compression, param.level, param.uncompressed);
+  }
+
+  @Benchmark
+  public byte[] uncompress(BenchmarkParam param) {
+    return Compressions.uncompress(param.compression, param.compressed);
+  }
+}
@@ -18,9 +18,11 @@ package org.projectnessie.versioned.storage.common.config;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Function;
 import org.immutables.value.Value;
@@ -48,6 +50,9 @@ public interface StoreConfig {
   String CONFIG_RETRY_MAX_SLEEP_MILLIS = "retry-max-sleep-millis";
   int DEFAULT_RETRY_MAX_SLEEP_MILLIS = 250;
 
+  String CONFIG_RETRY_STRATEGY = "retry-strategy";
+  RetryStrategy DEFAULT_RETRY_STRATEGY = RetryStrategy.FIXED;
+
   String CONFIG_MAX_INCREMENTAL_INDEX_SIZE = "max-incremental-index-size";
   int DEFAULT_MAX_INCREMENTAL_INDEX_SIZE = 50 * 1024;
 
@@ -57,6 +62,9 @@ public interface StoreConfig {
   String CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT = "max-reference-stripes-per-commit";
   int DEFAULT_MAX_REFERENCE_STRIPES_PER_COMMIT = 50;
 
+  String CONFIG_INDEX_STRIPE_FILTER_BITS_PER_KEY = "index-stripe-filter-bits-per-key";
+  int DEFAULT_INDEX_STRIPE_FILTER_BITS_PER_KEY = 10;
+
   String CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS = "assumed-wall-clock-drift-micros";
   long DEFAULT_ASSUMED_WALL_CLOCK_DRIFT_MICROS = 5_000_000L;
 
@@ -73,6 +81,17 @@ public interface StoreConfig {
 
   String CONFIG_REFERENCE_NEGATIVE_CACHE_TTL = "reference-cache-negative-ttl";
 
+  String CONFIG_OBJ_COMPRESSION = "obj-compression";
+
+  String CONFIG_OBJ_COMPRESSION_MIN_SIZE = "obj-compression-min-size";
+  int DEFAULT_OBJ_COMPRESSION_MIN_SIZE = 1024;
+
+  String CONFIG_COMMIT_QUEUE_ENABLED = "commit-queue-enabled";
+  boolean DEFAULT_COMMIT_QUEUE_ENABLED = false;
+
+  String CONFIG_COMMIT_QUEUE_MAX_BATCH_SIZE = "commit-queue-max-batch-size";
+  int DEFAULT_COMMIT_QUEUE_MAX_BATCH_SIZE = 50;
+
   /**
    * Whether namespace validation is enabled, changing this to false will break the Nessie
    * specification!
@@ -227,6 +246,21 @@ public interface StoreConfig {
     return DEFAULT_MAX_REFERENCE_STRIPES_PER_COMMIT;
   }
 
+  /**
+   * Number of bits per key of the Bloom filters that are persisted for each stripe of a
+   * reference index, which is spread across multiple segments. The filters allow lookups for
+   * non-existing keys without loading the stripe. 10 bits per key yield a false-positive rate of
+   * about 1%, {@code 0} disables the filters.
+   *
+   * <p>The serialized stripes of a reference index, including their filters, must fit into {@link
+   * #maxSerializedIndexSize()} and into the backend's object size limit. The number of bits per key
+   * is reduced for very large reference indexes, the filters are omitted if they do not fit.
+   */
+  @Value.Default
+  default int indexStripeFilterBitsPerKey() {
+    return DEFAULT_INDEX_STRIPE_FILTER_BITS_PER_KEY;
+  }
+
   /** Assumed wall-clock drift between multiple Nessie instances in microseconds. */
   @Value.Default
   default long assumedWallClockDriftMicros() {
@@ -239,6 +273,16 @@ public interface StoreConfig {
     return Clock.systemUTC();
   }
 
+  /**
+   * The Micrometer {@code MeterRegistry} to publish storage metrics to, for example the number of
+   * commit retries. No metrics are published, if empty.
+   */
+  @Value.Default
+  @Value.Auxiliary
+  default Optional<MeterRegistry> meterRegistry() {
+    return Optional.empty();
+  }
+
   /**
    * Named references keep a history of up to this amount of previous HEAD pointers, and up to the
    * configured age.
@@ -290,6 +334,72 @@ public interface StoreConfig {
    */
   Optional<Duration> referenceCacheNegativeTtl();
 
+  /**
+   * Compression algorithm and optional compression level to use for serialized objects, per object
+   * type. Defaults to no compression.
+   *
+   * <p>The value is a comma separated list of {@code obj-type=ALGORITHM[:level]} entries, for
+   * example {@code value=zstd:3,index_segments=zstd,*=lz4}. Object type names are the names of the
+   * object types like {@code commit}, {@code value}, {@code index_segments} or {@code index}, the
+   * special object type {@code *} applies to all object types that are not explicitly mentioned.
+   * Supported algorithms are {@code none}, {@code gzip}, {@code deflate}, {@code snappy}, {@code
+   * zstd} and {@code lz4}.
+   *
+   * <p>Compression is currently applied by the BigTable and RocksDB backends, which persist objects
+   * as a single serialized value. Previously written objects remain readable after changing this
+   * setting.
+   */
+  Optional<String> objCompression();
+
+  /**
+   * Serialized objects smaller than this number of bytes are never compressed, see {@link
+   * #objCompression()}.
+   */
+  @Value.Default
+  default int objCompressionMinSize() {
+    return DEFAULT_OBJ_COMPRESSION_MIN_SIZE;
+  }
+
+  /**
+   * The strategy to compute the sleep times between retries of CAS-like operations.
+   *
+   * <p>{@code FIXED} (default) uses randomized sleep times, starting with the bounds {@code
+   * retry-initial-sleep-millis-lower} and {@code retry-initial-sleep-millis-upper}, doubling both
+   * bounds up to {@code retry-max-sleep-millis} for each retry.
+   *
+   * <p>{@code ADAPTIVE} uses "decorrelated jitter" and adapts the sleep times to the recently
+   * observed conflict rate of each reference. Retries for each reference are additionally limited
+   * by a token bucket, so that a "hot" reference does not cause retry storms.
+   *
+   * @see #retryInitialSleepMillisLower()
+   * @see #retryMaxSleepMillis()
+   */
+  @Value.Default
+  default RetryStrategy retryStrategy() {
+    return DEFAULT_RETRY_STRATEGY;
+  }
+
+  /**
+   * Whether concurrent commits to the same branch are combined. If enabled, commits to the same
+   * branch that are issued concurrently via the same Nessie instance are queued and applied by one
+   * of the committing threads as a chain of commits, followed by a single update of the branch
+   * pointer. This reduces the contention on the reference pointer for branches that receive a lot
+   * of concurrent commits. Each commit still gets its own commit ID and conflict detection.
+   */
+  @Value.Default
+  default boolean commitQueueEnabled() {
+    return DEFAULT_COMMIT_QUEUE_ENABLED;
+  }
+
+  /**
+   * Maximum number of queued commits that are applied with a single update of the branch pointer,
+   * see {@link #commitQueueEnabled()}.
+   */
+  @Value.Default
+  default int commitQueueMaxBatchSize() {
+    return DEFAULT_COMMIT_QUEUE_MAX_BATCH_SIZE;
+  }
+
   /**
    * Retrieves the current timestamp in microseconds since epoch, using the configured {@link
    * #clock()}.
@@ -342,6 +452,10 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withRetryMaxSleepMillis(Long.parseLong(v.trim()));
       }
+      v = configFunction.apply(CONFIG_RETRY_STRATEGY);
+      if (v != null) {
+        a = a.withRetryStrategy(RetryStrategy.valueOf(v.trim().toUpperCase(Locale.ROOT)));
+      }
       v = configFunction.apply(CONFIG_PARENTS_PER_COMMIT);
       if (v != null) {
         a = a.withParentsPerCommit(Integer.parseInt(v.trim()));
@@ -358,6 +472,10 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withMaxReferenceStripesPerCommit(Integer.parseInt(v.trim()));
       }
+      v = configFunction.apply(CONFIG_INDEX_STRIPE_FILTER_BITS_PER_KEY);
+      if (v != null) {
+        a = a.withIndexStripeFilterBitsPerKey(Integer.parseInt(v.trim()));
+      }
       v = configFunction.apply(CONFIG_ASSUMED_WALL_CLOCK_DRIFT_MICROS);
       if (v != null) {
         a = a.withAssumedWallClockDriftMicros(Integer.parseInt(v.trim()));
@@ -382,12 +500,29 @@ public interface StoreConfig {
       if (v != null) {
         a = a.withReferenceCacheNegativeTtl(Duration.parse(v.trim()));
       }
+      v = configFunction.apply(CONFIG_OBJ_COMPRESSION);
+      if (v != null) {
+        a = a.withObjCompression(v.trim());
+      }
+      v = configFunction.apply(CONFIG_OBJ_COMPRESSION_MIN_SIZE);
+      if (v != null) {
+        a = a.withObjCompressionMinSize(Integer.parseInt(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_QUEUE_ENABLED);
+      if (v != null) {
+        a = a.withCommitQueueEnabled(Boolean.parseBoolean(v.trim()));
+      }
+      v = configFunction.apply(CONFIG_COMMIT_QUEUE_MAX_BATCH_SIZE);
+      if (v != null) {
+        a = a.withCommitQueueMaxBatchSize(Integer.parseInt(v.trim()));
+      }
       return a;
     }
 
     /** See {@link StoreConfig#repositoryId()}. */
     Adjustable withRepositoryId(String repositoryId);
 
+
     /** See {@link StoreConfig#commitRetries()}. */
     Adjustable withCommitRetries(int commitRetries);
 
@@ -403,6 +538,9 @@ public interface StoreConfig {
     /** See {@link StoreConfig#retryMaxSleepMillis()}. */
     Adjustable withRetryMaxSleepMillis(long retryMaxSleepMillis);
 
+    /** See {@link StoreConfig#retryStrategy()}. */
+    Adjustable withRetryStrategy(RetryStrategy retryStrategy);
+
     /** See {@link StoreConfig#parentsPerCommit()}. */
     Adjustable withParentsPerCommit(int parentsPerCommit);
 
@@ -415,6 +553,9 @@ public interface StoreConfig {
     /** See {@link StoreConfig#maxReferenceStripesPerCommit()}. */
     Adjustable withMaxReferenceStripesPerCommit(int maxReferenceStripesPerCommit);
 
+    /** See {@link StoreConfig#indexStripeFilterBitsPerKey()}. */
+    Adjustable withIndexStripeFilterBitsPerKey(int indexStripeFilterBitsPerKey);
+
     /** See {@link StoreConfig#assumedWallClockDriftMicros()}. */
     Adjustable withAssumedWallClockDriftMicros(long assumedWallClockDriftMicros);
 
@@ -424,6 +565,9 @@ public interface StoreConfig {
     /** See {@link StoreConfig#clock()}. */
     Adjustable withClock(Clock clock);
 
+    /** See {@link StoreConfig#meterRegistry()}. */
+    Adjustable withMeterRegistry(Optional<MeterRegistry> meterRegistry);
+
     Adjustable withReferencePreviousHeadCount(int referencePreviousHeadCount);
 
     Adjustable withReferencePreviousHeadTimeSpanSeconds(long referencePreviousHeadTimeSpanSeconds);
@@ -433,5 +577,23 @@ public interface StoreConfig {
 
     /** See {@link StoreConfig#referenceCacheNegativeTtl()}. */
     Adjustable withReferenceCacheNegativeTtl(Duration referencecacheNegativeTtl);
+
+    /** See {@link StoreConfig#objCompression()}. */
+    Adjustable withObjCompression(String objCompression);
+
+    /** See {@link StoreConfig#objCompressionMinSize()}. */
+    Adjustable withObjCompressionMinSize(int objCompressionMinSize);
+
+    /** See {@link StoreConfig#commitQueueEnabled()}. */
+    Adjustable withCommitQueueEnabled(boolean commitQueueEnabled);
+
+    /** See {@link StoreConfig#commitQueueMaxBatchSize()}. */
+    Adjustable withCommitQueueMaxBatchSize(int commitQueueMaxBatchSize);
+  }
+
+  /** Strategies to compute the sleep times between commit retries, see {@link #retryStrategy()}. */
+  enum RetryStrategy {
+    FIXED,
+    ADAPTIVE
   }
 }
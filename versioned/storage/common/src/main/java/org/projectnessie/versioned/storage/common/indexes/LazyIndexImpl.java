@@ -34,10 +34,16 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
   private ObjId objId;
   private final StoreKey firstKey;
   private final StoreKey lastKey;
+  private final StoreKeyFilter keyFilter;
 
-  LazyIndexImpl(Supplier<StoreIndex<V>> supplier, StoreKey firstKey, StoreKey lastKey) {
+  LazyIndexImpl(
+      Supplier<StoreIndex<V>> supplier,
+      StoreKey firstKey,
+      StoreKey lastKey,
+      StoreKeyFilter keyFilter) {
     this.firstKey = firstKey;
     this.lastKey = lastKey;
+    this.keyFilter = keyFilter;
     this.loader =
         memoize(
             () -> {
@@ -82,6 +88,18 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
     return loaded;
   }
 
+  @Override
+  @Nullable
+  public StoreKeyFilter keyFilter() {
+    return isModified() ? null : keyFilter;
+  }
+
+  /** Returns {@code true}, if the key filter proves that the not yet loaded index lacks the key. */
+  private boolean definitelyNotContained(StoreKey key) {
+    StoreKeyFilter filter = keyFilter;
+    return !loaded && filter != null && !filter.mightContain(key);
+  }
+
   @Override
   public StoreIndex<V> asMutableIndex() {
     return loaded().asMutableIndex();
@@ -132,12 +150,18 @@ final class LazyIndexImpl<V> implements StoreIndex<V> {
     if (!loaded && (key.equals(firstKey) || key.equals(lastKey))) {
       return true;
     }
+    if (definitelyNotContained(key)) {
+      return false;
+    }
     return loaded().contains(key);
   }
 
   @Override
   @Nullable
   public StoreIndexElement<V> get(@Nonnull StoreKey key) {
+    if (definitelyNotContained(key)) {
+      return null;
+    }
     return loaded().get(key);
   }
 
@@ -52,6 +52,16 @@ public interface StoreIndex<V> extends Iterable<StoreIndexElement<V>> {
 
   boolean isLoaded();
 
+  /**
+   * Returns the filter for the keys of this index, if this index represents an unmodified index
+   * with a known {@link StoreKeyFilter}, which allows answering lookups for non-existing keys
+   * without loading the index.
+   */
+  @Nullable
+  default StoreKeyFilter keyFilter() {
+    return null;
+  }
+
   StoreIndex<V> asMutableIndex();
 
   boolean isMutable();
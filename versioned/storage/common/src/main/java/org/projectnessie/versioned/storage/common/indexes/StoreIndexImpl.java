@@ -109,6 +109,12 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   static final int MAX_KEY_BYTES = 4096;
 
+  /**
+   * Return value of {@link LazyStoreIndexElement#compareSerializedKey(String, int)}, if the keys
+   * have to be compared in their materialized form.
+   */
+  private static final int COMPARE_MATERIALIZED = Integer.MIN_VALUE;
+
   /**
    * Assume 4 additional bytes for each added entry: 2 bytes for the "strip" and 2 bytes for the
    * "add" var-ints.
@@ -278,7 +284,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     modified = true;
     List<StoreIndexElement<V>> e = elements;
     ElementSerializer<V> serializer = this.serializer;
-    int idx = search(e, element);
+    int idx = search(element.key());
     int elementSerializedSize = element.contentSerializedSize(serializer);
     if (idx >= 0) {
       // exact match, key already in segment
@@ -309,7 +315,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   @Override
   public boolean remove(@Nonnull StoreKey key) {
     List<StoreIndexElement<V>> e = elements;
-    int idx = search(e, key);
+    int idx = search(key);
     if (idx < 0) {
       return false;
     }
@@ -329,14 +335,14 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
 
   @Override
   public boolean contains(@Nonnull StoreKey key) {
-    int idx = search(elements, key);
+    int idx = search(key);
     return idx >= 0;
   }
 
   @Override
   public @Nullable StoreIndexElement<V> get(@Nonnull StoreKey key) {
     List<StoreIndexElement<V>> e = elements;
-    int idx = search(e, key);
+    int idx = search(key);
     if (idx < 0) {
       return null;
     }
@@ -393,7 +399,7 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
   }
 
   private int iteratorIndex(StoreKey from, int exactAdd) {
-    int fromIdx = search(elements, from);
+    int fromIdx = search(from);
     if (fromIdx < 0) {
       fromIdx = -fromIdx - 1;
     } else {
@@ -738,6 +744,11 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
             // Call 'putString' with the parameter 'shortened==true' to instruct the function to
             // expect buffer overruns and handle those gracefully.
             StoreKey.putString(keyBuffer.limit(remaining).position(0), e.key.rawString(), true);
+            // The prefix can include the terminating 0-byte(s) of the materialized key, which are
+            // not part of the raw string.
+            while (keyBuffer.hasRemaining()) {
+              keyBuffer.put((byte) 0);
+            }
           } finally {
             keyBuffer.limit(limitSave);
           }
@@ -758,6 +769,65 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
       return keyBuffer;
     }
 
+    /**
+     * Compares this element's key with the given key using the serialized representation in {@link
+     * StoreIndexImpl#serialized}, without materializing this element's key. The bytes of this
+     * element's key are collected from this element and its chain of predecessors.
+     *
+     * <p>Only the US-ASCII prefix of the given key is compared in place. Since UTF-8 byte order
+     * differs from the UTF-16 {@code char} order used by {@link StoreKey#compareTo(StoreKey)} for
+     * some non-ASCII characters, this function returns {@link #COMPARE_MATERIALIZED}, if the
+     * result depends on non-ASCII characters.
+     *
+     * @param key raw string of the key to compare with
+     * @param asciiLen number of leading US-ASCII characters in {@code key}
+     */
+    int compareSerializedKey(String key, int asciiLen) {
+      // All bytes of this element's key are located before 'valueOffset'
+      ByteBuffer serialized = requireNonNull(StoreIndexImpl.this.serialized).limit(valueOffset);
+      int keyLen = key.length();
+      // Number of known bytes of the serialized form of 'key', including the two terminating 0s,
+      // if 'key' consists only of US-ASCII characters.
+      int known = asciiLen == keyLen ? keyLen + 2 : asciiLen;
+      int elementLen = prefixLen + valueOffset - keyOffset;
+
+      // Same walk over the predecessors as in 'prefixKey()'. The parts of the element's key are
+      // visited from the end of the key to its beginning, so the last mismatch found is the first
+      // mismatch in the key.
+      int mismatch = -1;
+      int mismatchByte = 0;
+      int remaining = elementLen;
+      for (LazyStoreIndexElement e = this; e != null && remaining > 0; e = e.predecessor) {
+        int from = e.prefixLen;
+        if (from >= remaining) {
+          continue;
+        }
+        int end = Math.min(remaining, known);
+        for (int i = from, src = e.keyOffset; i < end; i++, src++) {
+          int b = serialized.get(src) & 0xff;
+          if (b != serializedKeyByte(key, i)) {
+            mismatch = i;
+            mismatchByte = b;
+            break;
+          }
+        }
+        remaining = from;
+      }
+
+      if (mismatch >= 0) {
+        if (mismatchByte >= 0x80) {
+          return COMPARE_MATERIALIZED;
+        }
+        return mismatchByte - serializedKeyByte(key, mismatch);
+      }
+      if (elementLen <= known) {
+        // This element's key is a prefix of or equal to 'key'
+        return elementLen == keyLen + 2 ? 0 : -1;
+      }
+      // 'key' is a prefix of this element's key, if 'key' is all US-ASCII
+      return asciiLen == keyLen ? 1 : COMPARE_MATERIALIZED;
+    }
+
     private ByteBuffer serializedForContent() {
       StoreIndexImpl<V> index = StoreIndexImpl.this;
       ByteBuffer serialized = requireNonNull(index.serialized);
@@ -834,12 +904,69 @@ final class StoreIndexImpl<V> implements StoreIndex<V> {
     return ByteBuffer.allocate(MAX_KEY_BYTES);
   }
 
-  private static <V> int search(List<StoreIndexElement<V>> e, @Nonnull StoreKey key) {
-    // Need a StoreIndexElement for the sake of 'binarySearch()' (the content value isn't used)
-    return search(e, indexElement(key, ""));
+  /**
+   * Binary search for the given key, same contract as {@link
+   * java.util.Collections#binarySearch(List, Object, Comparator)}.
+   *
+   * <p>For a deserialized index, keys of {@link LazyStoreIndexElement}s that have not been
+   * materialized yet are compared against the serialized representation in place, so that lookups
+   * against a freshly loaded index do not materialize (allocate) {@link StoreKey}s.
+   */
+  private int search(@Nonnull StoreKey key) {
+    List<StoreIndexElement<V>> e = elements;
+    if (serialized == null) {
+      // Need a StoreIndexElement for the sake of 'binarySearch()' (the content value isn't used)
+      return binarySearch(e, indexElement(key, ""), KEY_COMPARATOR);
+    }
+
+    String raw = key.rawString();
+    int asciiLen = asciiLength(raw);
+
+    int low = 0;
+    int high = e.size() - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareElementKey(e.get(mid), key, raw, asciiLen);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
   }
 
-  private static <V> int search(List<StoreIndexElement<V>> e, StoreIndexElement<?> element) {
-    return binarySearch(e, element, KEY_COMPARATOR);
+  private int compareElementKey(
+      StoreIndexElement<V> element, StoreKey key, String raw, int asciiLen) {
+    if (element.getClass() == LazyStoreIndexElement.class) {
+      LazyStoreIndexElement lazy = (LazyStoreIndexElement) element;
+      if (lazy.key == null) {
+        int cmp = lazy.compareSerializedKey(raw, asciiLen);
+        if (cmp != COMPARE_MATERIALIZED) {
+          return cmp;
+        }
+      }
+    }
+    return element.key().compareTo(key);
+  }
+
+  private static int asciiLength(String raw) {
+    int len = raw.length();
+    for (int i = 0; i < len; i++) {
+      if (raw.charAt(i) > 0x7f) {
+        return i;
+      }
+    }
+    return len;
+  }
+
+  /**
+   * Returns the byte at the given position of the serialized form of the key with the given raw
+   * string, the position must be within the US-ASCII prefix or the two terminating {@code 0}s.
+   */
+  private static int serializedKeyByte(String raw, int position) {
+    return position < raw.length() ? raw.charAt(position) : 0;
   }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations.unsafeWrap;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+
+/**
+ * Compact Bloom filter over the {@link StoreKey}s of an index stripe, persisted alongside the
+ * stripe's first and last keys, to answer lookups for non-existing keys without loading the
+ * stripe.
+ *
+ * <p>Serialized format: one byte format version ({@value #FORMAT_VERSION}), one byte for the number
+ * of hash functions, followed by the bit array. Bit positions are computed using double hashing
+ * from the 128-bit Murmur3 hash of the key's {@link StoreKey#rawString() raw string}.
+ *
+ * <p>A filter never yields false negatives, so {@link #mightContain(StoreKey)} returning {@code
+ * false} means that the key is definitely not contained.
+ */
+public final class StoreKeyFilter {
+
+  static final int FORMAT_VERSION = 1;
+  private static final int HEADER_SIZE = 2;
+  private static final int MAX_HASH_FUNCTIONS = 16;
+  private static final int MIN_BITS = 64;
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final ByteString serialized;
+  private final int numHashFunctions;
+  private final int numBits;
+
+  private StoreKeyFilter(ByteString serialized, int numHashFunctions) {
+    this.serialized = serialized;
+    this.numHashFunctions = numHashFunctions;
+    this.numBits = (serialized.size() - HEADER_SIZE) * 8;
+  }
+
+  /**
+   * Builds a filter for the given keys.
+   *
+   * @param keys the keys to add to the filter
+   * @param expectedKeys the number of keys, used to size the filter
+   * @param bitsPerKey number of bits per key, determines the false-positive rate, 10 bits per key
+   *     yield a false-positive rate of about 1%
+   */
+  public static StoreKeyFilter buildKeyFilter(
+      @Nonnull Iterable<StoreKey> keys, int expectedKeys, int bitsPerKey) {
+    checkArgument(bitsPerKey > 0, "bitsPerKey must be positive");
+    long bits = Math.max(MIN_BITS, (long) Math.max(expectedKeys, 1) * bitsPerKey);
+    checkArgument(bits <= Integer.MAX_VALUE - 7, "Key filter too large");
+    int numBytes = (int) ((bits + 7) / 8);
+    int numHashFunctions =
+        (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS, Math.round(bitsPerKey * Math.log(2))));
+
+    byte[] data = new byte[HEADER_SIZE + numBytes];
+    data[0] = FORMAT_VERSION;
+    data[1] = (byte) numHashFunctions;
+    int numBits = numBytes * 8;
+    for (StoreKey key : keys) {
+      long hash = hash(key);
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= numHashFunctions; i++) {
+        int bit = bitIndex(h1, h2, i, numBits);
+        data[HEADER_SIZE + (bit >>> 3)] |= (byte) (1 << (bit & 7));
+      }
+    }
+
+    return new StoreKeyFilter(unsafeWrap(data), numHashFunctions);
+  }
+
+  /**
+   * Returns the filter for the given serialized representation, or {@code null}, if {@code
+   * serialized} is {@code null} or uses an unknown format.
+   */
+  @Nullable
+  public static StoreKeyFilter deserializeKeyFilter(@Nullable ByteString serialized) {
+    if (serialized == null || serialized.size() <= HEADER_SIZE) {
+      return null;
+    }
+    if (serialized.byteAt(0) != FORMAT_VERSION) {
+      // Unknown format, behave as if no filter is present
+      return null;
+    }
+    int numHashFunctions = serialized.byteAt(1);
+    if (numHashFunctions < 1 || numHashFunctions > MAX_HASH_FUNCTIONS) {
+      return null;
+    }
+    return new StoreKeyFilter(serialized, numHashFunctions);
+  }
+
+  @Nonnull
+  public ByteString serialized() {
+    return serialized;
+  }
+
+  public int serializedSize() {
+    return serialized.size();
+  }
+
+  /**
+   * Returns {@code false}, if the given key is definitely not contained, {@code true} if the key
+   * might be contained.
+   */
+  public boolean mightContain(@Nonnull StoreKey key) {
+    long hash = hash(key);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    ByteString data = serialized;
+    int numBits = this.numBits;
+    for (int i = 1; i <= numHashFunctions; i++) {
+      int bit = bitIndex(h1, h2, i, numBits);
+      if ((data.byteAt(HEADER_SIZE + (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long hash(StoreKey key) {
+    return HASH_FUNCTION.hashUnencodedChars(key.rawString()).asLong();
+  }
+
+  private static int bitIndex(int h1, int h2, int i, int numBits) {
+    int combined = h1 + i * h2;
+    if (combined < 0) {
+      combined = ~combined;
+    }
+    return combined % numBits;
+  }
+
+  @Override
+  public String toString() {
+    return "StoreKeyFilter{numBits=" + numBits + ", numHashFunctions=" + numHashFunctions + "}";
+  }
+}
@@ -78,6 +78,11 @@ final class StripedIndexImpl<V> implements StoreIndex<V> {
       }
       StoreIndex<V> index = stripes[idx];
       if (!index.isLoaded()) {
+        StoreKeyFilter keyFilter = index.keyFilter();
+        if (keyFilter != null && !keyFilter.mightContain(key)) {
+          // key not in this stripe, no need to load it
+          continue;
+        }
         indexesToLoad[idx] = index;
         cnt++;
       }
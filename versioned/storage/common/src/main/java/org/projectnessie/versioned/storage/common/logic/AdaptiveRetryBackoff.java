@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.TryLoopState.Backoff;
+
+/**
+ * Retry backoff using "decorrelated jitter", scaled by the recently observed conflict rate of the
+ * updated reference, and limited by a per-reference token bucket.
+ *
+ * <p>The sleep time for a retry is a random value between a base value and three times the
+ * previous sleep time, capped at {@link StoreConfig#retryMaxSleepMillis()}. The base value is
+ * {@link StoreConfig#retryInitialSleepMillisLower()}, increased by up to {@value
+ * #CONTENTION_SCALE} times for references that recently saw only conflicts.
+ *
+ * <p>Each retry takes a token from the reference's token bucket. If the bucket is empty, the sleep
+ * time is extended until a token becomes available, which limits the rate of retries against a
+ * "hot" reference across all committers of a Nessie instance.
+ */
+final class AdaptiveRetryBackoff implements Backoff {
+
+  /** Weight of the latest observation for the exponentially weighted conflict rate. */
+  static final double CONFLICT_RATE_ALPHA = 0.2d;
+
+  /** Factor by which the base sleep time is increased, if all recent attempts conflicted. */
+  static final int CONTENTION_SCALE = 4;
+
+  static final double TOKEN_BUCKET_CAPACITY = 20d;
+  static final double TOKENS_PER_SECOND = 50d;
+
+  private static final Cache<String, ReferenceContention> CONTENTION =
+      CacheBuilder.newBuilder()
+          .maximumSize(10_000)
+          .expireAfterAccess(Duration.ofMinutes(10))
+          .build();
+
+  private final ReferenceContention contention;
+  private final long baseMillis;
+  private final long maxSleep;
+  private long previousSleep;
+
+  AdaptiveRetryBackoff(StoreConfig config, ReferenceContention contention) {
+    this.contention = contention;
+    this.baseMillis = Math.max(1L, config.retryInitialSleepMillisLower());
+    this.maxSleep = Math.max(baseMillis, config.retryMaxSleepMillis());
+    this.previousSleep = baseMillis;
+  }
+
+  /**
+   * Returns the shared contention state for the given reference, or a new, unshared state, if
+   * {@code referenceName} is {@code null}.
+   */
+  static ReferenceContention contention(String repositoryId, String referenceName) {
+    if (referenceName == null) {
+      return new ReferenceContention();
+    }
+    return CONTENTION
+        .asMap()
+        .computeIfAbsent(repositoryId + '/' + referenceName, k -> new ReferenceContention());
+  }
+
+  @Override
+  public long nextSleepMillis(long currentNanos) {
+    double conflictRate = contention.recordAttempt(true);
+
+    long base = Math.round(baseMillis * (1d + CONTENTION_SCALE * conflictRate));
+    base = Math.min(base, maxSleep);
+    long upper = Math.min(maxSleep, previousSleep * 3);
+    long sleepMillis = upper <= base ? base : ThreadLocalRandom.current().nextLong(base, upper + 1);
+    previousSleep = sleepMillis;
+
+    return sleepMillis + contention.acquireToken(currentNanos);
+  }
+
+  @Override
+  public void finished(boolean successful) {
+    if (successful) {
+      contention.recordAttempt(false);
+    }
+  }
+
+  /** Conflict rate and retry token bucket of a single reference. */
+  static final class ReferenceContention {
+    private double conflictRate;
+    private double tokens = TOKEN_BUCKET_CAPACITY;
+    private long lastRefillNanos;
+    private boolean refilled;
+
+    /**
+     * Records the outcome of an attempt.
+     *
+     * @return the updated conflict rate
+     */
+    synchronized double recordAttempt(boolean conflict) {
+      conflictRate += CONFLICT_RATE_ALPHA * ((conflict ? 1d : 0d) - conflictRate);
+      return conflictRate;
+    }
+
+    synchronized double conflictRate() {
+      return conflictRate;
+    }
+
+    /**
+     * Takes a token from the bucket.
+     *
+     * @return the time in milliseconds until the token is available, {@code 0} if a token was
+     *     immediately available
+     */
+    synchronized long acquireToken(long currentNanos) {
+      if (refilled) {
+        double elapsedSeconds = (double) (currentNanos - lastRefillNanos) / SECONDS.toNanos(1);
+        tokens = Math.min(TOKEN_BUCKET_CAPACITY, tokens + elapsedSeconds * TOKENS_PER_SECOND);
+      }
+      refilled = true;
+      lastRefillNanos = currentNanos;
+
+      tokens -= 1d;
+      if (tokens >= 0d) {
+        return 0L;
+      }
+      // Tokens "in debt" are paid back by waiting for the refill.
+      return (long) Math.ceil(-tokens * 1000d / TOKENS_PER_SECOND);
+    }
+  }
+}
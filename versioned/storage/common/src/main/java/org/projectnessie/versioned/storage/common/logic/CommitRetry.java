@@ -43,7 +43,20 @@ public class CommitRetry {
 
   public static <T> T commitRetry(Persist persist, CommitAttempt<T> attempt)
       throws CommitWrappedException, CommitConflictException, RetryTimeoutException {
-    return commitRetry(persist, attempt, newTryLoopState(persist));
+    return commitRetry(persist, null, attempt);
+  }
+
+  /**
+   * Performs a retryable committing operation against the reference with the given name.
+   *
+   * <p>The name of the reference is used to track contention per reference, see {@link
+   * StoreConfig#retryStrategy()}.
+   *
+   * @param referenceName name of the updated reference, or {@code null} if unknown
+   */
+  public static <T> T commitRetry(Persist persist, String referenceName, CommitAttempt<T> attempt)
+      throws CommitWrappedException, CommitConflictException, RetryTimeoutException {
+    return commitRetry(persist, attempt, newTryLoopState(persist, referenceName));
   }
 
   @VisibleForTesting
@@ -55,14 +68,18 @@ public class CommitRetry {
     long t1 = t0;
     for (int i = 0; true; i++, t1 = tls.currentNanos()) {
       try {
-        return attempt.attempt(persist, retryState);
+        T result = attempt.attempt(persist, retryState);
+        tls.finished(true);
+        return result;
       } catch (RetryException e) {
         if (!tls.retry(t1)) {
+          tls.finished(false);
           throw new RetryTimeoutException(i, tls.currentNanos() - t0);
         }
         retryState = e.retryState();
       } catch (UnknownOperationResultException e) {
         if (!tls.retry(t1)) {
+          tls.finished(false);
           throw new RetryTimeoutException(i, tls.currentNanos() - t0);
         }
       }
@@ -101,29 +118,41 @@ public class CommitRetry {
 
   static final class TryLoopState {
 
+    private final StoreConfig config;
     private final MonotonicClock monotonicClock;
+    private final Backoff backoff;
     private final long t0;
     private final long maxTime;
     private final int maxRetries;
-    private final long maxSleep;
-    private long lowerBound;
-    private long upperBound;
     private int retries;
     private boolean unsuccessful;
 
     TryLoopState(StoreConfig config, MonotonicClock monotonicClock) {
+      this(config, monotonicClock, new FixedBackoff(config));
+    }
+
+    TryLoopState(StoreConfig config, MonotonicClock monotonicClock, Backoff backoff) {
+      this.config = config;
       this.maxTime = MILLISECONDS.toNanos(config.commitTimeoutMillis());
       this.maxRetries = config.commitRetries();
       this.monotonicClock = monotonicClock;
+      this.backoff = backoff;
       this.t0 = monotonicClock.currentNanos();
-      this.lowerBound = config.retryInitialSleepMillisLower();
-      this.upperBound = config.retryInitialSleepMillisUpper();
-      this.maxSleep = config.retryMaxSleepMillis();
     }
 
     public static TryLoopState newTryLoopState(Persist persist) {
+      return newTryLoopState(persist, null);
+    }
+
+    public static TryLoopState newTryLoopState(Persist persist, String referenceName) {
+      StoreConfig config = persist.config();
+      Backoff backoff =
+          config.retryStrategy() == StoreConfig.RetryStrategy.ADAPTIVE
+              ? new AdaptiveRetryBackoff(
+                  config, AdaptiveRetryBackoff.contention(config.repositoryId(), referenceName))
+              : new FixedBackoff(config);
       return new TryLoopState(
-          persist.config(),
+          config,
           new MonotonicClock() {
             @Override
             public long currentNanos() {
@@ -138,7 +167,8 @@ public class CommitRetry {
                 Thread.currentThread().interrupt();
               }
             }
-          });
+          },
+          backoff);
     }
 
     long currentNanos() {
@@ -161,16 +191,19 @@ public class CommitRetry {
         return false;
       }
 
-      sleepAndBackoff(totalElapsed, attemptElapsed);
+      sleepAndBackoff(current, totalElapsed, attemptElapsed);
 
       return true;
     }
 
-    private void sleepAndBackoff(long totalElapsed, long attemptElapsed) {
-      long lower = lowerBound;
-      long upper = upperBound;
-      long sleepMillis =
-          lower == upper ? lower : ThreadLocalRandom.current().nextLong(lower, upper);
+    /** Informs the backoff about the final outcome and records the number of retries. */
+    void finished(boolean successful) {
+      backoff.finished(successful);
+      CommitRetryMetrics.recordRetries(config, retries, successful);
+    }
+
+    private void sleepAndBackoff(long current, long totalElapsed, long attemptElapsed) {
+      long sleepMillis = backoff.nextSleepMillis(current);
 
       // Prevent that we "sleep" too long and exceed 'maxTime'
       sleepMillis = Math.min(NANOSECONDS.toMillis(maxTime - totalElapsed), sleepMillis);
@@ -182,14 +215,52 @@ public class CommitRetry {
           .addEvent(OTEL_SLEEP_EVENT_NAME, Attributes.of(OTEL_SLEEP_EVENT_TIME_KEY, sleepMillis));
 
       monotonicClock.sleepMillis(sleepMillis);
+    }
+
+    /** Computes the time to sleep before the next attempt. */
+    interface Backoff {
+      /**
+       * Returns the time to sleep before the next attempt in milliseconds and advances the backoff
+       * state.
+       */
+      long nextSleepMillis(long currentNanos);
+
+      /** Called once the operation finished, either successfully or by giving up. */
+      default void finished(boolean successful) {}
+    }
+
+    /**
+     * Random sleep time between a lower and upper bound, both bounds are doubled after each retry
+     * until the upper bound reaches {@link StoreConfig#retryMaxSleepMillis()}.
+     */
+    static final class FixedBackoff implements Backoff {
+      private final long maxSleep;
+      private long lowerBound;
+      private long upperBound;
+
+      FixedBackoff(StoreConfig config) {
+        this.lowerBound = config.retryInitialSleepMillisLower();
+        this.upperBound = config.retryInitialSleepMillisUpper();
+        this.maxSleep = config.retryMaxSleepMillis();
+      }
+
+      @Override
+      public long nextSleepMillis(long currentNanos) {
+        long lower = lowerBound;
+        long upper = upperBound;
+        long sleepMillis =
+            lower == upper ? lower : ThreadLocalRandom.current().nextLong(lower, upper);
+
+        upper = upper * 2;
+        long max = maxSleep;
+        if (upper <= max) {
+          lowerBound *= 2;
+          upperBound = upper;
+        } else {
+          upperBound = max;
+        }
 
-      upper = upper * 2;
-      long max = maxSleep;
-      if (upper <= max) {
-        lowerBound *= 2;
-        upperBound = upper;
-      } else {
-        upperBound = max;
+        return sleepMillis;
       }
     }
 
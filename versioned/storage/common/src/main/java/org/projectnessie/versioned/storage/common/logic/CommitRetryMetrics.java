@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.logic;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+
+/**
+ * Publishes the number of retries of committing operations to the {@link
+ * StoreConfig#meterRegistry() configured meter registry}, if any.
+ *
+ * <p>Only operations that needed at least one retry are recorded. The meters are tagged with the
+ * repository ID and the outcome only, per-reference tags would lead to an unbounded number of time
+ * series.
+ */
+final class CommitRetryMetrics {
+  static final String RETRIES_METRIC = "nessie.commit-retry.retries";
+
+  /** Meters per registry and repository ID, registered once. */
+  private static final Map<MeterRegistry, Map<String, CommitRetryMetrics>> METRICS =
+      new WeakHashMap<>();
+
+  private final DistributionSummary successful;
+  private final DistributionSummary timedOut;
+
+  private CommitRetryMetrics(MeterRegistry meterRegistry, String repositoryId) {
+    this.successful = retriesSummary(meterRegistry, repositoryId, "success");
+    this.timedOut = retriesSummary(meterRegistry, repositoryId, "timeout");
+  }
+
+  static void recordRetries(StoreConfig config, int retries, boolean successful) {
+    if (retries > 0) {
+      Optional<MeterRegistry> meterRegistry = config.meterRegistry();
+      if (meterRegistry.isPresent()) {
+        CommitRetryMetrics metrics = metrics(meterRegistry.get(), config.repositoryId());
+        (successful ? metrics.successful : metrics.timedOut).record(retries);
+      }
+    }
+  }
+
+  private static CommitRetryMetrics metrics(MeterRegistry meterRegistry, String repositoryId) {
+    synchronized (METRICS) {
+      return METRICS
+          .computeIfAbsent(meterRegistry, r -> new HashMap<>())
+          .computeIfAbsent(repositoryId, id -> new CommitRetryMetrics(meterRegistry, id));
+    }
+  }
+
+  private static DistributionSummary retriesSummary(
+      MeterRegistry meterRegistry, String repositoryId, String outcome) {
+    return DistributionSummary.builder(RETRIES_METRIC)
+        .description("Number of retries of committing operations")
+        .baseUnit("retries")
+        .tag("repository", repositoryId)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
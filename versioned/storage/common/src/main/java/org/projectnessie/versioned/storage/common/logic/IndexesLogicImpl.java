@@ -24,6 +24,8 @@ import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.in
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.layeredIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.buildKeyFilter;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.deserializeKeyFilter;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.Logics.commitLogic;
 import static org.projectnessie.versioned.storage.common.logic.SuppliedCommitIndex.suppliedCommitIndex;
@@ -41,7 +43,9 @@ import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ
 import static org.projectnessie.versioned.storage.common.util.SupplyOnce.memoize;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Utf8;
 import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.util.ArrayDeque;
@@ -60,6 +64,7 @@ import org.projectnessie.versioned.storage.common.indexes.IndexLoader;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreIndexElement;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
 import org.projectnessie.versioned.storage.common.objtypes.IndexObj;
@@ -75,6 +80,16 @@ import org.slf4j.LoggerFactory;
 
 final class IndexesLogicImpl implements IndexesLogic {
   private static final Logger LOGGER = LoggerFactory.getLogger(IndexesLogicImpl.class);
+
+  /** Key filters with fewer bits per key have a too high false-positive rate to be useful. */
+  static final int MIN_KEY_FILTER_BITS_PER_KEY = 4;
+
+  /**
+   * Estimated serialized size of a single {@link IndexStripe} in an {@link IndexSegmentsObj},
+   * excluding the first/last keys and the key filter, includes the 256 bit segment ID.
+   */
+  static final int INDEX_STRIPE_OVERHEAD = 48;
+
   private final Persist persist;
 
   IndexesLogicImpl(Persist persist) {
@@ -312,7 +327,8 @@ final class IndexesLogicImpl implements IndexesLogic {
                     return l;
                   },
                   s.firstKey(),
-                  s.lastKey())
+                  s.lastKey(),
+                  deserializeKeyFilter(s.keyFilter()))
               .setObjId(s.segment()));
       firstLastKeys.add(s.firstKey());
       firstLastKeys.add(s.lastKey());
@@ -371,7 +387,8 @@ final class IndexesLogicImpl implements IndexesLogic {
     }
 
     List<Obj> toStore = new ArrayList<>();
-    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore);
+    List<IndexStripe> indexStripes =
+        buildIndexStripes(stripes, toStore, persist.config().indexStripeFilterBitsPerKey());
 
     IndexSegmentsObj referenceIndex = indexSegments(indexStripes);
     toStore.add(referenceIndex);
@@ -387,15 +404,19 @@ final class IndexesLogicImpl implements IndexesLogic {
       throws ObjTooLargeException {
     List<StoreIndex<CommitOp>> stripes = stripedIndex.stripes();
     List<Obj> toStore = new ArrayList<>();
-    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore);
+    // Stripes embedded in a commit do not carry key filters, those would bloat every commit.
+    List<IndexStripe> indexStripes = buildIndexStripes(stripes, toStore, 0);
     persist.storeObjs(toStore.toArray(new Obj[0]));
     return indexStripes;
   }
 
   private List<IndexStripe> buildIndexStripes(
-      List<StoreIndex<CommitOp>> stripes, List<Obj> toStore) {
+      List<StoreIndex<CommitOp>> stripes, List<Obj> toStore, int filterBitsPerKey) {
+    ByteString[] keyFilters = buildKeyFilters(stripes, filterBitsPerKey);
+
     List<IndexStripe> indexStripes = new ArrayList<>(stripes.size());
-    for (StoreIndex<CommitOp> indexSegment : stripes) {
+    for (int i = 0; i < stripes.size(); i++) {
+      StoreIndex<CommitOp> indexSegment = stripes.get(i);
       ObjId segId;
       if (!indexSegment.isModified()) {
         segId =
@@ -411,12 +432,76 @@ final class IndexesLogicImpl implements IndexesLogic {
       StoreKey last = indexSegment.last();
       checkState(first != null && last != null);
 
-      indexStripes.add(indexStripe(first, last, segId));
+      indexStripes.add(indexStripe(first, last, segId, keyFilters[i]));
     }
 
     return indexStripes;
   }
 
+  /**
+   * Returns the serialized key filters for the given stripes. Filters of unchanged stripes are
+   * retained, new filters are built for modified and loaded stripes. Not loaded stripes without a
+   * filter do not get one, because that would require loading the stripe.
+   *
+   * <p>The total size of the serialized stripes including their filters must not exceed {@link
+   * Persist#effectiveIndexSegmentSizeLimit()}, which respects the backend's hard object size limit.
+   * All filters are dropped, if the retained filters alone would exceed that limit.
+   */
+  private ByteString[] buildKeyFilters(List<StoreIndex<CommitOp>> stripes, int filterBitsPerKey) {
+    ByteString[] keyFilters = new ByteString[stripes.size()];
+    if (filterBitsPerKey <= 0) {
+      return keyFilters;
+    }
+
+    long retainedBytes = 0L;
+    long newKeys = 0L;
+    for (int i = 0; i < stripes.size(); i++) {
+      StoreIndex<CommitOp> indexSegment = stripes.get(i);
+      retainedBytes += serializedStripeSize(indexSegment);
+      StoreKeyFilter existing = indexSegment.keyFilter();
+      if (existing != null) {
+        keyFilters[i] = existing.serialized();
+        retainedBytes += existing.serializedSize();
+      } else if (indexSegment.isModified() || indexSegment.isLoaded()) {
+        newKeys += indexSegment.elementCount();
+      }
+    }
+
+    long availableBytes = persist.effectiveIndexSegmentSizeLimit() - retainedBytes;
+    if (availableBytes < 0L) {
+      return new ByteString[stripes.size()];
+    }
+
+    if (newKeys > 0L) {
+      long availableBits = availableBytes * 8L;
+      int bitsPerKey = (int) Math.min(filterBitsPerKey, availableBits / newKeys);
+      if (bitsPerKey >= MIN_KEY_FILTER_BITS_PER_KEY) {
+        for (int i = 0; i < stripes.size(); i++) {
+          StoreIndex<CommitOp> indexSegment = stripes.get(i);
+          if (keyFilters[i] == null && (indexSegment.isModified() || indexSegment.isLoaded())) {
+            keyFilters[i] =
+                buildKeyFilter(
+                        () -> Iterators.transform(indexSegment.iterator(), StoreIndexElement::key),
+                        indexSegment.elementCount(),
+                        bitsPerKey)
+                    .serialized();
+          }
+        }
+      }
+    }
+
+    return keyFilters;
+  }
+
+  /** Estimated serialized size of the {@link IndexStripe} for the given stripe, without filter. */
+  private static long serializedStripeSize(StoreIndex<CommitOp> indexSegment) {
+    StoreKey first = indexSegment.first();
+    StoreKey last = indexSegment.last();
+    return INDEX_STRIPE_OVERHEAD
+        + (first != null ? Utf8.encodedLength(first.rawString()) : 0)
+        + (last != null ? Utf8.encodedLength(last.rawString()) : 0);
+  }
+
   private ObjId persistIndex(StoreIndex<CommitOp> indexSegment) throws ObjTooLargeException {
     if (!indexSegment.isModified()) {
       return requireNonNull(
@@ -503,6 +503,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     try {
       return commitRetry(
           persist,
+          REF_REFS.name(),
           (p, retryState) -> {
             Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
             RefObj ref = ref(name, pointer, refCreatedTimestamp, extendedInfoObj);
@@ -582,6 +583,7 @@ final class ReferenceLogicImpl implements ReferenceLogic {
     try {
       commitRetry(
           persist,
+          REF_REFS.name(),
           (p, retryState) -> {
             Reference refRefs = requireNonNull(p.fetchReferenceForUpdate(REF_REFS.name()));
             if (expectedRefRefsHead != null && !refRefs.pointer().equals(expectedRefRefsHead)) {
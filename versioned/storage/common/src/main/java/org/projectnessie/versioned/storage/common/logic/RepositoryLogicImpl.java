@@ -205,6 +205,7 @@ final class RepositoryLogicImpl implements RepositoryLogic {
       StringValue existing =
           commitRetry(
               persist,
+              REF_REPO.name(),
               (p, retryState) -> {
                 try {
                   Reference reference =
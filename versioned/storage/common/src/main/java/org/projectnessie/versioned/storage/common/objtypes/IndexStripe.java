@@ -15,8 +15,11 @@
  */
 package org.projectnessie.versioned.storage.common.objtypes;
 
+import jakarta.annotation.Nullable;
 import org.immutables.value.Value;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
+import org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter;
 import org.projectnessie.versioned.storage.common.persist.Hashable;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjIdHasher;
@@ -33,10 +36,25 @@ public interface IndexStripe extends Hashable {
   @Value.Parameter(order = 3)
   ObjId segment();
 
+  /**
+   * Serialized {@link StoreKeyFilter} of the keys in the {@link #segment()}, if available. Only
+   * present for the stripes of an {@link IndexSegmentsObj}.
+   *
+   * <p>Not included in {@link #hash(ObjIdHasher)}, because the filter is derived from the contents
+   * of the {@link #segment()}.
+   */
+  @Nullable
+  ByteString keyFilter();
+
   static IndexStripe indexStripe(StoreKey firstKey, StoreKey lastKey, ObjId segment) {
     return ImmutableIndexStripe.of(firstKey, lastKey, segment);
   }
 
+  static IndexStripe indexStripe(
+      StoreKey firstKey, StoreKey lastKey, ObjId segment, @Nullable ByteString keyFilter) {
+    return ImmutableIndexStripe.of(firstKey, lastKey, segment).withKeyFilter(keyFilter);
+  }
+
   @Override
   default void hash(ObjIdHasher idHasher) {
     idHasher
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+import static java.util.Collections.emptyMap;
+import static org.projectnessie.versioned.storage.common.util.Compressions.DEFAULT_LEVEL;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+
+/**
+ * Compression algorithm and level per {@link ObjType}, as configured via {@link
+ * StoreConfig#objCompression()}.
+ *
+ * <p>The textual representation is a comma separated list of {@code obj-type=ALGORITHM[:level]}
+ * entries, for example {@code value=zstd:3,index_segments=lz4,*=gzip}. Object type names are
+ * matched case-insensitively against {@link ObjType#name()}, dashes are treated like underscores.
+ * The object type {@code *} defines the compression for all object types that are not explicitly
+ * mentioned.
+ */
+public final class CompressionPolicy {
+
+  public static final String ALL_TYPES = "*";
+
+  public static final CompressionPolicy NO_COMPRESSION =
+      new CompressionPolicy(emptyMap(), null, Integer.MAX_VALUE);
+
+  private final Map<String, Codec> perType;
+  private final Codec fallback;
+  private final int minSize;
+
+  private CompressionPolicy(Map<String, Codec> perType, Codec fallback, int minSize) {
+    this.perType = perType;
+    this.fallback = fallback;
+    this.minSize = minSize;
+  }
+
+  public static CompressionPolicy fromConfig(StoreConfig config) {
+    return config
+        .objCompression()
+        .map(spec -> parse(spec, config.objCompressionMinSize()))
+        .orElse(NO_COMPRESSION);
+  }
+
+  public static CompressionPolicy parse(String spec, int minSize) {
+    Map<String, Codec> perType = new HashMap<>();
+    Codec fallback = null;
+    for (String entry : spec.split(",")) {
+      entry = entry.trim();
+      if (entry.isEmpty()) {
+        continue;
+      }
+      int eq = entry.indexOf('=');
+      if (eq <= 0 || eq == entry.length() - 1) {
+        throw new IllegalArgumentException(
+            "Invalid object compression entry '" + entry + "', expecting obj-type=ALGORITHM");
+      }
+      String type = typeKey(entry.substring(0, eq).trim());
+      Codec codec = Codec.parse(entry.substring(eq + 1).trim());
+      if (ALL_TYPES.equals(type)) {
+        fallback = codec;
+      } else {
+        perType.put(type, codec);
+      }
+    }
+    if (perType.isEmpty() && fallback == null) {
+      return NO_COMPRESSION;
+    }
+    return new CompressionPolicy(perType, fallback, minSize);
+  }
+
+  private static String typeKey(String name) {
+    return name.replace('-', '_').toUpperCase(Locale.ROOT);
+  }
+
+  /** Whether any compression is configured at all. */
+  public boolean isEnabled() {
+    return this != NO_COMPRESSION;
+  }
+
+  /** Returns the compression algorithm configured for the given object type. */
+  public Compression compression(ObjType type) {
+    Codec codec = codec(type);
+    return codec != null ? codec.compression : Compression.NONE;
+  }
+
+  /**
+   * Compresses the serialized representation of an object of the given type, if the configuration
+   * asks for it and the serialized data is not smaller than the configured minimum size.
+   *
+   * @param compression receives the actually applied compression
+   * @return the compressed data or {@code serialized}, if no compression has been applied
+   */
+  public byte[] compress(ObjType type, byte[] serialized, Consumer<Compression> compression) {
+    Codec codec = serialized.length >= minSize ? codec(type) : null;
+    if (codec == null || codec.compression == Compression.NONE) {
+      compression.accept(Compression.NONE);
+      return serialized;
+    }
+    byte[] compressed = Compressions.compress(codec.compression, codec.level, serialized);
+    if (compressed.length >= serialized.length) {
+      // incompressible data, no need to pay the decompression costs
+      compression.accept(Compression.NONE);
+      return serialized;
+    }
+    compression.accept(codec.compression);
+    return compressed;
+  }
+
+  private Codec codec(ObjType type) {
+    Codec codec = perType.get(typeKey(type.name()));
+    return codec != null ? codec : fallback;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    perType.forEach(
+        (type, codec) -> {
+          if (sb.length() > 0) {
+            sb.append(',');
+          }
+          sb.append(type).append('=').append(codec);
+        });
+    if (fallback != null) {
+      if (sb.length() > 0) {
+        sb.append(',');
+      }
+      sb.append(ALL_TYPES).append('=').append(fallback);
+    }
+    return sb.toString();
+  }
+
+  private static final class Codec {
+    final Compression compression;
+    final int level;
+
+    Codec(Compression compression, int level) {
+      this.compression = compression;
+      this.level = level;
+    }
+
+    static Codec parse(String value) {
+      int colon = value.indexOf(':');
+      String algorithm = colon == -1 ? value : value.substring(0, colon).trim();
+      int level = DEFAULT_LEVEL;
+      if (colon != -1) {
+        try {
+          level = Integer.parseInt(value.substring(colon + 1).trim());
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Invalid compression level in '" + value + "'", e);
+        }
+      }
+      return new Codec(Compression.valueOf(algorithm.toUpperCase(Locale.ROOT)), level);
+    }
+
+    @Override
+    public String toString() {
+      return level == DEFAULT_LEVEL ? compression.name() : compression.name() + ':' + level;
+    }
+  }
+}
@@ -15,6 +15,8 @@
  */
 package org.projectnessie.versioned.storage.common.util;
 
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
@@ -25,6 +27,11 @@ import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.InflaterOutputStream;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+import net.jpountz.xxhash.XXHashFactory;
 import org.projectnessie.versioned.storage.common.objtypes.Compression;
 import org.xerial.snappy.SnappyInputStream;
 import org.xerial.snappy.SnappyOutputStream;
@@ -33,6 +40,12 @@ public final class Compressions {
 
   public static final int KEEP_UNCOMPRESSED = 8192;
 
+  /** Use the compression algorithm's default compression level. */
+  public static final int DEFAULT_LEVEL = -1;
+
+  static final int DEFLATE_DEFAULT_LEVEL = 1;
+  static final int ZSTD_DEFAULT_LEVEL = 3;
+
   private Compressions() {}
 
   public static byte[] compressDefault(byte[] bytes, Consumer<Compression> compression) {
@@ -46,15 +59,30 @@ public final class Compressions {
   }
 
   public static byte[] compress(Compression compression, byte[] uncompressed) {
+    return compress(compression, DEFAULT_LEVEL, uncompressed);
+  }
+
+  /**
+   * Compresses the given data using the given compression algorithm.
+   *
+   * @param level compression level, {@link #DEFAULT_LEVEL} uses the algorithm's default level.
+   *     Ignored for {@link Compression#GZIP} and {@link Compression#SNAPPY}. For {@link
+   *     Compression#LZ4} any positive value selects the high-compression variant with that level.
+   */
+  public static byte[] compress(Compression compression, int level, byte[] uncompressed) {
     switch (compression) {
       case NONE:
         return uncompressed;
       case GZIP:
         return gzip(uncompressed);
       case DEFLATE:
-        return deflate(uncompressed);
+        return deflate(uncompressed, level == DEFAULT_LEVEL ? DEFLATE_DEFAULT_LEVEL : level);
       case SNAPPY:
         return snappyCompress(uncompressed);
+      case ZSTD:
+        return zstdCompress(uncompressed, level == DEFAULT_LEVEL ? ZSTD_DEFAULT_LEVEL : level);
+      case LZ4:
+        return lz4Compress(uncompressed, level);
       default:
         throw new IllegalArgumentException("Compression " + compression + " not implemented");
     }
@@ -70,6 +98,10 @@ public final class Compressions {
         return inflate(compressed);
       case SNAPPY:
         return snappyUncompress(compressed);
+      case ZSTD:
+        return zstdUncompress(compressed);
+      case LZ4:
+        return lz4Uncompress(compressed);
       default:
         throw new IllegalArgumentException("Compression " + compression + " not implemented");
     }
@@ -95,9 +127,9 @@ public final class Compressions {
     return out.toByteArray();
   }
 
-  private static byte[] deflate(byte[] uncompressed) {
+  private static byte[] deflate(byte[] uncompressed, int level) {
     ByteArrayOutputStream out = new ByteArrayOutputStream(uncompressed.length);
-    try (OutputStream def = new DeflaterOutputStream(out, new Deflater(1))) {
+    try (OutputStream def = new DeflaterOutputStream(out, new Deflater(level))) {
       def.write(uncompressed);
     } catch (Exception e) {
       throw new RuntimeException(e);
@@ -134,4 +166,54 @@ public final class Compressions {
     }
     return out.toByteArray();
   }
+
+  private static byte[] zstdCompress(byte[] uncompressed, int level) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(uncompressed.length);
+    try (OutputStream def = new ZstdOutputStream(out, level)) {
+      def.write(uncompressed);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] zstdUncompress(byte[] compressed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 2);
+    try (InputStream input = new ZstdInputStream(new ByteArrayInputStream(compressed))) {
+      input.transferTo(out);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] lz4Compress(byte[] uncompressed, int level) {
+    LZ4Factory factory = LZ4Factory.fastestInstance();
+    LZ4Compressor compressor = level > 0 ? factory.highCompressor(level) : factory.fastCompressor();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(uncompressed.length);
+    try (OutputStream def =
+        new LZ4FrameOutputStream(
+            out,
+            LZ4FrameOutputStream.BLOCKSIZE.SIZE_64KB,
+            uncompressed.length,
+            compressor,
+            XXHashFactory.fastestInstance().hash32(),
+            LZ4FrameOutputStream.FLG.Bits.BLOCK_INDEPENDENCE,
+            LZ4FrameOutputStream.FLG.Bits.CONTENT_SIZE)) {
+      def.write(uncompressed);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] lz4Uncompress(byte[] compressed) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 2);
+    try (InputStream input = new LZ4FrameInputStream(new ByteArrayInputStream(compressed))) {
+      input.transferTo(out);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
 }
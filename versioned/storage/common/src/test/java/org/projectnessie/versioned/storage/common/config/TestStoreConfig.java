@@ -25,6 +25,8 @@ import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONF
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_REFERENCE_STRIPES_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_NAMESPACE_VALIDATION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_OBJ_COMPRESSION;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_OBJ_COMPRESSION_MIN_SIZE;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_PARENTS_PER_COMMIT;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_REPOSITORY_ID;
 import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_RETRY_INITIAL_SLEEP_MILLIS_LOWER;
@@ -121,6 +123,17 @@ public class TestStoreConfig {
                   boolean validateNamespaces = c.validateNamespaces();
                   return !validateNamespaces;
                 }),
+        arguments(
+            CONFIG_OBJ_COMPRESSION,
+            "value=zstd:3,*=lz4",
+            (Function<Adjustable, StoreConfig>) e -> e.withObjCompression("value=zstd:3,*=lz4"),
+            (Predicate<StoreConfig>)
+                c -> c.objCompression().orElseThrow().equals("value=zstd:3,*=lz4")),
+        arguments(
+            CONFIG_OBJ_COMPRESSION_MIN_SIZE,
+            "4096",
+            (Function<Adjustable, StoreConfig>) e -> e.withObjCompressionMinSize(4096),
+            (Predicate<StoreConfig>) c -> c.objCompressionMinSize() == 4096),
         // default methods (current time in micros + hasher)
         arguments(
             "x",
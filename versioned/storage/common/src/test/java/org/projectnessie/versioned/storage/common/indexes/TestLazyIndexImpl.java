@@ -22,12 +22,15 @@ import static org.projectnessie.versioned.storage.common.indexes.StoreIndexEleme
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.lazyStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.buildKeyFilter;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 import static org.projectnessie.versioned.storage.commontests.KeyIndexTestSet.basicIndexTestSet;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -207,4 +210,38 @@ public class TestLazyIndexImpl {
         .extracting(StoreIndex::isLoaded, StoreIndex::isModified, StoreIndex::isMutable)
         .containsExactly(true, true, false);
   }
+
+  @Test
+  public void keyFilterSkipsLoadForMissingKeys() {
+    List<StoreKey> keys = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      keys.add(key("key-" + i));
+    }
+    StoreKeyFilter keyFilter = buildKeyFilter(keys, keys.size(), 10);
+
+    FailChecker checker = new FailChecker();
+    StoreIndex<CommitOp> lazyIndex =
+        lazyStoreIndex(checker, keys.get(0), keys.get(keys.size() - 1), keyFilter);
+
+    soft.assertThat(lazyIndex.keyFilter()).isSameAs(keyFilter);
+
+    int filtered = 0;
+    for (int i = 0; i < 1000; i++) {
+      StoreKey missing = key("missing-" + i);
+      if (!keyFilter.mightContain(missing)) {
+        soft.assertThat(lazyIndex.contains(missing)).isFalse();
+        soft.assertThat(lazyIndex.get(missing)).isNull();
+        filtered++;
+      }
+    }
+    soft.assertThat(filtered).isGreaterThan(900);
+    soft.assertThat(checker.called).hasValue(0);
+    soft.assertThat(lazyIndex.isLoaded()).isFalse();
+
+    // A key that might be contained requires loading the index
+    soft.assertThatThrownBy(() -> lazyIndex.get(keys.get(50)))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessage("fail check");
+    soft.assertThat(checker.called).hasValue(1);
+  }
 }
@@ -235,6 +235,71 @@ public class TestStoreIndexImpl {
     }
   }
 
+  @Test
+  public void lookupWithoutMaterializingKeys() {
+    StoreIndex<ObjId> segment = newStoreIndex(OBJ_ID_SERIALIZER);
+    List<StoreKey> keys =
+        Stream.of("a", "aa", "ab", "b", "ba", "bab", "bb", "c")
+            .flatMap(e -> Stream.of(key(e), key(e, "x"), key(e, "x", "y"), key(e, "y")))
+            .collect(Collectors.toList());
+    keys.forEach(k -> segment.add(indexElement(k, randomObjId())));
+    ByteString serialized = segment.serialize();
+
+    List<StoreKey> probes =
+        Stream.concat(
+                keys.stream(),
+                Stream.of(key("0"), key("a", "w"), key("a", "x", "z"), key("ac"), key("d")))
+            .collect(Collectors.toList());
+
+    StoreIndex<ObjId> deserialized = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+    for (StoreKey probe : probes) {
+      soft.assertThat(deserialized.contains(probe)).isEqualTo(segment.contains(probe));
+      StoreIndex<ObjId> fresh = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+      soft.assertThat(fresh.get(probe)).isEqualTo(segment.get(probe));
+    }
+
+    // None of the keys of the deserialized index has been materialized by the lookups
+    deserialized.forEach(el -> soft.assertThat(el.toString()).contains("keyOffset="));
+  }
+
+  @Test
+  public void materializeKeyAfterMaterializedPredecessor() {
+    StoreIndex<ObjId> segment = newStoreIndex(OBJ_ID_SERIALIZER);
+    Stream.of(key("b"), key("b", "bc", "bb"), key("bc"))
+        .map(k -> indexElement(k, randomObjId()))
+        .forEach(segment::add);
+
+    StoreIndex<ObjId> deserialized = deserializeStoreIndex(segment.serialize(), OBJ_ID_SERIALIZER);
+    // Materialize the key of the predecessor first, the prefix of the 2nd key includes the
+    // terminating 0-byte of the 1st key.
+    soft.assertThat(deserialized.first()).isEqualTo(key("b"));
+    soft.assertThat(deserialized.asKeyList()).containsExactlyElementsOf(segment.asKeyList());
+  }
+
+  @Test
+  public void lookupNonAsciiKeys() {
+    StoreIndex<ObjId> segment = newStoreIndex(OBJ_ID_SERIALIZER);
+    // "\uff61" is sorted after the surrogate pair by String.compareTo(), but before in UTF-8
+    List<StoreKey> keys =
+        Stream.of("a", "a\u00e4", "a\u00e4b", "a\uff61", "a\ud83d\ude00", "a\ud83d\ude00b", "b")
+            .flatMap(e -> Stream.of(key(e), key(e, "x")))
+            .collect(Collectors.toList());
+    keys.forEach(k -> segment.add(indexElement(k, randomObjId())));
+    ByteString serialized = segment.serialize();
+
+    List<StoreKey> probes =
+        Stream.concat(
+                keys.stream(), Stream.of(key("a\u00e5"), key("a\uff60"), key("a\ud83d\ude01")))
+            .collect(Collectors.toList());
+
+    for (StoreKey probe : probes) {
+      StoreIndex<ObjId> fresh = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+      soft.assertThat(fresh.contains(probe)).isEqualTo(segment.contains(probe));
+      fresh = deserializeStoreIndex(serialized, OBJ_ID_SERIALIZER);
+      soft.assertThat(fresh.get(probe)).isEqualTo(segment.get(probe));
+    }
+  }
+
   @Test
   public void similarPrefixLengths() {
     StoreKey keyA = key("a", "x", "A");
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.indexes;
+
+import static java.util.Collections.emptyList;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.buildKeyFilter;
+import static org.projectnessie.versioned.storage.common.indexes.StoreKeyFilter.deserializeKeyFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestStoreKeyFilter {
+  @InjectSoftAssertions SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 10, 100, 1000, 10000})
+  public void noFalseNegatives(int numKeys) {
+    List<StoreKey> keys = keys("contained", numKeys);
+    StoreKeyFilter filter = buildKeyFilter(keys, numKeys, 10);
+
+    soft.assertThat(keys).allMatch(filter::mightContain);
+    soft.assertThat(deserializeKeyFilter(filter.serialized()))
+        .isNotNull()
+        .satisfies(f -> soft.assertThat(keys).allMatch(f::mightContain));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {4, 10, 16})
+  public void falsePositiveRate(int bitsPerKey) {
+    int numKeys = 10000;
+    StoreKeyFilter filter = buildKeyFilter(keys("contained", numKeys), numKeys, bitsPerKey);
+
+    int falsePositives = 0;
+    int probes = 100000;
+    for (StoreKey key : keys("missing", probes)) {
+      if (filter.mightContain(key)) {
+        falsePositives++;
+      }
+    }
+
+    // Theoretical false-positive rates: 4 bits ~ 14.7%, 10 bits ~ 0.8%, 16 bits ~ 0.05%
+    double expected = Math.pow(0.6185d, bitsPerKey);
+    soft.assertThat((double) falsePositives / probes).isLessThan(expected * 2d);
+    soft.assertThat(filter.serializedSize()).isEqualTo(2 + numKeys * bitsPerKey / 8);
+  }
+
+  @Test
+  public void nonAsciiKeys() {
+    List<StoreKey> keys = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      keys.add(key("äöü-" + i, "😀", "x" + i));
+    }
+    StoreKeyFilter filter = buildKeyFilter(keys, keys.size(), 10);
+    soft.assertThat(keys).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void emptyKeys() {
+    StoreKeyFilter filter = buildKeyFilter(emptyList(), 0, 10);
+    soft.assertThat(filter.mightContain(key("foo"))).isFalse();
+    soft.assertThat(filter.serializedSize()).isEqualTo(2 + 8);
+  }
+
+  @Test
+  public void unknownOrIllegalSerializedFilters() {
+    soft.assertThat(deserializeKeyFilter(null)).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.EMPTY)).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.copyFrom(new byte[] {1, 3}))).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.copyFrom(new byte[] {2, 3, 0, 0}))).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.copyFrom(new byte[] {1, 0, 0, 0}))).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.copyFrom(new byte[] {1, 17, 0, 0}))).isNull();
+    soft.assertThat(deserializeKeyFilter(ByteString.copyFrom(new byte[] {1, 3, 0, 0}))).isNotNull();
+  }
+
+  @Test
+  public void illegalArguments() {
+    soft.assertThatIllegalArgumentException()
+        .isThrownBy(() -> buildKeyFilter(emptyList(), 0, 0))
+        .withMessage("bitsPerKey must be positive");
+  }
+
+  private static List<StoreKey> keys(String prefix, int num) {
+    List<StoreKey> keys = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      keys.add(key(prefix, "table-" + i));
+    }
+    return keys;
+  }
+}
@@ -16,6 +16,7 @@
 package org.projectnessie.versioned.storage.common.logic;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
 import static org.junit.jupiter.api.AssertionFailureBuilder.assertionFailure;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -30,6 +31,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.projectnessie.versioned.storage.common.logic.CommitRetry.commitRetry;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.context.Scope;
@@ -54,6 +57,7 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.InOrder;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
+import org.projectnessie.versioned.storage.common.logic.AdaptiveRetryBackoff.ReferenceContention;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
 import org.projectnessie.versioned.storage.common.logic.CommitRetry.TryLoopState.MonotonicClock;
 import org.projectnessie.versioned.storage.common.persist.Persist;
@@ -358,6 +362,129 @@ public class TestCommitRetry {
     soft.assertThat(tryLoopState.retry(0L)).isFalse();
   }
 
+  @Test
+  public void adaptiveSleepBounds() {
+    StoreConfig config = mockedConfig(Integer.MAX_VALUE, Long.MAX_VALUE, 10, 20, 1000);
+    AdaptiveRetryBackoff backoff = new AdaptiveRetryBackoff(config, new ReferenceContention());
+
+    for (int i = 0; i < 15; i++) {
+      soft.assertThat(backoff.nextSleepMillis(0L)).isBetween(10L, 1000L);
+    }
+  }
+
+  @Test
+  public void adaptiveContentionRaisesBase() {
+    StoreConfig config = mockedConfig(Integer.MAX_VALUE, Long.MAX_VALUE, 10, 20, 1000);
+
+    ReferenceContention contention = new ReferenceContention();
+    for (int i = 0; i < 20; i++) {
+      contention.recordAttempt(true);
+    }
+    soft.assertThat(contention.conflictRate()).isGreaterThan(0.95d);
+
+    // (almost) all recent attempts conflicted, the base sleep time is ~5x the configured one
+    AdaptiveRetryBackoff backoff = new AdaptiveRetryBackoff(config, contention);
+    soft.assertThat(backoff.nextSleepMillis(0L)).isBetween(45L, 1000L);
+
+    backoff.finished(true);
+    soft.assertThat(contention.conflictRate()).isLessThan(0.95d);
+  }
+
+  @Test
+  public void adaptiveTokenBucket() {
+    ReferenceContention contention = new ReferenceContention();
+    int capacity = (int) AdaptiveRetryBackoff.TOKEN_BUCKET_CAPACITY;
+    for (int i = 0; i < capacity; i++) {
+      soft.assertThat(contention.acquireToken(0L)).isEqualTo(0L);
+    }
+    // bucket exhausted, wait for one token
+    soft.assertThat(contention.acquireToken(0L)).isEqualTo(20L);
+    soft.assertThat(contention.acquireToken(0L)).isEqualTo(40L);
+
+    // refilled after one second
+    soft.assertThat(contention.acquireToken(SECONDS.toNanos(1))).isEqualTo(0L);
+  }
+
+  @Test
+  public void adaptiveContentionPerReference() {
+    soft.assertThat(AdaptiveRetryBackoff.contention("repo", "main"))
+        .isSameAs(AdaptiveRetryBackoff.contention("repo", "main"))
+        .isNotSameAs(AdaptiveRetryBackoff.contention("repo", "other"))
+        .isNotSameAs(AdaptiveRetryBackoff.contention("other-repo", "main"));
+    soft.assertThat(AdaptiveRetryBackoff.contention("repo", null))
+        .isNotSameAs(AdaptiveRetryBackoff.contention("repo", null));
+  }
+
+  @Test
+  public void adaptiveCommitRetry() {
+    StoreConfig config = mockedConfig(3, Long.MAX_VALUE, 1, 1, 1);
+    when(config.retryStrategy()).thenReturn(StoreConfig.RetryStrategy.ADAPTIVE);
+    when(config.repositoryId()).thenReturn("adaptiveCommitRetry");
+    Persist persist = mock(Persist.class);
+    when(persist.config()).thenReturn(config);
+
+    AtomicInteger retryCounter = new AtomicInteger();
+
+    soft.assertThatCode(
+            () ->
+                soft.assertThat(
+                        commitRetry(
+                            persist,
+                            "main",
+                            (p, retryState) -> {
+                              if (retryCounter.incrementAndGet() < 3) {
+                                throw new RetryException();
+                              }
+                              return "foo";
+                            }))
+                    .isEqualTo("foo"))
+        .doesNotThrowAnyException();
+
+    soft.assertThat(retryCounter).hasValue(3);
+    verify(persist, times(1)).config();
+  }
+
+  @Test
+  public void retryMetrics() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    StoreConfig config = mockedConfig(3, Long.MAX_VALUE, 1, 1, 1);
+    when(config.repositoryId()).thenReturn("retryMetrics");
+    when(config.meterRegistry()).thenReturn(Optional.of(meterRegistry));
+    Persist persist = mock(Persist.class);
+    when(persist.config()).thenReturn(config);
+
+    for (String ref : List.of("main", "other", "main")) {
+      AtomicInteger retryCounter = new AtomicInteger();
+      soft.assertThatCode(
+              () ->
+                  commitRetry(
+                      persist,
+                      ref,
+                      (p, retryState) -> {
+                        if (retryCounter.incrementAndGet() < 3) {
+                          throw new RetryException();
+                        }
+                        return "foo";
+                      }))
+          .doesNotThrowAnyException();
+    }
+    // Operations without retries are not recorded
+    soft.assertThatCode(() -> commitRetry(persist, "main", (p, retryState) -> "foo"))
+        .doesNotThrowAnyException();
+
+    // No per-reference meters
+    soft.assertThat(meterRegistry.find(CommitRetryMetrics.RETRIES_METRIC).summaries())
+        .singleElement()
+        .satisfies(
+            summary -> {
+              soft.assertThat(summary.getId().getTag("repository")).isEqualTo("retryMetrics");
+              soft.assertThat(summary.getId().getTag("outcome")).isEqualTo("success");
+              soft.assertThat(summary.getId().getTag("reference")).isNull();
+              soft.assertThat(summary.count()).isEqualTo(3L);
+              soft.assertThat(summary.totalAmount()).isEqualTo(6d);
+            });
+  }
+
   @Nested
   class Telemetry {
     @RegisterExtension public final OpenTelemetryExtension otel = OpenTelemetryExtension.create();
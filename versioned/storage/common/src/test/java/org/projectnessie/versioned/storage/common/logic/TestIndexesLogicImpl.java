@@ -15,9 +15,13 @@
  */
 package org.projectnessie.versioned.storage.common.logic;
 
+import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_MAX_SERIALIZED_INDEX_SIZE;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexElement.indexElement;
+import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.indexFromStripes;
 import static org.projectnessie.versioned.storage.common.indexes.StoreIndexes.newStoreIndex;
 import static org.projectnessie.versioned.storage.common.indexes.StoreKey.key;
 import static org.projectnessie.versioned.storage.common.logic.CreateCommit.Add.commitAdd;
@@ -28,6 +32,7 @@ import static org.projectnessie.versioned.storage.common.objtypes.CommitObj.comm
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.Action.ADD;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.COMMIT_OP_SERIALIZER;
 import static org.projectnessie.versioned.storage.common.objtypes.CommitOp.commitOp;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.INDEX_SEGMENTS;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.EMPTY_OBJ_ID;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
 
@@ -42,6 +47,7 @@ import java.util.UUID;
 import java.util.function.Consumer;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -50,13 +56,61 @@ import org.projectnessie.versioned.storage.common.indexes.StoreIndex;
 import org.projectnessie.versioned.storage.common.indexes.StoreKey;
 import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.CommitOp;
+import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.commontests.AbstractIndexesLogicTests;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
 import org.projectnessie.versioned.storage.testextension.PersistExtension;
 
 @ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
 public class TestIndexesLogicImpl extends AbstractIndexesLogicTests {
 
+  @Test
+  public void keyFiltersForStripes() throws Exception {
+    IndexesLogicImpl indexesLogic = new IndexesLogicImpl(persist);
+
+    ObjId referenceIndexId = indexesLogic.persistStripedIndex(stripedIndex(30));
+
+    IndexSegmentsObj referenceIndex =
+        persist.fetchTypedObj(referenceIndexId, INDEX_SEGMENTS, IndexSegmentsObj.class);
+    soft.assertThat(referenceIndex.stripes())
+        .hasSize(30)
+        .allSatisfy(stripe -> assertThat(stripe.keyFilter()).isNotNull());
+  }
+
+  @Test
+  public void keyFiltersExceedingSizeLimit(
+      @NessieStoreConfig(name = CONFIG_MAX_SERIALIZED_INDEX_SIZE, value = "1024") @NessiePersist
+          Persist persist)
+      throws Exception {
+    IndexesLogicImpl indexesLogic = new IndexesLogicImpl(persist);
+
+    // The stripes alone, without any filter, exceed the limit, no stripe must get a filter.
+    ObjId referenceIndexId = indexesLogic.persistStripedIndex(stripedIndex(30));
+
+    IndexSegmentsObj referenceIndex =
+        persist.fetchTypedObj(referenceIndexId, INDEX_SEGMENTS, IndexSegmentsObj.class);
+    soft.assertThat(referenceIndex.stripes())
+        .hasSize(30)
+        .allSatisfy(stripe -> assertThat(stripe.keyFilter()).isNull());
+  }
+
+  private static StoreIndex<CommitOp> stripedIndex(int numStripes) {
+    List<StoreIndex<CommitOp>> stripes = new ArrayList<>();
+    for (int i = 0; i < numStripes; i++) {
+      StoreIndex<CommitOp> stripe = newStoreIndex(COMMIT_OP_SERIALIZER);
+      for (int k = 0; k < 3; k++) {
+        stripe.add(
+            indexElement(
+                key(format("stripe-%03d-key-%d", i, k)), commitOp(ADD, 1, randomObjId())));
+      }
+      stripes.add(stripe);
+    }
+    return indexFromStripes(stripes);
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   public void completeIndexesInCommitChain(boolean discrete) throws Exception {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.common.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.INDEX_SEGMENTS;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.VALUE;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.objtypes.Compression;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestCompressionPolicy {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void parse() {
+    CompressionPolicy policy = CompressionPolicy.parse("value=zstd:5, index-segments=LZ4", 0);
+    soft.assertThat(policy.isEnabled()).isTrue();
+    soft.assertThat(policy.compression(VALUE)).isSameAs(Compression.ZSTD);
+    soft.assertThat(policy.compression(INDEX_SEGMENTS)).isSameAs(Compression.LZ4);
+    soft.assertThat(policy.compression(COMMIT)).isSameAs(Compression.NONE);
+    soft.assertThat(policy.toString()).contains("VALUE=ZSTD:5", "INDEX_SEGMENTS=LZ4");
+
+    policy = CompressionPolicy.parse("value=snappy,*=gzip", 0);
+    soft.assertThat(policy.compression(VALUE)).isSameAs(Compression.SNAPPY);
+    soft.assertThat(policy.compression(COMMIT)).isSameAs(Compression.GZIP);
+
+    soft.assertThat(CompressionPolicy.parse("", 0)).isSameAs(CompressionPolicy.NO_COMPRESSION);
+    soft.assertThat(CompressionPolicy.NO_COMPRESSION.isEnabled()).isFalse();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"value", "value=", "=zstd", "value=foo", "value=zstd:x"})
+  public void invalid(String spec) {
+    soft.assertThatIllegalArgumentException().isThrownBy(() -> CompressionPolicy.parse(spec, 0));
+  }
+
+  @Test
+  public void compress() {
+    CompressionPolicy policy = CompressionPolicy.parse("value=zstd", 100);
+    AtomicReference<Compression> compression = new AtomicReference<>();
+
+    byte[] small = "x".repeat(99).getBytes(UTF_8);
+    soft.assertThat(policy.compress(VALUE, small, compression::set)).isSameAs(small);
+    soft.assertThat(compression.get()).isSameAs(Compression.NONE);
+
+    byte[] large = "x".repeat(10_000).getBytes(UTF_8);
+    byte[] compressed = policy.compress(VALUE, large, compression::set);
+    soft.assertThat(compression.get()).isSameAs(Compression.ZSTD);
+    soft.assertThat(compressed.length).isLessThan(large.length);
+    soft.assertThat(Compressions.uncompress(Compression.ZSTD, compressed)).containsExactly(large);
+
+    soft.assertThat(policy.compress(COMMIT, large, compression::set)).isSameAs(large);
+    soft.assertThat(compression.get()).isSameAs(Compression.NONE);
+  }
+}
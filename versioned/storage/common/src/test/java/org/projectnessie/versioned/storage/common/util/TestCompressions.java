@@ -16,7 +16,6 @@
 package org.projectnessie.versioned.storage.common.util;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.projectnessie.versioned.storage.common.util.Compressions.KEEP_UNCOMPRESSED;
 
 import java.util.concurrent.atomic.AtomicReference;
@@ -54,9 +53,7 @@ public class TestCompressions {
   }
 
   @ParameterizedTest
-  @EnumSource(
-      value = Compression.class,
-      names = {"NONE", "SNAPPY", "DEFLATE", "GZIP"})
+  @EnumSource(value = Compression.class)
   public void supportedCompression(Compression compression) {
     byte[] data = ("x".repeat(10)).getBytes(UTF_8);
     byte[] compressed = Compressions.compress(compression, data);
@@ -65,16 +62,16 @@ public class TestCompressions {
   }
 
   @ParameterizedTest
-  @EnumSource(value = Compression.class)
-  public void unsupportedCompression(Compression compression) {
-    assumeThat(compression)
-        .isNotIn(Compression.NONE, Compression.SNAPPY, Compression.DEFLATE, Compression.GZIP);
-    byte[] data = ("x".repeat(10)).getBytes(UTF_8);
-    soft.assertThatIllegalArgumentException()
-        .isThrownBy(() -> Compressions.compress(compression, data))
-        .withMessage("Compression %s not implemented", compression.name());
-    soft.assertThatIllegalArgumentException()
-        .isThrownBy(() -> Compressions.uncompress(compression, data))
-        .withMessage("Compression %s not implemented", compression.name());
+  @EnumSource(
+      value = Compression.class,
+      names = {"DEFLATE", "ZSTD", "LZ4"})
+  public void compressionLevels(Compression compression) {
+    byte[] data = ("foo bar baz ".repeat(10_000)).getBytes(UTF_8);
+    for (int level : new int[] {Compressions.DEFAULT_LEVEL, 1, 9}) {
+      byte[] compressed = Compressions.compress(compression, level, data);
+      soft.assertThat(compressed.length).isLessThan(data.length);
+      byte[] uncompressed = Compressions.uncompress(compression, compressed);
+      soft.assertThat(uncompressed).containsExactly(data);
+    }
   }
 }
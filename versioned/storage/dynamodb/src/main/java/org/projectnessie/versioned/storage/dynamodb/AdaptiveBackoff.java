@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry delay for {@code BatchGetItem} requests that returned unprocessed keys, shared by all
+ * concurrent requests against a backend.
+ *
+ * <p>Each throttled request doubles the delay, up to the maximum delay, each fully processed
+ * request halves it, so that the delay follows the currently available throughput instead of
+ * restarting from the minimum delay for every request.
+ */
+final class AdaptiveBackoff {
+  private final long minDelayMillis;
+  private final long maxDelayMillis;
+  private final AtomicLong delayMillis = new AtomicLong();
+
+  AdaptiveBackoff(long minDelayMillis, long maxDelayMillis) {
+    this.minDelayMillis = minDelayMillis;
+    this.maxDelayMillis = maxDelayMillis;
+  }
+
+  /**
+   * Records a request that was throttled and returns the (jittered) delay in milliseconds before
+   * the request should be retried.
+   */
+  long throttled() {
+    long delay =
+        delayMillis.updateAndGet(
+            current -> current == 0L ? minDelayMillis : Math.min(maxDelayMillis, current * 2));
+    return ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+  }
+
+  /** Records a request that was fully processed. */
+  void succeeded() {
+    if (delayMillis.get() != 0L) {
+      delayMillis.updateAndGet(current -> current <= minDelayMillis ? 0L : current / 2);
+    }
+  }
+
+  long currentDelayMillis() {
+    return delayMillis.get();
+  }
+}
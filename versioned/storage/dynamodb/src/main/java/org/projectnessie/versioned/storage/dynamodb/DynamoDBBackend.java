@@ -15,23 +15,47 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MAX_BACKOFF_MILLIS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MIN_BACKOFF_MILLIS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.TABLE_REFS;
 
 import jakarta.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.projectnessie.versioned.storage.common.exceptions.UnknownOperationResultException;
 import org.projectnessie.versioned.storage.common.persist.Backend;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.PersistFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
 import software.amazon.awssdk.services.dynamodb.model.ComparisonOperator;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
@@ -39,21 +63,42 @@ import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 
 public final class DynamoDBBackend implements Backend {
   private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBBackend.class);
 
   private final DynamoDbClient client;
+  private final DynamoDbAsyncClient asyncClient;
   private final boolean closeClient;
+  private final int batchGetConcurrency;
+  private final int scanSegments;
+  private final ExecutorService requestExecutor;
+  private final AdaptiveBackoff batchGetBackoff;
 
   final String tableRefs;
   final String tableObjs;
 
   public DynamoDBBackend(@Nonnull DynamoDBBackendConfig config, boolean closeClient) {
+    this(
+        config,
+        closeClient,
+        new AdaptiveBackoff(BATCH_GET_MIN_BACKOFF_MILLIS, BATCH_GET_MAX_BACKOFF_MILLIS));
+  }
+
+  DynamoDBBackend(
+      @Nonnull DynamoDBBackendConfig config, boolean closeClient, AdaptiveBackoff batchGetBackoff) {
     this.client = config.client();
+    this.asyncClient = config.asyncClient().orElse(null);
+    this.batchGetConcurrency = config.batchGetConcurrency();
+    this.scanSegments = config.scanSegments();
+    this.batchGetBackoff = batchGetBackoff;
+    this.requestExecutor = asyncClient == null ? newRequestExecutor() : null;
     this.tableRefs =
         config.tablePrefix().map(prefix -> prefix + '_' + TABLE_REFS).orElse(TABLE_REFS);
     this.tableObjs =
@@ -61,11 +106,164 @@ public final class DynamoDBBackend implements Backend {
     this.closeClient = closeClient;
   }
 
+  /**
+   * Creates the executor for requests issued concurrently using the synchronous client. The number
+   * of concurrent requests is bounded per operation, not by this executor, so that concurrent
+   * operations, like a parallel scan and bulk fetches, do not limit each other.
+   */
+  private static ExecutorService newRequestExecutor() {
+    AtomicInteger threadNum = new AtomicInteger();
+    return Executors.newCachedThreadPool(
+        r -> {
+          Thread t = new Thread(r, "nessie-dynamodb-request-" + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
   @Nonnull
   DynamoDbClient client() {
     return client;
   }
 
+  /**
+   * Executor for the requests issued using the synchronous client. With the asynchronous client,
+   * only the delayed retries of {@code BatchGetItem} requests are issued from this executor.
+   */
+  private Executor requestExecutor() {
+    return requestExecutor != null ? requestExecutor : ForkJoinPool.commonPool();
+  }
+
+  CompletableFuture<ScanResponse> scan(ScanRequest request) {
+    if (asyncClient != null) {
+      return asyncClient.scan(request);
+    }
+    return CompletableFuture.supplyAsync(() -> client.scan(request), requestExecutor());
+  }
+
+  private CompletableFuture<BatchGetItemResponse> batchGetItem(
+      BatchGetItemRequest request, Executor syncExecutor) {
+    if (asyncClient != null) {
+      return asyncClient.batchGetItem(request);
+    }
+    return CompletableFuture.supplyAsync(() -> client.batchGetItem(request), syncExecutor);
+  }
+
+  /**
+   * Scans a whole table using {@link DynamoDBBackendConfig#scanSegments()} concurrently scanned
+   * segments, the order of the returned items is undefined.
+   */
+  CloseableIterator<Map<String, AttributeValue>> parallelScan(
+      String table, Consumer<ScanRequest.Builder> request) {
+    return new ParallelScan(this, scanSegments, b -> request.accept(b.tableName(table)));
+  }
+
+  /**
+   * Fetches the items for the given keys using {@code BatchGetItem} requests of up to {@value
+   * DynamoDBConstants#BATCH_GET_LIMIT} keys, with up to {@link
+   * DynamoDBBackendConfig#batchGetConcurrency()} requests in flight.
+   *
+   * <p>The first request is issued in the calling thread, while the requests for the following
+   * pages are in flight. Unprocessed keys are retried after a delay, which adapts to the throttling
+   * observed by all requests against this backend. The items of each request are passed to {@code
+   * itemConsumer} in the calling thread. The keys must not contain duplicates.
+   */
+  void batchGet(
+      String table,
+      List<Map<String, AttributeValue>> keys,
+      Consumer<Map<String, AttributeValue>> itemConsumer) {
+    if (keys.isEmpty()) {
+      return;
+    }
+
+    Executor pageExecutor = batchGetConcurrency > 1 ? requestExecutor() : Runnable::run;
+    Deque<CompletableFuture<List<Map<String, AttributeValue>>>> inFlight = new ArrayDeque<>();
+    int offset = BATCH_GET_LIMIT;
+    while (offset < keys.size() && inFlight.size() < batchGetConcurrency - 1) {
+      inFlight.addLast(batchGetPage(table, keys, offset, pageExecutor));
+      offset += BATCH_GET_LIMIT;
+    }
+
+    awaitBatchGetPage(batchGetPage(table, keys, 0, Runnable::run)).forEach(itemConsumer);
+
+    for (; offset < keys.size(); offset += BATCH_GET_LIMIT) {
+      if (inFlight.size() >= batchGetConcurrency) {
+        awaitBatchGetPage(inFlight.removeFirst()).forEach(itemConsumer);
+      }
+      inFlight.addLast(batchGetPage(table, keys, offset, pageExecutor));
+    }
+    while (!inFlight.isEmpty()) {
+      awaitBatchGetPage(inFlight.removeFirst()).forEach(itemConsumer);
+    }
+  }
+
+  private CompletableFuture<List<Map<String, AttributeValue>>> batchGetPage(
+      String table, List<Map<String, AttributeValue>> keys, int offset, Executor executor) {
+    List<Map<String, AttributeValue>> pageKeys =
+        keys.subList(offset, Math.min(offset + BATCH_GET_LIMIT, keys.size()));
+    return batchGetPage(
+        table, KeysAndAttributes.builder().keys(pageKeys).build(), new ArrayList<>(), 0, executor);
+  }
+
+  private static List<Map<String, AttributeValue>> awaitBatchGetPage(
+      CompletableFuture<List<Map<String, AttributeValue>>> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private CompletableFuture<List<Map<String, AttributeValue>>> batchGetPage(
+      String table,
+      KeysAndAttributes keys,
+      List<Map<String, AttributeValue>> items,
+      int attemptsWithoutProgress,
+      Executor executor) {
+    BatchGetItemRequest request =
+        BatchGetItemRequest.builder().requestItems(singletonMap(table, keys)).build();
+    CompletableFuture<BatchGetItemResponse> sent;
+    try {
+      sent = batchGetItem(request, executor);
+    } catch (RuntimeException e) {
+      sent = CompletableFuture.failedFuture(e);
+    }
+    return sent.thenCompose(
+        response -> {
+          List<Map<String, AttributeValue>> fetched = response.responses().get(table);
+          if (fetched != null) {
+            items.addAll(fetched);
+          }
+
+          KeysAndAttributes unprocessed =
+              response.hasUnprocessedKeys() ? response.unprocessedKeys().get(table) : null;
+          if (unprocessed == null || unprocessed.keys().isEmpty()) {
+            batchGetBackoff.succeeded();
+            return completedFuture(items);
+          }
+
+          int attempts =
+              unprocessed.keys().size() < keys.keys().size() ? 0 : attemptsWithoutProgress + 1;
+          if (attempts >= BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS) {
+            throw new UnknownOperationResultException(
+                String.format(
+                    "BatchGetItem on table '%s' returned %d unprocessed keys after %d attempts",
+                    table, unprocessed.keys().size(), attempts),
+                null);
+          }
+
+          // The retry is issued from a thread of the request executor, after the delay.
+          Executor delayed =
+              CompletableFuture.delayedExecutor(
+                  batchGetBackoff.throttled(), MILLISECONDS, requestExecutor());
+          return CompletableFuture.supplyAsync(() -> unprocessed, delayed)
+              .thenCompose(retry -> batchGetPage(table, retry, items, attempts, Runnable::run));
+        });
+  }
+
   @Override
   @Nonnull
   public PersistFactory createFactory() {
@@ -74,8 +272,14 @@ public final class DynamoDBBackend implements Backend {
 
   @Override
   public void close() {
+    if (requestExecutor != null) {
+      requestExecutor.shutdown();
+    }
     if (closeClient) {
       client.close();
+      if (asyncClient != null) {
+        asyncClient.close();
+      }
     }
   }
 
@@ -148,20 +352,18 @@ public final class DynamoDBBackend implements Backend {
     List<String> prefixed =
         repositoryIds.stream().map(DynamoDBBackend::keyPrefix).collect(Collectors.toList());
 
-    @SuppressWarnings("resource")
-    DynamoDbClient c = client();
-
     Stream.of(tableRefs, tableObjs)
         .forEach(
             table -> {
-              try (BatchWrite batchWrite = new BatchWrite(this, table)) {
-                c.scanPaginator(b -> b.tableName(table))
-                    .forEach(
-                        r ->
-                            r.items().stream()
-                                .map(attrs -> attrs.get(KEY_NAME))
-                                .filter(key -> prefixed.stream().anyMatch(key.s()::startsWith))
-                                .forEach(batchWrite::addDelete));
+              try (BatchWrite batchWrite = new BatchWrite(this, table);
+                  CloseableIterator<Map<String, AttributeValue>> scan =
+                      parallelScan(table, b -> b.attributesToGet(KEY_NAME))) {
+                while (scan.hasNext()) {
+                  AttributeValue key = scan.next().get(KEY_NAME);
+                  if (prefixed.stream().anyMatch(key.s()::startsWith)) {
+                    batchWrite.addDelete(key);
+                  }
+                }
               }
             });
   }
@@ -15,16 +15,52 @@
  */
 package org.projectnessie.versioned.storage.dynamodb;
 
+import static com.google.common.base.Preconditions.checkState;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.DEFAULT_BATCH_GET_CONCURRENCY;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.DEFAULT_SCAN_SEGMENTS;
+
 import java.util.Optional;
 import org.immutables.value.Value;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 @Value.Immutable
 public interface DynamoDBBackendConfig {
   DynamoDbClient client();
 
+  /**
+   * Optional asynchronous client, used to issue concurrent {@code BatchGetItem} and parallel {@code
+   * Scan} requests. If not present, the concurrent requests are issued using {@link #client()} on a
+   * backend owned thread pool.
+   */
+  Optional<DynamoDbAsyncClient> asyncClient();
+
   Optional<String> tablePrefix();
 
+  /**
+   * Maximum number of concurrent {@code BatchGetItem} requests of 100 keys each, issued when
+   * fetching many objects at once.
+   */
+  @Value.Default
+  default int batchGetConcurrency() {
+    return DEFAULT_BATCH_GET_CONCURRENCY;
+  }
+
+  /**
+   * Number of segments ({@code TotalSegments}) of the parallel scans used to scan all objects of a
+   * repository and to erase repositories.
+   */
+  @Value.Default
+  default int scanSegments() {
+    return DEFAULT_SCAN_SEGMENTS;
+  }
+
+  @Value.Check
+  default void check() {
+    checkState(batchGetConcurrency() > 0, "batchGetConcurrency must be positive");
+    checkState(scanSegments() > 0, "scanSegments must be positive");
+  }
+
   static ImmutableDynamoDBBackendConfig.Builder builder() {
     return ImmutableDynamoDBBackendConfig.builder();
   }
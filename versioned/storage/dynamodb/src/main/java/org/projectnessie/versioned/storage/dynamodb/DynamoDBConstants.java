@@ -22,6 +22,18 @@ final class DynamoDBConstants {
   static final int BATCH_GET_LIMIT = 100;
   static final int BATCH_WRITE_MAX_REQUESTS = 25;
 
+  static final int DEFAULT_BATCH_GET_CONCURRENCY = 8;
+  static final int DEFAULT_SCAN_SEGMENTS = 8;
+
+  /**
+   * Maximum number of consecutive {@code BatchGetItem} attempts that do not return any of the
+   * unprocessed keys.
+   */
+  static final int BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS = 10;
+
+  static final long BATCH_GET_MIN_BACKOFF_MILLIS = 20L;
+  static final long BATCH_GET_MAX_BACKOFF_MILLIS = 2000L;
+
   static final String TABLE_REFS = "refs";
   static final String TABLE_OBJS = "objs";
 
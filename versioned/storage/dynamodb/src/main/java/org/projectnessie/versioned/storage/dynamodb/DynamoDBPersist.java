@@ -17,7 +17,6 @@ package org.projectnessie.versioned.storage.dynamodb;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.emptyListIterator;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonMap;
 import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromString;
@@ -25,7 +24,6 @@ import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTyp
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.condition;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBBackend.keyPrefix;
-import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_LIMIT;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_OBJ_TYPE;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_OBJ_VERS;
 import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.COL_REFERENCES_CONDITION_COMMON;
@@ -55,7 +53,6 @@ import jakarta.annotation.Nullable;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -87,14 +84,11 @@ import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
-import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.ExpectedAttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
-import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
-import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 
 public class DynamoDBPersist implements Persist {
 
@@ -240,67 +234,52 @@ public class DynamoDBPersist implements Persist {
   @Nonnull
   @Override
   public Reference[] fetchReferences(@Nonnull String[] names) {
-    List<Map<String, AttributeValue>> keys =
-        new ArrayList<>(Math.min(names.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(names.length);
     Object2IntHashMap<String> nameToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(names.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     Reference[] r = new Reference[names.length];
     for (int i = 0; i < names.length; i++) {
       String name = names[i];
-      if (name != null) {
+      if (name != null && nameToIndex.getValue(name) == -1) {
         keys.add(referenceKeyMap(name));
         nameToIndex.put(name, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          findReferencesPage(r, keys, nameToIndex);
-          keys.clear();
-          nameToIndex.clear();
-        }
       }
     }
 
-    if (!keys.isEmpty()) {
-      findReferencesPage(r, keys, nameToIndex);
-    }
-
-    return r;
-  }
-
-  private void findReferencesPage(
-      Reference[] r,
-      List<Map<String, AttributeValue>> keys,
-      Object2IntHashMap<String> nameToIndex) {
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableRefs, KeysAndAttributes.builder().keys(keys).build());
-
     try {
-      BatchGetItemResponse response =
-          backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-      response
-          .responses()
-          .get(backend.tableRefs)
-          .forEach(
-              item -> {
-                String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
-                String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
-                long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
-                Reference reference =
-                    reference(
-                        name,
-                        DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_POINTER),
-                        DynamoDBSerde.attributeToBool(item, COL_REFERENCES_DELETED),
-                        createdAt,
-                        DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
-                        attributeToPreviousPointers(item));
-                int idx = nameToIndex.getValue(name);
-                if (idx >= 0) {
-                  r[idx] = reference;
-                }
-              });
+      backend.batchGet(
+          backend.tableRefs,
+          keys,
+          item -> {
+            String name = item.get(KEY_NAME).s().substring(keyPrefix.length());
+            String createdAtStr = attributeToString(item, COL_REFERENCES_CREATED_AT);
+            long createdAt = createdAtStr != null ? Long.parseLong(createdAtStr) : 0L;
+            Reference reference =
+                reference(
+                    name,
+                    DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_POINTER),
+                    DynamoDBSerde.attributeToBool(item, COL_REFERENCES_DELETED),
+                    createdAt,
+                    DynamoDBSerde.attributeToObjId(item, COL_REFERENCES_EXTENDED_INFO),
+                    attributeToPreviousPointers(item));
+            int idx = nameToIndex.getValue(name);
+            if (idx >= 0) {
+              r[idx] = reference;
+            }
+          });
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
+
+    // Duplicate names are only fetched once
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      if (name != null && r[i] == null) {
+        r[i] = r[nameToIndex.getValue(name)];
+      }
+    }
+
+    return r;
   }
 
   private List<Reference.PreviousPointer> attributeToPreviousPointers(
@@ -360,62 +339,45 @@ public class DynamoDBPersist implements Persist {
   @Override
   public <T extends Obj> T[] fetchTypedObjsIfExist(
       @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
-    List<Map<String, AttributeValue>> keys = new ArrayList<>(Math.min(ids.length, BATCH_GET_LIMIT));
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(ids.length);
     Object2IntHashMap<ObjId> idToIndex =
-        new Object2IntHashMap<>(200, Hashing.DEFAULT_LOAD_FACTOR, -1);
+        new Object2IntHashMap<>(ids.length * 2, Hashing.DEFAULT_LOAD_FACTOR, -1);
     @SuppressWarnings("unchecked")
     T[] r = (T[]) Array.newInstance(typeClass, ids.length);
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
-      if (id != null) {
+      if (id != null && idToIndex.getValue(id) == -1) {
         keys.add(objKeyMap(id));
         idToIndex.put(id, i);
-
-        if (keys.size() == BATCH_GET_LIMIT) {
-          fetchObjsPage(r, keys, idToIndex, type, typeClass);
-          keys.clear();
-          idToIndex.clear();
-        }
       }
     }
 
-    if (!keys.isEmpty()) {
-      fetchObjsPage(r, keys, idToIndex, type, typeClass);
-    }
-
-    return r;
-  }
-
-  private <T extends Obj> void fetchObjsPage(
-      T[] r,
-      List<Map<String, AttributeValue>> keys,
-      Object2IntHashMap<ObjId> idToIndex,
-      ObjType type,
-      Class<T> typeClass) {
-
-    Map<String, KeysAndAttributes> requestItems =
-        singletonMap(backend.tableObjs, KeysAndAttributes.builder().keys(keys).build());
-
     try {
-      BatchGetItemResponse response =
-          backend.client().batchGetItem(b -> b.requestItems(requestItems));
-
-      response
-          .responses()
-          .get(backend.tableObjs)
-          .forEach(
-              item -> {
-                T obj = itemToObj(item, type, typeClass);
-                if (obj != null) {
-                  int idx = idToIndex.getValue(obj.id());
-                  if (idx != -1) {
-                    r[idx] = obj;
-                  }
-                }
-              });
+      backend.batchGet(
+          backend.tableObjs,
+          keys,
+          item -> {
+            T obj = itemToObj(item, type, typeClass);
+            if (obj != null) {
+              int idx = idToIndex.getValue(obj.id());
+              if (idx != -1) {
+                r[idx] = obj;
+              }
+            }
+          });
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
+
+    // Duplicate IDs are only fetched once
+    for (int i = 0; i < ids.length; i++) {
+      ObjId id = ids[i];
+      if (id != null && r[i] == null) {
+        r[i] = r[idToIndex.getValue(id)];
+      }
+    }
+
+    return r;
   }
 
   @Nonnull
@@ -727,8 +689,7 @@ public class DynamoDBPersist implements Persist {
   private class ScanAllObjectsIterator extends AbstractIterator<Obj>
       implements CloseableIterator<Obj> {
 
-    private final Iterator<ScanResponse> iter;
-    private Iterator<Map<String, AttributeValue>> pageIter = emptyListIterator();
+    private final CloseableIterator<Map<String, AttributeValue>> scan;
 
     public ScanAllObjectsIterator(Set<ObjType> returnedObjTypes) {
 
@@ -742,11 +703,7 @@ public class DynamoDBPersist implements Persist {
       scanFilter.put(COL_OBJ_TYPE, condition(IN, objTypes));
 
       try {
-        iter =
-            backend
-                .client()
-                .scanPaginator(b -> b.tableName(backend.tableObjs).scanFilter(scanFilter))
-                .iterator();
+        scan = backend.parallelScan(backend.tableObjs, b -> b.scanFilter(scanFilter));
       } catch (RuntimeException e) {
         throw unhandledException(e);
       }
@@ -755,26 +712,19 @@ public class DynamoDBPersist implements Persist {
     @Override
     protected Obj computeNext() {
       try {
-        while (true) {
-          if (!pageIter.hasNext()) {
-            if (!iter.hasNext()) {
-              return endOfData();
-            }
-            ScanResponse r = iter.next();
-            pageIter = r.items().iterator();
-            continue;
-          }
-
-          Map<String, AttributeValue> item = pageIter.next();
-          return itemToObj(item, null, Obj.class);
+        if (!scan.hasNext()) {
+          return endOfData();
         }
+        return itemToObj(scan.next(), null, Obj.class);
       } catch (RuntimeException e) {
         throw unhandledException(e);
       }
     }
 
     @Override
-    public void close() {}
+    public void close() {
+      scan.close();
+    }
   }
 
   static RuntimeException unhandledException(RuntimeException e) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import static java.util.Collections.emptyIterator;
+
+import com.google.common.collect.AbstractIterator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+/**
+ * Parallel scan of a whole table, using one {@code Scan} request sequence per segment ({@code
+ * Segment}/{@code TotalSegments}).
+ *
+ * <p>Each segment has at most one request in flight. The request for the next page of a segment is
+ * only issued when the consumer takes the current page of that segment, so at most two pages per
+ * segment are held in memory. The order of the returned items is undefined.
+ */
+final class ParallelScan extends AbstractIterator<Map<String, AttributeValue>>
+    implements CloseableIterator<Map<String, AttributeValue>> {
+
+  private final DynamoDBBackend backend;
+  private final Consumer<ScanRequest.Builder> request;
+  private final int totalSegments;
+  private final BlockingQueue<Page> completedPages = new LinkedBlockingQueue<>();
+
+  private Iterator<Map<String, AttributeValue>> items = emptyIterator();
+  private int inFlight;
+  private volatile boolean closed;
+
+  ParallelScan(DynamoDBBackend backend, int totalSegments, Consumer<ScanRequest.Builder> request) {
+    this.backend = backend;
+    this.request = request;
+    this.totalSegments = totalSegments;
+    for (int segment = 0; segment < totalSegments; segment++) {
+      submit(segment, null);
+    }
+  }
+
+  private void submit(int segment, Map<String, AttributeValue> exclusiveStartKey) {
+    ScanRequest.Builder scanRequest =
+        ScanRequest.builder().applyMutation(request).segment(segment).totalSegments(totalSegments);
+    if (exclusiveStartKey != null) {
+      scanRequest.exclusiveStartKey(exclusiveStartKey);
+    }
+
+    inFlight++;
+    CompletableFuture<ScanResponse> response;
+    try {
+      response = backend.scan(scanRequest.build());
+    } catch (RuntimeException e) {
+      response = CompletableFuture.failedFuture(e);
+    }
+    response.whenComplete(
+        (r, failure) -> {
+          if (!closed) {
+            completedPages.add(new Page(segment, r, failure));
+          }
+        });
+  }
+
+  @Override
+  protected Map<String, AttributeValue> computeNext() {
+    while (true) {
+      if (items.hasNext()) {
+        return items.next();
+      }
+      if (inFlight == 0) {
+        return endOfData();
+      }
+
+      Page page;
+      try {
+        page = completedPages.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+      inFlight--;
+
+      if (page.failure != null) {
+        Throwable failure = page.failure;
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+          failure = failure.getCause();
+        }
+        if (failure instanceof RuntimeException) {
+          throw (RuntimeException) failure;
+        }
+        throw new RuntimeException(failure);
+      }
+
+      ScanResponse response = page.response;
+      if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+        submit(page.segment, response.lastEvaluatedKey());
+      }
+      items = response.items().iterator();
+    }
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    completedPages.clear();
+  }
+
+  private static final class Page {
+    final int segment;
+    final ScanResponse response;
+    final Throwable failure;
+
+    Page(int segment, ScanResponse response, Throwable failure) {
+      this.segment = segment;
+      this.response = response;
+      this.failure = failure;
+    }
+  }
+}
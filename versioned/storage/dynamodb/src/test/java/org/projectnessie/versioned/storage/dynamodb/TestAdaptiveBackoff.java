@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestAdaptiveBackoff {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void adaptsToThrottling() {
+    AdaptiveBackoff backoff = new AdaptiveBackoff(20L, 100L);
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(0L);
+
+    soft.assertThat(backoff.throttled()).isBetween(10L, 20L);
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(20L);
+    soft.assertThat(backoff.throttled()).isBetween(20L, 40L);
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(40L);
+    soft.assertThat(backoff.throttled()).isBetween(40L, 80L);
+    soft.assertThat(backoff.throttled()).isBetween(50L, 100L);
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(100L);
+    soft.assertThat(backoff.throttled()).isBetween(50L, 100L);
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(100L);
+
+    backoff.succeeded();
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(50L);
+    backoff.succeeded();
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(25L);
+    backoff.succeeded();
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(12L);
+    backoff.succeeded();
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(0L);
+    backoff.succeeded();
+    soft.assertThat(backoff.currentDelayMillis()).isEqualTo(0L);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.dynamodb;
+
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS;
+import static org.projectnessie.versioned.storage.dynamodb.DynamoDBConstants.KEY_NAME;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.projectnessie.versioned.storage.common.exceptions.UnknownOperationResultException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestDynamoDBBatchGet {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3})
+  public void unprocessedKeysAreRetried(int concurrency) {
+    // Every first request for a key only processes every other key
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    StubClient client =
+        new StubClient(
+            keys -> {
+              List<Map<String, AttributeValue>> processed = new ArrayList<>();
+              List<Map<String, AttributeValue>> unprocessed = new ArrayList<>();
+              for (int i = 0; i < keys.size(); i++) {
+                Map<String, AttributeValue> key = keys.get(i);
+                boolean first = seen.add(key.get(KEY_NAME).s());
+                (first && (i & 1) == 1 ? unprocessed : processed).add(key);
+              }
+              return response(processed, unprocessed);
+            });
+
+    try (DynamoDBBackend backend = backend(client, concurrency)) {
+      List<String> fetched = new ArrayList<>();
+      backend.batchGet(backend.tableObjs, keys(250), item -> fetched.add(item.get(KEY_NAME).s()));
+
+      soft.assertThat(fetched).hasSize(250).doesNotHaveDuplicates();
+      soft.assertThat(client.maxConcurrentRequests.get()).isBetween(1, concurrency);
+      soft.assertThat(client.firstPageThread).isSameAs(Thread.currentThread());
+    }
+  }
+
+  @Test
+  public void giveUpWithoutProgress() {
+    StubClient client = new StubClient(keys -> response(List.of(), keys));
+
+    try (DynamoDBBackend backend = backend(client, 2)) {
+      soft.assertThatThrownBy(() -> backend.batchGet(backend.tableObjs, keys(10), item -> {}))
+          .isInstanceOf(UnknownOperationResultException.class)
+          .hasMessage(
+              "BatchGetItem on table '%s' returned 10 unprocessed keys after %d attempts",
+              backend.tableObjs, BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS);
+      soft.assertThat(client.requests).hasValue(BATCH_GET_MAX_ATTEMPTS_WITHOUT_PROGRESS);
+    }
+  }
+
+  @Test
+  public void singlePageInCallingThread() {
+    StubClient client = new StubClient(keys -> response(keys, List.of()));
+
+    try (DynamoDBBackend backend = backend(client, 8)) {
+      List<String> fetched = new ArrayList<>();
+      backend.batchGet(backend.tableObjs, keys(100), item -> fetched.add(item.get(KEY_NAME).s()));
+
+      soft.assertThat(fetched).hasSize(100);
+      soft.assertThat(client.requests).hasValue(1);
+      soft.assertThat(client.firstPageThread).isSameAs(Thread.currentThread());
+    }
+  }
+
+  private static DynamoDBBackend backend(DynamoDbClient client, int batchGetConcurrency) {
+    return new DynamoDBBackend(
+        DynamoDBBackendConfig.builder()
+            .client(client)
+            .batchGetConcurrency(batchGetConcurrency)
+            .scanSegments(1)
+            .build(),
+        false,
+        new AdaptiveBackoff(1L, 2L));
+  }
+
+  private static List<Map<String, AttributeValue>> keys(int num) {
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      keys.add(Map.of(KEY_NAME, AttributeValue.fromS("k" + i)));
+    }
+    return keys;
+  }
+
+  private static BatchGetItemResponse response(
+      List<Map<String, AttributeValue>> processed, List<Map<String, AttributeValue>> unprocessed) {
+    BatchGetItemResponse.Builder response =
+        BatchGetItemResponse.builder().responses(Map.of(DynamoDBConstants.TABLE_OBJS, processed));
+    if (!unprocessed.isEmpty()) {
+      response.unprocessedKeys(
+          Map.of(
+              DynamoDBConstants.TABLE_OBJS, KeysAndAttributes.builder().keys(unprocessed).build()));
+    }
+    return response.build();
+  }
+
+  private static final class StubClient implements DynamoDbClient {
+    final Function<List<Map<String, AttributeValue>>, BatchGetItemResponse> handler;
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicInteger concurrentRequests = new AtomicInteger();
+    final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+    volatile Thread firstPageThread;
+
+    StubClient(Function<List<Map<String, AttributeValue>>, BatchGetItemResponse> handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+      requests.incrementAndGet();
+      List<Map<String, AttributeValue>> keys =
+          request.requestItems().get(DynamoDBConstants.TABLE_OBJS).keys();
+      if (firstPageThread == null && "k0".equals(keys.get(0).get(KEY_NAME).s())) {
+        firstPageThread = Thread.currentThread();
+      }
+      int concurrent = concurrentRequests.incrementAndGet();
+      maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+      try {
+        Thread.sleep(5L);
+        return handler.apply(keys);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } finally {
+        concurrentRequests.decrementAndGet();
+      }
+    }
+
+    @Override
+    public String serviceName() {
+      return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -31,4 +31,16 @@ public interface DatabaseSpecific {
   boolean isAlreadyExists(SQLException e);
 
   String wrapInsert(String sql);
+
+  /**
+   * Maximum number of object IDs in the {@code IN} list of a single object fetch statement. Larger
+   * fetches are split into chunks of this size.
+   */
+  int fetchChunkSize();
+
+  /**
+   * Maximum number of pooled connections used concurrently to fetch the chunks of large object
+   * fetches. A value of {@code 1} fetches all chunks sequentially on a single connection.
+   */
+  int fetchParallelism();
 }
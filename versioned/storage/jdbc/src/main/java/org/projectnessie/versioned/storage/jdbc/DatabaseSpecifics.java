@@ -44,13 +44,15 @@ public final class DatabaseSpecifics {
   // choose a collation in which 'ref-    2' is sorted _after_ 'ref-   19', which is unexpected
   // and wrong for Nessie.
   public static final DatabaseSpecific POSTGRESQL_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic");
+      new BasePostgresDatabaseSpecific("VARCHAR COLLATE ucs_basic", 500, 4);
 
+  // Cockroach distributes the rows of an IN-list across ranges, smaller chunks keep the individual
+  // statements cheap.
   public static final DatabaseSpecific COCKROACH_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", 200, 4);
 
   public static final DatabaseSpecific H2_DATABASE_SPECIFIC =
-      new BasePostgresDatabaseSpecific("VARCHAR");
+      new BasePostgresDatabaseSpecific("VARCHAR", 100, 2);
 
   public static final DatabaseSpecific MARIADB_DATABASE_SPECIFIC = new MariaDBDatabaseSpecific();
 
@@ -109,8 +111,12 @@ public final class DatabaseSpecifics {
 
     private final Map<JdbcColumnType, String> typeMap;
     private final Map<JdbcColumnType, Integer> typeIdMap;
+    private final int fetchChunkSize;
+    private final int fetchParallelism;
 
-    BasePostgresDatabaseSpecific(String varcharType) {
+    BasePostgresDatabaseSpecific(String varcharType, int fetchChunkSize, int fetchParallelism) {
+      this.fetchChunkSize = fetchChunkSize;
+      this.fetchParallelism = fetchParallelism;
       typeMap = new EnumMap<>(JdbcColumnType.class);
       typeIdMap = new EnumMap<>(JdbcColumnType.class);
       typeMap.put(JdbcColumnType.NAME, varcharType);
@@ -167,6 +173,16 @@ public final class DatabaseSpecifics {
     public String wrapInsert(String sql) {
       return sql + " ON CONFLICT DO NOTHING";
     }
+
+    @Override
+    public int fetchChunkSize() {
+      return fetchChunkSize;
+    }
+
+    @Override
+    public int fetchParallelism() {
+      return fetchParallelism;
+    }
   }
 
   static class MariaDBDatabaseSpecific implements DatabaseSpecific {
@@ -178,6 +194,9 @@ public final class DatabaseSpecifics {
     private static final String MYSQL_LOCK_DEADLOCK_SQL_STATE = "40001";
     private static final String MYSQL_ALREADY_EXISTS_SQL_STATE = "42S01";
 
+    private static final int FETCH_CHUNK_SIZE = 500;
+    private static final int FETCH_PARALLELISM = 4;
+
     private final Map<JdbcColumnType, String> typeMap;
     private final Map<JdbcColumnType, Integer> typeIdMap;
 
@@ -229,5 +248,15 @@ public final class DatabaseSpecifics {
     public String wrapInsert(String sql) {
       return sql.replace("INSERT INTO", "INSERT IGNORE INTO");
     }
+
+    @Override
+    public int fetchChunkSize() {
+      return FETCH_CHUNK_SIZE;
+    }
+
+    @Override
+    public int fetchParallelism() {
+      return FETCH_PARALLELISM;
+    }
   }
 }
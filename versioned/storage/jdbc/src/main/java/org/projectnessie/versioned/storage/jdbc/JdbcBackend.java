@@ -52,6 +52,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.sql.DataSource;
@@ -72,6 +75,7 @@ public final class JdbcBackend implements Backend {
   private final boolean closeDataSource;
   private final String createTableRefsSql;
   private final String createTableObjsSql;
+  private final ExecutorService fetchExecutor;
 
   @SuppressWarnings("removal")
   public JdbcBackend(
@@ -83,6 +87,9 @@ public final class JdbcBackend implements Backend {
     this.closeDataSource = closeDataSource;
     createTableRefsSql = buildCreateTableRefsSql(databaseSpecific);
     createTableObjsSql = buildCreateTableObjsSql(databaseSpecific);
+    // The calling thread fetches one chunk itself.
+    int fetchParallelism = databaseSpecific.fetchParallelism();
+    fetchExecutor = fetchParallelism > 1 ? newFetchExecutor(fetchParallelism - 1) : null;
     if (config.catalog().isPresent()) {
       LOGGER.warn(
           "Configuration 'nessie.version.store.persist.jdbc.catalog' is now obsolete, please remove it. "
@@ -159,12 +166,34 @@ public final class JdbcBackend implements Backend {
     return sb.toString();
   }
 
+  private static ExecutorService newFetchExecutor(int threads) {
+    AtomicInteger threadNum = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threads,
+        r -> {
+          Thread t = new Thread(r, "nessie-jdbc-fetch-" + threadNum.incrementAndGet());
+          t.setDaemon(true);
+          return t;
+        });
+  }
+
   DatabaseSpecific databaseSpecific() {
     return databaseSpecific;
   }
 
+  /**
+   * Executor for the chunks of large object fetches, {@code null} if {@link
+   * DatabaseSpecific#fetchParallelism()} does not allow concurrent fetches.
+   */
+  ExecutorService fetchExecutor() {
+    return fetchExecutor;
+  }
+
   @Override
   public void close() {
+    if (fetchExecutor != null) {
+      fetchExecutor.shutdown();
+    }
     if (closeDataSource) {
       try {
         if (dataSource instanceof AutoCloseable) {
@@ -18,9 +18,16 @@ package org.projectnessie.versioned.storage.jdbc;
 import static java.util.Collections.singleton;
 
 import jakarta.annotation.Nonnull;
+import java.lang.reflect.Array;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -200,8 +207,62 @@ class JdbcPersist extends AbstractJdbcPersist {
   @Override
   public <T extends Obj> T[] fetchTypedObjsIfExist(
       @Nonnull ObjId[] ids, ObjType type, @Nonnull Class<T> typeClass) {
-    return withConnectionException(
-        true, conn -> super.fetchTypedObjsIfExist(conn, ids, type, typeClass));
+    int chunkSize = backend.databaseSpecific().fetchChunkSize();
+    if (ids.length <= chunkSize) {
+      return withConnectionException(
+          true, conn -> super.fetchTypedObjsIfExist(conn, ids, type, typeClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    T[] r = (T[]) Array.newInstance(typeClass, ids.length);
+
+    ExecutorService executor = backend.fetchExecutor();
+    if (executor == null) {
+      withConnection(
+          true,
+          conn -> {
+            for (int from = 0; from < ids.length; from += chunkSize) {
+              int to = Math.min(ids.length, from + chunkSize);
+              fetchChunk(conn, ids, from, to, type, typeClass, r);
+            }
+            return null;
+          });
+      return r;
+    }
+
+    // Fetch the chunks concurrently on separate connections, the calling thread fetches the first
+    // chunk. Each chunk writes its results to the positions of its IDs in the result array.
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int from = chunkSize; from < ids.length; from += chunkSize) {
+      int chunkFrom = from;
+      int chunkTo = Math.min(ids.length, from + chunkSize);
+      futures.add(
+          CompletableFuture.runAsync(
+              () ->
+                  withConnection(
+                      true, conn -> fetchChunk(conn, ids, chunkFrom, chunkTo, type, typeClass, r)),
+              executor));
+    }
+    withConnection(true, conn -> fetchChunk(conn, ids, 0, chunkSize, type, typeClass, r));
+
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw e;
+    }
+    return r;
+  }
+
+  private <T extends Obj> Void fetchChunk(
+      Connection conn, ObjId[] ids, int from, int to, ObjType type, Class<T> typeClass, T[] r) {
+    ObjId[] chunkIds = Arrays.copyOfRange(ids, from, to);
+    T[] chunk = super.fetchTypedObjsIfExist(conn, chunkIds, type, typeClass);
+    System.arraycopy(chunk, 0, r, from, chunk.length);
+    return null;
   }
 
   @Override
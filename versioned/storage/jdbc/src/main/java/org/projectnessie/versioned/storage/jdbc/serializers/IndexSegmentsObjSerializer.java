@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
 import org.projectnessie.versioned.storage.common.objtypes.IndexSegmentsObj;
 import org.projectnessie.versioned.storage.common.objtypes.IndexStripe;
 import org.projectnessie.versioned.storage.common.persist.ObjId;
@@ -65,14 +66,18 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
       DatabaseSpecific databaseSpecific)
       throws SQLException {
     Stripes.Builder b = Stripes.newBuilder();
-    obj.stripes().stream()
-        .map(
-            s ->
-                Stripe.newBuilder()
-                    .setFirstKey(s.firstKey().rawString())
-                    .setLastKey(s.lastKey().rawString())
-                    .setSegment(s.segment().asBytes()))
-        .forEach(b::addStripes);
+    for (IndexStripe s : obj.stripes()) {
+      Stripe.Builder stripe =
+          Stripe.newBuilder()
+              .setFirstKey(s.firstKey().rawString())
+              .setLastKey(s.lastKey().rawString())
+              .setSegment(s.segment().asBytes());
+      ByteString keyFilter = s.keyFilter();
+      if (keyFilter != null) {
+        stripe.setKeyFilter(keyFilter);
+      }
+      b.addStripes(stripe);
+    }
     serializeBytes(
         ps, nameToIdx.apply(COL_SEGMENTS_STRIPES), b.build().toByteString(), databaseSpecific);
   }
@@ -89,7 +94,8 @@ public class IndexSegmentsObjSerializer implements ObjSerializer<IndexSegmentsOb
                       indexStripe(
                           keyFromString(s.getFirstKey()),
                           keyFromString(s.getLastKey()),
-                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer())))
+                          objIdFromByteBuffer(s.getSegment().asReadOnlyByteBuffer()),
+                          s.getKeyFilter().isEmpty() ? null : s.getKeyFilter()))
               .collect(Collectors.toList());
       return indexSegments(id, stripeList);
     } catch (IOException e) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.jdbc;
+
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.jdbc.DatabaseSpecifics.H2_DATABASE_SPECIFIC;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.objtypes.StandardObjType;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.jdbctests.H2BackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@NessieBackend(H2BackendTestFactory.class)
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestH2ChunkedFetch {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void chunkedFetch() throws Exception {
+    int chunkSize = H2_DATABASE_SPECIFIC.fetchChunkSize();
+    int count = chunkSize * 5 + 7;
+
+    Obj[] objs = new Obj[count];
+    ObjId[] ids = new ObjId[count];
+    for (int i = 0; i < count; i++) {
+      if (i % 11 == 3) {
+        // leave some "holes" in the array of IDs to fetch
+        continue;
+      }
+      if (i % 13 == 5) {
+        // non-existing objects
+        ids[i] = randomObjId();
+        continue;
+      }
+      objs[i] = contentValue("cid-" + i, 42, ByteString.copyFromUtf8("value-" + i));
+      ids[i] = objs[i].id();
+    }
+    for (Obj obj : objs) {
+      if (obj != null) {
+        persist.storeObj(obj);
+      }
+    }
+
+    soft.assertThat(persist.fetchObjsIfExist(ids)).containsExactly(objs);
+    soft.assertThat(persist.fetchTypedObjsIfExist(ids, StandardObjType.VALUE, Obj.class))
+        .containsExactly(objs);
+    soft.assertThat(persist.fetchTypedObjsIfExist(ids, StandardObjType.COMMIT, Obj.class))
+        .containsOnlyNulls()
+        .hasSize(count);
+  }
+}
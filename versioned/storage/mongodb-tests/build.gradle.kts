@@ -17,6 +17,7 @@
 plugins {
   id("nessie-conventions-server")
   id("nessie-jacoco")
+  alias(libs.plugins.jmh)
 }
 
 publishingHelper { mavenName = "Nessie - Storage - MongoDB - Tests" }
@@ -39,4 +40,12 @@ dependencies {
 
   implementation(platform(libs.testcontainers.bom))
   implementation("org.testcontainers:mongodb")
+
+  jmhImplementation(libs.jmh.core)
+  jmhImplementation(project(":nessie-versioned-storage-common-tests"))
+  jmhAnnotationProcessor(libs.jmh.generator.annprocess)
 }
+
+tasks.named("processJmhJandexIndex").configure { enabled = false }
+
+jmh { jmhVersion = libs.versions.jmh.get() }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.mongodbtests;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.commontests.RandomObjs.randomContentValue;
+import static org.projectnessie.versioned.storage.commontests.RandomObjs.storeRandomContentValues;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.mongodb.MongoDBBackend;
+import org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig;
+import org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig.ObjectsReadPreference;
+
+/**
+ * Measures the latency of bulk-fetching and bulk-storing objects, using a local MongoDB container.
+ *
+ * <p>The container is a single-node replica set, so this benchmark measures the overhead of the
+ * read preferences and of the primary fallback, but not the benefit of reading from nearby
+ * replicas.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+public class MongoDBFetchObjsBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"PRIMARY", "NEAREST"})
+    public ObjectsReadPreference readPreference;
+
+    @Param({"20", "1000"})
+    public int batchSize;
+
+    @Param({"20000"})
+    public int numObjs;
+
+    @Param({"1024"})
+    public int valueSize;
+
+    private MongoDBBackendTestFactory testFactory;
+    private MongoDBBackend backend;
+    Persist persist;
+    Obj[] objs;
+    ObjId[] ids;
+
+    @Setup
+    public void init() throws Exception {
+      testFactory = new MongoDBBackendTestFactory();
+      testFactory.start();
+
+      backend =
+          new MongoDBBackend(
+              MongoDBBackendConfig.builder()
+                  .client(testFactory.buildNewClient())
+                  .databaseName(testFactory.getDatabaseName())
+                  .objectsReadPreference(readPreference)
+                  .build(),
+              true);
+      backend.setupSchema();
+      persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      objs = storeRandomContentValues(persist, numObjs, valueSize);
+      ids = Arrays.stream(objs).map(Obj::id).toArray(ObjId[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+      try {
+        backend.close();
+      } finally {
+        testFactory.stop();
+      }
+    }
+
+    ObjId randomId() {
+      return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    Obj randomExistingObj() {
+      return objs[ThreadLocalRandom.current().nextInt(objs.length)];
+    }
+  }
+
+  @Benchmark
+  public void fetchObjs(BenchmarkParam param, Blackhole bh) {
+    ObjId[] batch = new ObjId[param.batchSize];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = param.randomId();
+    }
+    bh.consume(param.persist.fetchObjsIfExist(batch));
+  }
+
+  @Benchmark
+  public void storeObjs(BenchmarkParam param, Blackhole bh) throws ObjTooLargeException {
+    Obj[] batch = new Obj[param.batchSize];
+    for (int i = 0; i < batch.length; i++) {
+      // Half of the objects already exist, exercising the duplicate-key handling.
+      batch[i] = (i & 1) == 0 ? randomContentValue(param.valueSize) : param.randomExistingObj();
+    }
+    bh.consume(param.persist.storeObjs(batch));
+  }
+}
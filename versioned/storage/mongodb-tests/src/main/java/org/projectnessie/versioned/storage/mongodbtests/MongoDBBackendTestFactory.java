@@ -92,12 +92,15 @@ public class MongoDBBackendTestFactory implements BackendTestFactory {
   public Backend createNewBackend() {
     MongoClient client = buildNewClient();
 
-    MongoDBBackendConfig config =
-        MongoDBBackendConfig.builder().databaseName(MONGO_DB_NAME).client(client).build();
+    MongoDBBackendConfig config = backendConfig(client);
 
     return new MongoDBBackend(config, true);
   }
 
+  protected MongoDBBackendConfig backendConfig(MongoClient client) {
+    return MongoDBBackendConfig.builder().databaseName(MONGO_DB_NAME).client(client).build();
+  }
+
   public MongoClient buildNewClient() {
     return MongoClientProducer.builder().connectionString(connectionString).build().createClient();
   }
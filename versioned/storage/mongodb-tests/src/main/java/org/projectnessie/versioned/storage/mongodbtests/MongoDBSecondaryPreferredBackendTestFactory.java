@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.mongodbtests;
+
+import static org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig.ObjectsReadPreference.SECONDARY_PREFERRED;
+
+import com.mongodb.client.MongoClient;
+import org.projectnessie.versioned.storage.mongodb.MongoDBBackendConfig;
+
+/**
+ * MongoDB backend test factory that reads immutable objects with the {@link
+ * MongoDBBackendConfig.ObjectsReadPreference#SECONDARY_PREFERRED} read preference.
+ */
+public class MongoDBSecondaryPreferredBackendTestFactory extends MongoDBBackendTestFactory {
+  @Override
+  protected MongoDBBackendConfig backendConfig(MongoClient client) {
+    return MongoDBBackendConfig.builder()
+        .from(super.backendConfig(client))
+        .objectsReadPreference(SECONDARY_PREFERRED)
+        .build();
+  }
+}
@@ -20,6 +20,7 @@ import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.ID_RE
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.TABLE_OBJS;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.TABLE_REFS;
 
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
@@ -40,6 +41,7 @@ public class MongoDBBackend implements Backend {
   private final boolean closeClient;
   private MongoCollection<Document> refs;
   private MongoCollection<Document> objs;
+  private MongoCollection<Document> immutableObjs;
 
   public MongoDBBackend(@Nonnull MongoDBBackendConfig config, boolean closeClient) {
     this.config = config;
@@ -57,14 +59,37 @@ public class MongoDBBackend implements Backend {
     return objs;
   }
 
+  /**
+   * Collection to read immutable objects from, using the configured {@link
+   * MongoDBBackendConfig#objectsReadPreference() objects read preference}.
+   */
+  @Nonnull
+  MongoCollection<Document> immutableObjs() {
+    return immutableObjs;
+  }
+
+  /**
+   * Whether {@link #immutableObjs()} may read from replicas, which may not have all objects yet.
+   */
+  boolean immutableObjsFromReplicas() {
+    return immutableObjs != objs;
+  }
+
   private synchronized void initialize() {
     if (refs == null) {
       String databaseName = config.databaseName();
       MongoDatabase database =
           client.getDatabase(Objects.requireNonNull(databaseName, "Database name must be set"));
 
-      refs = database.getCollection(TABLE_REFS);
-      objs = database.getCollection(TABLE_OBJS);
+      // References and updateable objects must always be read from the primary, even if the
+      // client is configured with a different read preference.
+      refs = database.getCollection(TABLE_REFS).withReadPreference(ReadPreference.primary());
+      objs = database.getCollection(TABLE_OBJS).withReadPreference(ReadPreference.primary());
+      ReadPreference objsReadPreference = config.objectsReadPreference().readPreference();
+      immutableObjs =
+          objsReadPreference.equals(ReadPreference.primary())
+              ? objs
+              : objs.withReadPreference(objsReadPreference);
     }
   }
 
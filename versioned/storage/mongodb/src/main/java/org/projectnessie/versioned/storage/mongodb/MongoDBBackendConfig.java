@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.storage.mongodb;
 
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import org.immutables.value.Value;
 
@@ -23,6 +24,41 @@ public interface MongoDBBackendConfig extends MongoDBBackendBaseConfig {
 
   MongoClient client();
 
+  /**
+   * Read preference for fetching immutable objects. References, commits and updateable objects are
+   * always read from the primary.
+   */
+  @Value.Default
+  default ObjectsReadPreference objectsReadPreference() {
+    return ObjectsReadPreference.PRIMARY;
+  }
+
+  /** Read preferences that can be used to fetch immutable objects. */
+  enum ObjectsReadPreference {
+    /** Read all objects from the primary, the default. */
+    PRIMARY(ReadPreference.primary()),
+    /**
+     * Read immutable objects from a secondary, if available. Objects that are not (yet) present on
+     * the secondary are read again from the primary.
+     */
+    SECONDARY_PREFERRED(ReadPreference.secondaryPreferred()),
+    /**
+     * Read immutable objects from the member with the lowest latency. Objects that are not (yet)
+     * present on that member are read again from the primary.
+     */
+    NEAREST(ReadPreference.nearest());
+
+    private final ReadPreference readPreference;
+
+    ObjectsReadPreference(ReadPreference readPreference) {
+      this.readPreference = readPreference;
+    }
+
+    public ReadPreference readPreference() {
+      return readPreference;
+    }
+  }
+
   static ImmutableMongoDBBackendConfig.Builder builder() {
     return ImmutableMongoDBBackendConfig.builder();
   }
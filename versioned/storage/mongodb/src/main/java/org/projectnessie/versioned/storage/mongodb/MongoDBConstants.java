@@ -38,5 +38,8 @@ final class MongoDBConstants {
   static final String ID_OBJ_ID_PATH = ID_PROPERTY_NAME + "." + COL_OBJ_ID;
   static final String ID_REFERENCES_NAME_PATH = ID_PROPERTY_NAME + "." + COL_REFERENCES_NAME;
 
+  /** Maximum number of IDs in a single {@code $in} query or delete. */
+  static final int MAX_IN_LIST_SIZE = 500;
+
   private MongoDBConstants() {}
 }
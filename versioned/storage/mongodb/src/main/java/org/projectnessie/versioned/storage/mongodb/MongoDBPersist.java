@@ -26,6 +26,7 @@ import static com.mongodb.client.model.Updates.set;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 import static java.util.stream.Collectors.toList;
+import static org.projectnessie.versioned.storage.common.objtypes.StandardObjType.COMMIT;
 import static org.projectnessie.versioned.storage.common.persist.ObjTypes.objTypeByName;
 import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_OBJ_ID;
@@ -40,6 +41,7 @@ import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_R
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.COL_REPO;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.ID_PROPERTY_NAME;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.ID_REPO_PATH;
+import static org.projectnessie.versioned.storage.mongodb.MongoDBConstants.MAX_IN_LIST_SIZE;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBSerde.binaryToObjId;
 import static org.projectnessie.versioned.storage.mongodb.MongoDBSerde.objIdToBinary;
 import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.deserializePreviousPointers;
@@ -56,11 +58,14 @@ import com.mongodb.MongoTimeoutException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.WriteError;
 import com.mongodb.bulk.BulkWriteError;
-import com.mongodb.bulk.BulkWriteInsert;
 import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
 import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReplaceOneModel;
 import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.Updates;
@@ -87,6 +92,7 @@ import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsExc
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
 import org.projectnessie.versioned.storage.common.exceptions.RefNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.UnknownOperationResultException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
 import org.projectnessie.versioned.storage.common.objtypes.UpdateableObj;
 import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
 import org.projectnessie.versioned.storage.common.persist.Obj;
@@ -99,6 +105,8 @@ import org.projectnessie.versioned.storage.mongodb.serializers.ObjSerializers;
 
 public class MongoDBPersist implements Persist {
 
+  private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
   private final StoreConfig config;
   private final MongoDBBackend backend;
 
@@ -348,20 +356,20 @@ public class MongoDBPersist implements Persist {
   @Nonnull
   public <T extends Obj> T fetchTypedObj(
       @Nonnull ObjId id, ObjType type, @Nonnull Class<T> typeClass) throws ObjNotFoundException {
-    FindIterable<Document> result;
+    Bson filter =
+        type != null
+            ? and(eq(ID_PROPERTY_NAME, idObjDoc(id)), eq(COL_OBJ_TYPE, type.shortName()))
+            : eq(ID_PROPERTY_NAME, idObjDoc(id));
+    Document doc;
     try {
-      result =
-          type != null
-              ? backend
-                  .objs()
-                  .find(and(eq(ID_PROPERTY_NAME, idObjDoc(id)), eq(COL_OBJ_TYPE, type.shortName())))
-              : backend.objs().find(eq(ID_PROPERTY_NAME, idObjDoc(id)));
+      doc = objsCollection(type).find(filter).first();
+      if (backend.immutableObjsFromReplicas() && !isImmutableObjDoc(doc)) {
+        doc = backend.objs().find(filter).first();
+      }
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
 
-    Document doc = result.first();
-
     T obj = docToObj(id, doc, type, typeClass);
     if (obj == null) {
       throw new ObjNotFoundException(id);
@@ -372,14 +380,19 @@ public class MongoDBPersist implements Persist {
   @Override
   @Nonnull
   public ObjType fetchObjType(@Nonnull ObjId id) throws ObjNotFoundException {
-    FindIterable<Document> result;
+    // The type of an object never changes, reading it from a replica is fine.
+    Bson filter = eq(ID_PROPERTY_NAME, idObjDoc(id));
+    Bson projection = Projections.include(COL_OBJ_TYPE);
+    Document doc;
     try {
-      result = backend.objs().find(eq(ID_PROPERTY_NAME, idObjDoc(id)));
+      doc = backend.immutableObjs().find(filter).projection(projection).first();
+      if (doc == null && backend.immutableObjsFromReplicas()) {
+        doc = backend.objs().find(filter).projection(projection).first();
+      }
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
 
-    Document doc = result.first();
     if (doc == null) {
       throw new ObjNotFoundException(id);
     }
@@ -397,42 +410,116 @@ public class MongoDBPersist implements Persist {
     T[] r = (T[]) Array.newInstance(typeClass, ids.length);
     for (int i = 0; i < ids.length; i++) {
       ObjId id = ids[i];
-      if (id != null) {
+      if (id != null && idToIndex.getValue(id) == -1) {
         list.add(idObjDoc(id));
         idToIndex.put(id, i);
       }
     }
 
-    if (!list.isEmpty()) {
-      fetchObjsPage(r, list, idToIndex, type, typeClass);
+    if (list.isEmpty()) {
+      return r;
+    }
+
+    MongoCollection<Document> collection = objsCollection(type);
+    fetchObjsPages(collection, r, list, idToIndex, type, typeClass);
+
+    if (collection != backend.objs()) {
+      // Objects that are not (yet) present on a replica and objects that may be updated must be
+      // read from the primary.
+      List<Document> fromPrimary = new ArrayList<>();
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null && idToIndex.getValue(id) == i) {
+          T obj = r[i];
+          if (obj == null || isUpdatedInPlace(obj)) {
+            r[i] = null;
+            fromPrimary.add(idObjDoc(id));
+          }
+        }
+      }
+      if (!fromPrimary.isEmpty()) {
+        fetchObjsPages(backend.objs(), r, fromPrimary, idToIndex, type, typeClass);
+      }
+    }
+
+    // Duplicate IDs are only fetched once
+    if (list.size() < ids.length) {
+      for (int i = 0; i < ids.length; i++) {
+        ObjId id = ids[i];
+        if (id != null && r[i] == null) {
+          r[i] = r[idToIndex.getValue(id)];
+        }
+      }
     }
 
     return r;
   }
 
+  private <T extends Obj> void fetchObjsPages(
+      MongoCollection<Document> collection,
+      Obj[] r,
+      List<Document> list,
+      Object2IntHashMap<ObjId> idToIndex,
+      ObjType type,
+      Class<T> typeClass) {
+    for (int offset = 0; offset < list.size(); offset += MAX_IN_LIST_SIZE) {
+      List<Document> chunk = list.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, list.size()));
+      fetchObjsPage(collection, r, chunk, idToIndex, type, typeClass);
+    }
+  }
+
   private <T extends Obj> void fetchObjsPage(
+      MongoCollection<Document> collection,
       Obj[] r,
       List<Document> list,
       Object2IntHashMap<ObjId> idToIndex,
       ObjType type,
       Class<T> typeClass) {
-    FindIterable<Document> result;
+    Bson filter =
+        type != null
+            ? and(in(ID_PROPERTY_NAME, list), eq(COL_OBJ_TYPE, type.shortName()))
+            : in(ID_PROPERTY_NAME, list);
     try {
-      result = backend.objs().find(in(ID_PROPERTY_NAME, list));
-    } catch (RuntimeException e) {
-      throw unhandledException(e);
-    }
-    for (Document doc : result) {
-      T obj = docToObj(doc, type, typeClass);
-      if (obj != null) {
-        int idx = idToIndex.getValue(obj.id());
-        if (idx != -1) {
-          r[idx] = obj;
+      for (Document doc : collection.find(filter).batchSize(list.size())) {
+        T obj = docToObj(doc, type, typeClass);
+        if (obj != null) {
+          int idx = idToIndex.getValue(obj.id());
+          if (idx != -1) {
+            r[idx] = obj;
+          }
         }
       }
+    } catch (RuntimeException e) {
+      throw unhandledException(e);
     }
   }
 
+  /**
+   * Collection to fetch objects of the given type from. Commits are always read from the primary,
+   * because {@link CommitObj}s are updated in place via {@link #upsertObj(Obj)}, for example when
+   * completing the indexes of imported commits. A lagging replica could otherwise serve a stale
+   * commit.
+   */
+  private MongoCollection<Document> objsCollection(ObjType type) {
+    return type == COMMIT ? backend.objs() : backend.immutableObjs();
+  }
+
+  /**
+   * Whether the object may be updated in place, either conditionally as an {@link UpdateableObj}
+   * or via {@link #upsertObj(Obj)} as a {@link CommitObj}, and must therefore be read from the
+   * primary.
+   */
+  private static boolean isUpdatedInPlace(Obj obj) {
+    return obj instanceof UpdateableObj || obj instanceof CommitObj;
+  }
+
+  /** Whether the document is an object that is never updated, safe to be read from replicas. */
+  private static boolean isImmutableObjDoc(Document doc) {
+    return doc != null
+        && !doc.containsKey(COL_OBJ_VERS)
+        && !COMMIT.shortName().equals(doc.getString(COL_OBJ_TYPE));
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -454,46 +541,37 @@ public class MongoDBPersist implements Persist {
   @Nonnull
   @Override
   public boolean[] storeObjs(@Nonnull Obj[] objs) throws ObjTooLargeException {
-    List<WriteModel<Document>> docs = new ArrayList<>(objs.length);
-    for (Obj obj : objs) {
+    List<WriteModel<Document>> inserts = new ArrayList<>(objs.length);
+    int[] insertToObjIndex = new int[objs.length];
+    boolean[] r = new boolean[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      Obj obj = objs[i];
       if (obj != null) {
-        docs.add(new InsertOneModel<>(objToDoc(obj, false)));
+        insertToObjIndex[inserts.size()] = i;
+        inserts.add(new InsertOneModel<>(objToDoc(obj, false)));
+        r[i] = true;
       }
     }
 
-    boolean[] r = new boolean[objs.length];
+    if (inserts.isEmpty()) {
+      return r;
+    }
 
-    List<WriteModel<Document>> inserts = new ArrayList<>(docs);
-    while (!inserts.isEmpty()) {
-      try {
-        BulkWriteResult res = backend.objs().bulkWrite(inserts);
-        for (BulkWriteInsert insert : res.getInserts()) {
-          ObjId id = objIdFromBulkWriteInsert(insert);
-          r[objIdIndex(objs, id)] = id != null;
-        }
-        break;
-      } catch (MongoBulkWriteException e) {
-        // Handle "insert of already existing objects".
-        //
-        // MongoDB returns a BulkWriteResult of what _would_ have succeeded. Use that information
-        // to retry the bulk write to make progress.
-        List<BulkWriteError> errs = e.getWriteErrors();
-        for (BulkWriteError err : errs) {
-          if (err.getCategory() != DUPLICATE_KEY) {
-            throw handleMongoWriteError(e, err);
-          }
+    try {
+      // An unordered bulk write attempts all inserts, even if some fail, because the object
+      // already exists.
+      backend.objs().bulkWrite(inserts, UNORDERED);
+    } catch (MongoBulkWriteException e) {
+      for (BulkWriteError err : e.getWriteErrors()) {
+        if (err.getCategory() != DUPLICATE_KEY) {
+          throw handleMongoWriteError(e, err);
         }
-        BulkWriteResult res = e.getWriteResult();
-        inserts.clear();
-        res.getInserts().stream()
-            .map(MongoDBPersist::objIdFromBulkWriteInsert)
-            .mapToInt(id -> objIdIndex(objs, id))
-            .mapToObj(docs::get)
-            .forEach(inserts::add);
-      } catch (RuntimeException e) {
-        throw unhandledException(e);
+        r[insertToObjIndex[err.getIndex()]] = false;
       }
+    } catch (RuntimeException e) {
+      throw unhandledException(e);
     }
+
     return r;
   }
 
@@ -501,19 +579,6 @@ public class MongoDBPersist implements Persist {
     return binaryToObjId(doc.get(ID_PROPERTY_NAME, Document.class).get(COL_OBJ_ID, Binary.class));
   }
 
-  private static int objIdIndex(Obj[] objs, ObjId id) {
-    for (int i = 0; i < objs.length; i++) {
-      if (id.equals(objs[i].id())) {
-        return i;
-      }
-    }
-    throw new IllegalArgumentException("ObjId " + id + " not in objs");
-  }
-
-  private static ObjId objIdFromBulkWriteInsert(BulkWriteInsert insert) {
-    return ObjId.objIdFromByteArray(insert.getId().asDocument().getBinary(COL_OBJ_ID).getData());
-  }
-
   @Override
   public void deleteObj(@Nonnull ObjId id) {
     try {
@@ -530,8 +595,15 @@ public class MongoDBPersist implements Persist {
     if (list.isEmpty()) {
       return;
     }
+
+    List<WriteModel<Document>> deletes = new ArrayList<>();
+    for (int offset = 0; offset < list.size(); offset += MAX_IN_LIST_SIZE) {
+      List<Document> chunk = list.subList(offset, Math.min(offset + MAX_IN_LIST_SIZE, list.size()));
+      deletes.add(new DeleteManyModel<>(in(ID_PROPERTY_NAME, chunk)));
+    }
+
     try {
-      backend.objs().deleteMany(in(ID_PROPERTY_NAME, list));
+      backend.objs().bulkWrite(deletes, UNORDERED);
     } catch (RuntimeException e) {
       throw unhandledException(e);
     }
@@ -582,7 +654,7 @@ public class MongoDBPersist implements Persist {
     if (!updates.isEmpty()) {
       BulkWriteResult res;
       try {
-        res = backend.objs().bulkWrite(updates);
+        res = backend.objs().bulkWrite(updates, UNORDERED);
       } catch (RuntimeException e) {
         throw unhandledException(e);
       }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.projectnessie.versioned.storage.commontests.RandomObjs.storeRandomContentValues;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
+import org.projectnessie.versioned.storage.common.objtypes.StandardObjType;
+import org.projectnessie.versioned.storage.common.persist.CloseableIterator;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.ObjType;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Measures point-read latency while a concurrent full scan runs.
+ *
+ * <p>Use {@code -prof gc} to measure the allocation rate. The sample-time mode reports the p99
+ * point-read latency.
+ */
+@Warmup(iterations = 2, time = 2000, timeUnit = MILLISECONDS)
+@Measurement(iterations = 3, time = 2000, timeUnit = MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(MICROSECONDS)
+public class RocksDBReadBench {
+  @State(Scope.Benchmark)
+  public static class BenchmarkParam {
+
+    @Param({"100000"})
+    public int numObjs;
+
+    @Param({"1024"})
+    public int valueSize;
+
+    @Param({"20"})
+    public int batchSize;
+
+    private Path dir;
+    private RocksDBBackend backend;
+    Persist persist;
+    ObjId[] ids;
+
+    @Setup
+    public void init() throws Exception {
+      dir = Files.createTempDirectory("nessie-rocksdb-bench");
+      backend = new RocksDBBackend(RocksDBBackendConfig.builder().databasePath(dir).build());
+      backend.setupSchema();
+      persist = backend.createFactory().newPersist(StoreConfig.Adjustable.empty());
+
+      ids =
+          Arrays.stream(storeRandomContentValues(persist, numObjs, valueSize))
+              .map(Obj::id)
+              .toArray(ObjId[]::new);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+      backend.close();
+      try (Stream<Path> files = Files.walk(dir)) {
+        files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(java.io.File::delete);
+      }
+    }
+
+    ObjId randomId() {
+      return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ScanState {
+    private static final Set<ObjType> ALL_TYPES = Set.copyOf(EnumSet.allOf(StandardObjType.class));
+
+    private CloseableIterator<Obj> scan;
+
+    @Setup(Level.Iteration)
+    public void open(BenchmarkParam param) {
+      scan = param.persist.scanAllObjects(ALL_TYPES);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() {
+      scan.close();
+    }
+
+    Obj next(BenchmarkParam param) {
+      if (!scan.hasNext()) {
+        scan.close();
+        scan = param.persist.scanAllObjects(ALL_TYPES);
+      }
+      return scan.next();
+    }
+  }
+
+  @Benchmark
+  @Group("pointReadDuringScan")
+  @GroupThreads(3)
+  public Obj fetchObj(BenchmarkParam param) throws Exception {
+    return param.persist.fetchObj(param.randomId());
+  }
+
+  @Benchmark
+  @Group("pointReadDuringScan")
+  @GroupThreads(1)
+  public Obj scan(BenchmarkParam param, ScanState scan) {
+    return scan.next(param);
+  }
+
+  @Benchmark
+  @Group("multiReadDuringScan")
+  @GroupThreads(3)
+  public void fetchObjs(BenchmarkParam param, Blackhole bh) {
+    ObjId[] batch = new ObjId[param.batchSize];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = param.randomId();
+    }
+    bh.consume(param.persist.fetchObjsIfExist(batch));
+  }
+
+  @Benchmark
+  @Group("multiReadDuringScan")
+  @GroupThreads(1)
+  public Obj scanMulti(BenchmarkParam param, ScanState scan) {
+    return scan.next(param);
+  }
+
+  @Benchmark
+  public Obj pointRead(BenchmarkParam param) throws Exception {
+    return param.persist.fetchObj(param.randomId());
+  }
+}
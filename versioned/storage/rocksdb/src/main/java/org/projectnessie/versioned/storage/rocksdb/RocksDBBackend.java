@@ -40,6 +40,7 @@ import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
@@ -52,11 +53,15 @@ public final class RocksDBBackend implements Backend {
 
   private static final List<String> CF_ALL = asList(CF_REFERENCES, CF_OBJECTS);
 
+  /** Readahead size for full scans, which read large consecutive ranges of SST files. */
+  static final long SCAN_READAHEAD_SIZE = 2L * 1024L * 1024L;
+
   private final RocksDBBackendConfig config;
 
   private TransactionDB db;
   private ColumnFamilyHandle cfReferences;
   private ColumnFamilyHandle cfObjects;
+  private ReadOptions pointReadOptions;
 
   private final Map<String, RocksDBRepo> repositories = new ConcurrentHashMap<>();
 
@@ -81,17 +86,31 @@ public final class RocksDBBackend implements Backend {
     return cfObjects;
   }
 
+  /** Read options for point lookups, populating the block cache. */
+  ReadOptions pointReadOptions() {
+    return pointReadOptions;
+  }
+
+  /**
+   * Read options for full scans, which must be closed by the caller. Scans do not populate the
+   * block cache, so that scans do not evict the blocks needed by point lookups.
+   */
+  static ReadOptions newScanReadOptions() {
+    return new ReadOptions().setFillCache(false).setReadaheadSize(SCAN_READAHEAD_SIZE);
+  }
+
   @Override
   public synchronized void close() {
     if (db != null) {
       try {
-        closeMultiple(cfObjects, cfReferences, db);
+        closeMultiple(cfObjects, cfReferences, db, pointReadOptions);
       } catch (Exception e) {
         throw new RuntimeException(e);
       } finally {
         db = null;
         cfReferences = null;
         cfObjects = null;
+        pointReadOptions = null;
       }
     }
   }
@@ -138,6 +157,7 @@ public final class RocksDBBackend implements Backend {
 
         cfReferences = columnFamilyHandleMap.get(CF_REFERENCES);
         cfObjects = columnFamilyHandleMap.get(CF_OBJECTS);
+        pointReadOptions = new ReadOptions();
       } catch (RocksDBException e) {
         throw new RuntimeException("RocksDB failed to start", e);
       }
@@ -27,14 +27,20 @@ import static org.projectnessie.versioned.storage.serialize.ProtoSerialization.s
 
 import com.google.common.collect.AbstractIterator;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Predicate;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations;
 import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
@@ -48,16 +54,40 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.ObjType;
 import org.projectnessie.versioned.storage.common.persist.Persist;
 import org.projectnessie.versioned.storage.common.persist.Reference;
+import org.projectnessie.versioned.storage.common.util.CompressionPolicy;
+import org.rocksdb.ByteBufferGetStatus;
 import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Status;
 import org.rocksdb.TransactionDB;
 
 class RocksDBPersist implements Persist {
 
+  static final int KEYS_BUFFER_SIZE = 16 * 1024;
+  static final int INITIAL_VALUE_BUFFER_SIZE = 64 * 1024;
+  static final int MAX_POOLED_VALUE_BUFFER_SIZE = 1024 * 1024;
+  static final int MULTI_GET_VALUES_BUFFER_SIZE = 1024 * 1024;
+  static final int MULTI_GET_VALUE_SLICE_SIZE = 16 * 1024;
+  static final int MULTI_GET_CHUNK_SIZE = MULTI_GET_VALUES_BUFFER_SIZE / MULTI_GET_VALUE_SLICE_SIZE;
+  static final int MAX_POOLED_READ_BUFFERS = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Direct buffers used with RocksDB's {@link ByteBuffer} based read functions, which do not
+   * allocate {@code byte[]} copies for keys and values. The number of pooled buffers is bounded,
+   * reads that do not get pooled buffers use the {@code byte[]} based read functions.
+   */
+  private static final BlockingQueue<ReadBuffers> READ_BUFFERS =
+      new ArrayBlockingQueue<>(MAX_POOLED_READ_BUFFERS);
+
+  private static final AtomicInteger ALLOCATED_READ_BUFFERS = new AtomicInteger();
+
   private final RocksDBBackend backend;
   private final RocksDBRepo repo;
   private final StoreConfig config;
+  private final CompressionPolicy compressionPolicy;
 
   private final ByteString keyPrefix;
 
@@ -65,6 +95,7 @@ class RocksDBPersist implements Persist {
     this.backend = backend;
     this.repo = repo;
     this.config = config;
+    this.compressionPolicy = CompressionPolicy.fromConfig(config);
     this.keyPrefix = keyPrefix(config.repositoryId());
   }
 
@@ -80,6 +111,70 @@ class RocksDBPersist implements Persist {
     return dbKey(id.asBytes());
   }
 
+  private ByteBuffer dbKey(ObjId id, ByteBuffer target) {
+    keyPrefix.copyTo(target);
+    for (int i = 0, n = id.size(); i < n; i++) {
+      target.put(id.byteAt(i));
+    }
+    target.flip();
+    return target;
+  }
+
+  /**
+   * Reads the value for the given object ID, using the pooled direct buffers, if available.
+   *
+   * @return the value or {@code null}, if the key does not exist
+   */
+  private ByteBuffer get(
+      TransactionDB db, ColumnFamilyHandle cf, ObjId id, @Nullable ReadBuffers buffers)
+      throws RocksDBException {
+    if (buffers == null || keyPrefix.size() + id.size() > KEYS_BUFFER_SIZE) {
+      return getHeap(db, cf, id);
+    }
+    return getDirect(db, cf, dbKey(id, buffers.keys()), id, buffers);
+  }
+
+  /**
+   * Reads the value for the given key into the pooled value buffer. Values that are too large to be
+   * pooled are read into a heap buffer.
+   *
+   * @return the value buffer or {@code null}, if the key does not exist
+   */
+  private ByteBuffer getDirect(
+      TransactionDB db, ColumnFamilyHandle cf, ByteBuffer key, ObjId id, ReadBuffers buffers)
+      throws RocksDBException {
+    ByteBuffer value = buffers.value(0);
+    while (true) {
+      int size = db.get(cf, backend.pointReadOptions(), key, value);
+      if (size == RocksDB.NOT_FOUND) {
+        return null;
+      }
+      if (size <= value.capacity()) {
+        return value;
+      }
+      if (size > MAX_POOLED_VALUE_BUFFER_SIZE) {
+        return getHeap(db, cf, id);
+      }
+      // value buffer too small, retry with a sufficiently large one
+      key.rewind();
+      value = buffers.value(size);
+    }
+  }
+
+  private ByteBuffer getHeap(TransactionDB db, ColumnFamilyHandle cf, ObjId id)
+      throws RocksDBException {
+    byte[] value = db.get(cf, backend.pointReadOptions(), dbKey(id));
+    return value != null ? ByteBuffer.wrap(value) : null;
+  }
+
+  /** Returns a slice of {@code length} bytes, whose capacity is also {@code length}. */
+  private static ByteBuffer slice(ByteBuffer buffer, int length) {
+    ByteBuffer slice = buffer.slice();
+    slice.limit(length);
+    buffer.position(buffer.position() + length);
+    return slice.slice();
+  }
+
   @Nonnull
   @Override
   public String name() {
@@ -265,19 +360,22 @@ class RocksDBPersist implements Persist {
       RocksDBBackend b = backend;
       TransactionDB db = b.db();
       ColumnFamilyHandle cf = b.objs();
-      byte[] key = dbKey(id);
-
-      byte[] obj = db.get(cf, key);
-      if (obj == null) {
-        throw new ObjNotFoundException(id);
-      }
-      Obj o = deserializeObj(id, obj, null);
-      if (o == null || (type != null && !type.equals(o.type()))) {
-        throw new ObjNotFoundException(id);
+      ReadBuffers buffers = ReadBuffers.acquire();
+      try {
+        ByteBuffer obj = get(db, cf, id, buffers);
+        if (obj == null) {
+          throw new ObjNotFoundException(id);
+        }
+        Obj o = deserializeObj(id, obj, null);
+        if (o == null || (type != null && !type.equals(o.type()))) {
+          throw new ObjNotFoundException(id);
+        }
+        @SuppressWarnings("unchecked")
+        T typed = (T) o;
+        return typed;
+      } finally {
+        ReadBuffers.release(buffers);
       }
-      @SuppressWarnings("unchecked")
-      T typed = (T) o;
-      return typed;
     } catch (RocksDBException e) {
       throw rocksDbException(e);
     }
@@ -294,32 +392,32 @@ class RocksDBPersist implements Persist {
       int num = ids.length;
       @SuppressWarnings("unchecked")
       T[] r = (T[]) Array.newInstance(typeClass, num);
-      List<ColumnFamilyHandle> handles = new ArrayList<>(num);
-      List<byte[]> keys = new ArrayList<>(num);
-      for (ObjId id : ids) {
-        if (id != null) {
-          handles.add(cf);
-          keys.add(dbKey(id));
+
+      int[] indexes = new int[num];
+      int count = 0;
+      for (int i = 0; i < num; i++) {
+        if (ids[i] != null) {
+          indexes[count++] = i;
         }
       }
+      if (count == 0) {
+        return r;
+      }
 
-      if (!keys.isEmpty()) {
-        List<byte[]> dbResult = db.multiGetAsList(handles, keys);
-        for (int i = 0, ri = 0; i < num; i++) {
-          ObjId id = ids[i];
-          if (id != null) {
-            byte[] obj = dbResult.get(ri++);
-            if (obj != null) {
-              Obj o = deserializeObj(id, obj, null);
-              if (type != null && !type.equals(o.type())) {
-                o = null;
-              }
-              @SuppressWarnings("unchecked")
-              T typed = (T) o;
-              r[i] = typed;
-            }
+      // Keys and values are sliced from the pooled direct buffers, so objects are fetched in chunks
+      // whose value slices fit into the pooled buffer.
+      ReadBuffers buffers = ReadBuffers.acquire();
+      try {
+        for (int from = 0; from < count; from += MULTI_GET_CHUNK_SIZE) {
+          int to = Math.min(from + MULTI_GET_CHUNK_SIZE, count);
+          if (buffers != null && keysSize(ids, indexes, from, to) <= KEYS_BUFFER_SIZE) {
+            multiGetDirect(db, cf, ids, indexes, from, to, type, r, buffers);
+          } else {
+            multiGetHeap(db, cf, ids, indexes, from, to, type, r);
           }
         }
+      } finally {
+        ReadBuffers.release(buffers);
       }
 
       return r;
@@ -328,6 +426,113 @@ class RocksDBPersist implements Persist {
     }
   }
 
+  private int keysSize(ObjId[] ids, int[] indexes, int from, int to) {
+    int keysSize = 0;
+    for (int n = from; n < to; n++) {
+      keysSize += keyPrefix.size() + ids[indexes[n]].size();
+    }
+    return keysSize;
+  }
+
+  /**
+   * Fetches the objects with the IDs at {@code indexes[from]} to {@code indexes[to - 1]}, values
+   * that do not fit into their slice are re-read individually.
+   */
+  private <T extends Obj> void multiGetDirect(
+      TransactionDB db,
+      ColumnFamilyHandle cf,
+      ObjId[] ids,
+      int[] indexes,
+      int from,
+      int to,
+      ObjType type,
+      T[] r,
+      ReadBuffers buffers)
+      throws RocksDBException {
+    ByteBuffer keysBuffer = buffers.keys();
+    ByteBuffer valuesBuffer = buffers.multiGetValues();
+
+    int count = to - from;
+    List<ColumnFamilyHandle> handles = new ArrayList<>(count);
+    List<ByteBuffer> keys = new ArrayList<>(count);
+    List<ByteBuffer> values = new ArrayList<>(count);
+    for (int n = from; n < to; n++) {
+      ObjId id = ids[indexes[n]];
+      handles.add(cf);
+      keys.add(dbKey(id, slice(keysBuffer, keyPrefix.size() + id.size())));
+      values.add(slice(valuesBuffer, MULTI_GET_VALUE_SLICE_SIZE));
+    }
+
+    List<ByteBufferGetStatus> dbResult =
+        db.multiGetByteBuffers(backend.pointReadOptions(), handles, keys, values);
+    for (int n = from, ri = 0; n < to; n++, ri++) {
+      int i = indexes[n];
+      ObjId id = ids[i];
+      ByteBufferGetStatus status = dbResult.get(ri);
+
+      ByteBuffer obj;
+      Status.Code code = status.status.getCode();
+      if (code == Status.Code.NotFound) {
+        continue;
+      } else if (code != Status.Code.Ok) {
+        throw new RocksDBException(status.status);
+      } else if (status.requiredSize > MULTI_GET_VALUE_SLICE_SIZE) {
+        ByteBuffer key = keys.get(ri);
+        key.rewind();
+        obj = getDirect(db, cf, key, id, buffers);
+        if (obj == null) {
+          continue;
+        }
+      } else {
+        obj = status.value;
+      }
+
+      r[i] = typedObj(id, obj, type);
+    }
+  }
+
+  /**
+   * Fetches the objects with the IDs at {@code indexes[from]} to {@code indexes[to - 1]} using
+   * heap buffers.
+   */
+  private <T extends Obj> void multiGetHeap(
+      TransactionDB db,
+      ColumnFamilyHandle cf,
+      ObjId[] ids,
+      int[] indexes,
+      int from,
+      int to,
+      ObjType type,
+      T[] r)
+      throws RocksDBException {
+    int count = to - from;
+    List<ColumnFamilyHandle> handles = new ArrayList<>(count);
+    List<byte[]> keys = new ArrayList<>(count);
+    for (int n = from; n < to; n++) {
+      handles.add(cf);
+      keys.add(dbKey(ids[indexes[n]]));
+    }
+
+    List<byte[]> dbResult = db.multiGetAsList(backend.pointReadOptions(), handles, keys);
+    for (int n = from, ri = 0; n < to; n++, ri++) {
+      byte[] obj = dbResult.get(ri);
+      if (obj != null) {
+        int i = indexes[n];
+        r[i] = typedObj(ids[i], ByteBuffer.wrap(obj), type);
+      }
+    }
+  }
+
+  private static <T extends Obj> T typedObj(ObjId id, ByteBuffer serialized, ObjType type) {
+    Obj o = deserializeObj(id, serialized, null);
+    if (type != null && !type.equals(o.type())) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    T typed = (T) o;
+    return typed;
+  }
+
   @Override
   public boolean storeObj(@Nonnull Obj obj, boolean ignoreSoftSizeRestrictions)
       throws ObjTooLargeException {
@@ -349,7 +554,8 @@ class RocksDBPersist implements Persist {
           ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIncrementalIndexSizeLimit();
       int indexSizeLimit =
           ignoreSoftSizeRestrictions ? Integer.MAX_VALUE : effectiveIndexSegmentSizeLimit();
-      byte[] serialized = serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true);
+      byte[] serialized =
+          serializeObj(obj, incrementalIndexSizeLimit, indexSizeLimit, true, compressionPolicy);
 
       db.put(cf, key, serialized);
       return true;
@@ -413,7 +619,11 @@ class RocksDBPersist implements Persist {
 
       byte[] serialized =
           serializeObj(
-              obj, effectiveIncrementalIndexSizeLimit(), effectiveIndexSegmentSizeLimit(), true);
+              obj,
+              effectiveIncrementalIndexSizeLimit(),
+              effectiveIndexSegmentSizeLimit(),
+              true,
+              compressionPolicy);
 
       db.put(cf, key, serialized);
     } catch (RocksDBException e) {
@@ -497,7 +707,8 @@ class RocksDBPersist implements Persist {
               newValue,
               effectiveIncrementalIndexSizeLimit(),
               effectiveIndexSegmentSizeLimit(),
-              true);
+              true,
+              compressionPolicy);
 
       db.put(cf, key, serialized);
 
@@ -525,8 +736,7 @@ class RocksDBPersist implements Persist {
 
     private final Predicate<ObjType> filter;
 
-    private final TransactionDB db;
-    private final ColumnFamilyHandle cf;
+    private final ReadOptions readOptions;
     private final RocksIterator iter;
     private boolean first = true;
     private byte[] lastKey;
@@ -535,10 +745,11 @@ class RocksDBPersist implements Persist {
       this.filter = filter;
 
       RocksDBBackend b = backend;
-      db = b.db();
-      cf = b.objs();
-      iter = db.newIterator(b.objs());
-      iter.seekToFirst();
+      // Full scans use separate read options, so that scans neither evict the blocks needed by
+      // point lookups from the block cache nor issue small random reads.
+      readOptions = RocksDBBackend.newScanReadOptions();
+      iter = b.db().newIterator(b.objs(), readOptions);
+      iter.seek(keyPrefix.toByteArray());
     }
 
     @Override
@@ -552,6 +763,9 @@ class RocksDBPersist implements Persist {
           first = false;
         } else {
           iter.next();
+          if (!iter.isValid()) {
+            return endOfData();
+          }
         }
 
         byte[] k = iter.key();
@@ -561,23 +775,14 @@ class RocksDBPersist implements Persist {
         }
         lastKey = k;
 
-        ByteString key = ByteString.copyFrom(k);
+        ByteString key = UnsafeByteOperations.unsafeWrap(k);
         if (!key.startsWith(keyPrefix)) {
-          continue;
-        }
-
-        byte[] obj;
-        try {
-          obj = db.get(cf, k);
-        } catch (RocksDBException e) {
-          throw rocksDbException(e);
-        }
-        if (obj == null) {
-          continue;
+          // All keys of a repository are adjacent, no need to scan further.
+          return endOfData();
         }
 
         ObjId id = deserializeObjId(key.substring(keyPrefix.size()));
-        Obj o = deserializeObj(id, obj, null);
+        Obj o = deserializeObj(id, iter.value(), null);
 
         if (filter.test(o.type())) {
           return o;
@@ -587,7 +792,57 @@ class RocksDBPersist implements Persist {
 
     @Override
     public void close() {
-      iter.close();
+      try {
+        iter.close();
+      } finally {
+        readOptions.close();
+      }
+    }
+  }
+
+  private static final class ReadBuffers {
+    private final ByteBuffer keys = ByteBuffer.allocateDirect(KEYS_BUFFER_SIZE);
+    private final ByteBuffer multiGetValues =
+        ByteBuffer.allocateDirect(MULTI_GET_VALUES_BUFFER_SIZE);
+    private ByteBuffer value = ByteBuffer.allocateDirect(INITIAL_VALUE_BUFFER_SIZE);
+
+    /**
+     * Returns pooled buffers, or {@code null}, if all {@link #MAX_POOLED_READ_BUFFERS} pooled
+     * buffers are in use.
+     */
+    @Nullable
+    static ReadBuffers acquire() {
+      ReadBuffers buffers = READ_BUFFERS.poll();
+      if (buffers == null
+          && ALLOCATED_READ_BUFFERS.getAndUpdate(n -> n < MAX_POOLED_READ_BUFFERS ? n + 1 : n)
+              < MAX_POOLED_READ_BUFFERS) {
+        buffers = new ReadBuffers();
+      }
+      return buffers;
+    }
+
+    static void release(@Nullable ReadBuffers buffers) {
+      if (buffers != null) {
+        READ_BUFFERS.offer(buffers);
+      }
+    }
+
+    ByteBuffer keys() {
+      keys.clear();
+      return keys;
+    }
+
+    ByteBuffer value(int size) {
+      if (value.capacity() < size) {
+        value = ByteBuffer.allocateDirect(size);
+      }
+      value.clear();
+      return value;
+    }
+
+    ByteBuffer multiGetValues() {
+      multiGetValues.clear();
+      return multiGetValues;
     }
   }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.rocksdb;
+
+import static org.projectnessie.versioned.storage.common.objtypes.ContentValueObj.contentValue;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.randomObjId;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBPersist.MAX_POOLED_READ_BUFFERS;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBPersist.MAX_POOLED_VALUE_BUFFER_SIZE;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBPersist.MULTI_GET_CHUNK_SIZE;
+import static org.projectnessie.versioned.storage.rocksdb.RocksDBPersist.MULTI_GET_VALUE_SLICE_SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.rocksdbtests.RocksDBBackendTestFactory;
+import org.projectnessie.versioned.storage.testextension.NessieBackend;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+@NessieBackend(RocksDBBackendTestFactory.class)
+public class TestRocksDBReads {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist protected Persist persist;
+
+  @Test
+  public void fetchManyObjsOfDifferentSizes() throws Exception {
+    Obj[] objs = storeObjs(3 * MULTI_GET_CHUNK_SIZE + 7);
+
+    ObjId[] ids = new ObjId[objs.length * 2];
+    for (int i = 0; i < objs.length; i++) {
+      ids[i * 2] = objs[i].id();
+      // alternate between missing and null IDs
+      ids[i * 2 + 1] = (i & 1) == 0 ? randomObjId() : null;
+    }
+
+    Obj[] fetched = persist.fetchObjsIfExist(ids);
+    for (int i = 0; i < objs.length; i++) {
+      soft.assertThat(fetched[i * 2]).isEqualTo(objs[i]);
+      soft.assertThat(fetched[i * 2 + 1]).isNull();
+    }
+
+    for (Obj obj : objs) {
+      soft.assertThat(persist.fetchObj(obj.id())).isEqualTo(obj);
+    }
+  }
+
+  @Test
+  public void concurrentReadsExceedingPooledBuffers() throws Exception {
+    Obj[] objs = storeObjs(2 * MULTI_GET_CHUNK_SIZE);
+    ObjId[] ids = new ObjId[objs.length];
+    for (int i = 0; i < objs.length; i++) {
+      ids[i] = objs[i].id();
+    }
+
+    int threads = 4 * MAX_POOLED_READ_BUFFERS;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Obj[]>> results = new ArrayList<>();
+      for (int i = 0; i < threads * 4; i++) {
+        results.add(executor.submit(() -> persist.fetchObjsIfExist(ids)));
+      }
+      for (Future<Obj[]> result : results) {
+        soft.assertThat(result.get()).containsExactly(objs);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Stores objects whose values fit into a multi-get value slice, into the pooled value buffer or
+   * are too large to be pooled.
+   */
+  private Obj[] storeObjs(int count) throws Exception {
+    int[] valueSizes = {100, MULTI_GET_VALUE_SLICE_SIZE + 1, MAX_POOLED_VALUE_BUFFER_SIZE + 1};
+    Obj[] objs = new Obj[count];
+    for (int i = 0; i < count; i++) {
+      int valueSize = i % 10 == 9 ? valueSizes[2] : valueSizes[i % 2];
+      byte[] value = new byte[valueSize];
+      ThreadLocalRandom.current().nextBytes(value);
+      objs[i] = contentValue("cid-" + i, 42, ByteString.copyFrom(value));
+      soft.assertThat(persist.storeObj(objs[i])).isTrue();
+    }
+    return objs;
+  }
+}
@@ -205,6 +205,7 @@ class BaseCommitHelper {
     try {
       return commitRetry(
           persist,
+          branch.getName(),
           (p, retryState) -> {
             RefMapping refMapping = new RefMapping(p);
             Reference reference;
@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.projectnessie.versioned.storage.versionstore.BaseCommitHelper.committingOperation;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import org.projectnessie.model.CommitMeta;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.CommitResult;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Operation;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.ReferenceNotFoundException;
+import org.projectnessie.versioned.ReferenceRetryFailureException;
+import org.projectnessie.versioned.VersionStore.CommitValidator;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.exceptions.UnknownOperationResultException;
+import org.projectnessie.versioned.storage.common.logic.CommitRetry.RetryException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.versionstore.CommitImpl.CommitRetryState;
+
+/**
+ * Write-combining queue for commits to the same branch.
+ *
+ * <p>Concurrent commits to a branch are queued. One of the committing threads becomes the "leader"
+ * for the branch and applies the queued commits in order as a chain of {@link CommitObj}s, each on
+ * top of the previous one, followed by a single update of the reference pointer. A commit that
+ * fails, for example due to a conflict, is excluded from the chain and reported to its caller
+ * only. If the reference pointer update fails due to a concurrent change, the whole batch is
+ * applied again on top of the new head using the usual commit-retry mechanism.
+ *
+ * <p>The {@link CommitValidator} of a queued commit may be run by the leader's thread, so
+ * validators must not depend on state bound to the committing thread, like the identity of the
+ * current request.
+ */
+final class CommitQueue {
+
+  private final Persist persist;
+  private final int maxBatchSize;
+  private final ConcurrentMap<String, BranchQueue> queues = new ConcurrentHashMap<>();
+
+  CommitQueue(@Nonnull Persist persist) {
+    int maxBatchSize = persist.config().commitQueueMaxBatchSize();
+    checkArgument(maxBatchSize > 0, "commit-queue-max-batch-size must be positive");
+    this.persist = persist;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  CommitResult<Commit> commit(
+      @Nonnull BranchName branch,
+      @Nonnull Optional<Hash> referenceHash,
+      @Nonnull CommitMeta metadata,
+      @Nonnull List<Operation> operations,
+      @Nonnull CommitValidator validator,
+      @Nonnull BiConsumer<ContentKey, String> addedContents)
+      throws ReferenceNotFoundException, ReferenceConflictException {
+    PendingCommit pending = new PendingCommit(referenceHash, metadata, operations, validator);
+
+    BranchQueue queue = queues.computeIfAbsent(branch.getName(), b -> new BranchQueue(branch));
+    queue.pending.add(pending);
+    queue.lead(pending);
+
+    CommitObj newHead;
+    try {
+      awaitCommit(queue, pending);
+
+      // A committer that adds to a removed queue becomes the leader of that queue, so it is safe to
+      // remove idle queues.
+      if (queue.pending.isEmpty()) {
+        queues.remove(branch.getName(), queue);
+      }
+
+      newHead = pending.result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ReferenceNotFoundException) {
+        throw (ReferenceNotFoundException) cause;
+      }
+      if (cause instanceof ReferenceConflictException) {
+        throw (ReferenceConflictException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+
+    return pending.committer.commitResult(pending.retryState, newHead, addedContents);
+  }
+
+  /**
+   * Waits until the commit has been applied, taking over the leadership when the previous leader
+   * hands it over. A commit that is still queued after the configured commit timeout is removed
+   * from the queue and fails. A commit that is already being applied is waited for, its batch is
+   * bounded by the commit timeout of the commit-retry mechanism.
+   */
+  private void awaitCommit(BranchQueue queue, PendingCommit pending)
+      throws InterruptedException, ReferenceRetryFailureException {
+    long timeoutMillis = persist.config().commitTimeoutMillis();
+    long start = System.nanoTime();
+    long deadline = start + MILLISECONDS.toNanos(timeoutMillis);
+    while (!pending.result.isDone()) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0L) {
+        if (queue.pending.remove(pending)) {
+          // This committer might have been chosen as the next leader.
+          queue.wakeUpNext();
+          long durationMillis = NANOSECONDS.toMillis(System.nanoTime() - start);
+          throw new ReferenceRetryFailureException(
+              format(
+                  "The commit to %s could not be started within the configured commit timeout "
+                      + "after %d milliseconds",
+                  queue.branch.getName(), durationMillis),
+              0,
+              durationMillis);
+        }
+        pending.wakeUp.acquire();
+      } else if (!pending.wakeUp.tryAcquire(remaining, NANOSECONDS)) {
+        continue;
+      }
+      queue.lead(pending);
+    }
+  }
+
+  private final class BranchQueue {
+    final BranchName branch;
+    final Queue<PendingCommit> pending = new ConcurrentLinkedQueue<>();
+    final ReentrantLock lock = new ReentrantLock();
+
+    BranchQueue(BranchName branch) {
+      this.branch = branch;
+    }
+
+    /**
+     * Applies queued commits, if the current thread could become the leader, until the given commit
+     * of the leader has been applied. Otherwise the current leader applies the queued commits.
+     *
+     * <p>A leader stops once its own commit has been applied and hands the leadership over to the
+     * committer of the next queued commit, so the leader's caller is not blocked by commits that
+     * were enqueued later. A commit that is enqueued while the leader releases the lock is never
+     * left behind: either its committer becomes the leader or the leader sees it and hands over.
+     */
+    void lead(PendingCommit own) {
+      boolean led = false;
+      while (!own.result.isDone() && !pending.isEmpty() && lock.tryLock()) {
+        led = true;
+        try {
+          while (!own.result.isDone()) {
+            List<PendingCommit> batch = new ArrayList<>();
+            for (PendingCommit c; batch.size() < maxBatchSize && (c = pending.poll()) != null; ) {
+              batch.add(c);
+            }
+            if (batch.isEmpty()) {
+              break;
+            }
+            applyBatch(batch);
+          }
+        } finally {
+          lock.unlock();
+        }
+      }
+
+      if (led) {
+        wakeUpNext();
+      }
+    }
+
+    /** Hands the leadership over to the committer of the next queued commit, if any. */
+    void wakeUpNext() {
+      PendingCommit next = pending.peek();
+      if (next != null) {
+        next.wakeUp.release();
+      }
+    }
+
+    private void applyBatch(List<PendingCommit> batch) {
+      boolean applied = false;
+      try {
+        committingOperation(
+            "commit",
+            branch,
+            Optional.empty(),
+            persist,
+            CommitImpl::new,
+            (batchCommitter, retryState) -> attemptBatch(batchCommitter, batch));
+        applied = true;
+      } catch (ReferenceNotFoundException | ReferenceConflictException | RuntimeException e) {
+        for (PendingCommit c : batch) {
+          c.result.completeExceptionally(e);
+        }
+      } finally {
+        if (!applied) {
+          // Never leave a waiting committer behind, even if the leader failed unexpectedly.
+          for (PendingCommit c : batch) {
+            c.result.completeExceptionally(new IllegalStateException("Commit was not applied"));
+          }
+        }
+      }
+
+      if (applied) {
+        for (PendingCommit c : batch) {
+          if (c.failure != null) {
+            c.result.completeExceptionally(c.failure);
+          } else {
+            c.result.complete(c.newHead);
+          }
+        }
+      }
+    }
+
+    /**
+     * Builds and stores the chain of commits on top of the current head and updates the reference
+     * pointer once. Commits that fail are excluded from the chain. The outcome of each commit is
+     * only final, if the reference pointer update succeeds, otherwise the whole batch is retried.
+     */
+    private Void attemptBatch(CommitImpl batchCommitter, List<PendingCommit> batch)
+        throws ReferenceNotFoundException, RetryException {
+      CommitObj head = batchCommitter.head;
+      CommitImpl last = null;
+      for (PendingCommit c : batch) {
+        c.newHead = null;
+        c.failure = null;
+        try {
+          CommitImpl committer =
+              new CommitImpl(branch, c.referenceHash, persist, batchCommitter.reference, head);
+          CommitObj newHead =
+              committer.createCommit(c.retryState, c.metadata, c.operations, c.validator);
+          c.committer = committer;
+          c.newHead = newHead;
+          head = newHead;
+          last = committer;
+        } catch (UnknownOperationResultException e) {
+          throw new RetryException();
+        } catch (ReferenceNotFoundException
+            | ReferenceConflictException
+            | ObjTooLargeException
+            | RuntimeException e) {
+          c.failure = e;
+        }
+      }
+
+      if (last != null) {
+        last.bumpReferencePointer(head.id(), Optional.empty());
+      }
+      return null;
+    }
+  }
+
+  private static final class PendingCommit {
+    final Optional<Hash> referenceHash;
+    final CommitMeta metadata;
+    final List<Operation> operations;
+    final CommitValidator validator;
+    final CommitRetryState retryState = new CommitRetryState();
+    final CompletableFuture<CommitObj> result = new CompletableFuture<>();
+    // Released when the commit has been applied or when the committer shall become the leader.
+    final Semaphore wakeUp = new Semaphore(0);
+
+    // Outcome of the latest batch attempt, only accessed by the leader thread.
+    CommitImpl committer;
+    CommitObj newHead;
+    Exception failure;
+
+    PendingCommit(
+        Optional<Hash> referenceHash,
+        CommitMeta metadata,
+        List<Operation> operations,
+        CommitValidator validator) {
+      this.referenceHash = referenceHash;
+      this.metadata = metadata;
+      this.operations = operations;
+      this.validator = validator;
+      result.whenComplete((newHead, failure) -> wakeUp.release());
+    }
+  }
+}
@@ -125,6 +125,7 @@ import org.projectnessie.versioned.TagName;
 import org.projectnessie.versioned.VersionStore;
 import org.projectnessie.versioned.paging.FilteringPaginationIterator;
 import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.config.StoreConfig;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.RefAlreadyExistsException;
 import org.projectnessie.versioned.storage.common.exceptions.RefConditionFailedException;
@@ -153,6 +154,7 @@ public class VersionStoreImpl implements VersionStore {
 
   public static final int GET_KEYS_CONTENT_BATCH_SIZE = 50;
   private final Persist persist;
+  private final CommitQueue commitQueue;
 
   @SuppressWarnings("unused")
   public VersionStoreImpl() {
@@ -161,6 +163,9 @@ public class VersionStoreImpl implements VersionStore {
 
   public VersionStoreImpl(Persist persist) {
     this.persist = persist;
+    StoreConfig config = persist != null ? persist.config() : null;
+    this.commitQueue =
+        config != null && config.commitQueueEnabled() ? new CommitQueue(persist) : null;
   }
 
   @Nonnull
@@ -1019,6 +1024,10 @@ public class VersionStoreImpl implements VersionStore {
       @Nonnull CommitValidator validator,
       @Nonnull BiConsumer<ContentKey, String> addedContents)
       throws ReferenceNotFoundException, ReferenceConflictException {
+    if (commitQueue != null) {
+      return commitQueue.commit(
+          branch, referenceHash, metadata, operations, validator, addedContents);
+    }
     return committingOperation(
         "commit",
         branch,
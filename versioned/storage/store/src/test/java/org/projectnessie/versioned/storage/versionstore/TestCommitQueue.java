@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.storage.versionstore;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.projectnessie.model.CommitMeta.fromMessage;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_QUEUE_ENABLED;
+import static org.projectnessie.versioned.storage.common.config.StoreConfig.CONFIG_COMMIT_QUEUE_MAX_BATCH_SIZE;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.model.ContentKey;
+import org.projectnessie.model.IcebergTable;
+import org.projectnessie.versioned.BranchName;
+import org.projectnessie.versioned.Commit;
+import org.projectnessie.versioned.Hash;
+import org.projectnessie.versioned.Put;
+import org.projectnessie.versioned.ReferenceConflictException;
+import org.projectnessie.versioned.VersionStore;
+import org.projectnessie.versioned.paging.PaginationIterator;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+import org.projectnessie.versioned.storage.testextension.NessiePersist;
+import org.projectnessie.versioned.storage.testextension.NessieStoreConfig;
+import org.projectnessie.versioned.storage.testextension.PersistExtension;
+
+@ExtendWith({PersistExtension.class, SoftAssertionsExtension.class})
+public class TestCommitQueue {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @NessiePersist
+  @NessieStoreConfig(name = CONFIG_COMMIT_QUEUE_ENABLED, value = "true")
+  @NessieStoreConfig(name = CONFIG_COMMIT_QUEUE_MAX_BATCH_SIZE, value = "5")
+  protected Persist persist;
+
+  @Test
+  public void concurrentCommits() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    BranchName branch = BranchName.of("queued");
+    Hash initial = store.create(branch, Optional.empty()).getHash();
+
+    int committers = 20;
+    ExecutorService executor = Executors.newFixedThreadPool(committers);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Hash>> futures = new ArrayList<>();
+      for (int i = 0; i < committers; i++) {
+        ContentKey key = ContentKey.of("table-" + i);
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return store
+                      .commit(
+                          branch,
+                          Optional.of(initial),
+                          fromMessage("commit " + key),
+                          List.of(Put.of(key, IcebergTable.of("meta", 1, 2, 3, 4))))
+                      .getCommitHash();
+                }));
+      }
+      start.countDown();
+
+      Set<Hash> commitHashes = new HashSet<>();
+      for (Future<Hash> future : futures) {
+        commitHashes.add(future.get());
+      }
+      soft.assertThat(commitHashes).hasSize(committers);
+
+      Set<Hash> log = new HashSet<>();
+      try (PaginationIterator<Commit> commits = store.getCommits(branch, false)) {
+        commits.forEachRemaining(c -> log.add(c.getHash()));
+      }
+      soft.assertThat(log).containsAll(commitHashes);
+      soft.assertThat(store.getValues(branch, keys(committers), false)).hasSize(committers);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void committersHandOverLeadership() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    BranchName branch = BranchName.of("handover");
+    store.create(branch, Optional.empty());
+
+    // Every committer keeps enqueuing commits, a leader must still return after its own commit and
+    // hand over the leadership, so that no commit is left behind.
+    int committers = 8;
+    int commitsPerCommitter = 10;
+    ExecutorService executor = Executors.newFixedThreadPool(committers);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<List<Hash>>> futures = new ArrayList<>();
+      for (int i = 0; i < committers; i++) {
+        int committer = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  List<Hash> hashes = new ArrayList<>();
+                  for (int n = 0; n < commitsPerCommitter; n++) {
+                    int num = committer * commitsPerCommitter + n;
+                    ContentKey key = ContentKey.of("table-" + num);
+                    hashes.add(
+                        store
+                            .commit(
+                                branch,
+                                Optional.empty(),
+                                fromMessage("commit " + key),
+                                List.of(Put.of(key, IcebergTable.of("meta", 1, 2, 3, 4))))
+                            .getCommitHash());
+                  }
+                  return hashes;
+                }));
+      }
+      start.countDown();
+
+      Set<Hash> commitHashes = new HashSet<>();
+      for (Future<List<Hash>> future : futures) {
+        commitHashes.addAll(future.get(1, MINUTES));
+      }
+      soft.assertThat(commitHashes).hasSize(committers * commitsPerCommitter);
+      soft.assertThat(store.getValues(branch, keys(committers * commitsPerCommitter), false))
+          .hasSize(committers * commitsPerCommitter);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void conflictingCommits() throws Exception {
+    VersionStore store = new VersionStoreImpl(persist);
+    BranchName branch = BranchName.of("conflicts");
+    Hash initial = store.create(branch, Optional.empty()).getHash();
+
+    // All committers try to create the same table, only one can succeed.
+    int committers = 10;
+    ContentKey key = ContentKey.of("table");
+    ExecutorService executor = Executors.newFixedThreadPool(committers);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < committers; i++) {
+        int num = i;
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  try {
+                    store.commit(
+                        branch,
+                        Optional.of(initial),
+                        fromMessage("commit " + num),
+                        List.of(Put.of(key, IcebergTable.of("meta-" + num, 1, 2, 3, 4))));
+                    return true;
+                  } catch (ReferenceConflictException e) {
+                    return false;
+                  }
+                }));
+      }
+      start.countDown();
+
+      int successful = 0;
+      for (Future<Boolean> future : futures) {
+        if (future.get()) {
+          successful++;
+        }
+      }
+      soft.assertThat(successful).isEqualTo(1);
+      soft.assertThat(store.getValue(branch, key, false)).isNotNull();
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static List<ContentKey> keys(int num) {
+    List<ContentKey> keys = new ArrayList<>();
+    for (int i = 0; i < num; i++) {
+      keys.add(ContentKey.of("table-" + i));
+    }
+    return keys;
+  }
+}
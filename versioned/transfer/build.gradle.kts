@@ -33,7 +33,6 @@ dependencies {
   implementation(project(":nessie-versioned-spi"))
   implementation(project(":nessie-versioned-transfer-proto"))
   implementation(project(":nessie-versioned-transfer-related"))
-  implementation(project(":nessie-versioned-storage-batching"))
   implementation(project(":nessie-versioned-storage-common"))
   implementation(project(":nessie-versioned-storage-common-serialize"))
   implementation(project(":nessie-versioned-storage-store"))
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.projectnessie.api.NessieVersion;
 import org.projectnessie.nessie.relocated.protobuf.UnsafeByteOperations;
 import org.projectnessie.versioned.storage.common.logic.RepositoryDescription;
@@ -192,13 +193,17 @@ abstract class ExportCommon {
   }
 
   void handleGenericObjs(Set<ObjId> ids) {
+    handleGenericObjs(ids, genericObjBatcher::add);
+  }
+
+  void handleGenericObjs(Set<ObjId> ids, Consumer<Obj> genericObjs) {
     if (ids.isEmpty()) {
       return;
     }
 
     ObjId[] idArray = ids.toArray(ObjId[]::new);
     Obj[] objs = exporter.persist().fetchObjsIfExist(idArray);
-    Arrays.stream(objs).filter(Objects::nonNull).forEach(genericObjBatcher::add);
+    Arrays.stream(objs).filter(Objects::nonNull).forEach(genericObjs);
   }
 
   private void mapGenericObjs(List<Obj> objs, ExportContext exportContext) {
@@ -210,7 +215,7 @@ abstract class ExportCommon {
     }
   }
 
-  private RelatedObj mapGenericObj(Obj obj) {
+  RelatedObj mapGenericObj(Obj obj) {
     RelatedObj.Builder genericObj = RelatedObj.newBuilder().setId(obj.id().asBytes());
     ObjType objType = obj.type();
     if (objType.equals(UNIQUE)) {
@@ -19,6 +19,7 @@ import java.io.IOException;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportSegment;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.RelatedObj;
 
@@ -68,6 +69,11 @@ final class ExportContext {
     genericOutput.writeEntity(custom);
   }
 
+  void addSegment(ExportSegment segment) {
+    commitOutput.addFiles(segment.getCommitsFilesList(), segment.getCommitCount());
+    genericOutput.addFiles(segment.getGenericObjFilesList(), segment.getGenericObjCount());
+  }
+
   ExportMeta finish() throws IOException {
     namedReferenceOutput.finish();
     commitOutput.finish();
@@ -20,11 +20,17 @@ public final class ExportImportConstants {
   public static final String REPOSITORY_DESCRIPTION = "repository-description";
   public static final String EXPORT_METADATA = "export-metadata";
   public static final String HEADS_AND_FORKS = "heads-and-forks";
+  public static final String EXPORT_CHECKPOINT = "export-checkpoint";
   public static final int DEFAULT_BUFFER_SIZE = 32768;
   public static final int DEFAULT_EXPECTED_COMMIT_COUNT = 1_000_000;
   public static final int DEFAULT_COMMIT_BATCH_SIZE = 20;
   public static final int DEFAULT_ATTACHMENT_BATCH_SIZE = 20;
   public static final int DEFAULT_EXPORT_VERSION = 3;
+  public static final int DEFAULT_PARALLELISM = 1;
+  public static final int DEFAULT_SEGMENT_COMMIT_COUNT = 2_000;
+  public static final int DEFAULT_IMPORT_DECODER_THREADS = 1;
+  public static final int DEFAULT_IMPORT_QUEUE_SIZE = 1_000;
+  public static final int DEFAULT_IMPORT_WRITE_CONCURRENCY = 2;
 
   private ExportImportConstants() {}
 }
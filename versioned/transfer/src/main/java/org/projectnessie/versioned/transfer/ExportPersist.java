@@ -17,10 +17,15 @@ package org.projectnessie.versioned.transfer;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.Collectors.toList;
 import static org.projectnessie.versioned.storage.common.logic.CommitLogQuery.commitLogQuery;
 import static org.projectnessie.versioned.storage.common.logic.ReferencesQuery.referencesQuery;
+import static org.projectnessie.versioned.storage.common.persist.ObjId.objIdFromBytes;
+import static org.projectnessie.versioned.storage.common.persist.Reference.reference;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,6 +34,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -46,6 +52,7 @@ import org.projectnessie.versioned.storage.common.persist.ObjId;
 import org.projectnessie.versioned.storage.common.persist.Reference;
 import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Commit;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportCheckpoint;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportVersion;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.HeadsAndForks;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.Operation;
@@ -55,14 +62,24 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Ref;
 final class ExportPersist extends ExportCommon {
 
   private final List<Reference> references = new ArrayList<>();
+  private final ExportSegments.Checkpoint checkpoint;
 
   ExportPersist(
-      ExportFileSupplier exportFiles, NessieExporter exporter, ExportVersion exportVersion) {
+      ExportFileSupplier exportFiles,
+      NessieExporter exporter,
+      ExportVersion exportVersion,
+      @Nullable ExportSegments.Checkpoint checkpoint) {
     super(exportFiles, exporter, exportVersion);
+    this.checkpoint = checkpoint;
   }
 
   @Override
   void prepare(ExportContext exportContext) {
+    if (checkpoint != null) {
+      // Resumed exports must walk the same references to produce the same segments.
+      checkpoint.header.getReferencesList().forEach(ref -> references.add(fromRef(ref)));
+      return;
+    }
     // Load reference info before processing commits to make sure exported ref HEADs are included
     // in the commit data even if HEADs advances during export (new commits during export).
     exporter.referenceLogic().queryReferences(referencesQuery()).forEachRemaining(references::add);
@@ -72,13 +89,17 @@ final class ExportPersist extends ExportCommon {
   HeadsAndForks exportCommits(ExportContext exportContext) {
 
     HeadsAndForkPoints headsAndForkPoints;
-    try (Batcher<CommitObj> commitObjBatcher =
-        new Batcher<>(
-            exporter.commitBatchSize(), commits -> mapCommitObjs(commits, exportContext))) {
-      headsAndForkPoints =
-          exporter.fullScan()
-              ? scanDatabase(commitObjBatcher::add)
-              : scanAllReferences(commitObjBatcher::add);
+    if (exporter.exportParallelism() > 1 || exporter.resume()) {
+      headsAndForkPoints = exportCommitSegments(exportContext);
+    } else {
+      try (Batcher<CommitObj> commitObjBatcher =
+          new Batcher<>(
+              exporter.commitBatchSize(), commits -> mapCommitObjs(commits, exportContext))) {
+        headsAndForkPoints =
+            exporter.fullScan()
+                ? scanDatabase(commitObjBatcher::add)
+                : scanAllReferences(commitObjBatcher::add);
+      }
     }
 
     HeadsAndForks.Builder hf =
@@ -89,6 +110,44 @@ final class ExportPersist extends ExportCommon {
     return hf.build();
   }
 
+  private HeadsAndForkPoints exportCommitSegments(ExportContext exportContext) {
+    ExportCheckpoint header =
+        checkpoint != null
+            ? checkpoint.header
+            : ExportCheckpoint.newBuilder()
+                .setCreatedMillisEpoch(currentTimestampMillis())
+                .setVersion(getExportVersion())
+                .addAllReferences(references.stream().map(ExportPersist::toRef).collect(toList()))
+                .setSegmentCommitCount(exporter.segmentCommitCount())
+                .build();
+    try (ExportSegments segments =
+        new ExportSegments(exportFiles, exporter, header, checkpoint, this::writeSegment)) {
+      HeadsAndForkPoints headsAndForkPoints =
+          exporter.fullScan() ? scanDatabase(segments::add) : scanAllReferences(segments::add);
+      segments.finish().forEach(exportContext::addSegment);
+      return headsAndForkPoints;
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void writeSegment(
+      List<CommitObj> commits, SizeLimitedOutput commitOutput, SizeLimitedOutput genericOutput) {
+    Consumer<Set<ObjId>> genericObjs =
+        ids ->
+            handleGenericObjs(
+                ids,
+                obj -> {
+                  genericOutput.writeEntity(mapGenericObj(obj));
+                  exporter.progressListener().progress(ProgressEvent.GENERIC_WRITTEN);
+                });
+    int batchSize = exporter.commitBatchSize();
+    for (int i = 0; i < commits.size(); i += batchSize) {
+      List<CommitObj> batch = commits.subList(i, Math.min(i + batchSize, commits.size()));
+      mapCommitObjs(batch, commitOutput::writeEntity, genericObjs);
+    }
+  }
+
   private HeadsAndForkPoints scanAllReferences(Consumer<CommitObj> commitHandler) {
     IdentifyHeadsAndForkPoints identify =
         new IdentifyHeadsAndForkPoints(
@@ -132,26 +191,46 @@ final class ExportPersist extends ExportCommon {
     for (Reference reference : references) {
       handleGenericObjs(transferRelatedObjects.referenceRelatedObjects(reference));
 
-      ObjId extendedInfoObj = reference.extendedInfoObj();
-      Ref.Builder refBuilder =
-          Ref.newBuilder().setName(reference.name()).setPointer(reference.pointer().asBytes());
-      if (extendedInfoObj != null) {
-        refBuilder.setExtendedInfoObj(extendedInfoObj.asBytes());
-      }
-      refBuilder.setCreatedAtMicros(reference.createdAtMicros());
-      exportContext.writeRef(refBuilder.build());
+      exportContext.writeRef(toRef(reference));
       exporter.progressListener().progress(ProgressEvent.NAMED_REFERENCE_WRITTEN);
     }
   }
 
+  private static Ref toRef(Reference reference) {
+    ObjId extendedInfoObj = reference.extendedInfoObj();
+    Ref.Builder refBuilder =
+        Ref.newBuilder().setName(reference.name()).setPointer(reference.pointer().asBytes());
+    if (extendedInfoObj != null) {
+      refBuilder.setExtendedInfoObj(extendedInfoObj.asBytes());
+    }
+    refBuilder.setCreatedAtMicros(reference.createdAtMicros());
+    return refBuilder.build();
+  }
+
+  private static Reference fromRef(Ref ref) {
+    return reference(
+        ref.getName(),
+        objIdFromBytes(ref.getPointer()),
+        false,
+        ref.getCreatedAtMicros(),
+        ref.hasExtendedInfoObj() ? objIdFromBytes(ref.getExtendedInfoObj()) : null);
+  }
+
   private void mapCommitObjs(List<CommitObj> commitObjs, ExportContext exportContext) {
+    mapCommitObjs(commitObjs, exportContext::writeCommit, this::handleGenericObjs);
+  }
+
+  private void mapCommitObjs(
+      List<CommitObj> commitObjs,
+      Consumer<Commit> commitWriter,
+      Consumer<Set<ObjId>> genericObjs) {
     Map<ObjId, Obj> objs = fetchReferencedObjs(commitObjs);
 
     for (CommitObj c : commitObjs) {
-      Commit commit = mapCommitObj(c, objs);
-      exportContext.writeCommit(commit);
+      Commit commit = mapCommitObj(c, objs, genericObjs);
+      commitWriter.accept(commit);
 
-      handleGenericObjs(transferRelatedObjects.commitRelatedObjects(c));
+      genericObjs.accept(transferRelatedObjects.commitRelatedObjects(c));
 
       exporter.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
     }
@@ -182,7 +261,8 @@ final class ExportPersist extends ExportCommon {
     }
   }
 
-  private Commit mapCommitObj(CommitObj c, Map<ObjId, Obj> objs) {
+  private Commit mapCommitObj(
+      CommitObj c, Map<ObjId, Obj> objs, Consumer<Set<ObjId>> genericObjs) {
     Commit.Builder b =
         Commit.newBuilder()
             .setCommitId(c.id().asBytes())
@@ -217,7 +297,7 @@ final class ExportPersist extends ExportCommon {
                       .setContentId(value.contentId())
                       .setValue(ByteString.copyFrom(modelContentBytes));
 
-                  handleGenericObjs(transferRelatedObjects.contentRelatedObjects(modelContent));
+                  genericObjs.accept(transferRelatedObjects.contentRelatedObjects(modelContent));
                 } catch (JsonProcessingException e) {
                   throw new RuntimeException(e);
                 }
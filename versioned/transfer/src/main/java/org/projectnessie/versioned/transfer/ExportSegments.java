@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static org.projectnessie.versioned.transfer.ExportImportConstants.EXPORT_CHECKPOINT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.projectnessie.nessie.relocated.protobuf.InvalidProtocolBufferException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.transfer.files.ExportFileSupplier;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportCheckpoint;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportSegment;
+
+/**
+ * Exports commits in segments of {@link ExportCheckpoint#getSegmentCommitCount()} commits, which
+ * are written to independent files by {@link NessieExporter#exportParallelism()} threads.
+ *
+ * <p>Completed segments are appended to a checkpoint file. Segments are numbered in the order in
+ * which commits are passed to {@link #add(CommitObj)}, which is deterministic when walking the
+ * same named references, so an interrupted export can skip the completed segments when resumed.
+ * Each resumed export writes a new generation of the checkpoint file.
+ */
+final class ExportSegments implements AutoCloseable {
+
+  @FunctionalInterface
+  interface SegmentWriter {
+    void writeSegment(
+        List<CommitObj> commits, SizeLimitedOutput commitOutput, SizeLimitedOutput genericOutput);
+  }
+
+  /** The content of the checkpoint file of an interrupted export. */
+  static final class Checkpoint {
+    final String fileName;
+    final int generation;
+    final ExportCheckpoint header;
+    final Map<Long, ExportSegment> completedSegments;
+
+    Checkpoint(
+        String fileName,
+        int generation,
+        ExportCheckpoint header,
+        Map<Long, ExportSegment> completedSegments) {
+      this.fileName = fileName;
+      this.generation = generation;
+      this.header = header;
+      this.completedSegments = completedSegments;
+    }
+
+    /** The checkpoint file and the files of all completed segments. */
+    Set<String> retainedFiles() {
+      Set<String> files = new HashSet<>();
+      files.add(fileName);
+      for (ExportSegment segment : completedSegments.values()) {
+        files.addAll(segment.getCommitsFilesList());
+        files.addAll(segment.getGenericObjFilesList());
+      }
+      return files;
+    }
+  }
+
+  private final ExportFileSupplier exportFiles;
+  private final NessieExporter exporter;
+  private final SegmentWriter segmentWriter;
+  private final int segmentCommitCount;
+  private final Map<Long, ExportSegment> segments;
+  private final Set<Long> skippedSegments;
+  private final ExecutorService executor;
+  private final Semaphore inFlight;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final OutputStream checkpointOutput;
+
+  private List<CommitObj> current = new ArrayList<>();
+  private long nextSegment;
+
+  ExportSegments(
+      ExportFileSupplier exportFiles,
+      NessieExporter exporter,
+      ExportCheckpoint header,
+      Checkpoint resumed,
+      SegmentWriter segmentWriter)
+      throws IOException {
+    this.exportFiles = exportFiles;
+    this.exporter = exporter;
+    this.segmentWriter = segmentWriter;
+    this.segmentCommitCount = header.getSegmentCommitCount();
+    this.segments = new TreeMap<>();
+    if (resumed != null) {
+      segments.putAll(resumed.completedSegments);
+    }
+    this.skippedSegments = new HashSet<>(segments.keySet());
+
+    int generation = resumed != null ? resumed.generation + 1 : 1;
+    this.checkpointOutput =
+        exportFiles.newFileOutput(String.format("%s-%08d", EXPORT_CHECKPOINT, generation));
+    header.writeDelimitedTo(checkpointOutput);
+    for (ExportSegment segment : segments.values()) {
+      segment.writeDelimitedTo(checkpointOutput);
+    }
+    checkpointOutput.flush();
+
+    int parallelism = exporter.exportParallelism();
+    AtomicInteger threadNum = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            r -> {
+              Thread t = new Thread(r, "nessie-export-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    // Limits the number of segments held in memory.
+    this.inFlight = new Semaphore(parallelism * 2);
+  }
+
+  /**
+   * Loads the latest readable generation of the checkpoint file, returns {@code null} if there is
+   * none. Incomplete trailing segment entries, written while the export was interrupted, are
+   * ignored.
+   */
+  static Checkpoint loadCheckpoint(ExportFileSupplier exportFiles) throws IOException {
+    List<String> checkpointFiles =
+        exportFiles.existingFiles().stream()
+            .filter(f -> f.startsWith(EXPORT_CHECKPOINT + "-"))
+            .sorted(Comparator.reverseOrder())
+            .collect(Collectors.toList());
+    for (String fileName : checkpointFiles) {
+      try (InputStream input = exportFiles.existingFileInput(fileName)) {
+        if (input == null) {
+          continue;
+        }
+        ExportCheckpoint header;
+        try {
+          header = ExportCheckpoint.parseDelimitedFrom(input);
+        } catch (InvalidProtocolBufferException e) {
+          continue;
+        }
+        if (header == null) {
+          continue;
+        }
+        Map<Long, ExportSegment> completedSegments = new TreeMap<>();
+        while (true) {
+          ExportSegment segment;
+          try {
+            segment = ExportSegment.parseDelimitedFrom(input);
+          } catch (InvalidProtocolBufferException e) {
+            break;
+          }
+          if (segment == null) {
+            break;
+          }
+          completedSegments.put(segment.getSegment(), segment);
+        }
+        int generation = Integer.parseInt(fileName.substring(EXPORT_CHECKPOINT.length() + 1));
+        return new Checkpoint(fileName, generation, header, completedSegments);
+      }
+    }
+    return null;
+  }
+
+  void add(CommitObj commit) {
+    current.add(commit);
+    if (current.size() == segmentCommitCount) {
+      submitCurrent();
+    }
+  }
+
+  /** Waits for all segments to complete, returns the segments in order. */
+  List<ExportSegment> finish() {
+    submitCurrent();
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        checkFailure();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    checkFailure();
+    synchronized (segments) {
+      return new ArrayList<>(segments.values());
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      checkpointOutput.close();
+    } catch (IOException ignore) {
+      // ... silent
+    }
+  }
+
+  private void submitCurrent() {
+    List<CommitObj> commits = current;
+    if (commits.isEmpty()) {
+      return;
+    }
+    current = new ArrayList<>();
+    long segment = nextSegment++;
+    if (skippedSegments.contains(segment)) {
+      // Segment has been completed before the export was interrupted.
+      return;
+    }
+
+    checkFailure();
+    inFlight.acquireUninterruptibly();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              if (failure.get() == null) {
+                segmentCompleted(writeSegment(segment, commits));
+              }
+            } catch (Throwable e) {
+              if (!failure.compareAndSet(null, e)) {
+                failure.get().addSuppressed(e);
+              }
+            } finally {
+              inFlight.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+  }
+
+  private ExportSegment writeSegment(long segment, List<CommitObj> commits) throws IOException {
+    ExportSegment.Builder exportSegment = ExportSegment.newBuilder().setSegment(segment);
+    SizeLimitedOutput commitOutput =
+        new SizeLimitedOutput(
+            exportFiles,
+            exporter,
+            String.format("%s-s%08d", NessieExporter.COMMITS_PREFIX, segment),
+            exportSegment::addCommitsFiles,
+            exportSegment::setCommitCount);
+    SizeLimitedOutput genericOutput =
+        new SizeLimitedOutput(
+            exportFiles,
+            exporter,
+            String.format("%s-s%08d", NessieExporter.CUSTOM_PREFIX, segment),
+            exportSegment::addGenericObjFiles,
+            exportSegment::setGenericObjCount);
+    try {
+      segmentWriter.writeSegment(commits, commitOutput, genericOutput);
+      commitOutput.finish();
+      genericOutput.finish();
+    } finally {
+      commitOutput.closeSilently();
+      genericOutput.closeSilently();
+    }
+    return exportSegment.build();
+  }
+
+  private void segmentCompleted(ExportSegment segment) throws IOException {
+    synchronized (segments) {
+      segments.put(segment.getSegment(), segment);
+      segment.writeDelimitedTo(checkpointOutput);
+      checkpointOutput.flush();
+    }
+  }
+
+  private void checkFailure() {
+    Throwable e = failure.get();
+    if (e != null) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      if (e instanceof Error) {
+        throw (Error) e;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.objtypes.CommitObj;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.ObjId;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+/**
+ * Write stage of the import pipeline, collects objects into batches of {@link
+ * NessieImporter#commitBatchSize()} objects, which are written asynchronously using {@link
+ * Persist#storeObjs(Obj[])}.
+ *
+ * <p>At most {@link NessieImporter#importWriteConcurrency()} batches are written concurrently,
+ * callers of {@link #storeObj(Obj)} block while all writers are busy. Write failures are rethrown
+ * from the next call to {@link #storeObj(Obj)} or {@link #flush()}.
+ */
+final class ImportObjWriter implements AutoCloseable {
+  private final Persist persist;
+  private final int batchSize;
+  private final int concurrency;
+  private final Semaphore inFlight;
+  private final ExecutorService executor;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final ImportStageCounter counter =
+      new ImportStageCounter(ImportStageStats.Stage.WRITE);
+
+  private Map<ObjId, Obj> pending = new LinkedHashMap<>();
+
+  ImportObjWriter(Persist persist, int batchSize, int concurrency) {
+    this.persist = persist;
+    this.batchSize = Math.max(1, batchSize);
+    this.concurrency = Math.max(1, concurrency);
+    this.inFlight = new Semaphore(this.concurrency);
+    AtomicInteger threadNum = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            this.concurrency,
+            r -> {
+              Thread t = new Thread(r, "nessie-import-writer-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+  }
+
+  ImportStageCounter counter() {
+    return counter;
+  }
+
+  int concurrency() {
+    return concurrency;
+  }
+
+  void storeObj(Obj obj) throws ObjTooLargeException {
+    if (obj instanceof CommitObj) {
+      int indexSize = ((CommitObj) obj).incrementalIndex().size();
+      if (indexSize > persist.effectiveIncrementalIndexSizeLimit()) {
+        throw new ObjTooLargeException(indexSize, persist.effectiveIncrementalIndexSizeLimit());
+      }
+    }
+    checkFailure();
+
+    Obj[] batch;
+    synchronized (this) {
+      pending.putIfAbsent(obj.id(), obj);
+      if (pending.size() < batchSize) {
+        return;
+      }
+      batch = takePending();
+    }
+    submit(batch);
+  }
+
+  /** Writes all pending objects and waits until all batches have been written. */
+  void flush() {
+    Obj[] batch;
+    synchronized (this) {
+      batch = takePending();
+    }
+    if (batch.length > 0) {
+      submit(batch);
+    }
+    inFlight.acquireUninterruptibly(concurrency);
+    inFlight.release(concurrency);
+    checkFailure();
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private Obj[] takePending() {
+    Obj[] batch = pending.values().toArray(new Obj[0]);
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void submit(Obj[] batch) {
+    inFlight.acquireUninterruptibly();
+    try {
+      executor.execute(
+          () -> {
+            long start = System.nanoTime();
+            try {
+              if (failure.get() == null) {
+                persist.storeObjs(batch);
+              }
+            } catch (Throwable e) {
+              if (!failure.compareAndSet(null, e)) {
+                failure.get().addSuppressed(e);
+              }
+            } finally {
+              counter.add(batch.length, 0L, System.nanoTime() - start);
+              inFlight.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      inFlight.release();
+      throw e;
+    }
+  }
+
+  private void checkFailure() {
+    Throwable e = failure.get();
+    if (e != null) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      if (e instanceof Error) {
+        throw (Error) e;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+}
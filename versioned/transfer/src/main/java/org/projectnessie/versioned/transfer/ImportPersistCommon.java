@@ -25,10 +25,15 @@ import static org.projectnessie.versioned.storage.common.objtypes.ContentValueOb
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.projectnessie.model.Content;
 import org.projectnessie.nessie.relocated.protobuf.ByteString;
-import org.projectnessie.versioned.storage.batching.BatchingPersist;
-import org.projectnessie.versioned.storage.batching.WriteBatching;
 import org.projectnessie.versioned.storage.common.exceptions.ObjNotFoundException;
 import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
 import org.projectnessie.versioned.storage.common.exceptions.RetryTimeoutException;
@@ -46,25 +51,25 @@ import org.projectnessie.versioned.transfer.serialize.TransferTypes.Operation;
 import org.projectnessie.versioned.transfer.serialize.TransferTypes.RelatedObj;
 
 abstract class ImportPersistCommon extends ImportCommon {
-  protected final BatchingPersist persist;
+  protected final ImportObjWriter objWriter;
 
   ImportPersistCommon(ExportMeta exportMeta, NessieImporter importer) {
     super(exportMeta, importer);
-    this.persist =
-        WriteBatching.builder()
-            .persist(requireNonNull(importer.persist()))
-            .batchSize(importer.commitBatchSize())
-            .optimistic(true)
-            .build()
-            .create();
+    this.objWriter =
+        new ImportObjWriter(
+            requireNonNull(importer.persist()),
+            importer.commitBatchSize(),
+            importer.importWriteConcurrency());
   }
 
   @Override
   ImportResult importRepo() throws IOException {
-    try {
-      return super.importRepo();
-    } finally {
-      persist.flush();
+    try (ImportObjWriter writer = objWriter) {
+      try {
+        return super.importRepo();
+      } finally {
+        writer.flush();
+      }
     }
   }
 
@@ -83,56 +88,117 @@ abstract class ImportPersistCommon extends ImportCommon {
         }
       }
     } finally {
-      persist.flush();
+      objWriter.flush();
     }
   }
 
   @Override
   long importCommits() throws IOException {
-    long commitCount = 0L;
-    try {
-      for (String fileName : exportMeta.getCommitsFilesList()) {
-        try (InputStream input = importFiles.newFileInput(fileName)) {
-          while (true) {
-            Commit commit = Commit.parseDelimitedFrom(input);
-            if (commit == null) {
-              break;
-            }
-            processCommit(commit);
-            commitCount++;
-          }
-        } catch (ObjTooLargeException e) {
-          throw new RuntimeException(e);
-        }
-      }
-    } finally {
-      persist.flush();
-    }
-    return commitCount;
+    return importPipelined(
+        exportMeta.getCommitsFilesList(),
+        record -> processCommit(Commit.parseFrom(record)),
+        ProgressEvent.END_COMMITS);
   }
 
   @Override
   long importGeneric() throws IOException {
-    long genericCount = 0L;
+    return importPipelined(
+        exportMeta.getGenericObjFilesList(),
+        record -> processGeneric(RelatedObj.parseFrom(record)),
+        ProgressEvent.END_GENERIC);
+  }
+
+  /**
+   * Imports the records in the given files using the import pipeline: the files are read by up to
+   * {@link NessieImporter#importParallelism()} threads, records are decoded by {@link
+   * NessieImporter#importDecoderThreads()} threads and the resulting objects are written by the
+   * {@link ImportObjWriter}. The throughput of each stage is reported to the {@link
+   * ProgressListener} when all objects have been written.
+   */
+  private long importPipelined(
+      List<String> fileNames, ImportPipeline.RecordDecoder decoder, ProgressEvent phase)
+      throws IOException {
+    objWriter.counter().reset();
+    long count;
+    try (ImportPipeline pipeline = new ImportPipeline(importer, decoder)) {
+      try {
+        count =
+            importFiles(
+                fileNames,
+                fileName -> {
+                  try (InputStream input = importFiles.newFileInput(fileName)) {
+                    return pipeline.read(input);
+                  }
+                });
+        pipeline.finish();
+      } finally {
+        objWriter.flush();
+      }
+      int readerThreads = Math.max(1, Math.min(importer.importParallelism(), fileNames.size()));
+      for (ImportStageStats stats : pipeline.stats(readerThreads, objWriter)) {
+        importer.progressListener().importStageStats(phase, stats);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Imports the given files, concurrently if configured via {@link
+   * NessieImporter#importParallelism()}. Commits and generic objects are imported independently of
+   * each other, indexes are completed in {@link #importFinalize(HeadsAndForks)}, so the order, in
+   * which the files are processed, does not matter.
+   */
+  private long importFiles(List<String> fileNames, FileImport fileImport) throws IOException {
+    int parallelism = Math.min(importer.importParallelism(), fileNames.size());
+    if (parallelism <= 1) {
+      long count = 0L;
+      for (String fileName : fileNames) {
+        count += fileImport.importFile(fileName);
+      }
+      return count;
+    }
+
+    AtomicInteger threadNum = new AtomicInteger();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            r -> {
+              Thread t = new Thread(r, "nessie-import-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
     try {
-      for (String fileName : exportMeta.getGenericObjFilesList()) {
-        try (InputStream input = importFiles.newFileInput(fileName)) {
-          while (true) {
-            RelatedObj generic = RelatedObj.parseDelimitedFrom(input);
-            if (generic == null) {
-              break;
-            }
-            processGeneric(generic);
-            genericCount++;
-          }
-        } catch (ObjTooLargeException e) {
+      List<Future<Long>> futures = new ArrayList<>(fileNames.size());
+      for (String fileName : fileNames) {
+        futures.add(executor.submit(() -> fileImport.importFile(fileName)));
+      }
+      long count = 0L;
+      for (Future<Long> future : futures) {
+        try {
+          count += future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
           throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof IOException) {
+            throw (IOException) cause;
+          }
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          throw new RuntimeException(cause);
         }
       }
+      return count;
     } finally {
-      persist.flush();
+      executor.shutdownNow();
     }
-    return genericCount;
+  }
+
+  @FunctionalInterface
+  interface FileImport {
+    long importFile(String fileName) throws IOException;
   }
 
   @Override
@@ -169,7 +235,7 @@ abstract class ImportPersistCommon extends ImportCommon {
           ByteString onRef = importer.storeWorker().toStoreOnReferenceState(content);
 
           ContentValueObj value = contentValue(op.getContentId(), payload, onRef);
-          persist.storeObj(value);
+          objWriter.storeObj(value);
           index.add(
               indexElement(
                   storeKey, commitOp(ADD, payload, value.id(), contentIdMaybe(op.getContentId()))));
@@ -88,7 +88,7 @@ final class ImportPersistV1 extends ImportPersistCommon {
       }
       return namedReferenceCount;
     } finally {
-      persist.flush();
+      objWriter.flush();
     }
   }
 
@@ -120,7 +120,7 @@ final class ImportPersistV1 extends ImportPersistCommon {
 
     c.incrementalIndex(index.serialize());
 
-    persist.storeObj(c.build());
+    objWriter.storeObj(c.build());
 
     importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
   }
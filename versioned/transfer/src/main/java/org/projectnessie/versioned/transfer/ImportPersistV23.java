@@ -116,7 +116,7 @@ final class ImportPersistV23 extends ImportPersistCommon {
       }
       return namedReferenceCount;
     } finally {
-      persist.flush();
+      objWriter.flush();
     }
   }
 
@@ -148,7 +148,7 @@ final class ImportPersistV23 extends ImportPersistCommon {
 
     c.incrementalIndex(index.serialize());
 
-    persist.storeObj(c.build());
+    objWriter.storeObj(c.build());
 
     importer.progressListener().progress(ProgressEvent.COMMIT_WRITTEN);
   }
@@ -175,7 +175,7 @@ final class ImportPersistV23 extends ImportPersistCommon {
               id, versionToken, data, type, Compression.fromValue(genericObj.getCompression()));
     }
 
-    persist.storeObj(obj);
+    objWriter.storeObj(obj);
 
     importer.progressListener().progress(ProgressEvent.GENERIC_WRITTEN);
   }
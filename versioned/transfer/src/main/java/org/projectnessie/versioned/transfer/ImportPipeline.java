@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.projectnessie.nessie.relocated.protobuf.CodedInputStream;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+
+/**
+ * Read and decode stages of the import pipeline. Reader threads, the callers of {@link
+ * #read(InputStream)}, split export files into length-delimited records, which are passed via a
+ * bounded queue of {@link NessieImporter#importQueueSize()} records to {@link
+ * NessieImporter#importDecoderThreads()} decoder threads. Decoders hand the resulting objects to
+ * the {@link ImportObjWriter write stage}.
+ */
+final class ImportPipeline implements AutoCloseable {
+
+  @FunctionalInterface
+  interface RecordDecoder {
+    void decode(byte[] record) throws IOException, ObjTooLargeException;
+  }
+
+  /** Marker to stop a decoder thread, compared by identity. */
+  private static final byte[] END_OF_RECORDS = new byte[0];
+
+  private final RecordDecoder decoder;
+  private final int decoderThreads;
+  private final BlockingQueue<byte[]> queue;
+  private final ExecutorService executor;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final ImportStageCounter readCounter =
+      new ImportStageCounter(ImportStageStats.Stage.READ);
+  private final ImportStageCounter decodeCounter =
+      new ImportStageCounter(ImportStageStats.Stage.DECODE);
+  private final long started = System.nanoTime();
+
+  ImportPipeline(NessieImporter importer, RecordDecoder decoder) {
+    this.decoder = decoder;
+    this.decoderThreads = Math.max(1, importer.importDecoderThreads());
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, importer.importQueueSize()));
+    AtomicInteger threadNum = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            decoderThreads,
+            r -> {
+              Thread t = new Thread(r, "nessie-import-decoder-" + threadNum.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            });
+    for (int i = 0; i < decoderThreads; i++) {
+      executor.execute(this::decodeRecords);
+    }
+  }
+
+  /** Reads all records from the given input, returns the number of records. */
+  long read(InputStream input) throws IOException {
+    long count = 0L;
+    while (true) {
+      long start = System.nanoTime();
+      int firstByte = input.read();
+      if (firstByte == -1) {
+        return count;
+      }
+      int size = CodedInputStream.readRawVarint32(firstByte, input);
+      byte[] record = input.readNBytes(size);
+      if (record.length != size) {
+        throw new EOFException("Truncated record in export file");
+      }
+      readCounter.add(1L, size, System.nanoTime() - start);
+      enqueue(record);
+      count++;
+    }
+  }
+
+  /** Waits until all records have been decoded. */
+  void finish() {
+    for (int i = 0; i < decoderThreads; i++) {
+      enqueue(END_OF_RECORDS);
+    }
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        checkFailure();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    checkFailure();
+  }
+
+  List<ImportStageStats> stats(int readerThreads, ImportObjWriter writer) {
+    long elapsed = System.nanoTime() - started;
+    return List.of(
+        readCounter.stats(readerThreads, elapsed),
+        decodeCounter.stats(decoderThreads, elapsed),
+        writer.counter().stats(writer.concurrency(), elapsed));
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private void enqueue(byte[] record) {
+    try {
+      while (!queue.offer(record, 100, MILLISECONDS)) {
+        checkFailure();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void decodeRecords() {
+    try {
+      while (true) {
+        byte[] record = queue.take();
+        if (record == END_OF_RECORDS) {
+          return;
+        }
+        long start = System.nanoTime();
+        decoder.decode(record);
+        decodeCounter.add(1L, record.length, System.nanoTime() - start);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      // Readers notice the failure while waiting for queue capacity.
+      if (!failure.compareAndSet(null, e)) {
+        failure.get().addSuppressed(e);
+      }
+    }
+  }
+
+  private void checkFailure() {
+    Throwable e = failure.get();
+    if (e != null) {
+      if (e instanceof RuntimeException) {
+        throw (RuntimeException) e;
+      }
+      if (e instanceof Error) {
+        throw (Error) e;
+      }
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Thread-safe counters of a stage of the import pipeline. */
+final class ImportStageCounter {
+  private final ImportStageStats.Stage stage;
+  private final LongAdder items = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final LongAdder busyNanos = new LongAdder();
+
+  ImportStageCounter(ImportStageStats.Stage stage) {
+    this.stage = stage;
+  }
+
+  void add(long items, long bytes, long busyNanos) {
+    this.items.add(items);
+    this.bytes.add(bytes);
+    this.busyNanos.add(busyNanos);
+  }
+
+  void reset() {
+    items.reset();
+    bytes.reset();
+    busyNanos.reset();
+  }
+
+  ImportStageStats stats(int threads, long elapsedNanos) {
+    return ImmutableImportStageStats.builder()
+        .stage(stage)
+        .threads(threads)
+        .items(items.sum())
+        .bytes(bytes.sum())
+        .busyNanos(busyNanos.sum())
+        .elapsedNanos(elapsedNanos)
+        .build();
+  }
+}
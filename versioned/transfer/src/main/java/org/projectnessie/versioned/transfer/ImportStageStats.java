@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import org.immutables.value.Value;
+
+/**
+ * Throughput of a stage of the import pipeline for one import phase, reported via {@link
+ * ProgressListener#importStageStats(ProgressEvent, ImportStageStats)}.
+ */
+@Value.Immutable
+public interface ImportStageStats {
+
+  enum Stage {
+    /** Reads length-delimited records from the export files. */
+    READ,
+    /** Parses the records and maps those to objects, hands the objects to the write stage. */
+    DECODE,
+    /** Writes batches of objects to the target repository. */
+    WRITE
+  }
+
+  Stage stage();
+
+  /** Number of threads used by the stage. */
+  int threads();
+
+  /** Number of records read or decoded, or number of objects written. */
+  long items();
+
+  /** Number of record bytes read or decoded, {@code 0} for the write stage. */
+  long bytes();
+
+  /** Accumulated time the threads of the stage spent working, excludes waiting for input. */
+  long busyNanos();
+
+  /** Wall-clock duration of the import phase. */
+  long elapsedNanos();
+
+  default double itemsPerSecond() {
+    return elapsedNanos() > 0L ? items() * 1_000_000_000d / elapsedNanos() : 0d;
+  }
+
+  /**
+   * Ratio of the busy time to the available time of all threads of the stage. A value close to
+   * {@code 1} indicates that the stage is the bottleneck of the pipeline.
+   */
+  default double utilization() {
+    long available = elapsedNanos() * threads();
+    return available > 0L ? Math.min(1d, (double) busyNanos() / available) : 0d;
+  }
+}
@@ -15,6 +15,7 @@
  */
 package org.projectnessie.versioned.transfer;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_BUFFER_SIZE;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -123,6 +124,32 @@ public abstract class NessieExporter {
     @CanIgnoreReturnValue
     Builder exportVersion(int exportVersion);
 
+    /**
+     * Optional, the number of threads that export commits concurrently, defaults to {@value
+     * ExportImportConstants#DEFAULT_PARALLELISM}. A parallel export writes independent segments of
+     * commits and records completed segments in a checkpoint file, see {@link #resume(boolean)}.
+     * Requires an {@link ExportFileSupplier} that {@linkplain
+     * ExportFileSupplier#supportsParallelExport() supports parallel exports}, the {@link
+     * ProgressListener} must be thread-safe.
+     */
+    @CanIgnoreReturnValue
+    Builder exportParallelism(int exportParallelism);
+
+    /**
+     * Optional, the number of commits per segment of a parallel export, defaults to {@value
+     * ExportImportConstants#DEFAULT_SEGMENT_COMMIT_COUNT}.
+     */
+    @CanIgnoreReturnValue
+    Builder segmentCommitCount(int segmentCommitCount);
+
+    /**
+     * Optional, resume an interrupted parallel export using the checkpoint file in the export
+     * target, starts a new export if there is no checkpoint file. Resuming requires that commits
+     * are exported by walking the named references, so not with {@link #fullScan(boolean)}.
+     */
+    @CanIgnoreReturnValue
+    Builder resume(boolean resume);
+
     @CanIgnoreReturnValue
     Builder addGenericObjectResolvers(URL element);
 
@@ -216,6 +243,21 @@ public abstract class NessieExporter {
     return ExportImportConstants.DEFAULT_EXPORT_VERSION;
   }
 
+  @Value.Default
+  int exportParallelism() {
+    return ExportImportConstants.DEFAULT_PARALLELISM;
+  }
+
+  @Value.Default
+  int segmentCommitCount() {
+    return ExportImportConstants.DEFAULT_SEGMENT_COMMIT_COUNT;
+  }
+
+  @Value.Default
+  boolean resume() {
+    return false;
+  }
+
   abstract List<URL> genericObjectResolvers();
 
   abstract ExportFileSupplier exportFileSupplier();
@@ -228,14 +270,34 @@ public abstract class NessieExporter {
   public ExportMeta exportNessieRepository() throws IOException {
     ExportFileSupplier exportFiles = exportFileSupplier();
 
-    exportFiles.preValidate();
-
     ExportVersion ver = ExportVersion.forNumber(exportVersion());
 
+    if (exportParallelism() > 1 || resume()) {
+      checkArgument(
+          exportFiles.supportsParallelExport(),
+          "The export file supplier %s does not support parallel exports",
+          exportFiles.getClass().getSimpleName());
+      checkArgument(
+          contentsFromBranch() == null,
+          "Parallel exports are not supported when exporting contents from a branch");
+      checkArgument(!resume() || !fullScan(), "Cannot resume an export using a full scan");
+
+      ExportSegments.Checkpoint checkpoint =
+          resume() ? ExportSegments.loadCheckpoint(exportFiles) : null;
+      if (checkpoint == null) {
+        exportFiles.preValidate();
+      } else {
+        exportFiles.deleteFilesExcept(checkpoint.retainedFiles());
+      }
+      return new ExportPersist(exportFiles, this, ver, checkpoint).exportRepo();
+    }
+
+    exportFiles.preValidate();
+
     if (contentsFromBranch() != null) {
       return new ExportContents(exportFiles, this, ver).exportRepo();
     }
 
-    return new ExportPersist(exportFiles, this, ver).exportRepo();
+    return new ExportPersist(exportFiles, this, ver, null).exportRepo();
   }
 }
@@ -17,6 +17,10 @@ package org.projectnessie.versioned.transfer;
 
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_ATTACHMENT_BATCH_SIZE;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_COMMIT_BATCH_SIZE;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_DECODER_THREADS;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_QUEUE_SIZE;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_IMPORT_WRITE_CONCURRENCY;
+import static org.projectnessie.versioned.transfer.ExportImportConstants.DEFAULT_PARALLELISM;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.EXPORT_METADATA;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.HEADS_AND_FORKS;
 import static org.projectnessie.versioned.transfer.ExportImportConstants.REPOSITORY_DESCRIPTION;
@@ -73,6 +77,34 @@ public abstract class NessieImporter {
      */
     Builder attachmentBatchSize(int attachmentBatchSize);
 
+    /**
+     * Optional, specify the number of commit and generic-object files to be imported concurrently,
+     * defaults to {@value ExportImportConstants#DEFAULT_PARALLELISM}. Useful for exports written
+     * in segments by a parallel export. The {@link ProgressListener} must be thread-safe when
+     * using values greater than 1.
+     */
+    Builder importParallelism(int importParallelism);
+
+    /**
+     * Optional, specify the number of threads that decode the records read from the export files,
+     * defaults to {@value ExportImportConstants#DEFAULT_IMPORT_DECODER_THREADS}. The {@link
+     * ProgressListener} must be thread-safe when using values greater than 1.
+     */
+    Builder importDecoderThreads(int importDecoderThreads);
+
+    /**
+     * Optional, specify the maximum number of records read from the export files, which have not
+     * been decoded yet, defaults to {@value ExportImportConstants#DEFAULT_IMPORT_QUEUE_SIZE}.
+     */
+    Builder importQueueSize(int importQueueSize);
+
+    /**
+     * Optional, specify the maximum number of batches of {@link #commitBatchSize(int)} objects that
+     * are written concurrently, defaults to {@value
+     * ExportImportConstants#DEFAULT_IMPORT_WRITE_CONCURRENCY}.
+     */
+    Builder importWriteConcurrency(int importWriteConcurrency);
+
     Builder progressListener(ProgressListener progressListener);
 
     Builder importFileSupplier(ImportFileSupplier importFileSupplier);
@@ -107,6 +139,26 @@ public abstract class NessieImporter {
     return DEFAULT_ATTACHMENT_BATCH_SIZE;
   }
 
+  @Value.Default
+  int importParallelism() {
+    return DEFAULT_PARALLELISM;
+  }
+
+  @Value.Default
+  int importDecoderThreads() {
+    return DEFAULT_IMPORT_DECODER_THREADS;
+  }
+
+  @Value.Default
+  int importQueueSize() {
+    return DEFAULT_IMPORT_QUEUE_SIZE;
+  }
+
+  @Value.Default
+  int importWriteConcurrency() {
+    return DEFAULT_IMPORT_WRITE_CONCURRENCY;
+  }
+
   @Value.Default
   StoreWorker storeWorker() {
     return DefaultStoreWorker.instance();
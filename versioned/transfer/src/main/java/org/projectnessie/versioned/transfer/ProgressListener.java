@@ -30,4 +30,11 @@ public interface ProgressListener {
    * ProgressEvent#END_META}.
    */
   void progress(@Nonnull ProgressEvent type, @Nullable ExportMeta exportMeta);
+
+  /**
+   * Reports the throughput of a stage of the import pipeline, called once per stage when all
+   * generic objects or all commits have been imported, before the {@code phase} event, which is
+   * either {@link ProgressEvent#END_GENERIC} or {@link ProgressEvent#END_COMMITS}.
+   */
+  default void importStageStats(@Nonnull ProgressEvent phase, @Nonnull ImportStageStats stats) {}
 }
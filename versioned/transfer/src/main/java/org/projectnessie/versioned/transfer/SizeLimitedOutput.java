@@ -18,6 +18,7 @@ package org.projectnessie.versioned.transfer;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import org.projectnessie.nessie.relocated.protobuf.AbstractMessage;
@@ -74,6 +75,12 @@ final class SizeLimitedOutput {
     }
   }
 
+  /** Adds files that have been written elsewhere, like the segments of a parallel export. */
+  void addFiles(List<String> fileNames, long entities) {
+    fileNames.forEach(newFileName);
+    entityCount += entities;
+  }
+
   void finish() throws IOException {
     finishCurrentFile();
     finalEntityCount.accept(entityCount);
@@ -16,9 +16,13 @@
 package org.projectnessie.versioned.transfer.files;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
 
 public interface ExportFileSupplier extends AutoCloseable {
 
@@ -29,4 +33,31 @@ public interface ExportFileSupplier extends AutoCloseable {
 
   @Nonnull
   OutputStream newFileOutput(@Nonnull String fileName) throws IOException;
+
+  /**
+   * Whether files can be written concurrently and the files of an interrupted export can be
+   * inspected, which is required for parallel and resumable exports. If this function returns
+   * {@code true}, the functions {@link #existingFiles()}, {@link #existingFileInput(String)} and
+   * {@link #deleteFilesExcept(Set)} must be implemented.
+   */
+  default boolean supportsParallelExport() {
+    return false;
+  }
+
+  /** Returns the names of the files that exist in the export target. */
+  @Nonnull
+  default List<String> existingFiles() throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Opens an existing file in the export target, returns {@code null} if it does not exist. */
+  @Nullable
+  default InputStream existingFileInput(@Nonnull String fileName) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  /** Deletes all files in the export target except the given ones. */
+  default void deleteFilesExcept(@Nonnull Set<String> retainedFiles) throws IOException {
+    throw new UnsupportedOperationException();
+  }
 }
@@ -18,16 +18,24 @@ package org.projectnessie.versioned.transfer.files;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
 import static java.nio.file.Files.exists;
 import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.newInputStream;
 import static java.nio.file.Files.newOutputStream;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.immutables.value.Value;
 
@@ -80,6 +88,38 @@ public abstract class FileExporter implements ExportFileSupplier {
     return newOutputStream(f);
   }
 
+  @Override
+  public boolean supportsParallelExport() {
+    return true;
+  }
+
+  @Override
+  @Nonnull
+  public List<String> existingFiles() throws IOException {
+    if (!isDirectory(targetDirectory())) {
+      return List.of();
+    }
+    try (Stream<Path> listing = Files.list(targetDirectory())) {
+      return listing.map(p -> p.getFileName().toString()).collect(Collectors.toList());
+    }
+  }
+
+  @Override
+  @Nullable
+  public InputStream existingFileInput(@Nonnull String fileName) throws IOException {
+    Path f = targetDirectory().resolve(fileName);
+    return isRegularFile(f) ? newInputStream(f) : null;
+  }
+
+  @Override
+  public void deleteFilesExcept(@Nonnull Set<String> retainedFiles) throws IOException {
+    for (String fileName : existingFiles()) {
+      if (!retainedFiles.contains(fileName)) {
+        deleteIfExists(targetDirectory().resolve(fileName));
+      }
+    }
+  }
+
   @Override
   public void close() {}
 }
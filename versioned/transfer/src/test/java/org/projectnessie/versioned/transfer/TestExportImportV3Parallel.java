@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.projectnessie.versioned.transfer.files.FileExporter;
+import org.projectnessie.versioned.transfer.files.FileImporter;
+import org.projectnessie.versioned.transfer.serialize.TransferTypes.ExportMeta;
+
+/**
+ * Runs the V3 export/import tests with a parallel, segmented export and a parallel import. Exports
+ * that walk the named references are interrupted once and then resumed.
+ */
+public class TestExportImportV3Parallel extends TestExportImportV3 {
+
+  @Override
+  ImportResult importRepo() throws IOException {
+    NessieImporter importer =
+        NessieImporter.builder()
+            .persist(persistImport)
+            .importParallelism(3)
+            .importFileSupplier(FileImporter.builder().sourceDirectory(dir).build())
+            .build();
+    return importer.importNessieRepository();
+  }
+
+  @Override
+  ExportMeta exportRepo(boolean fullScan) throws IOException {
+    if (!fullScan) {
+      // Scenarios with fewer commits complete the first export, which is then "resumed" as well.
+      AtomicInteger commitsWritten = new AtomicInteger();
+      try {
+        exporter(false)
+            .progressListener(
+                (type, meta) -> {
+                  if (type == ProgressEvent.COMMIT_WRITTEN
+                      && commitsWritten.incrementAndGet() == 8) {
+                    throw new IllegalStateException("interrupted export");
+                  }
+                })
+            .build()
+            .exportNessieRepository();
+      } catch (IllegalStateException e) {
+        assertThat(e).hasMessage("interrupted export");
+      }
+    }
+
+    return exporter(fullScan).resume(!fullScan).build().exportNessieRepository();
+  }
+
+  private NessieExporter.Builder exporter(boolean fullScan) {
+    return NessieExporter.builder()
+        .persist(persistExport)
+        .fullScan(fullScan)
+        .exportParallelism(3)
+        .segmentCommitCount(7)
+        .exportFileSupplier(FileExporter.builder().targetDirectory(dir).build());
+  }
+}
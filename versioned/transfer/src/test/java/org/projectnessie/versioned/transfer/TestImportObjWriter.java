@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 Dremio
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.projectnessie.versioned.transfer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.projectnessie.versioned.storage.common.objtypes.UniqueIdObj.uniqueId;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.projectnessie.nessie.relocated.protobuf.ByteString;
+import org.projectnessie.versioned.storage.common.exceptions.ObjTooLargeException;
+import org.projectnessie.versioned.storage.common.persist.Obj;
+import org.projectnessie.versioned.storage.common.persist.Persist;
+
+@ExtendWith(SoftAssertionsExtension.class)
+public class TestImportObjWriter {
+  @InjectSoftAssertions protected SoftAssertions soft;
+
+  @Test
+  public void batchesAndFlush() throws Exception {
+    List<Obj[]> batches = new CopyOnWriteArrayList<>();
+    Persist persist = mock(Persist.class);
+    when(persist.storeObjs(any()))
+        .thenAnswer(
+            invocation -> {
+              Obj[] objs = invocation.getArgument(0);
+              batches.add(objs);
+              return new boolean[objs.length];
+            });
+
+    try (ImportObjWriter writer = new ImportObjWriter(persist, 3, 2)) {
+      for (int i = 0; i < 7; i++) {
+        writer.storeObj(obj(i));
+        // Duplicate objects are written only once per batch.
+        writer.storeObj(obj(i));
+      }
+      writer.flush();
+
+      soft.assertThat(batches).hasSize(3).extracting(b -> b.length).containsOnly(3, 1);
+      soft.assertThat(batches.stream().mapToInt(b -> b.length).sum()).isEqualTo(7);
+      soft.assertThat(writer.counter().stats(2, 1L))
+          .extracting(ImportStageStats::stage, ImportStageStats::items)
+          .containsExactly(ImportStageStats.Stage.WRITE, 7L);
+    }
+  }
+
+  @Test
+  public void writeFailure() throws Exception {
+    Persist persist = mock(Persist.class);
+    when(persist.storeObjs(any())).thenThrow(new ObjTooLargeException(2, 1));
+
+    try (ImportObjWriter writer = new ImportObjWriter(persist, 1, 1)) {
+      writer.storeObj(obj(1));
+      soft.assertThatRuntimeException()
+          .isThrownBy(writer::flush)
+          .withCauseInstanceOf(ObjTooLargeException.class);
+    }
+  }
+
+  private static Obj obj(int i) {
+    return uniqueId("space", ByteString.copyFromUtf8("value-" + i));
+  }
+}